@@ -50,38 +50,39 @@ public class AGICalculator {
 
     public static AGIResult calculateAGI(List<RegistroTrabalho> registros, List<Bill> bills, boolean isMonthlyData) {
         // 1. Calculate gross income from work
-        double grossIncome = registros.stream()
-                .mapToDouble(r -> {
-                    double taxa = r.getTaxaUsada();
-                    String tipo = r.getTipoUsado();
-                    if (tipo == null) tipo = "hour";
-
-                    double ganho = tipo.equalsIgnoreCase("minuto")
-                            ? r.getMinutos() * taxa
-                            : r.getHoras() * taxa;
-                    return r.isPagamentoDobrado() ? ganho * 2 : ganho;
-                })
-                .sum();
+        double grossIncome = 0;
+        for (RegistroTrabalho r : registros) {
+            grossIncome += entryEarnings(r.getTaxaUsada(), isPerMinute(r.getTipoUsado()),
+                    r.getHoras(), r.getMinutos(), r.isPagamentoDobrado());
+        }
+        return calculateAGI(grossIncome, bills, isMonthlyData);
+    }
 
+    /**
+     * AGI from an already summed gross income (e.g. scanned from the columnar store)
+     */
+    public static AGIResult calculateAGI(double grossIncome, List<Bill> bills, boolean isMonthlyData) {
         // 2. Calculate business expenses by category
         Map<ExpenseCategory, Double> expensesByCategory = new HashMap<>();
-        double totalBusinessExpenses = 0;
 
         for (Bill bill : bills) {
-            if (bill.getCategory() != null && bill.getCategory().isDeductible()) {
-                ExpenseCategory category = bill.getCategory();
-                double billAmount = bill.getAmount();
-                double deductibleAmount = billAmount;
-
-                // Apply home office percentage to appropriate categories
-                if (isHomeOfficeExpense(category)) {
-                    deductibleAmount = billAmount * HOME_OFFICE_PERCENTAGE;
-                }
-
-                expensesByCategory.merge(category, deductibleAmount, Double::sum);
-                totalBusinessExpenses += deductibleAmount;
+            double deductibleAmount = deductibleAmount(bill);
+            if (deductibleAmount != 0) {
+                expensesByCategory.merge(bill.getCategory(), deductibleAmount, Double::sum);
             }
         }
+        return calculateAGI(grossIncome, expensesByCategory, isMonthlyData);
+    }
+
+    /**
+     * AGI from gross income and deductible expenses already summed per category
+     * (e.g. kept up to date by the incremental AGI engine)
+     */
+    public static AGIResult calculateAGI(double grossIncome, Map<ExpenseCategory, Double> expensesByCategory, boolean isMonthlyData) {
+        double totalBusinessExpenses = 0;
+        for (double amount : expensesByCategory.values()) {
+            totalBusinessExpenses += amount;
+        }
 
         // 3. Calculate net earnings (gross - business expenses)
         double netEarnings = grossIncome - totalBusinessExpenses;
@@ -118,6 +119,26 @@ public class AGICalculator {
         return new AGIResult(request);
     }
 
+    // Deductible part of a bill: nothing for non-deductible categories, the business share of home office costs
+    public static double deductibleAmount(Bill bill) {
+        ExpenseCategory category = bill.getCategory();
+        if (category == null || !category.isDeductible()) {
+            return 0;
+        }
+        return isHomeOfficeExpense(category) ? bill.getAmount() * HOME_OFFICE_PERCENTAGE : bill.getAmount();
+    }
+
+    // Earnings of one entry: per-minute or per-hour rate, doubled on double-pay days
+    public static double entryEarnings(double taxa, boolean perMinute, double horas, double minutos, boolean pagamentoDobrado) {
+        double ganho = perMinute ? minutos * taxa : horas * taxa;
+        return pagamentoDobrado ? ganho * 2 : ganho;
+    }
+
+    // Rate type "minuto" is per minute; anything else (or none) is per hour
+    public static boolean isPerMinute(String tipoUsado) {
+        return tipoUsado != null && tipoUsado.equalsIgnoreCase("minuto");
+    }
+
     // Helper method to determine if a category is a home office expense
     public static boolean isHomeOfficeExpense(ExpenseCategory category) {
         return category == ExpenseCategory.UTILITIES ||
@@ -132,6 +153,11 @@ public class AGICalculator {
         return monthlyNESE > sgaLimit;
     }
 
+    // Additional gross income that brings a month's NESE up to a target (0 when already there)
+    public static double earningsUntilNESE(AGIResult monthResult, double targetNESE) {
+        return Math.max(0, targetNESE / NESE_FACTOR - monthResult.netEarnings);
+    }
+
     // Get SGA limit for a specific year
     public static double getSGALimit(int year) {
         switch (year) {
@@ -146,7 +172,23 @@ public class AGICalculator {
         }
     }
 
+    // Get the monthly amount that makes a month a Trial Work Period service month
+    public static double getTWPThreshold(int year) {
+        switch (year) {
+            case 2025:
+                return 1160.0;
+            case 2024:
+                return 1110.0;
+            case 2023:
+                return 1050.0;
+            default:
+                return 1160.0; // Default to 2025 threshold
+        }
+    }
+
     // Calculate what the user can earn without exceeding the limit
+    // Extrapolates one month over the year; SgaHeadroomSolver answers from the month's actual entries and bills
+    @Deprecated
     public static double remainingAllowableEarnings(AGIResult agiResult, int currentMonth, int year) {
         double monthlyNESE = agiResult.monthlySSACountableIncome;
         double monthlyLimit = getSGALimit(year);
@@ -1,5 +1,10 @@
 package com.example.worklogui;
 
+import com.example.worklogui.diagnostics.FlightRecorderControl;
+import com.example.worklogui.diagnostics.FxStallMonitor;
+import com.example.worklogui.diagnostics.StartupProfiler;
+import com.example.worklogui.storage.BackupSnapshotter;
+import com.example.worklogui.storage.PartitionManifest;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -7,14 +12,20 @@ import javafx.scene.image.Image;
 import javafx.stage.Stage;
 
 import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class App extends Application {
 
+    private CompanyManagerUI mainController;
+    private final AtomicBoolean shutdownDone = new AtomicBoolean(false);
+
     @Override
     public void start(Stage primaryStage) throws Exception {
+        StartupProfiler.mark("toolkit.start");
         UpdateChecker.checkForUpdates();
         FXMLLoader loader = new FXMLLoader(App.class.getResource("/com/example/worklogui/main-view.fxml"));
         Scene scene = new Scene(loader.load());
+        mainController = loader.getController();
         primaryStage.setScene(scene);
         primaryStage.setTitle("WorkLog");
         var styleUrl = getClass().getResource("/style.css");
@@ -38,21 +49,53 @@ public class App extends Application {
         }
 
         primaryStage.setOnCloseRequest(e -> {
-            AutoUpdater.shutdown();
+            shutdown();
             javafx.application.Platform.exit();
             System.exit(0);
         });
 
+        StartupProfiler.markFirstFrame(scene);
         primaryStage.show();
+        StartupProfiler.mark("stage.show");
+        FxStallMonitor.start();
     }
 
     @Override
     public void stop() throws Exception {
-        AutoUpdater.shutdown();
+        shutdown();
         super.stop();
     }
 
+    /**
+     * Clean shutdown work, run once whether we exit via the close button or Platform.exit()
+     */
+    private void shutdown() {
+        if (!shutdownDone.compareAndSet(false, true)) {
+            return;
+        }
+        FxStallMonitor.stop();
+        if (mainController != null) {
+            mainController.shutdown();
+        }
+        BackupSnapshotter.getInstance().shutdown();
+        PartitionManifest.getInstance().save();
+        saveFlightRecording();
+        AutoUpdater.shutdown();
+    }
+
+    /**
+     * Don't lose a recording the user forgot to stop before closing the app
+     */
+    private static void saveFlightRecording() {
+        try {
+            FlightRecorderControl.stopAndSave();
+        } catch (Exception ex) {
+            System.err.println("Could not save flight recording: " + ex.getMessage());
+        }
+    }
+
     public static void main(String[] args) {
+        StartupProfiler.begin();
         launch(args);
 
     }
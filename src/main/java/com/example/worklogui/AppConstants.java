@@ -11,16 +11,32 @@ public class AppConstants {
     public static final String CURRENT_VERSION = "1.0.0"; // or 1.0.1 etc.
     public static final String GITHUB_RELEASE_API = "https://api.github.com/repos/TashiRabten/WorkLogUI/releases/latest";
 
+    // Data root - override with -Dworklog.data.dir=<path> (used by benchmarks and portable setups)
+    public static final String DATA_DIR_PROPERTY = "worklog.data.dir";
+    public static final Path DATA_ROOT = resolveDataRoot();
+
     // File paths
-    public static final Path EXPORT_FOLDER = Paths.get(System.getProperty("user.home"), "Documents", "WorkLog", "exports");
-    public static final Path LOGS_FOLDER = Paths.get(System.getProperty("user.home"), "Documents", "WorkLog", "logs");
-    public static final Path BILLS_FOLDER = Paths.get(System.getProperty("user.home"), "Documents", "WorkLog", "bills");
-    public static final Path BACKUPS_FOLDER = Paths.get(System.getProperty("user.home"), "Documents", "WorkLog", "backups");
-    public static final Path RATES_PATH = Paths.get(System.getProperty("user.home"), "Documents", "WorkLog", "company-rates.json");
+    public static final Path EXPORT_FOLDER = DATA_ROOT.resolve("exports");
+    public static final Path LOGS_FOLDER = DATA_ROOT.resolve("logs");
+    public static final Path BILLS_FOLDER = DATA_ROOT.resolve("bills");
+    public static final Path BACKUPS_FOLDER = DATA_ROOT.resolve("backups");
+    public static final Path RATES_PATH = DATA_ROOT.resolve("company-rates.json");
+    public static final Path RATE_HISTORY_PATH = DATA_ROOT.resolve("rate-history.json");
+    public static final Path COMPANY_REGISTRY_PATH = DATA_ROOT.resolve("company-registry.json");
+    public static final Path STORAGE_SETTINGS_PATH = DATA_ROOT.resolve("storage.properties");
+
+    // Derived data that can always be rebuilt from the files above (safe to delete)
+    public static final Path CACHE_FOLDER = DATA_ROOT.resolve("cache");
+
+    // Intent records of multi-file changes in progress (replayed at startup after a crash)
+    public static final Path JOURNAL_FOLDER = DATA_ROOT.resolve("journal");
+
+    // Damaged month files set aside by the startup recovery scan (kept for manual inspection)
+    public static final Path QUARANTINE_FOLDER = DATA_ROOT.resolve("quarantine");
 
     // Legacy paths (deprecated but kept for compatibility)
     @Deprecated
-    public static final Path WORKLOG_PATH = Paths.get(System.getProperty("user.home"), "Documents", "WorkLog", "worklog.json");
+    public static final Path WORKLOG_PATH = DATA_ROOT.resolve("worklog.json");
 
     // Backup paths (optional safety backups)
     public static final Path BACKUP_WORKLOG_PATH = Path.of("backup", "worklog-backup.json");
@@ -38,4 +54,12 @@ public class AppConstants {
     // Error messages (bilingual)
     public static final String ERROR_INVALID_RATE_EN = "Invalid rate value.";
     public static final String ERROR_INVALID_RATE_PT = "Valor de pagamento inválido.";
+
+    private static Path resolveDataRoot() {
+        String override = System.getProperty(DATA_DIR_PROPERTY);
+        if (override != null && !override.isBlank()) {
+            return Paths.get(override);
+        }
+        return Paths.get(System.getProperty("user.home"), "Documents", "WorkLog");
+    }
 }
\ No newline at end of file
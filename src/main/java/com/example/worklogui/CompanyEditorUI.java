@@ -1,9 +1,10 @@
 package com.example.worklogui;
 
-import com.example.worklogui.exceptions.CompanyOperationException;
+import com.example.worklogui.exceptions.WorkLogServiceException;
+import com.example.worklogui.services.RerateService;
+import com.example.worklogui.storage.StorageCodecs;
+import com.example.worklogui.storage.StorageType;
 import com.example.worklogui.utils.DateUtils;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -14,15 +15,23 @@ import javafx.stage.Stage;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.*;
 
 public class CompanyEditorUI {
 
+    // Last day a re-rate reaches when a change has no later one
+    private static final LocalDate OPEN_END = LocalDate.of(9999, 12, 31);
+
+    private final CompanyManagerService service;
     private final TableView<Map.Entry<String, RateInfo>> table = new TableView<>();
-    private final ObjectMapper mapper = new ObjectMapper();
     private final Map<String, RateInfo> companyRates = new LinkedHashMap<>();
     private Runnable onCloseCallback;
 
+    public CompanyEditorUI(CompanyManagerService service) {
+        this.service = service;
+    }
+
 
     public void show(Stage parentStage) {
         loadRates();
@@ -64,12 +73,14 @@ public class CompanyEditorUI {
         Button addBtn = new Button("Add");
         Button editBtn = new Button("Edit");
         Button deleteBtn = new Button("Delete");
+        Button historyBtn = new Button("Rate Changes");
         Button saveBtn = new Button("Save");
         Button closeBtn = new Button("Close");
 
         setupButtonActions(addBtn, editBtn, deleteBtn, saveBtn, closeBtn);
+        historyBtn.setOnAction(e -> handleHistoryAction());
 
-        HBox buttons = new HBox(10, addBtn, editBtn, deleteBtn, saveBtn, closeBtn);
+        HBox buttons = new HBox(10, addBtn, editBtn, deleteBtn, historyBtn, saveBtn, closeBtn);
         buttons.setPadding(new Insets(10));
         return buttons;
     }
@@ -130,14 +141,14 @@ public class CompanyEditorUI {
         stage.setTitle(AppConstants.APP_TITLE + " - Edit Companies");
         stage.initModality(Modality.WINDOW_MODAL);
         stage.initOwner(parentStage);
-        stage.setScene(new Scene(layout, 380, 420));
+        stage.setScene(new Scene(layout, 520, 420));
         stage.getScene().getStylesheets().add(
                 getClass().getResource("/style.css").toExternalForm()
         );
         
         // Make resizable with minimum size
         stage.setResizable(true);
-        stage.setMinWidth(380);
+        stage.setMinWidth(520);
         stage.setMinHeight(420);
         
         return stage;
@@ -156,8 +167,7 @@ public class CompanyEditorUI {
         try {
             if (Files.exists(AppConstants.RATES_PATH)) {
                 companyRates.clear();
-                companyRates.putAll(mapper.readValue(AppConstants.RATES_PATH.toFile(),
-                        new TypeReference<Map<String, RateInfo>>() {}));
+                companyRates.putAll(StorageCodecs.read(AppConstants.RATES_PATH, StorageType.RATES));
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -166,7 +176,7 @@ public class CompanyEditorUI {
 
     private void saveRates() {
         try {
-            mapper.writerWithDefaultPrettyPrinter().writeValue(AppConstants.RATES_PATH.toFile(), companyRates);
+            StorageCodecs.write(AppConstants.RATES_PATH, companyRates, StorageCodecs.JSON_PRETTY);
 
             // Refresh the singleton service to make changes available immediately
             CompanyRateService.getInstance().refreshRates();
@@ -196,11 +206,13 @@ public class CompanyEditorUI {
         TextField nameField = (TextField) grid.getChildren().get(1);
         TextField rateField = (TextField) grid.getChildren().get(3);
         ComboBox<String> typeCombo = (ComboBox<String>) grid.getChildren().get(5);
+        DatePicker effectivePicker = existingName != null ? (DatePicker) grid.getChildren().get(7) : null;
 
         setupDialogResultConverter(dialog, nameField, rateField, typeCombo);
 
         Optional<Map.Entry<String, RateInfo>> result = dialog.showAndWait();
-        result.ifPresent(entry -> handleEditorResult(existingName, entry));
+        result.ifPresent(entry -> handleEditorResult(existingName, entry,
+                effectivePicker != null ? effectivePicker.getValue() : null));
     }
 
     private GridPane createEditorGrid(String existingName) {
@@ -227,6 +239,14 @@ public class CompanyEditorUI {
         grid.add(typeLabel, 0, 2);
         grid.add(typeCombo, 1, 2);
 
+        if (existingName != null) {
+            // Empty: the rate applies to every date, as before
+            DatePicker effectivePicker = new DatePicker();
+            effectivePicker.setPromptText("optional / opcional");
+            grid.add(new Label("Effective from:"), 0, 3);
+            grid.add(effectivePicker, 1, 3);
+        }
+
         return grid;
     }
 
@@ -266,93 +286,155 @@ public class CompanyEditorUI {
         }
     }
 
-    private void handleEditorResult(String existingName, Map.Entry<String, RateInfo> entry) {
+    private void handleEditorResult(String existingName, Map.Entry<String, RateInfo> entry, LocalDate effectiveFrom) {
         String newName = entry.getKey();
         RateInfo newInfo = entry.getValue();
 
         handleCompanyRename(existingName, newName);
-        companyRates.put(newName, newInfo);
+        if (effectiveFrom == null) {
+            companyRates.put(newName, newInfo);
+            refreshTable();
+            return;
+        }
+
+        // Effective-dated: recorded and saved right away, the current rate follows once it is in force
+        CompanyRateService rateService = CompanyRateService.getInstance();
+        rateService.setRate(newName, newInfo, effectiveFrom);
+        rateService.saveRates();
+        companyRates.put(newName, rateService.getRateTable().get(newName));
         refreshTable();
+        offerRerate(newName, effectiveFrom);
     }
 
-    private void handleCompanyRename(String existingName, String newName) {
-        if (existingName != null && !existingName.equals(newName)) {
-            companyRates.remove(existingName);
-            
-            try {
-                CompanyManagerService service = new CompanyManagerService();
-                service.initialize();
-                renameCompanyInAllLogs(service, existingName, newName);
-            } catch (Exception ex) {
-                System.err.println("Failed to rename company in logs: " + ex.getMessage());
-                ex.printStackTrace();
-                showRenameErrorAlert(ex);
-            }
+    /**
+     * Preview which existing entries a rate change affects and re-rate them on confirmation
+     */
+    private void offerRerate(String company, LocalDate effectiveFrom) {
+        LocalDate next = CompanyRateService.getInstance().getRateTable().getHistory(company).higherKey(effectiveFrom);
+        LocalDate to = next != null ? next.minusDays(1) : OPEN_END;
+
+        RerateService.Plan preview;
+        try {
+            preview = service.rerate(effectiveFrom, to, company, true);
+        } catch (WorkLogServiceException e) {
+            showRerateError(e);
+            return;
+        }
+        if (preview.isEmpty()) {
+            Alert info = new Alert(Alert.AlertType.INFORMATION,
+                    "No existing entries use another rate.\nNenhum registro existente usa outra taxa.");
+            info.setHeaderText("Rate change saved / Alteração de taxa salva");
+            info.showAndWait();
+            return;
+        }
+
+        StringBuilder months = new StringBuilder();
+        preview.getChangesByMonth().forEach((month, count) ->
+                months.append(month).append(": ").append(count).append("\n"));
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Re-rate Entries / Recalcular Registros");
+        confirm.setHeaderText(String.format(Locale.US,
+                "Re-rate %d existing entries of %s from %s?\nRecalcular %d registros existentes de %s a partir de %s?",
+                preview.getChanges().size(), company, effectiveFrom.format(DateUtils.DISPLAY_FORMATTER),
+                preview.getChanges().size(), company, effectiveFrom.format(DateUtils.DISPLAY_FORMATTER)));
+        confirm.setContentText(months + String.format(Locale.US,
+                "Earnings change / Variação de ganhos: $ %.2f", preview.getEarningsDelta()));
+
+        Optional<ButtonType> result = confirm.showAndWait();
+        if (result.isEmpty() || result.get() != ButtonType.OK) {
+            return;
+        }
+        try {
+            RerateService.Plan applied = service.rerate(effectiveFrom, to, company, false);
+            Alert done = new Alert(Alert.AlertType.INFORMATION,
+                    "Re-rated " + applied.getChanges().size() + " entries.\nRecalculados " + applied.getChanges().size() + " registros.");
+            done.setHeaderText("Re-rate Complete");
+            done.showAndWait();
+        } catch (WorkLogServiceException e) {
+            showRerateError(e);
         }
     }
 
-    private void showRenameErrorAlert(Exception ex) {
-        Alert errorAlert = new Alert(Alert.AlertType.WARNING,
-                "Company rate updated but failed to rename in existing logs: " + ex.getMessage());
-        errorAlert.setHeaderText("Partial Update");
+    private void showRerateError(Exception e) {
+        System.err.println("❌ Re-rating failed: " + e.getMessage());
+        Alert errorAlert = new Alert(Alert.AlertType.ERROR,
+                "Rate change saved but re-rating failed: " + e.getMessage());
+        errorAlert.setHeaderText("Re-rate Error");
         errorAlert.showAndWait();
     }
 
     /**
-     * NEW METHOD: Rename company in all log files
+     * List the effective-dated rate changes of the selected company; one can be removed
      */
-    private void renameCompanyInAllLogs(CompanyManagerService service, String oldName, String newName) {
-        try {
-            List<RegistroTrabalho> allLogs = service.getRegistros();
-            boolean hasChanges = updateCompanyNamesInLogs(allLogs, oldName, newName);
-
-            if (hasChanges) {
-                saveUpdatedLogsGroupedByMonth(service, allLogs);
-                System.out.println("✅ Successfully renamed company '" + oldName + "' to '" + newName + "' in all logs");
-            }
-        } catch (Exception e) {
-            throw new CompanyOperationException("Failed to rename company in logs", e);
+    private void handleHistoryAction() {
+        Map.Entry<String, RateInfo> selected = table.getSelectionModel().getSelectedItem();
+        if (selected == null) {
+            Alert warn = new Alert(Alert.AlertType.WARNING,
+                    "Please select a company.\nPor favor, selecione uma empresa.");
+            warn.setHeaderText("No Selection / Nenhuma Seleção");
+            warn.showAndWait();
+            return;
         }
-    }
-
-    private boolean updateCompanyNamesInLogs(List<RegistroTrabalho> allLogs, String oldName, String newName) {
-        boolean hasChanges = false;
-        for (RegistroTrabalho log : allLogs) {
-            if (oldName.equals(log.getEmpresa())) {
-                log.setEmpresa(newName);
-                hasChanges = true;
+        String company = selected.getKey();
+
+        ListView<LocalDate> list = new ListView<>();
+        list.setCellFactory(view -> new ListCell<LocalDate>() {
+            @Override
+            protected void updateItem(LocalDate date, boolean empty) {
+                super.updateItem(date, empty);
+                if (empty || date == null) {
+                    setText(null);
+                    return;
+                }
+                RateInfo info = CompanyRateService.getInstance().getRateTable().getHistory(company).get(date);
+                String from = date.equals(CompanyRateService.BEFORE_FIRST_CHANGE)
+                        ? "Before / Antes" : date.format(DateUtils.DISPLAY_FORMATTER);
+                setText(info == null ? from : String.format(Locale.US, "%s   $ %.2f (%s)", from, info.getValor(),
+                        info.getTipo().equals("hora") ? "hour" : "minute"));
             }
-        }
-        return hasChanges;
+        });
+        list.getItems().setAll(CompanyRateService.getInstance().getRateTable().getHistory(company).keySet());
+        list.setPrefHeight(200);
+
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle("Rate Changes / Alterações de Taxa - " + company);
+        ButtonType removeType = new ButtonType("Remove / Remover", ButtonBar.ButtonData.OTHER);
+        dialog.getDialogPane().getButtonTypes().addAll(removeType, ButtonType.CLOSE);
+        dialog.getDialogPane().setContent(list.getItems().isEmpty()
+                ? new Label("No rate changes recorded.\nNenhuma alteração de taxa registrada.") : list);
+
+        Button removeBtn = (Button) dialog.getDialogPane().lookupButton(removeType);
+        removeBtn.disableProperty().bind(list.getSelectionModel().selectedItemProperty().isNull());
+        removeBtn.addEventFilter(javafx.event.ActionEvent.ACTION, e -> {
+            e.consume(); // keep the dialog open
+            LocalDate date = list.getSelectionModel().getSelectedItem();
+            CompanyRateService rateService = CompanyRateService.getInstance();
+            rateService.removeRateChange(company, date);
+            rateService.saveRates();
+            list.getItems().setAll(rateService.getRateTable().getHistory(company).keySet());
+        });
+        dialog.showAndWait();
     }
 
-    private void saveUpdatedLogsGroupedByMonth(CompanyManagerService service, List<RegistroTrabalho> allLogs) throws Exception {
-        Map<String, List<RegistroTrabalho>> monthlyLogs = groupLogsByMonth(allLogs);
-        clearExistingMonthlyFiles(service, monthlyLogs);
-        saveUpdatedMonthlyFiles(service, monthlyLogs);
-    }
+    private void handleCompanyRename(String existingName, String newName) {
+        if (existingName != null && !existingName.equals(newName)) {
+            companyRates.remove(existingName);
 
-    private Map<String, List<RegistroTrabalho>> groupLogsByMonth(List<RegistroTrabalho> allLogs) {
-        Map<String, List<RegistroTrabalho>> monthlyLogs = new HashMap<>();
-        for (RegistroTrabalho log : allLogs) {
-            String yearMonth = DateUtils.getYearMonthKeyFromDateString(log.getData());
-            if (yearMonth != null) {
-                monthlyLogs.computeIfAbsent(yearMonth, k -> new ArrayList<>()).add(log);
+            try {
+                // Entries reference the company by id, so only the registry changes
+                CompanyRateService.getInstance().renameCompany(existingName, newName);
+            } catch (IOException ex) {
+                System.err.println("Failed to rename company in logs: " + ex.getMessage());
+                ex.printStackTrace();
+                showRenameErrorAlert(ex);
             }
         }
-        return monthlyLogs;
     }
 
-    private void clearExistingMonthlyFiles(CompanyManagerService service, Map<String, List<RegistroTrabalho>> monthlyLogs) throws Exception {
-        for (String yearMonth : monthlyLogs.keySet()) {
-            service.saveWorkLogsForMonth(yearMonth, new ArrayList<>());
-        }
+    private void showRenameErrorAlert(Exception ex) {
+        Alert errorAlert = new Alert(Alert.AlertType.WARNING,
+                "Company rate updated but failed to rename in existing logs: " + ex.getMessage());
+        errorAlert.setHeaderText("Partial Update");
+        errorAlert.showAndWait();
     }
-
-    private void saveUpdatedMonthlyFiles(CompanyManagerService service, Map<String, List<RegistroTrabalho>> monthlyLogs) throws Exception {
-        for (Map.Entry<String, List<RegistroTrabalho>> entry : monthlyLogs.entrySet()) {
-            String yearMonth = entry.getKey();
-            List<RegistroTrabalho> monthLogs = entry.getValue();
-            service.saveWorkLogsForMonth(yearMonth, monthLogs);
-        }
-    }}
+}
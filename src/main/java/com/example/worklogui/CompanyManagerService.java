@@ -1,12 +1,28 @@
 package com.example.worklogui;
 
+import com.example.worklogui.diagnostics.DebugLog;
+import com.example.worklogui.diagnostics.WorkLogEvents;
 import com.example.worklogui.exceptions.WorkLogServiceException;
 import com.example.worklogui.exceptions.WorkLogValidationException;
 import com.example.worklogui.exceptions.WorkLogNotFoundException;
 import com.example.worklogui.services.WorkLogFileManager;
 import com.example.worklogui.services.WorkLogBusinessService;
+import com.example.worklogui.services.ColumnarWorkLogStore;
+import com.example.worklogui.services.EarningsProjectionModel;
 import com.example.worklogui.services.ExcelExportService;
+import com.example.worklogui.services.IncrementalAGIEngine;
+import com.example.worklogui.services.IndexSnapshotStore;
+import com.example.worklogui.services.MonthSummary;
+import com.example.worklogui.services.MonthSummaryIndex;
+import com.example.worklogui.services.RerateService;
+import com.example.worklogui.services.SgaHeadroomSolver;
+import com.example.worklogui.services.SgaStatusCalendar;
+import com.example.worklogui.services.WorkIncentiveTimeline;
+import com.example.worklogui.storage.AtomicFileWriter;
+import com.example.worklogui.storage.PartitionLocks;
+import com.example.worklogui.storage.PartitionVersions;
 import com.example.worklogui.utils.CalculationUtils;
+import com.example.worklogui.utils.ConcatenatedList;
 import com.example.worklogui.utils.DateUtils;
 import com.example.worklogui.utils.ErrorHandler;
 import com.example.worklogui.utils.FilterHelper;
@@ -16,11 +32,20 @@ import com.example.worklogui.utils.FileMigrationUtility;
 import java.io.IOException;
 import java.nio.file.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CompanyManagerService {
 
-    private static final Path BILLS_DIR = Paths.get(System.getProperty("user.home"), "Documents", "WorkLog", "bills");
+    private static final Path BILLS_DIR = AppConstants.BILLS_FOLDER;
+
+    private static final String BILL_PARTITION_PREFIX = "bills/";
 
     // Use the new file manager for work logs
     private final WorkLogFileManager workLogFileManager = new WorkLogFileManager();
@@ -31,18 +56,132 @@ public class CompanyManagerService {
     // Excel export service for background operations
     private final ExcelExportService excelExportService = new ExcelExportService(this);
 
-    // Cache for bills (keep existing pattern)
-    private Map<String, List<Bill>> bills = new HashMap<>();
+    // Cache for bills (concurrent: the background history load fills it while the UI reads it;
+    // lists are unmodifiable and replaced on save, under the month's bills write lock)
+    private final Map<String, List<Bill>> bills = new ConcurrentHashMap<>();
+
+    private final PartitionLocks locks = PartitionLocks.getInstance();
+
+    private final PartitionVersions versions = PartitionVersions.getInstance();
+
+    // Cached filter data, replaced as a whole so exports on other threads never see it half-built
+    private volatile FilterData filters = new FilterData();
+
+    // Per-month derived data, persisted at shutdown for warm starts
+    private final MonthSummaryIndex monthIndex = new MonthSummaryIndex();
+
+    // Primitive-column copy of the work logs for rollups and AGI (null unless enabled)
+    private final ColumnarWorkLogStore columnarStore =
+            ColumnarWorkLogStore.isEnabled() ? new ColumnarWorkLogStore(workLogFileManager) : null;
+
+    private final RerateService rerateService = new RerateService(workLogFileManager);
+
+    // Running per-month AGI totals, built in the background after the history load
+    private final IncrementalAGIEngine agiEngine = new IncrementalAGIEngine(workLogFileManager,
+            new IncrementalAGIEngine.BillSource() {
+                @Override
+                public Collection<String> getBillMonths() {
+                    List<String> months = new ArrayList<>();
+                    for (Path path : listBillFiles()) {
+                        months.add(path.getFileName().toString().replace(".json", ""));
+                    }
+                    return months;
+                }
+
+                @Override
+                public List<Bill> getBills(String yearMonth) {
+                    return getBillsForMonth(yearMonth);
+                }
+            });
+
+    // SSDI TWP/EPE timeline, kept current from the AGI totals
+    private final WorkIncentiveTimeline workIncentiveTimeline = new WorkIncentiveTimeline(agiEngine);
+
+    // SGA status of every month, kept current from the AGI totals
+    private final SgaStatusCalendar sgaStatusCalendar = new SgaStatusCalendar(agiEngine);
+
+    private final SgaHeadroomSolver headroomSolver = new SgaHeadroomSolver(this);
+
+    // Weekday run rates per company for the month-end projection, learned in the background
+    private final EarningsProjectionModel projectionModel = new EarningsProjectionModel(workLogFileManager, agiEngine);
 
-    // Cached filter data
-    private Set<String> years = new TreeSet<>();
-    private Set<String> months = new TreeSet<>();
-    private Set<String> companies = new TreeSet<>();
+    // Months the history load must rebuild; null = no valid snapshot, load everything
+    private volatile Set<String> staleMonths = null;
 
+    private static final int HISTORY_LOADER_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Filter choices (years, months, companies). Built off to the side and published with one
+     * volatile write, then never modified (copy-on-write). The choices are derived from the
+     * companies of each month, so an edit only has to recompute the months it touched.
+     */
+    private static final class FilterData {
+        // Every month with logs or bills, with the companies of its logs
+        final Map<String, Set<String>> monthCompanies = new TreeMap<>();
+
+        final Set<String> years = new TreeSet<>();
+        final Set<String> months = new TreeSet<>();
+        final Set<String> companies = new TreeSet<>();
+        final Map<String, Set<String>> yearToMonths = new TreeMap<>();
+
+        FilterData copy() {
+            FilterData copy = new FilterData();
+            monthCompanies.forEach((yearMonth, names) -> copy.monthCompanies.put(yearMonth, new TreeSet<>(names)));
+            return copy;
+        }
+
+        void addMonth(String yearMonth, Collection<String> names) {
+            if (yearMonth != null && yearMonth.length() >= 7) {
+                monthCompanies.computeIfAbsent(yearMonth, k -> new TreeSet<>()).addAll(names);
+            }
+        }
+
+        /**
+         * Rebuild the choices from the months (call before publishing)
+         */
+        FilterData derive() {
+            years.clear();
+            months.clear();
+            companies.clear();
+            yearToMonths.clear();
+            monthCompanies.forEach((yearMonth, names) -> {
+                String year = DateUtils.getYearFromKey(yearMonth);
+                String month = DateUtils.getMonthFromKey(yearMonth);
+                years.add(year);
+                months.add(month);
+                yearToMonths.computeIfAbsent(year, k -> new TreeSet<>()).add(month);
+                companies.addAll(names);
+            });
+            return this;
+        }
+    }
+
+    /**
+     * Everything the background history load produces, applied on the FX thread with {@link #applyHistory}
+     */
+    public static class HistoryData {
+        public final List<RegistroTrabalho> workLogs;
+        public final Map<String, List<Bill>> bills;
+        public final List<MonthSummary> summaries;
+
+        HistoryData(List<RegistroTrabalho> workLogs, Map<String, List<Bill>> bills, List<MonthSummary> summaries) {
+            this.workLogs = workLogs;
+            this.bills = bills;
+            this.summaries = summaries;
+        }
+    }
+
+    /**
+     * Fast startup: directories, legacy migration check, rates and the current month only.
+     * Older history is loaded afterwards with {@link #loadHistoryAsync()}. When a valid index
+     * snapshot exists the filters are complete right away and only changed months are reloaded.
+     */
     public void initialize() throws WorkLogServiceException {
         try {
             // Initialize the work log file manager
             workLogFileManager.initialize();
+            workLogFileManager.addSaveListener(monthIndex::markDirty);
+            CompanyRegistry.getInstance().addRenameListener(this::onCompanyRenamed);
 
             // Check for and migrate old worklog.json file if it exists
             migrateOldWorklogFileIfExists();
@@ -50,8 +189,16 @@ public class CompanyManagerService {
             // Initialize company rates
             CompanyRateService.getInstance().refreshRates();
 
-            // Populate filters from available data
-            populateFilters();
+            // Adopt the index snapshot from the last clean shutdown, if still valid
+            boolean warmStart = adoptIndexSnapshot();
+
+            // Populate filters from the current month; the rest arrives with the snapshot or the history load
+            populateFiltersForMonth(YearMonth.now().toString());
+            if (warmStart) {
+                FilterData next = filters.copy();
+                addIndexToFilters(next);
+                filters = next.derive();
+            }
 
             // Set up error handler
             ErrorHandler.setStatusMessageHandler(message -> {
@@ -63,6 +210,40 @@ public class CompanyManagerService {
         }
     }
 
+    /**
+     * A rename only changes the registry: follow it in the index and the filter choices. The
+     * persisted snapshot still has the old name and no file changed to invalidate it, so drop it;
+     * it is written again at shutdown.
+     */
+    private void onCompanyRenamed(String oldName, String newName) {
+        monthIndex.renameCompany(oldName, newName);
+        FilterData next = filters.copy();
+        for (Set<String> names : next.monthCompanies.values()) {
+            if (names.remove(oldName)) {
+                names.add(newName);
+            }
+        }
+        filters = next.derive();
+        IndexSnapshotStore.delete();
+    }
+
+    /**
+     * Load the persisted index and check it against the partition files on disk
+     */
+    private boolean adoptIndexSnapshot() {
+        List<MonthSummary> snapshot = IndexSnapshotStore.load();
+        if (snapshot == null) {
+            staleMonths = null;
+            return false;
+        }
+
+        monthIndex.adopt(snapshot);
+        staleMonths = monthIndex.findStaleMonths();
+        System.out.println("⚡ Index snapshot adopted: " + snapshot.size() + " months, "
+                + staleMonths.size() + " changed on disk");
+        return true;
+    }
+
     /**
      * Check for old worklog.json file and migrate it if it exists
      */
@@ -86,6 +267,11 @@ public class CompanyManagerService {
         try {
             // Clear cache to force reload
             workLogFileManager.clearCache();
+            if (columnarStore != null) {
+                columnarStore.invalidate();
+            }
+            agiEngine.invalidate();
+            projectionModel.invalidate();
             populateFilters();
         } catch (Exception e) {
             throw new WorkLogServiceException("Failed to reload work logs: " + e.getMessage(), e);
@@ -105,7 +291,7 @@ public class CompanyManagerService {
         RegistroTrabalho newEntry = businessService.createWorkLog(date, company, timeValue, doublePay);
         
         // Update filters after successful creation
-        populateFilters();
+        refreshFiltersForMonths(List.of(DateUtils.getYearMonthKey(date)));
         
         return newEntry;
     }
@@ -120,27 +306,106 @@ public class CompanyManagerService {
         return bills.stream().mapToDouble(Bill::getAmount).sum();
     }
 
+    /**
+     * Bills of a month, as an unmodifiable list shared with the cache (copy it to make changes)
+     */
     public List<Bill> getBillsForMonth(String yearMonth) {
-        if (!this.bills.containsKey(yearMonth)) {
-            Path path = getBillPath(yearMonth);
-            List<Bill> result = carregarBills(path);
-            this.bills.put(yearMonth, new ArrayList<>(result));
+        List<Bill> cached = this.bills.get(yearMonth);
+        if (cached == null) {
+            // Load under the read lock so a concurrent save can't be replaced by the older file
+            try (PartitionLocks.Held ignored = locks.read(billPartition(yearMonth))) {
+                cached = this.bills.get(yearMonth);
+                if (cached == null) {
+                    cached = Collections.unmodifiableList(carregarBills(getBillPath(yearMonth)));
+                    this.bills.put(yearMonth, cached);
+                }
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Bills of a month as of a snapshot's version
+     */
+    List<Bill> getBillsForMonth(String yearMonth, PartitionVersions.ReadView view) {
+        try (PartitionLocks.Held ignored = locks.read(billPartition(yearMonth))) {
+            List<Bill> committed = versions.read(billPartition(yearMonth), view);
+            if (committed != null) {
+                return committed;
+            }
+            return getBillsForMonth(yearMonth);
+        }
+    }
+
+    /**
+     * Open a consistent point-in-time view of all work logs and bills; edits made while it is open
+     * are not visible through it. Close it when done.
+     */
+    public DataSnapshot openSnapshot() throws WorkLogServiceException {
+        PartitionVersions.ReadView view = versions.open();
+        try {
+            // Listed after pinning: months created later read as empty, months deleted later from history
+            Set<String> logMonths = new TreeSet<>(workLogFileManager.getAvailableYearMonthKeys());
+            Set<String> billMonths = new TreeSet<>();
+            for (Path path : listBillFiles()) {
+                billMonths.add(path.getFileName().toString().replace(".json", ""));
+            }
+            for (String partition : versions.getRecordedPartitions()) {
+                if (partition.startsWith(BILL_PARTITION_PREFIX)) {
+                    billMonths.add(partition.substring(BILL_PARTITION_PREFIX.length()));
+                } else {
+                    logMonths.add(partition);
+                }
+            }
+            return new DataSnapshot(this, view, logMonths, billMonths);
+        } catch (ErrorHandler.FileOperationException | RuntimeException e) {
+            view.close();
+            throw new WorkLogServiceException("Failed to open data snapshot", e);
         }
-        return new ArrayList<>(this.bills.getOrDefault(yearMonth, new ArrayList<>()));
     }
 
     public void setBillsForMonth(String yearMonth, List<Bill> billList) throws Exception {
+        try (PartitionLocks.Held ignored = locks.write(billPartition(yearMonth))) {
+            storeBills(yearMonth, billList);
+        }
+    }
+
+    private static String billPartition(String yearMonth) {
+        return BILL_PARTITION_PREFIX + yearMonth;
+    }
+
+    private void storeBills(String yearMonth, List<Bill> billList) throws Exception {
+        // The one copy per save: it becomes the cached (and versioned) list
+        List<Bill> saved = Collections.unmodifiableList(new ArrayList<>(billList));
+        PartitionVersions.Commit commit = versions.beginCommit(billPartition(yearMonth), () -> currentBills(yearMonth));
+        try {
+            writeBills(yearMonth, saved);
+        } catch (Exception e) {
+            commit.discard();
+            throw e;
+        }
+        commit.publish(saved);
+        agiEngine.onBillsSaved(yearMonth, saved);
+    }
+
+    /**
+     * Content of a month's bills before a commit changes it
+     */
+    private List<Bill> currentBills(String yearMonth) {
+        List<Bill> cached = this.bills.get(yearMonth);
+        return cached != null ? cached : carregarBills(getBillPath(yearMonth));
+    }
+
+    private void writeBills(String yearMonth, List<Bill> billList) throws Exception {
         Path path = getBillPath(yearMonth);
         Files.createDirectories(path.getParent());
 
         if (billList.isEmpty()) {
             try {
-                if (Files.exists(path)) {
-                    System.out.println("Deleting empty bill file: " + path);
-                    Files.delete(path);
-                }
+                AtomicFileWriter.delete(path);
                 this.bills.remove(yearMonth);
-                System.out.println("Removed " + yearMonth + " from bills cache");
+                monthIndex.markDirty(yearMonth);
+                DebugLog.debug("Removed " + yearMonth + " from bills cache");
             } catch (IOException e) {
                 System.out.println("❌ ERROR: Could not delete bill file " + path.getFileName());
                 e.printStackTrace();
@@ -148,11 +413,12 @@ public class CompanyManagerService {
             }
         } else {
             try {
-                System.out.println("Saving " + billList.size() + " bills to " + yearMonth);
+                DebugLog.debug(() -> "Saving " + billList.size() + " bills to " + yearMonth);
                 boolean success = FileLoader.salvarBills(path, billList);
                 if (success) {
-                    this.bills.put(yearMonth, new ArrayList<>(billList));
-                    System.out.println("💾 Saved " + billList.size() + " bills to file.");
+                    this.bills.put(yearMonth, billList);
+                    monthIndex.markDirty(yearMonth);
+                    DebugLog.debug(() -> "💾 Saved " + billList.size() + " bills to file.");
                 } else {
                     System.out.println("❌ ERROR: Failed to save bills to file");
                     throw new IOException("Failed to save bills to " + path.getFileName());
@@ -164,9 +430,16 @@ public class CompanyManagerService {
             }
         }
 
-        System.out.println("Final file state - exists: " + Files.exists(path));
-        if (Files.exists(path)) {
-            System.out.println("File size: " + Files.size(path) + " bytes");
+        if (!DebugLog.isEnabled()) {
+            return;
+        }
+        if (AtomicFileWriter.isPending(path)) {
+            DebugLog.debug("Final file state - pending in write batch");
+        } else {
+            DebugLog.debug("Final file state - exists: " + Files.exists(path));
+            if (Files.exists(path)) {
+                DebugLog.debug("File size: " + Files.size(path) + " bytes");
+            }
         }
     }
 
@@ -187,7 +460,18 @@ public class CompanyManagerService {
         businessService.deleteWorkLog(registro);
         
         // Update filters after successful deletion
-        populateFilters();
+        refreshFiltersForMonths(monthsOf(List.of(registro)));
+    }
+
+    /**
+     * Delete many entries at once (clear logs): one save per month, committed together
+     *
+     * @return number of entries deleted
+     */
+    public int deleteRegistros(List<RegistroTrabalho> registros) throws WorkLogServiceException {
+        int removed = businessService.deleteWorkLogs(registros);
+        refreshFiltersForMonths(monthsOf(registros));
+        return removed;
     }
 
     public List<RegistroTrabalho> applyFilters(String year, String month, String company) {
@@ -202,56 +486,262 @@ public class CompanyManagerService {
     public void populateFilters() {
         try {
             List<RegistroTrabalho> allLogs = workLogFileManager.getAllWorkLogs();
+            Map<String, List<Bill>> allBills = getAllBills();
 
-            years.clear();
-            months.clear();
-            companies.clear();
+            // Years/months come from both logs and bills
+            FilterData next = new FilterData();
+            addToFilters(next, allLogs, allBills);
+            filters = next.derive();
+        } catch (Exception e) {
+            ErrorHandler.handleUnexpectedError("populating filters", e);
+        }
+    }
 
-            years.addAll(FilterHelper.extractYears(allLogs));
-            months.addAll(FilterHelper.extractMonths(allLogs));
-            companies.addAll(FilterHelper.extractCompanies(allLogs));
+    /**
+     * Populate filter data from a single month (startup fast path)
+     */
+    public void populateFiltersForMonth(String yearMonthKey) {
+        List<RegistroTrabalho> monthLogs = getWorkLogsForMonth(yearMonthKey);
+        FilterData next = new FilterData();
+        addToFilters(next, monthLogs, Map.of(yearMonthKey, getBillsForMonth(yearMonthKey)));
+        filters = next.derive();
+    }
 
-            // Also add years/months from bills
-            Map<String, List<Bill>> allBills = getAllBills();
-            for (String yearMonth : allBills.keySet()) {
-                if (yearMonth.length() >= 7) {
-                    String year = DateUtils.getYearFromKey(yearMonth);
-                    String month = DateUtils.getMonthFromKey(yearMonth);
-                    if (year != null && month != null) {
-                        years.add(year);
-                        months.add(month);
+    /**
+     * Recompute the filter choices of the months an edit touched; the other months keep what
+     * they had, so no history or bill folder is read again (the saved months come from the cache)
+     */
+    private void refreshFiltersForMonths(Collection<String> yearMonthKeys) {
+        FilterData next = filters.copy();
+        for (String yearMonthKey : yearMonthKeys) {
+            next.monthCompanies.remove(yearMonthKey);
+            List<RegistroTrabalho> monthLogs = getWorkLogsForMonth(yearMonthKey);
+            if (!monthLogs.isEmpty() || !getBillsForMonth(yearMonthKey).isEmpty()) {
+                next.addMonth(yearMonthKey, FilterHelper.extractCompanies(monthLogs));
+            }
+        }
+        filters = next.derive();
+    }
+
+    private static Set<String> monthsOf(Collection<RegistroTrabalho> logs) {
+        Set<String> keys = new TreeSet<>();
+        for (RegistroTrabalho log : logs) {
+            String yearMonthKey = DateUtils.getYearMonthKeyFromDateString(log.getData());
+            if (yearMonthKey != null) {
+                keys.add(yearMonthKey);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Load every month of work logs and bills in parallel, off the FX thread, and summarize each month.
+     * After a warm start only the months that changed on disk are read.
+     * Nothing in the service's filter state changes until {@link #applyHistory} is called.
+     */
+    public CompletableFuture<HistoryData> loadHistoryAsync() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(HISTORY_LOADER_THREADS, r -> {
+            Thread t = new Thread(r, "history-loader-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        CompletableFuture<HistoryData> result = CompletableFuture
+                .supplyAsync(() -> {
+                    try {
+                        return workLogFileManager.getAvailableYearMonthKeys();
+                    } catch (ErrorHandler.FileOperationException e) {
+                        throw new CompletionException(e);
+                    }
+                }, pool)
+                .thenCompose(keys -> {
+                    Set<String> rebuild = staleMonths;
+                    Map<String, CompletableFuture<List<RegistroTrabalho>>> logFutures = new TreeMap<>();
+                    for (String key : keys) {
+                        if (rebuild != null && !rebuild.contains(key)) {
+                            continue;
+                        }
+                        logFutures.put(key, CompletableFuture.supplyAsync(() -> {
+                            try {
+                                return workLogFileManager.getWorkLogs(key);
+                            } catch (ErrorHandler.FileOperationException e) {
+                                throw new CompletionException(e);
+                            }
+                        }, pool));
                     }
+
+                    Map<String, CompletableFuture<List<Bill>>> billFutures = new TreeMap<>();
+                    for (Path path : listBillFiles()) {
+                        String ym = path.getFileName().toString().replace(".json", "");
+                        if (rebuild != null && !rebuild.contains(ym)) {
+                            continue;
+                        }
+                        billFutures.put(ym, CompletableFuture.supplyAsync(
+                                () -> Collections.unmodifiableList(carregarBills(path)), pool));
+                    }
+
+                    List<CompletableFuture<?>> all = new ArrayList<>(logFutures.values());
+                    all.addAll(billFutures.values());
+                    return CompletableFuture.allOf(all.toArray(new CompletableFuture[0])).thenApply(done -> {
+                        List<List<RegistroTrabalho>> monthLogLists = new ArrayList<>();
+                        logFutures.values().forEach(f -> monthLogLists.add(f.join()));
+                        List<RegistroTrabalho> allLogs = ConcatenatedList.of(monthLogLists);
+                        Map<String, List<Bill>> allBills = new HashMap<>();
+                        billFutures.forEach((ym, f) -> {
+                            List<Bill> list = f.join();
+                            if (!list.isEmpty()) {
+                                allBills.put(ym, list);
+                            }
+                        });
+
+                        Set<String> loadedMonths = new TreeSet<>(logFutures.keySet());
+                        loadedMonths.addAll(billFutures.keySet());
+                        List<MonthSummary> summaries = new ArrayList<>();
+                        for (String ym : loadedMonths) {
+                            List<RegistroTrabalho> monthLogs = logFutures.containsKey(ym) ? logFutures.get(ym).join() : List.of();
+                            List<Bill> monthBills = billFutures.containsKey(ym) ? billFutures.get(ym).join() : List.of();
+                            summaries.add(MonthSummaryIndex.build(ym, monthLogs, monthBills));
+                        }
+                        return new HistoryData(allLogs, allBills, summaries);
+                    });
+                });
+
+        result.whenComplete((data, error) -> pool.shutdown());
+        return result;
+    }
+
+    /**
+     * Merge a completed history load into the filter data and bill cache (call on the FX thread)
+     */
+    public void applyHistory(HistoryData data) {
+        data.bills.forEach(bills::put); // loaded as unmodifiable lists
+        data.summaries.forEach(monthIndex::put);
+        monthIndex.markComplete();
+        staleMonths = Set.of();
+
+        FilterData next = new FilterData();
+        addToFilters(next, data.workLogs, data.bills);
+        addIndexToFilters(next);
+        filters = next.derive();
+
+        agiEngine.buildInBackground();
+        projectionModel.buildInBackground();
+    }
+
+    /**
+     * Persist the derived indexes for the next launch (call at shutdown). Months saved during this
+     * session are rebuilt first; nothing is written unless the history load completed.
+     */
+    public void saveIndexSnapshot() {
+        if (!monthIndex.isComplete()) {
+            System.out.println("ℹ️ History not fully loaded, index snapshot skipped");
+            return;
+        }
+
+        try {
+            for (String ym : monthIndex.drainDirtyMonths()) {
+                List<RegistroTrabalho> monthLogs = workLogFileManager.getWorkLogs(ym);
+                List<Bill> monthBills = carregarBills(getBillPath(ym));
+                if (monthLogs.isEmpty() && monthBills.isEmpty()) {
+                    monthIndex.remove(ym);
+                } else {
+                    monthIndex.put(MonthSummaryIndex.build(ym, monthLogs, monthBills));
                 }
             }
+            List<MonthSummary> summaries = monthIndex.getSummaries();
+            IndexSnapshotStore.save(summaries);
+            System.out.println("💾 Index snapshot saved: " + summaries.size() + " months");
         } catch (Exception e) {
-            ErrorHandler.handleUnexpectedError("populating filters", e);
+            // A stale snapshot would only cost a rebuild, but don't leave a half-updated one around
+            System.err.println("⚠️ Could not save index snapshot: " + e.getMessage());
+            IndexSnapshotStore.delete();
+        }
+    }
+
+    /**
+     * Per-month summaries (counts, totals, SGA status); complete once the history load finished
+     */
+    public MonthSummaryIndex getMonthIndex() {
+        return monthIndex;
+    }
+
+    /**
+     * Year to sorted months map of everything loaded so far (logs and bills)
+     */
+    public Map<String, List<String>> getKnownYearToMonthsMap() {
+        Map<String, List<String>> result = new TreeMap<>();
+        filters.yearToMonths.forEach((year, monthSet) -> result.put(year, new ArrayList<>(monthSet)));
+        return result;
+    }
+
+    private static void addToFilters(FilterData target, List<RegistroTrabalho> logs, Map<String, List<Bill>> billsByMonth) {
+        FilterHelper.groupByYearMonth(logs).forEach((yearMonth, monthLogs) ->
+                target.addMonth(yearMonth, FilterHelper.extractCompanies(monthLogs)));
+
+        for (Map.Entry<String, List<Bill>> entry : billsByMonth.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                target.addMonth(entry.getKey(), Set.of());
+            }
+        }
+    }
+
+    private void addIndexToFilters(FilterData target) {
+        for (MonthSummary summary : monthIndex.getSummaries()) {
+            if (summary.getLogCount() > 0 || summary.getBillCount() > 0) {
+                List<String> names = summary.getCompanies();
+                target.addMonth(summary.getYearMonth(), names != null ? names : List.of());
+            }
         }
     }
 
-    public Set<String> getYears() { return years; }
-    public Set<String> getMonths() { return months; }
-    public Set<String> getCompanies() { return companies; }
+    private List<Path> listBillFiles() {
+        List<Path> files = new ArrayList<>();
+        if (Files.exists(BILLS_DIR)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(BILLS_DIR, "*.json")) {
+                for (Path path : stream) {
+                    files.add(path);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return files;
+    }
+
+    public Set<String> getYears() { return Collections.unmodifiableSet(filters.years); }
+    public Set<String> getMonths() { return Collections.unmodifiableSet(filters.months); }
+    public Set<String> getCompanies() { return Collections.unmodifiableSet(filters.companies); }
 
     public Map<String, List<Bill>> getAllBills() {
+        WorkLogEvents.BillsScanEvent event = new WorkLogEvents.BillsScanEvent();
+        event.begin();
         Map<String, List<Bill>> all = new HashMap<>();
-        this.bills.clear();
 
         if (Files.exists(BILLS_DIR)) {
             try (DirectoryStream<Path> stream = Files.newDirectoryStream(BILLS_DIR, "*.json")) {
                 for (Path path : stream) {
                     String filename = path.getFileName().toString();
                     String ym = filename.replace(".json", "");
-                    List<Bill> billList = carregarBills(path);
+                    List<Bill> billList = Collections.unmodifiableList(carregarBills(path));
                     if (!billList.isEmpty()) {
-                        this.bills.put(ym, new ArrayList<>(billList));
-                        all.put(ym, new ArrayList<>(billList));
+                        this.bills.put(ym, billList);
+                        all.put(ym, billList);
+                    }
+                    event.monthFiles++;
+                    event.entryCount += billList.size();
+                    if (event.isEnabled()) {
+                        event.bytes += Files.size(path);
                     }
                 }
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
+        // Drop months whose bills are gone; readers never see the cache empty meanwhile
+        this.bills.keySet().retainAll(all.keySet());
 
+        event.commit();
         return all;
     }
 
@@ -277,7 +767,17 @@ public class CompanyManagerService {
     }
 
     private void calculateTotalsFromLogs(Map<String, Double> monthTotals, Map<String, Double> yearTotals) throws Exception {
-        List<RegistroTrabalho> allLogs = workLogFileManager.getAllWorkLogs();
+        if (columnarStore != null) {
+            monthTotals.putAll(columnarStore.earningsByMonth());
+            monthTotals.forEach((monthKey, earnings) ->
+                    yearTotals.merge(DateUtils.getYearFromKey(monthKey), earnings, Double::sum));
+            return;
+        }
+
+        List<RegistroTrabalho> allLogs;
+        try (DataSnapshot snapshot = openSnapshot()) {
+            allLogs = snapshot.getAllWorkLogs();
+        }
         for (RegistroTrabalho r : allLogs) {
             try {
                 LocalDate date = DateUtils.parseDisplayDate(r.getData());
@@ -296,18 +796,19 @@ public class CompanyManagerService {
         try {
             List<DisplayEntry> allEntries = new ArrayList<>();
 
-            // Add all work logs
-            List<RegistroTrabalho> allLogs = workLogFileManager.getAllWorkLogs();
-            for (RegistroTrabalho r : allLogs) {
-                allEntries.add(new DisplayEntry(r));
-            }
-
             // Clear bill cache to ensure fresh data
             clearBillCache();
 
-            // Add all bills
-            for (List<Bill> monthlyBills : getAllBills().values()) {
-                allEntries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
+            try (DataSnapshot snapshot = openSnapshot()) {
+                // Add all work logs
+                for (RegistroTrabalho r : snapshot.getAllWorkLogs()) {
+                    allEntries.add(new DisplayEntry(r));
+                }
+
+                // Add all bills
+                for (List<Bill> monthlyBills : snapshot.getAllBills().values()) {
+                    allEntries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
+                }
             }
 
             allEntries.sort(Comparator.comparing(DisplayEntry::getDate));
@@ -319,6 +820,56 @@ public class CompanyManagerService {
         }
     }
     
+    /**
+     * Columnar analytics store, or null unless started with -D{@value ColumnarWorkLogStore#ENABLED_PROPERTY}=true
+     */
+    public ColumnarWorkLogStore getColumnarStore() {
+        return columnarStore;
+    }
+
+    /**
+     * Running AGI totals; queries return null until it is built (after the history load)
+     */
+    public IncrementalAGIEngine getAGIEngine() {
+        return agiEngine;
+    }
+
+    /**
+     * Trial Work Period / Extended Period of Eligibility timeline of the whole history
+     */
+    public WorkIncentiveTimeline getWorkIncentiveTimeline() {
+        return workIncentiveTimeline;
+    }
+
+    /**
+     * Per-month SGA status (NESE, limit, under / near / over); lookups return null until the AGI totals are built
+     */
+    public SgaStatusCalendar getSgaStatusCalendar() {
+        return sgaStatusCalendar;
+    }
+
+    /**
+     * Hours left per company before a month's NESE reaches the SGA limit
+     */
+    public SgaHeadroomSolver getHeadroomSolver() {
+        return headroomSolver;
+    }
+
+    /**
+     * Month-end NESE projection; it projects nothing until built in the background after the history load
+     */
+    public EarningsProjectionModel getProjectionModel() {
+        return projectionModel;
+    }
+
+    /**
+     * Recompute the rates of the entries between two dates (inclusive) from the effective-dated
+     * rate changes, for one company or all (null). A dry run only returns the diff.
+     */
+    public RerateService.Plan rerate(LocalDate from, LocalDate to, String company, boolean dryRun) throws WorkLogServiceException {
+        return dryRun ? rerateService.preview(from, to, company) : rerateService.apply(from, to, company);
+    }
+
     /**
      * Get the Excel export service for background operations
      */
@@ -340,7 +891,7 @@ public class CompanyManagerService {
         businessService.updateWorkLog(oldLog, newLog);
         
         // Update filters after successful update
-        populateFilters();
+        refreshFiltersForMonths(monthsOf(List.of(oldLog, newLog)));
     }
 
     /**
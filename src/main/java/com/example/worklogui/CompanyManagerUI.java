@@ -1,5 +1,7 @@
 package com.example.worklogui;
 
+import com.example.worklogui.diagnostics.DiagnosticsUI;
+import com.example.worklogui.diagnostics.StartupProfiler;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -42,6 +44,8 @@ public class CompanyManagerUI {
     @FXML private Button editCompaniesBtn;
     @FXML private Button openLogEditorBtn;
     @FXML private Button editBillsBtn;
+    @FXML private Button diagnosticsBtn;
+    @FXML private Button sgaCalendarBtn;
 
     // FXML controls - Status section
     @FXML private TextArea statusArea;
@@ -59,15 +63,22 @@ public class CompanyManagerUI {
     @FXML
     public void initialize() {
         try {
-            // Initialize the service
+            StartupProfiler.mark("fxml.load");
+
+            // Initialize the service (rates + current month only)
             service.initialize();
+            StartupProfiler.mark("service.init");
 
             // Create and initialize component controllers
             initializeControllers();
+            StartupProfiler.mark("controllers.init");
 
             // Apply initial filter
             onApplyFilter();
+            StartupProfiler.mark("initial.filter");
 
+            // Older months load in the background once the window is up
+            loadHistoryInBackground();
 
         } catch (Exception e) {
             statusManager.setStatusMessage("Erro ao inicializar / Error initializing: " + e.getMessage());
@@ -75,6 +86,29 @@ public class CompanyManagerUI {
         }
     }
 
+    /**
+     * Load all months of logs and bills off the FX thread, then refresh the filter dropdowns
+     */
+    private void loadHistoryInBackground() {
+        long started = System.nanoTime();
+        service.loadHistoryAsync().whenComplete((history, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                statusManager.setStatusMessage("⚠ Could not load full history: " + error.getMessage()
+                        + "\n⚠ Não foi possível carregar o histórico completo.");
+                error.printStackTrace();
+                return;
+            }
+
+            StartupProfiler.record("history.load", System.nanoTime() - started);
+            long applyStarted = System.nanoTime();
+            service.applyHistory(history);
+            filterController.refreshFromService();
+            StartupProfiler.record("history.apply", System.nanoTime() - applyStarted);
+            System.out.println("📚 History loaded: " + history.workLogs.size() + " work logs, "
+                    + history.bills.size() + " bill months");
+        }));
+    }
+
     /**
      * Initialize all component controllers
      */
@@ -288,7 +322,7 @@ public class CompanyManagerUI {
      */
     @FXML
     public void handleEditCompanies() {
-        CompanyEditorUI editor = new CompanyEditorUI();
+        CompanyEditorUI editor = new CompanyEditorUI(service);
         editor.setOnClose(this::reloadCompanyList);
         editor.show((Stage) editCompaniesBtn.getScene().getWindow());
     }
@@ -389,6 +423,29 @@ public class CompanyManagerUI {
         exportManager.exportToExcel();
     }
 
+    /**
+     * Called by App on exit: persist derived indexes for a fast next start
+     */
+    public void shutdown() {
+        service.saveIndexSnapshot();
+    }
+
+    /**
+     * Handle SGA calendar button click
+     */
+    @FXML
+    public void onShowSgaCalendar() {
+        new SgaCalendarUI(service).show((Stage) sgaCalendarBtn.getScene().getWindow());
+    }
+
+    /**
+     * Handle diagnostics button click
+     */
+    @FXML
+    public void onShowDiagnostics() {
+        new DiagnosticsUI().show((Stage) diagnosticsBtn.getScene().getWindow());
+    }
+
     @FXML
     public void onOpenLogEditor() {
         statusManager.setStatusMessage("📝 Opening log editor...\n📝 Abrindo editor de registros...");
@@ -1,19 +1,137 @@
 package com.example.worklogui;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.worklogui.storage.StorageCodecs;
+import com.example.worklogui.storage.StorageType;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Consumer;
 
+/**
+ * Company rates as a copy-on-write {@link RateTable}: every change builds a new immutable table with
+ * the next version number and publishes it with one volatile write. Readers (the UI, export and
+ * history threads) never lock and always see a complete table; they may cache anything derived
+ * from it until {@link #getVersion()} changes.
+ *
+ * Besides the current rate (company-rates.json) a company can have effective-dated rate changes
+ * (rate-history.json): the rate in force on a date is the latest change on or before it. The first
+ * change of a company also records the rate it replaces, dated {@link #BEFORE_FIRST_CHANGE}, so
+ * dates before the change keep the old rate.
+ */
 public class CompanyRateService {
 
+    /** Date of the rate a company had before its first recorded change */
+    public static final LocalDate BEFORE_FIRST_CHANGE = LocalDate.MIN;
+
     private static final CompanyRateService instance = new CompanyRateService();
-    private final ObjectMapper mapper = new ObjectMapper();
-    private final Map<String, RateInfo> rates = new LinkedHashMap<>();
 
-    private CompanyRateService() {
+    private volatile RateTable table = RateTable.EMPTY;
+
+    /**
+     * Immutable rates of every company, in file order, with their rate changes
+     */
+    public static final class RateTable {
+        static final RateTable EMPTY = new RateTable(0, new Draft(new LinkedHashMap<>(), new LinkedHashMap<>()));
+
+        private static final RateInfo NO_RATE = new RateInfo(0.0, "hour");
+
+        private final long version;
+        private final Map<String, RateInfo> rates;
+        private final Map<String, Double> values;
+        // company -> effective date -> rate from that date on
+        private final Map<String, NavigableMap<LocalDate, RateInfo>> history;
+
+        // Takes ownership of the draft; RateInfo objects are copied so callers can't change them afterwards
+        private RateTable(long version, Draft draft) {
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (Map.Entry<String, RateInfo> entry : draft.rates.entrySet()) {
+                entry.setValue(copy(entry.getValue()));
+                values.put(entry.getKey(), entry.getValue().getValor());
+            }
+            Map<String, NavigableMap<LocalDate, RateInfo>> history = new HashMap<>();
+            for (Map.Entry<String, TreeMap<LocalDate, RateInfo>> entry : draft.history.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    entry.getValue().replaceAll((date, info) -> copy(info));
+                    history.put(entry.getKey(), Collections.unmodifiableNavigableMap(entry.getValue()));
+                }
+            }
+            this.version = version;
+            this.rates = Collections.unmodifiableMap(draft.rates);
+            this.values = Collections.unmodifiableMap(values);
+            this.history = Collections.unmodifiableMap(history);
+        }
+
+        public long getVersion() { return version; }
+
+        /**
+         * Rate info by company (read-only: do not modify the RateInfo objects)
+         */
+        public Map<String, RateInfo> getRateInfoMap() { return rates; }
+
+        /**
+         * Rate values by company
+         */
+        public Map<String, Double> getRates() { return values; }
+
+        public RateInfo get(String name) { return rates.get(name); }
+
+        public double getRate(String name) { return rates.getOrDefault(name, NO_RATE).getValor(); }
+
+        /**
+         * Effective-dated changes of a company, oldest first (empty when it has none)
+         */
+        public NavigableMap<LocalDate, RateInfo> getHistory(String name) {
+            NavigableMap<LocalDate, RateInfo> changes = history.get(name);
+            return changes != null ? changes : Collections.emptyNavigableMap();
+        }
+
+        /**
+         * Rate change in force on a date, or null when the company has no change on or before it
+         */
+        public RateInfo getRateChangeOn(String name, LocalDate date) {
+            NavigableMap<LocalDate, RateInfo> changes = history.get(name);
+            if (changes == null || date == null) {
+                return null;
+            }
+            Map.Entry<LocalDate, RateInfo> change = changes.floorEntry(date);
+            return change != null ? change.getValue() : null;
+        }
+
+        /**
+         * Rate for an entry on a date: the change in force then, otherwise the current rate (null if none)
+         */
+        public RateInfo getRateInfoOn(String name, LocalDate date) {
+            RateInfo change = getRateChangeOn(name, date);
+            return change != null ? change : rates.get(name);
+        }
+    }
+
+    /**
+     * Mutable copy of a table, changed by {@link #update} and then frozen into the next version
+     */
+    private static final class Draft {
+        final LinkedHashMap<String, RateInfo> rates;
+        final Map<String, TreeMap<LocalDate, RateInfo>> history;
+
+        Draft(LinkedHashMap<String, RateInfo> rates, Map<String, TreeMap<LocalDate, RateInfo>> history) {
+            this.rates = rates;
+            this.history = history;
+        }
+
+        static Draft of(RateTable table) {
+            Map<String, TreeMap<LocalDate, RateInfo>> history = new LinkedHashMap<>();
+            table.history.forEach((name, changes) -> history.put(name, new TreeMap<>(changes)));
+            return new Draft(new LinkedHashMap<>(table.rates), history);
+        }
+    }
+
+    /**
+     * The app uses {@link #getInstance()}; a separate instance loads the files again (tests)
+     */
+    CompanyRateService() {
         loadRates();  // Load on startup
     }
 
@@ -23,14 +141,23 @@ public class CompanyRateService {
 
     public void loadRates() {
         try {
-            if (Files.exists(AppConstants.RATES_PATH)) {
-                Map<String, RateInfo> loaded = mapper.readValue(
-                        AppConstants.RATES_PATH.toFile(),
-                        new TypeReference<>() {}
-                );
-                rates.clear();
-                rates.putAll(loaded);
+            Map<String, RateInfo> loaded = Files.exists(AppConstants.RATES_PATH)
+                    ? StorageCodecs.read(AppConstants.RATES_PATH, StorageType.RATES) : null;
+            Map<String, Map<String, RateInfo>> loadedHistory = Files.exists(AppConstants.RATE_HISTORY_PATH)
+                    ? StorageCodecs.read(AppConstants.RATE_HISTORY_PATH, StorageType.RATE_HISTORY) : null;
+            if (loaded == null && loadedHistory == null) {
+                return;
             }
+            update(draft -> {
+                if (loaded != null) {
+                    draft.rates.clear();
+                    draft.rates.putAll(loaded);
+                }
+                if (loadedHistory != null) {
+                    draft.history.clear();
+                    loadedHistory.forEach((name, changes) -> draft.history.put(name, parseChanges(name, changes)));
+                }
+            });
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -38,26 +165,36 @@ public class CompanyRateService {
 
     public void saveRates() {
         try {
-            mapper.writerWithDefaultPrettyPrinter().writeValue(
-                    AppConstants.RATES_PATH.toFile(), rates
-            );
+            // Rates stay human-editable JSON whatever the partition format is
+            StorageCodecs.write(AppConstants.RATES_PATH, table.getRateInfoMap(), StorageCodecs.JSON_PRETTY);
+            saveRateHistory();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Current table; keep it for a consistent view across several lookups
+     */
+    public RateTable getRateTable() {
+        return table;
+    }
+
+    /**
+     * Version of the current table, increased by every change
+     */
+    public long getVersion() {
+        return table.getVersion();
+    }
+
     // ✅ New: Returns RateInfo directly
     public Map<String, RateInfo> getRateInfoMap() {
-        return Collections.unmodifiableMap(rates);
+        return table.getRateInfoMap();
     }
 
-    // ✅ Compatibility: Returns just rates as doubles
+    // ✅ Compatibility: Returns just rates as doubles (unmodifiable, shared until the next change)
     public Map<String, Double> getRates() {
-        Map<String, Double> simpleMap = new LinkedHashMap<>();
-        for (Map.Entry<String, RateInfo> entry : rates.entrySet()) {
-            simpleMap.put(entry.getKey(), entry.getValue().getValor());
-        }
-        return simpleMap;
+        return table.getRates();
     }
 
     public void refreshRates() {
@@ -65,14 +202,121 @@ public class CompanyRateService {
     }
 
     public double getRateForCompany(String name) {
-        return rates.getOrDefault(name, new RateInfo(0.0, "hour")).getValor();
+        return table.getRate(name);
+    }
+
+    /**
+     * Rate a new entry on that date gets (see {@link RateTable#getRateInfoOn})
+     */
+    public RateInfo getRateInfoOn(String name, LocalDate date) {
+        return table.getRateInfoOn(name, date);
     }
 
     public void setRate(String name, RateInfo info) {
-        rates.put(name, info);
+        update(draft -> draft.rates.put(name, info));
+    }
+
+    /**
+     * Record a rate change effective from a date. The current rate follows it when the change is
+     * already in force today. Existing entries keep their rate until re-rated; the caller saves.
+     */
+    public void setRate(String name, RateInfo info, LocalDate effectiveFrom) {
+        update(draft -> {
+            TreeMap<LocalDate, RateInfo> changes = draft.history.computeIfAbsent(name, k -> new TreeMap<>());
+            RateInfo previous = draft.rates.get(name);
+            if (changes.isEmpty() && previous != null && effectiveFrom.isAfter(BEFORE_FIRST_CHANGE)) {
+                changes.put(BEFORE_FIRST_CHANGE, previous);
+            }
+            changes.put(effectiveFrom, info);
+            Map.Entry<LocalDate, RateInfo> inForce = changes.floorEntry(LocalDate.now());
+            if (inForce != null) {
+                draft.rates.put(name, inForce.getValue());
+            }
+        });
+    }
+
+    /**
+     * Forget a rate change (the current rate is left as is); the rate before the first change goes
+     * with the last one
+     */
+    public void removeRateChange(String name, LocalDate effectiveFrom) {
+        update(draft -> {
+            TreeMap<LocalDate, RateInfo> changes = draft.history.get(name);
+            if (changes != null) {
+                changes.remove(effectiveFrom);
+                if (changes.size() == 1 && changes.containsKey(BEFORE_FIRST_CHANGE)) {
+                    changes.clear();
+                }
+            }
+        });
     }
 
     public void removeCompany(String name) {
-        rates.remove(name);
+        update(draft -> draft.rates.remove(name));
+    }
+
+    /**
+     * Rename a company: its rate and rate changes move to the new name and the registry renames it
+     * for every work log entry (no month file is rewritten). The rate history is saved here; the
+     * caller saves the rates.
+     */
+    public void renameCompany(String oldName, String newName) throws IOException {
+        CompanyRegistry.getInstance().rename(oldName, newName);
+        update(draft -> {
+            RateInfo info = draft.rates.remove(oldName);
+            if (info != null) {
+                draft.rates.put(newName, info);
+            }
+            TreeMap<LocalDate, RateInfo> changes = draft.history.remove(oldName);
+            if (changes != null) {
+                draft.history.computeIfAbsent(newName, k -> new TreeMap<>()).putAll(changes);
+            }
+        });
+        saveRateHistory();
+    }
+
+    private void saveRateHistory() throws IOException {
+        RateTable current = table;
+        if (current.history.isEmpty() && !Files.exists(AppConstants.RATE_HISTORY_PATH)) {
+            return;
+        }
+        Map<String, Map<String, RateInfo>> document = new TreeMap<>();
+        current.history.forEach((name, changes) -> {
+            Map<String, RateInfo> byDate = new LinkedHashMap<>();
+            changes.forEach((date, info) -> byDate.put(date.toString(), info));
+            document.put(name, byDate);
+        });
+        StorageCodecs.write(AppConstants.RATE_HISTORY_PATH, document, StorageCodecs.JSON_PRETTY);
+    }
+
+    private static TreeMap<LocalDate, RateInfo> parseChanges(String name, Map<String, RateInfo> changes) {
+        TreeMap<LocalDate, RateInfo> parsed = new TreeMap<>();
+        if (changes == null) {
+            return parsed;
+        }
+        for (Map.Entry<String, RateInfo> change : changes.entrySet()) {
+            if (change.getValue() == null) {
+                continue;
+            }
+            try {
+                parsed.put(LocalDate.parse(change.getKey()), change.getValue());
+            } catch (DateTimeParseException e) {
+                System.err.println("⚠️ Ignoring rate change of " + name + " with invalid date: " + change.getKey());
+            }
+        }
+        return parsed;
+    }
+
+    private static RateInfo copy(RateInfo info) {
+        return new RateInfo(info.getValor(), info.getTipo());
+    }
+
+    /**
+     * Apply a change to a copy of the current rates and publish it as the next version
+     */
+    private synchronized void update(Consumer<Draft> change) {
+        Draft draft = Draft.of(table);
+        change.accept(draft);
+        table = new RateTable(table.getVersion() + 1, draft);
     }
 }
@@ -0,0 +1,342 @@
+package com.example.worklogui;
+
+import com.example.worklogui.storage.AtomicFileWriter;
+import com.example.worklogui.storage.StorageCodecs;
+import com.example.worklogui.storage.StorageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Stable integer ids for companies, saved to company-registry.json.
+ *
+ * Work log entries store the id of their company next to its name; {@link RegistroTrabalho#getEmpresa()}
+ * resolves the id here, so renaming a company is one small write of this file instead of rewriting
+ * every month. The name in the month files is only a fallback (older versions, unknown ids) and
+ * catches up the next time a month is saved. Every entry of a company shares one name string.
+ *
+ * Ids are never reused. Renaming to a name that already exists merges the two: both ids resolve
+ * to the same name from then on.
+ *
+ * When the file is missing or unreadable it is rebuilt from the id/name pairs of every month file
+ * before any id is handed out, so a new company never gets an id an unloaded month still uses. An
+ * entry whose stored name disagrees with the registry for an id that was never renamed keeps its
+ * stored name and is given that company's id.
+ */
+public final class CompanyRegistry {
+
+    private static final int VERSION = 2;
+
+    private static final CompanyRegistry instance = new CompanyRegistry();
+
+    private final ObjectMapper mapper = StorageCodecs.jsonMapper();
+
+    // id -> current name (canonical instance)
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    // name -> id new entries of that name get
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // ids whose name changed since they were handed out: entries may still store an older name
+    private final Set<Integer> renamed = ConcurrentHashMap.newKeySet();
+    private final List<BiConsumer<String, String>> renameListeners = new CopyOnWriteArrayList<>();
+    private int nextId = 1;
+    private volatile boolean loaded = false;
+    private boolean dirty = false;
+
+    /**
+     * On-disk form
+     */
+    public static class Document {
+        private int version = VERSION;
+        private int nextId = 1;
+        private Map<Integer, String> companies = new TreeMap<>();
+        private Set<Integer> renamed = new TreeSet<>();
+
+        public int getVersion() { return version; }
+        public void setVersion(int version) { this.version = version; }
+
+        public int getNextId() { return nextId; }
+        public void setNextId(int nextId) { this.nextId = nextId; }
+
+        public Map<Integer, String> getCompanies() { return companies; }
+        public void setCompanies(Map<Integer, String> companies) { this.companies = companies; }
+
+        public Set<Integer> getRenamed() { return renamed; }
+        public void setRenamed(Set<Integer> renamed) { this.renamed = renamed; }
+    }
+
+    /**
+     * The app uses {@link #getInstance()}; a separate instance reads the file again (tests)
+     */
+    CompanyRegistry() {}
+
+    public static CompanyRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Current name of a company id, or null when the id is unknown
+     */
+    public String nameOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        ensureLoaded();
+        return names.get(id);
+    }
+
+    /**
+     * Every id that currently resolves to the name (more than one after a merging rename)
+     */
+    public Set<Integer> idsOf(String name) {
+        ensureLoaded();
+        Set<Integer> matching = new TreeSet<>();
+        names.forEach((id, current) -> {
+            if (current.equals(name)) {
+                matching.add(id);
+            }
+        });
+        return matching;
+    }
+
+    /**
+     * Id of a company name, registering the name when it is new
+     */
+    public int idFor(String name) {
+        String key = name == null ? "" : name;
+        ensureLoaded();
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(key);
+            if (id == null) {
+                id = nextId++;
+                names.put(id, key);
+                ids.put(key, id);
+                dirty = true;
+                save();
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Give every entry its company id and the shared name string (after a load, before a save).
+     * Entries keep their id when it is known; an id the registry has never seen (file saved while
+     * the registry could not be) is adopted with the entry's stored name. An id that resolves to
+     * another name without ever being renamed was handed out again: the stored name wins.
+     */
+    public void register(List<RegistroTrabalho> logs) {
+        for (RegistroTrabalho log : logs) {
+            Integer id = log.getCompanyId();
+            String name = nameOf(id);
+            String stored = log.getStoredEmpresa();
+            if (name != null && stored != null && !name.equals(stored) && !renamed.contains(id)) {
+                System.err.println("⚠️ Company id " + id + " is '" + name + "' in the registry but '"
+                        + stored + "' in the entry of " + log.getData() + ", keeping '" + stored + "'");
+                id = null;
+                name = null;
+            }
+            if (name == null && id != null) {
+                name = adopt(id, log.getStoredEmpresa());
+            }
+            if (name == null) {
+                id = idFor(log.getStoredEmpresa());
+                name = names.get(id);
+            }
+            log.assignCompany(id, name);
+        }
+    }
+
+    /**
+     * Rename a company: entries referencing it show the new name right away, nothing else is rewritten
+     */
+    public void rename(String oldName, String newName) throws IOException {
+        ensureLoaded();
+        synchronized (this) {
+            Integer id = ids.remove(oldName);
+            if (id == null) {
+                return;
+            }
+            String canonical = newName;
+            Integer existing = ids.get(newName);
+            if (existing != null) {
+                canonical = names.get(existing);
+            } else {
+                ids.put(newName, id);
+            }
+            for (Map.Entry<Integer, String> entry : names.entrySet()) {
+                if (entry.getValue().equals(oldName)) {
+                    entry.setValue(canonical);
+                    renamed.add(entry.getKey());
+                }
+            }
+            dirty = true;
+            if (!save()) {
+                throw new IOException("Could not save company registry");
+            }
+        }
+        System.out.println("🏷️ Company renamed: '" + oldName + "' -> '" + newName + "'");
+        for (BiConsumer<String, String> listener : renameListeners) {
+            listener.accept(oldName, newName);
+        }
+    }
+
+    /**
+     * Called with (old name, new name) after every rename
+     */
+    public void addRenameListener(BiConsumer<String, String> listener) {
+        renameListeners.add(listener);
+    }
+
+    private synchronized String adopt(int id, String storedName) {
+        String name = names.get(id);
+        if (name != null) {
+            return name;
+        }
+        String key = storedName == null ? "" : storedName;
+        Integer existing = ids.get(key);
+        name = existing != null ? names.get(existing) : key;
+        names.put(id, name);
+        ids.putIfAbsent(name, id);
+        nextId = Math.max(nextId, id + 1);
+        dirty = true;
+        save();
+        return name;
+    }
+
+    private synchronized boolean save() {
+        if (!dirty) {
+            return true;
+        }
+        Document document = new Document();
+        document.setNextId(nextId);
+        document.getCompanies().putAll(names);
+        document.getRenamed().addAll(renamed);
+        try {
+            AtomicFileWriter.write(AppConstants.COMPANY_REGISTRY_PATH, mapper.writeValueAsBytes(document));
+            dirty = false;
+            return true;
+        } catch (IOException e) {
+            // Entries still carry their names, and unknown ids are adopted again on the next load
+            System.err.println("⚠️ Could not save company registry: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (!readDocument()) {
+                rebuild();
+            }
+            loaded = true;
+        }
+    }
+
+    // True when the file was read completely
+    private boolean readDocument() {
+        if (!Files.exists(AppConstants.COMPANY_REGISTRY_PATH)) {
+            return false;
+        }
+        try {
+            Document document = mapper.readValue(Files.readAllBytes(AppConstants.COMPANY_REGISTRY_PATH), Document.class);
+            if (document.getVersion() > VERSION || document.getCompanies() == null) {
+                System.err.println("⚠️ Company registry version " + document.getVersion() + " not supported");
+                return false;
+            }
+            for (Map.Entry<Integer, String> entry : document.getCompanies().entrySet()) {
+                String name = ids.containsKey(entry.getValue())
+                        ? names.get(ids.get(entry.getValue())) : entry.getValue();
+                names.put(entry.getKey(), name);
+                ids.putIfAbsent(name, entry.getKey());
+                nextId = Math.max(nextId, entry.getKey() + 1);
+            }
+            nextId = Math.max(nextId, document.getNextId());
+            if (document.getVersion() < 2) {
+                // Renames were not tracked yet: any id may have been renamed
+                renamed.addAll(document.getCompanies().keySet());
+            } else if (document.getRenamed() != null) {
+                renamed.addAll(document.getRenamed());
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("⚠️ Unreadable company registry: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Caller holds this. Newest month file wins when an id is stored under several names (renamed since).
+    private void rebuild() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(AppConstants.LOGS_FOLDER, "????-??.json")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            if (Files.isDirectory(AppConstants.LOGS_FOLDER)) {
+                System.err.println("⚠️ Could not list month files to rebuild the company registry: " + e.getMessage());
+            }
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+        files.sort(Comparator.comparingLong(CompanyRegistry::lastModified));
+
+        for (Path file : files) {
+            List<RegistroTrabalho> logs;
+            try {
+                logs = StorageCodecs.read(file, StorageType.WORK_LOGS);
+            } catch (IOException e) {
+                // Old-format months carry no ids; they are registered by name when loaded
+                continue;
+            }
+            for (RegistroTrabalho log : logs) {
+                Integer id = log.getCompanyId();
+                if (id == null) {
+                    continue;
+                }
+                String stored = log.getStoredEmpresa() == null ? "" : log.getStoredEmpresa();
+                String previous = names.get(id);
+                if (previous != null && !previous.equals(stored)) {
+                    renamed.add(id);
+                }
+                names.put(id, stored);
+                nextId = Math.max(nextId, id + 1);
+            }
+        }
+        // One shared string per name; a name held by several ids (merged) gives new entries the lowest
+        Map<String, String> canonical = new TreeMap<>();
+        names.replaceAll((id, name) -> canonical.computeIfAbsent(name, key -> key));
+        names.forEach((id, name) -> ids.merge(name, id, Math::min));
+
+        System.out.println("🏷️ Company registry rebuilt from " + files.size() + " month files (" + names.size() + " ids)");
+        dirty = true;
+        save();
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.worklogui;
+
+import com.example.worklogui.exceptions.WorkLogServiceException;
+import com.example.worklogui.storage.PartitionVersions;
+import com.example.worklogui.utils.ConcatenatedList;
+import com.example.worklogui.utils.DateUtils;
+import com.example.worklogui.utils.ErrorHandler;
+import com.example.worklogui.utils.FilterHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Point-in-time view of all work logs and bills, opened with {@link CompanyManagerService#openSnapshot()}.
+ *
+ * Every read returns the data as it was when the snapshot was opened, even if the user edits
+ * months meanwhile, so a long export or summary never mixes old and new months. Writers are not
+ * blocked; the snapshot only keeps superseded month versions alive until it is closed.
+ */
+public class DataSnapshot implements AutoCloseable {
+
+    private final CompanyManagerService service;
+    private final PartitionVersions.ReadView view;
+    private final Set<String> logMonths;
+    private final Set<String> billMonths;
+
+    DataSnapshot(CompanyManagerService service, PartitionVersions.ReadView view,
+                 Set<String> logMonths, Set<String> billMonths) {
+        this.service = service;
+        this.view = view;
+        this.logMonths = Collections.unmodifiableSet(logMonths);
+        this.billMonths = Collections.unmodifiableSet(billMonths);
+    }
+
+    /**
+     * Global data version the snapshot was taken at
+     */
+    public long getVersion() {
+        return view.getVersion();
+    }
+
+    /**
+     * Year-month keys that may hold work logs or bills, sorted
+     */
+    public Set<String> getMonths() {
+        Set<String> months = new TreeSet<>(logMonths);
+        months.addAll(billMonths);
+        return months;
+    }
+
+    public List<RegistroTrabalho> getWorkLogs(String yearMonthKey) throws WorkLogServiceException {
+        try {
+            return service.getWorkLogFileManager().getWorkLogs(yearMonthKey, view);
+        } catch (ErrorHandler.FileOperationException e) {
+            throw new WorkLogServiceException("Failed to read work logs for " + yearMonthKey, e);
+        }
+    }
+
+    /**
+     * Every month's work logs in month order, as an unmodifiable view (nothing is copied)
+     */
+    public List<RegistroTrabalho> getAllWorkLogs() throws WorkLogServiceException {
+        List<List<RegistroTrabalho>> months = new ArrayList<>(logMonths.size());
+        for (String yearMonthKey : logMonths) {
+            months.add(getWorkLogs(yearMonthKey));
+        }
+        return ConcatenatedList.of(months);
+    }
+
+    /**
+     * Same filtering as {@link CompanyManagerService#applyFilters}, on the snapshot
+     */
+    public List<RegistroTrabalho> getFilteredWorkLogs(String year, String month, String company) throws WorkLogServiceException {
+        if (FilterHelper.isSpecificMonthFilter(year, month)) {
+            List<RegistroTrabalho> monthLogs = getWorkLogs(DateUtils.createYearMonthKey(year, month));
+            return FilterHelper.applyFilters(monthLogs, year, month, company);
+        }
+        return FilterHelper.applyFilters(getAllWorkLogs(), year, month, company);
+    }
+
+    public List<Bill> getBills(String yearMonth) {
+        return service.getBillsForMonth(yearMonth, view);
+    }
+
+    /**
+     * Bills by year-month, months without bills left out
+     */
+    public Map<String, List<Bill>> getAllBills() {
+        Map<String, List<Bill>> all = new LinkedHashMap<>();
+        for (String yearMonth : billMonths) {
+            List<Bill> monthBills = getBills(yearMonth);
+            if (!monthBills.isEmpty()) {
+                all.put(yearMonth, monthBills);
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public void close() {
+        view.close();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.worklogui;
 
+import com.example.worklogui.diagnostics.MetricsRegistry;
+import com.example.worklogui.diagnostics.WorkLogEvents;
+import com.example.worklogui.services.WorkIncentiveTimeline;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import javafx.scene.control.Alert;
@@ -9,13 +12,16 @@ import java.io.IOException;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 public class ExcelExporter {
 
     public static void exportToExcel(List<DisplayEntry> entries, CompanyManagerService service, boolean isAllExport) throws IOException {
-        try {
+        WorkLogEvents.ExportEvent event = new WorkLogEvents.ExportEvent();
+        event.begin();
+        try (MetricsRegistry.Timer.Sample ignored = MetricsRegistry.getInstance().timer(MetricsRegistry.EXPORT_EXCEL).start()) {
             System.out.println("Starting Excel export...");
             Path exportPath = prepareExportPath(isAllExport);
             
@@ -31,11 +37,19 @@ public class ExcelExporter {
                 setupSheetStructure(sheet, styles);
                 addDataRows(sheet, entries, service, styles);
                 addSummaryRows(sheet, agiResult, exportData.bills, styles, entries.size() + 2);
+                addTimelineSheet(workbook, service, styles);
                 
                 writeWorkbookToFile(workbook, exportPath);
             }
             
             verifyFileCreation(exportPath);
+
+            event.allExport = isAllExport;
+            event.entryCount = entries.size();
+            event.monthKey = exportMonthKey(entries);
+            event.bytes = Files.size(exportPath);
+            event.path = exportPath.toString();
+            event.commit();
             System.out.println("✅ Excel file exported successfully to: " + exportPath.toAbsolutePath());
             
         } catch (Exception e) {
@@ -45,6 +59,18 @@ public class ExcelExporter {
         }
     }
     
+    /**
+     * Year-month of the exported rows when they all fall in one month, otherwise "mixed"
+     */
+    private static String exportMonthKey(List<DisplayEntry> entries) {
+        if (entries.isEmpty()) {
+            return "";
+        }
+        String first = entries.get(0).getDate().toString().substring(0, 7);
+        String last = entries.get(entries.size() - 1).getDate().toString().substring(0, 7);
+        return first.equals(last) ? first : "mixed";
+    }
+
     private static Path prepareExportPath(boolean isAllExport) throws IOException {
         System.out.println("Export folder path: " + AppConstants.EXPORT_FOLDER.toAbsolutePath());
         
@@ -198,6 +224,78 @@ public class ExcelExporter {
         addSummaryRow(sheet, startRow + 9, "AFTER ALL BILLS", incomeAfterAllBills, styles.totalStyle, styles.cashFlowStyle);
     }
     
+    /**
+     * SSDI work incentive timeline of the whole history (not only the exported rows), when available
+     */
+    private static void addTimelineSheet(Workbook workbook, CompanyManagerService service, ExcelStyles styles) {
+        if (service == null) {
+            return;
+        }
+        WorkIncentiveTimeline timeline = service.getWorkIncentiveTimeline();
+        WorkIncentiveTimeline.Timeline status = timeline.getTimeline();
+        if (status == null) {
+            System.out.println("SSDI timeline not ready yet, skipping its sheet");
+            return;
+        }
+
+        Sheet sheet = workbook.createSheet("SSDI Timeline");
+        sheet.setColumnWidth(0, 12 * 256); // Month
+        sheet.setColumnWidth(1, 15 * 256); // NESE
+        sheet.setColumnWidth(2, 10 * 256); // Hours
+        sheet.setColumnWidth(3, 14 * 256); // Service month
+        sheet.setColumnWidth(4, 12 * 256); // Over SGA
+        sheet.setColumnWidth(5, 16 * 256); // Window count
+        sheet.setColumnWidth(6, 20 * 256); // Phase
+
+        int rowIndex = 0;
+        DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("MM/yyyy");
+        String[][] summary = {
+                {"TWP SERVICE MONTHS", status.getServiceMonthsUsed() + " of " + WorkIncentiveTimeline.TWP_SERVICE_MONTHS},
+                {"TWP COMPLETED", formatMonth(status.getTwpCompleted(), monthFormat)},
+                {"EPE", status.isTwpComplete()
+                        ? formatMonth(status.getEpeStart(), monthFormat) + " - " + formatMonth(status.getEpeEnd(), monthFormat) : "-"},
+                {"GRACE PERIOD", status.getCessation() != null
+                        ? formatMonth(status.getCessation(), monthFormat) + " - " + formatMonth(status.getGraceEnd(), monthFormat) : "-"},
+                {"NOT PAYABLE MONTHS", String.valueOf(status.getNonPayableMonths().size())},
+                {"TERMINATION", formatMonth(status.getTermination(), monthFormat)}
+        };
+        for (String[] line : summary) {
+            Row row = sheet.createRow(rowIndex++);
+            Cell label = row.createCell(0);
+            label.setCellValue(line[0]);
+            label.setCellStyle(styles.totalStyle);
+            row.createCell(2).setCellValue(line[1]);
+        }
+        rowIndex++;
+
+        Row headerRow = sheet.createRow(rowIndex++);
+        String[] headers = {"MONTH", "NESE", "HOURS", "SERVICE MONTH", "OVER SGA", "TWP IN 60 MONTHS", "PHASE"};
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(styles.headerStyle);
+        }
+
+        for (WorkIncentiveTimeline.MonthStatus month : timeline.getMonthStatuses()) {
+            Row row = sheet.createRow(rowIndex++);
+            row.createCell(0).setCellValue(month.getYearMonth().format(monthFormat));
+            Cell neseCell = row.createCell(1);
+            neseCell.setCellValue(month.getNese());
+            neseCell.setCellStyle(month.isSgaMonth() ? styles.negativeCurrencyStyle : styles.currencyStyle);
+            Cell hoursCell = row.createCell(2);
+            hoursCell.setCellValue(month.getHours());
+            hoursCell.setCellStyle(styles.numberStyle);
+            row.createCell(3).setCellValue(month.isServiceMonth() ? "Yes" : "No");
+            row.createCell(4).setCellValue(month.isSgaMonth() ? "Yes" : "No");
+            row.createCell(5).setCellValue(month.getWindowServiceMonths());
+            row.createCell(6).setCellValue(month.getPhase());
+        }
+    }
+
+    private static String formatMonth(YearMonth month, DateTimeFormatter format) {
+        return month != null ? month.format(format) : "-";
+    }
+
     private static void addSummaryRow(Sheet sheet, int rowIndex, String label, double value, CellStyle labelStyle, CellStyle valueStyle) {
         Row row = sheet.createRow(rowIndex);
         
@@ -1,12 +1,15 @@
 package com.example.worklogui;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.example.worklogui.diagnostics.DebugLog;
+import com.example.worklogui.diagnostics.MetricsRegistry;
+import com.example.worklogui.diagnostics.WorkLogEvents;
+import com.example.worklogui.storage.AtomicFileWriter;
+import com.example.worklogui.storage.BackupSnapshotter;
+import com.example.worklogui.storage.BackupStore;
+import com.example.worklogui.storage.StorageCodecs;
+import com.example.worklogui.storage.StorageType;
+import com.example.worklogui.utils.FileOperationHelper;
 
-import java.nio.file.StandardCopyOption;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
@@ -16,40 +19,41 @@ import java.util.*;
  */
 public class FileLoader {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
 
     /**
      * Load bills from a specific file
      */
     public static List<Bill> carregarBills(Path path) {
         if (!Files.exists(path)) {
-            System.out.println("Bill file doesn't exist: " + path);
+            DebugLog.debug(() -> "Bill file doesn't exist: " + path);
             return new ArrayList<>();
         }
 
-        try {
-            System.out.println("Loading bills from: " + path);
-            String content = Files.readString(path);
-            System.out.println("File content length: " + content.length());
+        WorkLogEvents.StorageEvent event = WorkLogEvents.StorageEvent.begin("load", "bills", monthKeyOf(path));
+        try (MetricsRegistry.Timer.Sample ignored = metrics.timer(MetricsRegistry.BILLS_LOAD).start()) {
+            DebugLog.debug(() -> "Loading bills from: " + path);
+            long bytes = FileOperationHelper.recordFileSize(path, MetricsRegistry.BYTES_READ);
 
-            List<Bill> bills = objectMapper.readValue(path.toFile(), new TypeReference<List<Bill>>() {});
-            System.out.println("Loaded " + bills.size() + " bills");
+            List<Bill> bills = StorageCodecs.read(path, StorageType.BILLS);
+            DebugLog.debug(() -> "Loaded " + bills.size() + " bills");
 
             // Initialize categories for all bills after loading
             for (Bill bill : bills) {
-                System.out.println("  Processing bill: " + bill.getDescription());
-                System.out.println("    Legacy deductible: " + bill.getLegacyDeductible());
-                System.out.println("    Category before init: " + bill.getCategory());
+                Boolean legacy = bill.getLegacyDeductible();
+                ExpenseCategory before = bill.getCategory();
 
                 bill.initializeCategory();
 
-                System.out.println("    Category after init: " + bill.getCategory());
-                System.out.println("    Is deductible: " + bill.isDeductible());
+                if (DebugLog.isEnabled()) {
+                    System.out.println("  Processing bill: " + bill.getDescription()
+                            + " | legacy deductible: " + legacy
+                            + " | category: " + before + " -> " + bill.getCategory()
+                            + " | deductible: " + bill.isDeductible());
+                }
             }
 
+            event.end(bills.size(), bytes);
             return bills;
         } catch (IOException e) {
             System.err.println("Error loading bills from " + path + ": " + e.getMessage());
@@ -62,32 +66,36 @@ public class FileLoader {
      * Save bills to a specific file
      */
     public static boolean salvarBills(Path path, List<Bill> bills) {
-        try {
+        WorkLogEvents.StorageEvent event = WorkLogEvents.StorageEvent.begin("save", "bills", monthKeyOf(path));
+        try (MetricsRegistry.Timer.Sample ignored = metrics.timer(MetricsRegistry.BILLS_SAVE).start()) {
             Files.createDirectories(path.getParent());
 
-            System.out.println("Saving " + bills.size() + " bills to: " + path);
+            DebugLog.debug(() -> "Saving " + bills.size() + " bills to: " + path);
 
-            // Convert to JSON
-            String json = objectMapper.writeValueAsString(bills);
-            System.out.println("JSON to save (" + json.length() + " chars): " +
-                    (json.length() > 200 ? json.substring(0, 200) + "..." : json));
+            // Pin the previous version so a damaged month can be restored
+            BackupSnapshotter.getInstance().capture(BackupStore.KIND_BILLS, monthKeyOf(path), path);
 
-            // Write to file using atomic operation
-            Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
-            Files.writeString(tempFile, json);
-            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Write to file using atomic operation, in the data directory's storage format
+            long written = StorageCodecs.write(path, bills);
 
-            System.out.println("Successfully saved bills to: " + path);
+            DebugLog.debug(() -> "Successfully saved bills to: " + path + " (" + written + " bytes, "
+                    + StorageCodecs.getActive().getName() + ")");
 
-            // Verify the file was created
-            if (Files.exists(path)) {
+            // Verify the file was created (a batched write is only on disk once the batch commits)
+            if (AtomicFileWriter.isPending(path)) {
+                event.end(bills.size(), FileOperationHelper.recordSize(written, MetricsRegistry.BYTES_WRITTEN));
+                return written > 10;
+            } else if (Files.exists(path)) {
                 long fileSize = Files.size(path);
-                System.out.println("File created successfully, size: " + fileSize + " bytes");
+                event.end(bills.size(), FileOperationHelper.recordSize(fileSize, MetricsRegistry.BYTES_WRITTEN));
 
-                // Verify content
-                String savedContent = Files.readString(path);
-                System.out.println("Saved content preview: " +
-                        (savedContent.length() > 100 ? savedContent.substring(0, 100) + "..." : savedContent));
+                if (DebugLog.isEnabled() && !StorageCodecs.getActive().isBinary()) {
+                    // Read back only for the debug preview
+                    String savedContent = Files.readString(path);
+                    System.out.println("File created successfully, size: " + fileSize + " bytes");
+                    System.out.println("Saved content preview: " +
+                            (savedContent.length() > 100 ? savedContent.substring(0, 100) + "..." : savedContent));
+                }
 
                 return fileSize > 10; // Ensure file has actual content
             } else {
@@ -101,6 +109,10 @@ public class FileLoader {
         }
     }
 
+    private static String monthKeyOf(Path path) {
+        return path.getFileName().toString().replace(".json", "");
+    }
+
     // Legacy methods for backward compatibility - these methods are now deprecated
     // and will be removed in future versions
 
@@ -29,12 +29,34 @@ public class FilterController {
     }
     
     /**
-     * Initialize filters with current date selected
+     * Initialize filters with current date selected.
+     * Uses what the service has loaded so far (the current month at startup) instead of scanning all history.
      */
     public void initialize() {
-        refreshYearToMonthsMap();
+        yearToMonthsMap = service.getKnownYearToMonthsMap();
         setupFilters();
     }
+
+    /**
+     * Refresh dropdown items after the background history load, keeping the user's selections
+     */
+    public void refreshFromService() {
+        yearToMonthsMap = service.getKnownYearToMonthsMap();
+        String selectedMonth = monthFilter.getValue();
+        String selectedCompany = companyFilter.getValue();
+
+        updateYearFilterItems();
+        updateMonthFilter();
+        if (selectedMonth != null && monthFilter.getItems().contains(selectedMonth)) {
+            monthFilter.setValue(selectedMonth);
+        }
+
+        List<String> companies = new ArrayList<>(service.getCompanies());
+        Collections.sort(companies);
+        companies.add(0, "All");
+        companyFilter.setItems(FXCollections.observableArrayList(companies));
+        companyFilter.setValue(companies.contains(selectedCompany) ? selectedCompany : "All");
+    }
     
     /**
      * Set up the filter controls
@@ -158,9 +158,18 @@ public class LogEditorCommands {
     }
     
     private RegistroTrabalho buildUpdatedEntry(String dateStr, String company, double hours, double minutes, boolean doublePay, RegistroTrabalho originalEntry) {
-        // Get the rate info for the selected company (user maps JSON company to local company)
-        RateInfo info = CompanyRateService.getInstance().getRateInfoMap()
-                .getOrDefault(company, new RateInfo(0.0, "hora"));
+        // Get the rate info for the selected company (user maps JSON company to local company),
+        // as in force on the entry's date
+        LocalDate date = null;
+        try {
+            date = DateUtils.parseDisplayDate(dateStr);
+        } catch (Exception ignored) {
+            // Validated before; without a date the current rate applies
+        }
+        RateInfo info = CompanyRateService.getInstance().getRateInfoOn(company, date);
+        if (info == null) {
+            info = new RateInfo(0.0, "hora");
+        }
         
         RegistroTrabalho updatedEntry = new RegistroTrabalho();
         updatedEntry.setData(dateStr);
@@ -281,20 +290,17 @@ public class LogEditorCommands {
     }
     
     private int deleteLogs(CompanyManagerService service, List<RegistroTrabalho> logsToDelete) {
-        int removedCount = logsToDelete.size();
-        
-        for (RegistroTrabalho log : logsToDelete) {
-            try {
-                if (service != null) {
-                    service.deleteRegistro(log);
-                }
-            } catch (Exception e) {
-                System.err.println("Failed to delete log: " + e.getMessage());
-                removedCount--; // Reduce count if deletion failed
-            }
+        if (service == null) {
+            return logsToDelete.size();
         }
         
-        return removedCount;
+        try {
+            // One batch: each month file is rewritten once and all of them are committed together
+            return service.deleteRegistros(logsToDelete);
+        } catch (Exception e) {
+            System.err.println("Failed to delete logs: " + e.getMessage());
+            return 0;
+        }
     }
     
     private void showClearCompleteMessage(int removedCount, boolean hasFilter) {
@@ -87,6 +87,8 @@ public class LogEditorUI {
         } else if (this.service == null) {
             this.service = new CompanyManagerService();
             this.service.initialize();
+            // initialize() only loads the current month; the editor needs every company
+            this.service.populateFilters();
         }
     }
     
@@ -1,5 +1,7 @@
 package com.example.worklogui;
 
+import com.example.worklogui.diagnostics.WorkLogEvents;
+import com.example.worklogui.services.IncrementalAGIEngine;
 import com.example.worklogui.utils.CalculationUtils;
 import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectWrapper;
@@ -113,10 +115,15 @@ public class LogTableController {
      * Update table with new data based on filters
      */
     public void updateTable(String year, String month, String company) {
+        WorkLogEvents.TableRefreshEvent event = new WorkLogEvents.TableRefreshEvent();
+        event.begin();
         FilterParams params = normalizeFilterParams(year, month, company);
         
         service.clearBillCache();
-        Map<String, List<String>> yearToMonthsMap = buildYearToMonthsMap();
+        // The year-to-months map means a scan of all logs and bills; a specific year + month never uses it
+        Map<String, List<String>> yearToMonthsMap = (params.allYears || params.month == null)
+                ? buildYearToMonthsMap()
+                : Collections.emptyMap();
         
         TableDataCollector collector = new TableDataCollector();
         
@@ -127,7 +134,13 @@ public class LogTableController {
         }
 
         updateTableWithEntries(collector.combined);
-        updateAGISummary(collector.filteredRegistros, collector.filteredBills);
+        updateAGISummary(params, collector.filteredRegistros, collector.filteredBills);
+
+        event.year = year;
+        event.month = month;
+        event.company = company;
+        event.entryCount = collector.combined.size();
+        event.commit();
     }
     
     private FilterParams normalizeFilterParams(String year, String month, String company) {
@@ -216,10 +229,13 @@ public class LogTableController {
     /**
      * Update the AGI summary information
      */
-    private void updateAGISummary(List<RegistroTrabalho> filteredRegistros, List<Bill> filteredBills) {
+    private void updateAGISummary(FilterParams params, List<RegistroTrabalho> filteredRegistros, List<Bill> filteredBills) {
         try {
-            // Calculate AGI using the calculator
-            AGICalculator.AGIResult agiResult = AGICalculator.calculateAGI(filteredRegistros, filteredBills);
+            // Calculate AGI from the running totals when they cover the filter, otherwise from the lists
+            AGICalculator.AGIResult agiResult = runningAGI(params);
+            if (agiResult == null) {
+                agiResult = AGICalculator.calculateAGI(filteredRegistros, filteredBills);
+            }
 
             // Calculate total bill amount (both deductible and non-deductible)
             double totalBillAmount = filteredBills.stream()
@@ -254,6 +270,28 @@ public class LogTableController {
         }
     }
 
+    /**
+     * AGI of whole months of all companies (a month, a year or everything) from the running totals,
+     * or null when the filter needs the entry lists (one company, one month across years) or the
+     * totals are not built yet
+     */
+    private AGICalculator.AGIResult runningAGI(FilterParams params) {
+        IncrementalAGIEngine engine = service.getAGIEngine();
+        if (params.company != null || engine == null) {
+            return null;
+        }
+        if (params.allYears) {
+            return params.month == null ? engine.getTotal() : null;
+        }
+        try {
+            return params.month == null
+                    ? engine.getYear(Integer.parseInt(params.year))
+                    : engine.getMonth(params.year + "-" + params.month);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * Scroll to the most recently added bill
      */
@@ -442,7 +480,7 @@ public class LogTableController {
                     }
 
                     // Update AGI summary
-                    updateAGISummary(filteredRegistros, filteredBills);
+                    updateAGISummary(normalizeFilterParams(year, month, company), filteredRegistros, filteredBills);
 
                 } catch (Exception e) {
                     showAlert(Alert.AlertType.ERROR, "Delete Error",
@@ -1,8 +1,12 @@
 package com.example.worklogui;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
 public class RegistroTrabalho {
     private String data;               // e.g., "06/05/2025"
-    private String empresa;            // e.g., "SOSI"
+    private String empresa;            // e.g., "SOSI" (as last saved; the registry name wins)
+    private Integer companyId;         // id in the CompanyRegistry, null until registered
     private double horas;              // e.g., 2.5
     private double minutos;            // e.g., 30
     private boolean pagamentoDobrado;  // true if it's a holiday or double-pay situation
@@ -30,12 +34,49 @@ public class RegistroTrabalho {
         this.data = data;
     }
 
+    /**
+     * Current company name: the registry name of the company id, or the stored name without one
+     */
     public String getEmpresa() {
+        if (companyId != null) {
+            String name = CompanyRegistry.getInstance().nameOf(companyId);
+            if (name != null) {
+                return name;
+            }
+        }
         return empresa;
     }
 
+    /**
+     * Move the entry to another company (the id is assigned again when the entry is saved)
+     */
     public void setEmpresa(String empresa) {
         this.empresa = empresa;
+        this.companyId = null;
+    }
+
+    // Name as read from the file; the id next to it may already point to a newer name
+    @JsonSetter("empresa")
+    private void readEmpresa(String empresa) {
+        this.empresa = empresa;
+    }
+
+    @JsonIgnore
+    public String getStoredEmpresa() {
+        return empresa;
+    }
+
+    public Integer getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Integer companyId) {
+        this.companyId = companyId;
+    }
+
+    void assignCompany(Integer companyId, String name) {
+        this.companyId = companyId;
+        this.empresa = name;
     }
 
     public double getHoras() {
@@ -0,0 +1,167 @@
+package com.example.worklogui;
+
+import com.example.worklogui.services.SgaStatusCalendar;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+import java.net.URL;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Calendar heatmap of the monthly SGA status: one row per year, one cell per month, colored from
+ * green (far under the limit) to red (over it).
+ */
+public class SgaCalendarUI {
+
+    private static final double CELL_WIDTH = 78;
+    private static final double CELL_HEIGHT = 42;
+    // NESE share of the limit shown fully red
+    private static final double MAX_RATIO = 1.3;
+
+    private final SgaStatusCalendar calendar;
+    private final GridPane grid = new GridPane();
+    private final Label legend = new Label();
+    private Stage stage;
+
+    public SgaCalendarUI(CompanyManagerService service) {
+        this.calendar = service.getSgaStatusCalendar();
+    }
+
+    public void show(Stage parentStage) {
+        grid.setHgap(4);
+        grid.setVgap(4);
+        grid.setPadding(new Insets(10));
+        refresh();
+
+        ScrollPane scroll = new ScrollPane(grid);
+        scroll.setFitToWidth(true);
+        VBox.setVgrow(scroll, Priority.ALWAYS);
+
+        VBox layout = new VBox(10, legend, scroll, createButtonPanel());
+        layout.setPadding(new Insets(15));
+
+        stage = createStage(parentStage, layout);
+        stage.show();
+    }
+
+    private HBox createButtonPanel() {
+        Button refreshBtn = new Button("🔄 Refresh / Atualizar");
+        Button closeBtn = new Button("Close / Fechar");
+        refreshBtn.setOnAction(e -> refresh());
+        closeBtn.setOnAction(e -> stage.close());
+
+        HBox buttons = new HBox(10, refreshBtn, closeBtn);
+        buttons.setPadding(new Insets(10));
+        return buttons;
+    }
+
+    private void refresh() {
+        grid.getChildren().clear();
+        Map<String, SgaStatusCalendar.MonthStatus> statuses = calendar.getAll();
+        if (statuses.isEmpty()) {
+            legend.setText("⏳ Monthly totals are still being built, try Refresh in a moment.\n" +
+                    "⏳ Os totais mensais ainda estão sendo calculados, tente Atualizar em instantes.");
+            return;
+        }
+        legend.setText("🟩 under 90% of the SGA limit   🟨 near (90-100%)   🟥 over / 🟩 abaixo de 90% do limite SGA   🟨 próximo   🟥 acima");
+
+        for (Month month : Month.values()) {
+            Label header = new Label(month.getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
+            header.setMinWidth(CELL_WIDTH);
+            header.setAlignment(Pos.CENTER);
+            header.setStyle("-fx-font-weight: bold;");
+            grid.add(header, month.getValue(), 0);
+        }
+
+        TreeSet<Integer> years = new TreeSet<>();
+        for (String yearMonth : statuses.keySet()) {
+            years.add(Integer.parseInt(yearMonth.substring(0, 4)));
+        }
+        int row = 1;
+        for (int year : years.descendingSet()) {
+            Label yearLabel = new Label(String.valueOf(year));
+            yearLabel.setStyle("-fx-font-weight: bold;");
+            grid.add(yearLabel, 0, row);
+            for (int month = 1; month <= 12; month++) {
+                String yearMonth = String.format("%d-%02d", year, month);
+                grid.add(createCell(statuses.get(yearMonth)), month, row);
+            }
+            row++;
+        }
+    }
+
+    private Label createCell(SgaStatusCalendar.MonthStatus status) {
+        Label cell = new Label();
+        cell.setMinSize(CELL_WIDTH, CELL_HEIGHT);
+        cell.setAlignment(Pos.CENTER);
+        if (status == null) {
+            cell.setText("-");
+            cell.setStyle("-fx-background-color: #eeeeee; -fx-text-fill: #999999;");
+            return cell;
+        }
+
+        cell.setText(String.format("$%.0f", status.getNese()));
+        cell.setStyle("-fx-background-color: " + toWeb(heat(status.getRatio())) + ";"
+                + (status.getStatus() == SgaStatusCalendar.Status.OVER ? " -fx-font-weight: bold;" : ""));
+        cell.setTooltip(new Tooltip(String.format("%s\nNESE $%.2f / SGA $%.0f (%.0f%%)\n%s",
+                status.getYearMonth(), status.getNese(), status.getSgaLimit(), status.getRatio() * 100,
+                describe(status.getStatus()))));
+        return cell;
+    }
+
+    // Green at 0, yellow near the limit, red from MAX_RATIO up
+    private static Color heat(double ratio) {
+        double clamped = Math.max(0, Math.min(ratio, MAX_RATIO)) / MAX_RATIO;
+        return Color.hsb(120 * (1 - clamped), 0.25 + 0.5 * clamped, 0.95);
+    }
+
+    private static String toWeb(Color color) {
+        return String.format("#%02x%02x%02x",
+                (int) Math.round(color.getRed() * 255),
+                (int) Math.round(color.getGreen() * 255),
+                (int) Math.round(color.getBlue() * 255));
+    }
+
+    private static String describe(SgaStatusCalendar.Status status) {
+        switch (status) {
+            case OVER:
+                return "🚨 Over the SGA limit / Acima do limite SGA";
+            case NEAR:
+                return "⚠ Near the SGA limit / Próximo do limite SGA";
+            default:
+                return "✅ Under the SGA limit / Abaixo do limite SGA";
+        }
+    }
+
+    private Stage createStage(Stage parentStage, VBox layout) {
+        Stage stage = new Stage();
+        stage.setTitle(AppConstants.APP_TITLE + " - SGA Calendar");
+        stage.initModality(Modality.NONE);
+        stage.initOwner(parentStage);
+        stage.setScene(new Scene(layout, 1080, 520));
+        URL styleUrl = getClass().getResource("/style.css");
+        if (styleUrl != null) {
+            stage.getScene().getStylesheets().add(styleUrl.toExternalForm());
+        }
+        stage.setResizable(true);
+        stage.setMinWidth(700);
+        stage.setMinHeight(300);
+        return stage;
+    }
+}
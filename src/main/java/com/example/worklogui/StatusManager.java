@@ -72,7 +72,7 @@ public class StatusManager {
 
         // Add warning if available (make sure warnings appear at the top)
         // Add warning if available (make sure warnings appear at the top)
-        String currentWarning = warningManager.getCurrentWarning();
+        String currentWarning = warningManager.getDisplayedWarning();
         if (currentWarning != null && !currentWarning.isEmpty()) {
             content.append(currentWarning);
         }
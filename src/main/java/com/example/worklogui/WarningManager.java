@@ -1,7 +1,10 @@
 package com.example.worklogui;
 
+import com.example.worklogui.utils.DateUtils;
 import javafx.application.Platform;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -16,6 +19,9 @@ public class WarningManager {
 
     public WarningManager(CompanyManagerService service) {
         this.service = service;
+        // The TWP/EPE timeline is available once the AGI totals are built
+        service.getAGIEngine().addReadyListener(() -> Platform.runLater(this::updateWarningDisplay));
+        service.getProjectionModel().addReadyListener(() -> Platform.runLater(this::updateWarningDisplay));
     }
 
     /**
@@ -48,17 +54,36 @@ public class WarningManager {
         return currentWarning;
     }
 
+    /**
+     * Current warning followed by the month-end projection and the TWP/EPE timeline, as shown in the warning area
+     */
+    public String getDisplayedWarning() {
+        String displayed = currentWarning;
+        displayed = appendBlock(displayed, WarningUtils.generateProjectionWarning(service.getProjectionModel().project()));
+        displayed = appendBlock(displayed, WarningUtils.generateTimelineWarning(service.getWorkIncentiveTimeline().getTimeline()));
+        return displayed;
+    }
+
+    private static String appendBlock(String warning, String addition) {
+        if (addition == null) {
+            return warning;
+        }
+        String block = WarningUtils.appendTimestampedWarning(addition);
+        return warning == null || warning.isEmpty() ? block : warning + block;
+    }
+
     /**
      * Show startup warnings based on current data
      */
     public void showStartupWarnings() {
-        String warning = WarningUtils.generateStartupWarningBlock(service.getRegistros());
+        // Looked up in the precomputed SGA status, not filtered from every entry
+        String warning = WarningUtils.generateStartupWarningBlock(service);
         if (warning != null) {
             setWarning(warning);
 
             // Show startup popup for current month
             Platform.runLater(() -> {
-                WarningUtils.showStartupWarningIfNeeded(service.getRegistros());
+                WarningUtils.showStartupWarningIfNeeded(service);
             });
         }
     }
@@ -70,7 +95,12 @@ public class WarningManager {
         // Don't show warnings when "All" is selected for either year or month
         if (!"All".equals(selectedYear) && !"All".equals(selectedMonth)) {
             // This is for specific year and month filter - pass the service instance
-            String filterWarning = WarningUtils.generateFilteredWarning(service.getRegistros(), selectedYear, selectedMonth, service);
+            // Only the selected month matters, so don't load the whole history;
+            // its entries are not needed at all once the SGA status is built
+            String yearMonth = DateUtils.createYearMonthKey(selectedYear, selectedMonth);
+            List<RegistroTrabalho> monthLogs = service.getSgaStatusCalendar().getStatus(yearMonth) != null
+                    ? Collections.emptyList() : service.getWorkLogsForMonth(yearMonth);
+            String filterWarning = WarningUtils.generateFilteredWarning(monthLogs, selectedYear, selectedMonth, service);
 
             if (filterWarning != null) {
                 // If there's a warning, show it
@@ -78,7 +108,7 @@ public class WarningManager {
 
                 // Show popup for filtered month if needed
                 Platform.runLater(() -> {
-                    WarningUtils.showFilteredPopupWarningIfNeeded(service.getRegistros(), selectedYear, selectedMonth);
+                    WarningUtils.showFilteredPopupWarningIfNeeded(monthLogs, selectedYear, selectedMonth, service);
                 });
             } else {
                 // No warning needed, clear any existing warning
@@ -95,7 +125,7 @@ public class WarningManager {
      */
     public void checkWarningsAfterLogWork() {
         // Pass the service instance to ensure proper bill loading
-        String warning = WarningUtils.generateCurrentMonthWarning(service.getRegistros(), service);
+        String warning = WarningUtils.generateCurrentMonthWarning(currentMonthLogs(), service);
         if (warning != null) {
             setWarning(warning);
             // Reset the tracked month to ensure filter popups show for new data
@@ -118,7 +148,7 @@ public class WarningManager {
 
         if (year.equals(currentYear) && month.equals(currentMonth)) {
             // Pass the service instance to ensure proper bill loading
-            String warning = WarningUtils.generateCurrentMonthWarning(service.getRegistros(), service);
+            String warning = WarningUtils.generateCurrentMonthWarning(currentMonthLogs(), service);
             if (warning != null) {
                 setWarning(WarningUtils.appendTimestampedWarning(warning));
             } else {
@@ -127,6 +157,10 @@ public class WarningManager {
         }
     }
 
+    private List<RegistroTrabalho> currentMonthLogs() {
+        return service.getWorkLogsForMonth(YearMonth.now().toString());
+    }
+
     private void updateWarningDisplay() {
         if (warningMessageHandler != null) {
             warningMessageHandler.accept(currentWarning);
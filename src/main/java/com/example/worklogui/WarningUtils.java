@@ -1,5 +1,10 @@
 package com.example.worklogui;
 
+import com.example.worklogui.services.ColumnarWorkLogStore;
+import com.example.worklogui.services.EarningsProjectionModel;
+import com.example.worklogui.services.SgaStatusCalendar;
+import com.example.worklogui.services.WorkIncentiveTimeline;
+import com.example.worklogui.utils.DateUtils;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ButtonType;
@@ -10,11 +15,13 @@ import javafx.stage.Stage;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 public class WarningUtils {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MM/yyyy");
     private static final Font WARNING_FONT = new Font("Segoe UI", 12);
 
     // Track the last filtered month we showed a popup for
@@ -75,6 +82,91 @@ public class WarningUtils {
         return formatWarningBlock(warning, label);
     }
 
+    /**
+     * Early warning when the month is on pace to reach the SGA limit but has not yet, otherwise null
+     */
+    public static String generateProjectionWarning(EarningsProjectionModel.Projection projection) {
+        if (projection == null || projection.getDaysLeft() == 0) {
+            return null;
+        }
+        double limit = projection.getSgaLimit();
+        // Months already near or over the limit have their own warning
+        if (projection.getActualNESE() >= limit * 0.9 || projection.getProjectedNESE() < limit * 0.9) {
+            return null;
+        }
+        String month = projection.getYearMonth().format(MONTH_FORMATTER);
+        String icon = projection.getProjectedNESE() >= limit ? "⚠" : "📈";
+        return String.format("%s At your usual pace, NESE for %s reaches about $%.2f by month end ($%.2f - $%.2f), SGA limit $%.0f.\n" +
+                        "%s No seu ritmo habitual, o NESE de %s chega a cerca de $%.2f no fim do mês ($%.2f - $%.2f), limite SGA $%.0f.",
+                icon, month, projection.getProjectedNESE(), projection.getLowNESE(), projection.getHighNESE(), limit,
+                icon, month, projection.getProjectedNESE(), projection.getLowNESE(), projection.getHighNESE(), limit);
+    }
+
+    /**
+     * Trial Work Period / Extended Period of Eligibility status, or null when no service month was worked
+     */
+    public static String generateTimelineWarning(WorkIncentiveTimeline.Timeline timeline) {
+        if (timeline == null) {
+            return null;
+        }
+        if (!timeline.isTwpComplete()) {
+            int used = timeline.getServiceMonthsUsed();
+            if (used == 0) {
+                return null;
+            }
+            String icon = used >= WorkIncentiveTimeline.TWP_SERVICE_MONTHS - 2 ? "⚠" : "🗓";
+            String latest = timeline.getWindowServiceMonths().get(used - 1).format(MONTH_FORMATTER);
+            return String.format("%s Trial Work Period: %d of %d service months used in the last 60 months (latest %s).\n" +
+                            "%s Período de Trabalho Experimental: %d de %d meses de serviço usados nos últimos 60 meses (último %s).",
+                    icon, used, WorkIncentiveTimeline.TWP_SERVICE_MONTHS, latest,
+                    icon, used, WorkIncentiveTimeline.TWP_SERVICE_MONTHS, latest);
+        }
+
+        String completed = timeline.getTwpCompleted().format(MONTH_FORMATTER);
+        String epeStart = timeline.getEpeStart().format(MONTH_FORMATTER);
+        String epeEnd = timeline.getEpeEnd().format(MONTH_FORMATTER);
+        StringBuilder warning = new StringBuilder(String.format(
+                "🗓 Trial Work Period completed %s. Extended Period of Eligibility: %s - %s.\n" +
+                        "🗓 Período de Trabalho Experimental concluído em %s. Período Estendido de Elegibilidade: %s - %s.",
+                completed, epeStart, epeEnd, completed, epeStart, epeEnd));
+
+        if (timeline.getCessation() != null) {
+            String cessation = timeline.getCessation().format(MONTH_FORMATTER);
+            String graceEnd = timeline.getGraceEnd().format(MONTH_FORMATTER);
+            warning.append(String.format("\n⚠ SGA in %s: grace period through %s.\n" +
+                            "⚠ SGA em %s: período de carência até %s.",
+                    cessation, graceEnd, cessation, graceEnd));
+        }
+        int notPayable = timeline.getNonPayableMonths().size();
+        if (notPayable > 0) {
+            warning.append(String.format("\n⚠ %d later EPE month(s) over SGA are not payable.\n" +
+                            "⚠ %d mês(es) posteriores do EPE acima do SGA não são pagos.",
+                    notPayable, notPayable));
+        }
+        if (timeline.getTermination() != null) {
+            String termination = timeline.getTermination().format(MONTH_FORMATTER);
+            String icon = timeline.getTermination().isAfter(timeline.getAsOf()) ? "⚠" : "🚨";
+            warning.append(String.format("\n%s Benefits terminate from %s.\n" +
+                            "%s Os benefícios terminam a partir de %s.",
+                    icon, termination, icon, termination));
+        } else if (!timeline.getAsOf().isAfter(timeline.getEpeEnd())) {
+            long left = timeline.getAsOf().until(timeline.getEpeEnd(), ChronoUnit.MONTHS) + 1;
+            warning.append(String.format("\n🗓 %d EPE month(s) left, including this one.\n" +
+                            "🗓 %d mês(es) de EPE restantes, incluindo este.",
+                    left, left));
+        }
+        return warning.toString();
+    }
+
+    /**
+     * Current month warning block from the service's SGA status (label: the current month)
+     */
+    public static String generateStartupWarningBlock(CompanyManagerService service) {
+        String warning = currentMonthWarning(service);
+        if (warning == null) return null;
+        return formatWarningBlock(warning, LocalDate.now().format(MONTH_FORMATTER));
+    }
+
     public static String appendTimestampedWarning(String warningText) {
         String timestamp = LocalDate.now().format(DateTimeFormatter.ofPattern("MM/dd/yyyy"));
         return formatWarningBlock(warningText, timestamp);
@@ -88,7 +180,15 @@ public class WarningUtils {
     }
 
     public static boolean showStartupWarningIfNeeded(List<RegistroTrabalho> registros) {
-        String warning = generateCurrentMonthWarning(registros);
+        return showMonthlyWarning(generateCurrentMonthWarning(registros));
+    }
+
+    // Overload that looks the month up in the service's SGA status instead of filtering entries
+    public static boolean showStartupWarningIfNeeded(CompanyManagerService service) {
+        return showMonthlyWarning(currentMonthWarning(service));
+    }
+
+    private static boolean showMonthlyWarning(String warning) {
         if (warning == null) return false;
 
         // Determine severity based on content of warning message
@@ -100,8 +200,24 @@ public class WarningUtils {
         return showPopupWarning(title, warning, alertType);
     }
 
+    // Precomputed status first; the month's entries are loaded only while the AGI totals are not built
+    private static String currentMonthWarning(CompanyManagerService service) {
+        String yearMonth = DateUtils.getCurrentYearMonthKey();
+        SgaStatusCalendar.MonthStatus status = service.getSgaStatusCalendar().getStatus(yearMonth);
+        if (status != null) {
+            return generateWarningMessage(status.getNese(), status.getSgaLimit(), "Current month");
+        }
+        return generateCurrentMonthWarning(service.getWorkLogsForMonth(yearMonth), service);
+    }
+
     public static boolean showFilteredPopupWarningIfNeeded(List<RegistroTrabalho> registros,
                                                            String selectedYear, String selectedMonth) {
+        return showFilteredPopupWarningIfNeeded(registros, selectedYear, selectedMonth, null);
+    }
+
+    // Overload that reuses the caller's service instead of building and initializing a new one
+    public static boolean showFilteredPopupWarningIfNeeded(List<RegistroTrabalho> registros, String selectedYear,
+                                                           String selectedMonth, CompanyManagerService service) {
         // If "All" is selected for either year or month, don't show a popup
         if ("All".equalsIgnoreCase(selectedYear) || "All".equalsIgnoreCase(selectedMonth)) {
             return false;
@@ -116,7 +232,9 @@ public class WarningUtils {
         }
 
         // Get warning for this month
-        String warning = generateFilteredWarning(registros, selectedYear, selectedMonth);
+        String warning = service != null
+                ? generateFilteredWarning(registros, selectedYear, selectedMonth, service)
+                : generateFilteredWarning(registros, selectedYear, selectedMonth);
         if (warning == null) return false;
 
         // FIXED: Show popup for ALL warnings (removed the filtering)
@@ -203,10 +321,25 @@ public class WarningUtils {
                 return null;
             }
 
-            // Get bills for current month
             String yearMonth = String.format("%d-%02d", currentYear, currentMonth);
+
+            // Precomputed status first: no scan at all
+            SgaStatusCalendar.MonthStatus status = service.getSgaStatusCalendar().getStatus(yearMonth);
+            if (status != null) {
+                return generateWarningMessage(status.getNese(), status.getSgaLimit(), "Current month");
+            }
+
+            // Get bills for current month
             List<Bill> monthBills = service.getBillsForMonth(yearMonth);
 
+            // Scan the month's columns instead of parsing every entry's date
+            ColumnarWorkLogStore columnarStore = service.getColumnarStore();
+            if (columnarStore != null) {
+                AGICalculator.AGIResult result = AGICalculator.calculateAGI(
+                        columnarStore.grossIncome(yearMonth), monthBills, true);
+                return generateWarningMessage(result.monthlySSACountableIncome, sgaLimit, "Current month");
+            }
+
             // Filter registros for current month
             List<RegistroTrabalho> currentMonthRegistros = new ArrayList<>();
             for (RegistroTrabalho r : registros) {
@@ -271,12 +404,17 @@ public class WarningUtils {
         try {
             double sgaLimit = AGICalculator.getSGALimit(year);
             String yearMonth = String.format("%d-%02d", year, month);
+            String context = String.format("%02d/%d", month, year);
+
+            // Precomputed status when built, otherwise from the month's entries
+            SgaStatusCalendar.MonthStatus status = service.getSgaStatusCalendar().getStatus(yearMonth);
+            if (status != null) {
+                return generateWarningMessage(status.getNese(), status.getSgaLimit(), context);
+            }
+
             List<Bill> monthBills = service.getBillsForMonth(yearMonth);
-            
             List<RegistroTrabalho> monthRegistros = filterRegistrosForMonth(registros, year, month);
             AGICalculator.AGIResult result = AGICalculator.calculateAGI(monthRegistros, monthBills, true);
-            
-            String context = String.format("%02d/%d", month, year);
             return generateWarningMessage(result.monthlySSACountableIncome, sgaLimit, context);
         } catch (Exception e) {
             System.err.println("Error generating filtered warning: " + e.getMessage());
@@ -1,5 +1,6 @@
 package com.example.worklogui;
 
+import com.example.worklogui.services.SgaHeadroomSolver;
 import com.example.worklogui.utils.ValidationHelper;
 import com.example.worklogui.utils.ErrorHandler;
 import javafx.fxml.FXML;
@@ -29,6 +30,9 @@ public class WorkLogEntryController {
     private String lastAddedCompany;
     private RegistroTrabalho lastAddedEntry;
 
+    // Rate table version the company list was built from
+    private long companyListVersion = -1;
+
     public WorkLogEntryController(CompanyManagerService service) {
         this.service = service;
     }
@@ -59,9 +63,79 @@ public class WorkLogEntryController {
         this.doublePayCheckBox = doublePayCheckBox;
 
         configureDatePicker();
+        configureHeadroomHint();
         initialize();
     }
 
+    /**
+     * Show the SGA headroom while an entry is being typed
+     */
+    private void configureHeadroomHint() {
+        if (dateField == null || jobTypeCombo == null || valueField == null || doublePayCheckBox == null) {
+            return;
+        }
+        dateField.valueProperty().addListener((obs, oldValue, newValue) -> showHeadroom());
+        jobTypeCombo.valueProperty().addListener((obs, oldValue, newValue) -> showHeadroom());
+        valueField.textProperty().addListener((obs, oldValue, newValue) -> showHeadroom());
+        doublePayCheckBox.selectedProperty().addListener((obs, oldValue, newValue) -> showHeadroom());
+    }
+
+    private void showHeadroom() {
+        LocalDate date = dateField.getValue();
+        String empresa = jobTypeCombo.getValue();
+        String rawValue = valueField.getText() == null ? "" : valueField.getText().trim();
+        if (date == null || empresa == null || rawValue.isEmpty()) {
+            return;
+        }
+        double valor;
+        try {
+            valor = Double.parseDouble(rawValue);
+        } catch (NumberFormatException e) {
+            return; // Still typing
+        }
+
+        SgaHeadroomSolver.Headroom headroom = service.getHeadroomSolver()
+                .solve(date, empresa, valor, doublePayCheckBox.isSelected());
+        setStatusMessage(formatHeadroom(headroom, empresa));
+    }
+
+    private static String formatHeadroom(SgaHeadroomSolver.Headroom headroom, String empresa) {
+        StringBuilder message = new StringBuilder();
+        if (headroom.isOverLimit()) {
+            message.append(String.format("⚠ This entry puts %s $%.2f of earnings over the $%.0f SGA limit.\n" +
+                            "⚠ Esta entrada coloca %s $%.2f de ganhos acima do limite SGA de $%.0f.",
+                    headroom.getYearMonth(), headroom.getOverLimit(), headroom.getSgaLimit(),
+                    headroom.getYearMonth(), headroom.getOverLimit(), headroom.getSgaLimit()));
+            return message.toString();
+        }
+
+        message.append(String.format("📐 After this entry, $%.2f more can be earned in %s before the $%.0f SGA limit.\n" +
+                        "📐 Após esta entrada, ainda é possível ganhar $%.2f em %s antes do limite SGA de $%.0f.",
+                headroom.getRemainingEarnings(), headroom.getYearMonth(), headroom.getSgaLimit(),
+                headroom.getRemainingEarnings(), headroom.getYearMonth(), headroom.getSgaLimit()));
+
+        // Selected company first, then the others
+        SgaHeadroomSolver.CompanyHeadroom selected = headroom.getCompany(empresa);
+        if (selected != null) {
+            message.append("\n").append(formatCompanyHeadroom(selected));
+        }
+        for (SgaHeadroomSolver.CompanyHeadroom company : headroom.getCompanies()) {
+            if (company != selected) {
+                message.append("\n").append(formatCompanyHeadroom(company));
+            }
+        }
+        return message.toString();
+    }
+
+    private static String formatCompanyHeadroom(SgaHeadroomSolver.CompanyHeadroom company) {
+        if (Double.isInfinite(company.getUnits())) {
+            return "   • " + company.getCompany() + ": no rate / sem taxa";
+        }
+        String unit = company.isPerMinute() ? "min" : "h";
+        return String.format("   • %s: %.1f %s (%.1f %s double pay / pagamento dobrado)",
+                company.getCompany(), company.getUnits(), unit, company.getDoublePayUnits(), unit);
+    }
+
     private void configureDatePicker() {
         if (dateField != null) {
             // Set the converter to format dates as MM/dd/yyyy
@@ -93,7 +167,12 @@ public class WorkLogEntryController {
 
     public void reloadCompanyList() {
         if (jobTypeCombo != null) {
-            jobTypeCombo.getItems().setAll(CompanyRateService.getInstance().getRates().keySet());
+            // Unchanged rate table: keep the list (and the user's selection) as is
+            CompanyRateService.RateTable rates = CompanyRateService.getInstance().getRateTable();
+            if (rates.getVersion() != companyListVersion) {
+                jobTypeCombo.getItems().setAll(rates.getRates().keySet());
+                companyListVersion = rates.getVersion();
+            }
         }
     }
 
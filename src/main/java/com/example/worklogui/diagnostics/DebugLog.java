@@ -0,0 +1,31 @@
+package com.example.worklogui.diagnostics;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-item console tracing, only printed when running with -Dworklog.debug=true
+ * (the same flag ErrorHandler uses for detailed error dialogs).
+ * Use the Supplier overload when building the message itself is costly.
+ */
+public final class DebugLog {
+
+    private static final boolean ENABLED = Boolean.getBoolean("worklog.debug");
+
+    private DebugLog() {}
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void debug(String message) {
+        if (ENABLED) {
+            System.out.println(message);
+        }
+    }
+
+    public static void debug(Supplier<String> message) {
+        if (ENABLED) {
+            System.out.println(message.get());
+        }
+    }
+}
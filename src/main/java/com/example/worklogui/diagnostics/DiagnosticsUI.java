@@ -0,0 +1,132 @@
+package com.example.worklogui.diagnostics;
+
+import com.example.worklogui.AppConstants;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Dialog showing the current MetricsRegistry contents, with JSON export and reset.
+ */
+public class DiagnosticsUI {
+
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final TextArea reportArea = new TextArea();
+    private Stage stage;
+
+    public void show(Stage parentStage) {
+        reportArea.setEditable(false);
+        reportArea.setStyle("-fx-font-family: 'monospace';");
+        VBox.setVgrow(reportArea, Priority.ALWAYS);
+        refresh();
+
+        HBox buttons = createButtonPanel();
+        VBox layout = new VBox(10, reportArea, buttons);
+        layout.setPadding(new Insets(15));
+
+        stage = createStage(parentStage, layout);
+        stage.show();
+    }
+
+    private HBox createButtonPanel() {
+        Button refreshBtn = new Button("🔄 Refresh / Atualizar");
+        Button exportBtn = new Button("💾 Export JSON / Exportar JSON");
+        Button resetBtn = new Button("🧹 Reset / Zerar");
+        Button recordBtn = new Button(recordButtonText());
+        Button closeBtn = new Button("Close / Fechar");
+
+        refreshBtn.setOnAction(e -> refresh());
+        exportBtn.setOnAction(e -> exportJson());
+        resetBtn.setOnAction(e -> {
+            metrics.reset();
+            refresh();
+        });
+        recordBtn.setOnAction(e -> {
+            toggleRecording();
+            recordBtn.setText(recordButtonText());
+        });
+        closeBtn.setOnAction(e -> stage.close());
+
+        HBox buttons = new HBox(10, refreshBtn, exportBtn, resetBtn, recordBtn, closeBtn);
+        buttons.setPadding(new Insets(10));
+        return buttons;
+    }
+
+    private void refresh() {
+        reportArea.setText(metrics.formatReport());
+    }
+
+    private String recordButtonText() {
+        return FlightRecorderControl.isRecording()
+                ? "⏹ Stop & Save JFR / Parar e Salvar"
+                : "⏺ Start JFR / Iniciar Gravação";
+    }
+
+    private void toggleRecording() {
+        try {
+            if (!FlightRecorderControl.isRecording()) {
+                FlightRecorderControl.start();
+                return;
+            }
+            Path saved = FlightRecorderControl.stopAndSave();
+            Alert info = new Alert(Alert.AlertType.INFORMATION);
+            info.setTitle("Diagnostics / Diagnóstico");
+            info.setHeaderText("Flight recording saved / Gravação salva");
+            info.setContentText(saved == null ? "" : saved.toAbsolutePath().toString());
+            info.showAndWait();
+        } catch (IOException | IllegalStateException ex) {
+            Alert error = new Alert(Alert.AlertType.ERROR);
+            error.setTitle("Recording Error / Erro de Gravação");
+            error.setHeaderText("Flight Recorder failed / Falha no Flight Recorder");
+            error.setContentText(ex.getMessage());
+            error.showAndWait();
+        }
+    }
+
+    private void exportJson() {
+        String timestamp = DateTimeFormatter.ofPattern("yyyy_MM_dd_HH_mm_ss").format(LocalDateTime.now());
+        Path target = AppConstants.EXPORT_FOLDER.resolve("diagnostics_" + timestamp + ".json");
+        try {
+            metrics.dumpToFile(target);
+            Alert info = new Alert(Alert.AlertType.INFORMATION);
+            info.setTitle("Diagnostics / Diagnóstico");
+            info.setHeaderText("Metrics exported / Métricas exportadas");
+            info.setContentText(target.toAbsolutePath().toString());
+            info.showAndWait();
+        } catch (IOException ex) {
+            Alert error = new Alert(Alert.AlertType.ERROR);
+            error.setTitle("Export Error / Erro de Exportação");
+            error.setHeaderText("Could not export metrics / Não foi possível exportar as métricas");
+            error.setContentText(ex.getMessage());
+            error.showAndWait();
+        }
+    }
+
+    private Stage createStage(Stage parentStage, VBox layout) {
+        Stage stage = new Stage();
+        stage.setTitle(AppConstants.APP_TITLE + " - Diagnostics");
+        stage.initModality(Modality.NONE);
+        stage.initOwner(parentStage);
+        stage.setScene(new Scene(layout, 760, 520));
+        var styleUrl = getClass().getResource("/style.css");
+        if (styleUrl != null) {
+            stage.getScene().getStylesheets().add(styleUrl.toExternalForm());
+        }
+        stage.setResizable(true);
+        stage.setMinWidth(600);
+        stage.setMinHeight(400);
+        return stage;
+    }
+}
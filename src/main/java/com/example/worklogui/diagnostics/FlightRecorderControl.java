@@ -0,0 +1,77 @@
+package com.example.worklogui.diagnostics;
+
+import com.example.worklogui.AppConstants;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts and stops an in-app Flight Recorder recording (JDK "profile" settings plus all
+ * WorkLog events with no threshold) and saves it under the exports folder.
+ */
+public final class FlightRecorderControl {
+
+    private static Recording recording;
+
+    private FlightRecorderControl() {}
+
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    public static synchronized void start() throws IOException {
+        if (recording != null) {
+            return;
+        }
+
+        Recording r;
+        try {
+            r = new Recording(Configuration.getConfiguration("profile"));
+        } catch (ParseException e) {
+            throw new IOException("Could not load JFR profile settings: " + e.getMessage(), e);
+        }
+        r.setName("WorkLog");
+        r.setToDisk(true);
+        r.setMaxAge(Duration.ofMinutes(30));
+        r.enable(WorkLogEvents.StorageEvent.class).withoutThreshold();
+        r.enable(WorkLogEvents.CacheEvent.class);
+        r.enable(WorkLogEvents.BillsScanEvent.class).withoutThreshold();
+        r.enable(WorkLogEvents.TableRefreshEvent.class).withoutThreshold();
+        r.enable(WorkLogEvents.ExportEvent.class).withoutThreshold();
+        r.start();
+
+        recording = r;
+        System.out.println("⏺ Flight recording started");
+    }
+
+    /**
+     * Stop the running recording and write it to exports/worklog_<timestamp>.jfr
+     *
+     * @return the saved file, or null when nothing was recording
+     */
+    public static synchronized Path stopAndSave() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+
+        String timestamp = DateTimeFormatter.ofPattern("yyyy_MM_dd_HH_mm_ss").format(LocalDateTime.now());
+        Path target = AppConstants.EXPORT_FOLDER.resolve("worklog_" + timestamp + ".jfr");
+        try {
+            Files.createDirectories(AppConstants.EXPORT_FOLDER);
+            recording.stop();
+            recording.dump(target);
+            System.out.println("⏹ Flight recording saved to: " + target);
+            return target;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.worklogui.diagnostics;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Detects FX application thread stalls by posting a heartbeat with Platform.runLater
+ * and measuring how long it waits before running. Latencies go into the fx.stall.latency
+ * histogram (ms); anything over the threshold also counts as an fx.stall.
+ */
+public final class FxStallMonitor {
+
+    private static final long HEARTBEAT_MS = 100;
+    private static final long STALL_THRESHOLD_MS = 100;
+
+    private static ScheduledExecutorService scheduler;
+    private static final AtomicBoolean pending = new AtomicBoolean(false);
+
+    private FxStallMonitor() {}
+
+    public static synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "fx-stall-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        MetricsRegistry.Histogram latency = metrics.histogram(MetricsRegistry.FX_STALL_LATENCY);
+        MetricsRegistry.Counter stalls = metrics.counter(MetricsRegistry.FX_STALL);
+
+        scheduler.scheduleAtFixedRate(() -> {
+            // Only one heartbeat in flight; a long stall is measured once, not once per tick
+            if (!pending.compareAndSet(false, true)) {
+                return;
+            }
+            long posted = System.nanoTime();
+            Platform.runLater(() -> {
+                long waitedMs = (System.nanoTime() - posted) / 1_000_000;
+                latency.record(waitedMs);
+                if (waitedMs > STALL_THRESHOLD_MS) {
+                    stalls.increment();
+                    DebugLog.debug(() -> "⏳ FX thread stalled for " + waitedMs + " ms");
+                }
+                pending.set(false);
+            });
+        }, HEARTBEAT_MS, HEARTBEAT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
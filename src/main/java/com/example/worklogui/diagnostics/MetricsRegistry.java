@@ -0,0 +1,270 @@
+package com.example.worklogui.diagnostics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of lightweight counters, timers and histograms.
+ * Recording is lock-free and counters and histograms don't allocate, so it is safe to call from hot
+ * paths and the FX thread. {@link Timer#start()} allocates one small {@link Timer.Sample} per timing;
+ * use {@link Timer#record(long)} where even that matters.
+ */
+public class MetricsRegistry {
+
+    // Metric names (dot separated, grouped by area)
+    public static final String CACHE_HIT = "cache.worklogs.hit";
+    public static final String CACHE_MISS = "cache.worklogs.miss";
+    public static final String LOGS_LOAD = "storage.logs.load";
+    public static final String LOGS_SAVE = "storage.logs.save";
+    public static final String BILLS_LOAD = "storage.bills.load";
+    public static final String BILLS_SAVE = "storage.bills.save";
+    public static final String BACKUPS_CREATED = "storage.backups.created";
+    public static final String BACKUPS_DEDUPLICATED = "storage.backups.deduplicated";
+    public static final String BACKUPS_COALESCED = "storage.backups.coalesced";
+    public static final String BYTES_READ = "storage.bytes.read";
+    public static final String BYTES_WRITTEN = "storage.bytes.written";
+    public static final String FILE_SIZE = "storage.file.size";
+    public static final String EXPORT_EXCEL = "export.excel";
+    public static final String FX_STALL = "fx.stall";
+    public static final String FX_STALL_LATENCY = "fx.stall.latency";
+
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private volatile long startedAt = System.currentTimeMillis();
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private MetricsRegistry() {}
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, n -> new Timer());
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /**
+     * Reset every metric to zero (the metric objects themselves are kept, so cached references stay valid)
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+        histograms.values().forEach(Histogram::reset);
+        startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Point-in-time copy of all metrics, sorted by name
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("capturedAt", LocalDateTime.now().toString());
+        result.put("uptimeSeconds", (System.currentTimeMillis() - startedAt) / 1000);
+
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, c) -> counterValues.put(name, c.get()));
+        result.put("counters", counterValues);
+
+        Map<String, Map<String, Object>> timerValues = new TreeMap<>();
+        timers.forEach((name, t) -> timerValues.put(name, t.summary()));
+        result.put("timers", timerValues);
+
+        Map<String, Map<String, Object>> histogramValues = new TreeMap<>();
+        histograms.forEach((name, h) -> histogramValues.put(name, h.summary()));
+        result.put("histograms", histogramValues);
+
+        return result;
+    }
+
+    public String toJson() {
+        try {
+            return mapper.writeValueAsString(snapshot());
+        } catch (IOException e) {
+            return "{\"error\":\"" + e.getMessage() + "\"}";
+        }
+    }
+
+    public void dumpToFile(Path target) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        mapper.writeValue(target.toFile(), snapshot());
+    }
+
+    /**
+     * Human readable report for the diagnostics dialog
+     */
+    public String formatReport() {
+        StringBuilder sb = new StringBuilder();
+        Map<String, Object> snap = snapshot();
+        sb.append("Uptime: ").append(snap.get("uptimeSeconds")).append(" s\n\n");
+
+        sb.append("COUNTERS\n");
+        counters.keySet().stream().sorted().forEach(name ->
+                sb.append(String.format("  %-28s %,12d%n", name, counters.get(name).get())));
+
+        sb.append("\nTIMERS (ms)                     count       avg       p50       p95       max\n");
+        timers.keySet().stream().sorted().forEach(name -> {
+            Timer t = timers.get(name);
+            sb.append(String.format("  %-28s %,8d %9.2f %9.2f %9.2f %9.2f%n", name, t.count(),
+                    t.meanMillis(), t.durations.percentile(0.50) / 1e6, t.durations.percentile(0.95) / 1e6,
+                    t.durations.max() / 1e6));
+        });
+
+        sb.append("\nHISTOGRAMS                      count       avg       p50       p95       max\n");
+        histograms.keySet().stream().sorted().forEach(name -> {
+            Histogram h = histograms.get(name);
+            sb.append(String.format("  %-28s %,8d %9.1f %9d %9d %9d%n", name, h.count(),
+                    h.mean(), h.percentile(0.50), h.percentile(0.95), h.max()));
+        });
+        return sb.toString();
+    }
+
+    /**
+     * Monotonic counter
+     */
+    public static class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() { value.increment(); }
+        public void add(long delta) { value.add(delta); }
+        public long get() { return value.sum(); }
+        void reset() { value.reset(); }
+    }
+
+    /**
+     * Distribution of non-negative long values using power-of-two buckets.
+     * Percentiles are approximate (upper bound of the bucket), which is enough to spot outliers.
+     */
+    public static class Histogram {
+        private static final int BUCKETS = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        public void record(long value) {
+            long v = Math.max(0, value);
+            buckets.incrementAndGet(v == 0 ? 0 : 64 - Long.numberOfLeadingZeros(v) - 1);
+            count.increment();
+            sum.add(v);
+            max.accumulateAndGet(v, Math::max);
+        }
+
+        public long count() { return count.sum(); }
+        public long max() { return max.get(); }
+
+        public double mean() {
+            long n = count.sum();
+            return n == 0 ? 0.0 : (double) sum.sum() / n;
+        }
+
+        public long percentile(double p) {
+            long n = count.sum();
+            if (n == 0) return 0;
+            long rank = (long) Math.ceil(p * n);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    long upper = i >= 62 ? Long.MAX_VALUE : (2L << i) - 1;
+                    return Math.min(upper, max.get());
+                }
+            }
+            return max.get();
+        }
+
+        Map<String, Object> summary() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("count", count());
+            m.put("mean", mean());
+            m.put("p50", percentile(0.50));
+            m.put("p95", percentile(0.95));
+            m.put("p99", percentile(0.99));
+            m.put("max", max());
+            return m;
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+            count.reset();
+            sum.reset();
+            max.set(0);
+        }
+    }
+
+    /**
+     * Duration recorder; use with try-with-resources:
+     * <pre>try (MetricsRegistry.Timer.Sample s = timer.start()) { ... }</pre>
+     */
+    public static class Timer {
+        private final Histogram durations = new Histogram();
+
+        public Sample start() {
+            return new Sample(this, System.nanoTime());
+        }
+
+        public void record(long nanos) {
+            durations.record(nanos);
+        }
+
+        public long count() { return durations.count(); }
+        public double meanMillis() { return durations.mean() / 1e6; }
+
+        Map<String, Object> summary() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("count", count());
+            m.put("meanMs", meanMillis());
+            m.put("p50Ms", durations.percentile(0.50) / 1e6);
+            m.put("p95Ms", durations.percentile(0.95) / 1e6);
+            m.put("p99Ms", durations.percentile(0.99) / 1e6);
+            m.put("maxMs", durations.max() / 1e6);
+            return m;
+        }
+
+        void reset() { durations.reset(); }
+
+        public static class Sample implements AutoCloseable {
+            private final Timer timer;
+            private final long startNanos;
+
+            private Sample(Timer timer, long startNanos) {
+                this.timer = timer;
+                this.startNanos = startNanos;
+            }
+
+            public long elapsedNanos() {
+                return System.nanoTime() - startNanos;
+            }
+
+            @Override
+            public void close() {
+                timer.record(elapsedNanos());
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.worklogui.diagnostics;
+
+import javafx.scene.Scene;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Startup timing breakdown. Sequential phases on the FX thread are marked with {@link #mark(String)}
+ * (each measured from the previous mark); background phases report their own duration with
+ * {@link #record(String, long)}. Everything is also stored as "startup.*" timers in MetricsRegistry.
+ *
+ * The headline number is time to first interactive frame: the first layout pulse after the main
+ * window is shown. It must not depend on history size - only the current month is loaded before it.
+ */
+public final class StartupProfiler {
+
+    private static long startNanos = System.nanoTime();
+    private static long lastMarkNanos = startNanos;
+    private static boolean firstFrameSeen = false;
+    private static final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private StartupProfiler() {}
+
+    /**
+     * Reset the reference point; call as early as possible (App.main)
+     */
+    public static synchronized void begin() {
+        startNanos = System.nanoTime();
+        lastMarkNanos = startNanos;
+        phases.clear();
+        firstFrameSeen = false;
+    }
+
+    /**
+     * End a sequential phase that started at the previous mark
+     */
+    public static synchronized void mark(String phase) {
+        long now = System.nanoTime();
+        store(phase, now - lastMarkNanos);
+        lastMarkNanos = now;
+    }
+
+    /**
+     * Record a phase that ran outside the sequential startup path (e.g. background history load)
+     */
+    public static synchronized void record(String phase, long nanos) {
+        store(phase, nanos);
+    }
+
+    /**
+     * Record the first layout pulse of the scene as the first interactive frame
+     */
+    public static void markFirstFrame(Scene scene) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            onFirstFrame();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    private static synchronized void onFirstFrame() {
+        if (firstFrameSeen) {
+            return;
+        }
+        firstFrameSeen = true;
+        long sinceStart = System.nanoTime() - startNanos;
+        store("first.frame", sinceStart);
+
+        // Include JVM/launcher time when the OS reports the process start
+        ProcessHandle.current().info().startInstant().ifPresent(processStart ->
+                store("first.frame.since.process", Duration.between(processStart, Instant.now()).toNanos()));
+
+        System.out.println(summary());
+    }
+
+    public static synchronized String summary() {
+        StringBuilder sb = new StringBuilder("⏱ Startup timings:\n");
+        phases.forEach((phase, nanos) ->
+                sb.append(String.format("   %-28s %8.1f ms%n", phase, nanos / 1e6)));
+        return sb.toString();
+    }
+
+    private static void store(String phase, long nanos) {
+        phases.put(phase, nanos);
+        MetricsRegistry.getInstance().timer("startup." + phase).record(nanos);
+        DebugLog.debug(() -> String.format("⏱ %s: %.1f ms", phase, nanos / 1e6));
+    }
+}
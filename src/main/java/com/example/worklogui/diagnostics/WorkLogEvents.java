@@ -0,0 +1,98 @@
+package com.example.worklogui.diagnostics;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder events for the operations users notice as freezes.
+ * Events are cheap when no recording is running (begin/commit become no-ops),
+ * and carry duration automatically between begin() and commit().
+ *
+ * Open a saved .jfr in JDK Mission Control and filter on the "WorkLog" category.
+ */
+public final class WorkLogEvents {
+
+    private WorkLogEvents() {}
+
+    @Name("com.example.worklogui.Storage")
+    @Label("Storage Operation")
+    @Category({"WorkLog", "Storage"})
+    @Description("Load or save of a monthly work log or bill file")
+    @StackTrace(false)
+    public static class StorageEvent extends Event {
+        @Label("Operation") public String operation;
+        @Label("Kind") public String kind;
+        @Label("Month Key") public String monthKey;
+        @Label("Entry Count") public int entryCount;
+        @Label("Bytes") @DataAmount public long bytes;
+
+        public static StorageEvent begin(String operation, String kind, String monthKey) {
+            StorageEvent event = new StorageEvent();
+            event.operation = operation;
+            event.kind = kind;
+            event.monthKey = monthKey;
+            event.begin();
+            return event;
+        }
+
+        public void end(int entryCount, long bytes) {
+            if (shouldCommit()) {
+                this.entryCount = entryCount;
+                this.bytes = bytes;
+                commit();
+            }
+        }
+    }
+
+    @Name("com.example.worklogui.Cache")
+    @Label("Work Log Cache Lookup")
+    @Category({"WorkLog", "Cache"})
+    @StackTrace(false)
+    public static class CacheEvent extends Event {
+        @Label("Month Key") public String monthKey;
+        @Label("Hit") public boolean hit;
+        @Label("Entry Count") public int entryCount;
+
+        public static void emit(String monthKey, boolean hit, int entryCount) {
+            CacheEvent event = new CacheEvent();
+            if (event.isEnabled()) {
+                event.monthKey = monthKey;
+                event.hit = hit;
+                event.entryCount = entryCount;
+                event.commit();
+            }
+        }
+    }
+
+    @Name("com.example.worklogui.BillsScan")
+    @Label("Bills Directory Scan")
+    @Category({"WorkLog", "Storage"})
+    @StackTrace(false)
+    public static class BillsScanEvent extends Event {
+        @Label("Month Files") public int monthFiles;
+        @Label("Entry Count") public int entryCount;
+        @Label("Bytes") @DataAmount public long bytes;
+    }
+
+    @Name("com.example.worklogui.TableRefresh")
+    @Label("Log Table Refresh")
+    @Category({"WorkLog", "UI"})
+    @StackTrace(false)
+    public static class TableRefreshEvent extends Event {
+        @Label("Year") public String year;
+        @Label("Month") public String month;
+        @Label("Company") public String company;
+        @Label("Entry Count") public int entryCount;
+    }
+
+    @Name("com.example.worklogui.Export")
+    @Label("Excel Export")
+    @Category({"WorkLog", "Export"})
+    @StackTrace(false)
+    public static class ExportEvent extends Event {
+        @Label("Month Key") public String monthKey;
+        @Label("All Records") public boolean allExport;
+        @Label("Entry Count") public int entryCount;
+        @Label("Bytes") @DataAmount public long bytes;
+        @Label("Path") public String path;
+    }
+}
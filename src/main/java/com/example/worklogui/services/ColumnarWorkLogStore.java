@@ -0,0 +1,324 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.CompanyRegistry;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.utils.DateUtils;
+import com.example.worklogui.utils.ErrorHandler;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional columnar copy of the work logs for analytics (enable with -Dworklog.analytics.columnar=true).
+ *
+ * Each month is one immutable {@link Segment} of primitive columns: epoch day, company id (from the
+ * {@link CompanyRegistry}, so renames need no rebuild), hours, minutes, rate, and bitsets for per-minute rates and double pay, about
+ * 32 bytes per entry instead of a few hundred for a {@link RegistroTrabalho} with its strings.
+ * AGI and rollups scan the columns in plain loops.
+ *
+ * The store is built from the partitions on first use and kept in sync through the file manager's
+ * save listener: a saved month's segment is rebuilt from the freshly cached list, or, when that is
+ * not cached, rebuilt from disk on the next scan.
+ */
+public class ColumnarWorkLogStore {
+
+    public static final String ENABLED_PROPERTY = "worklog.analytics.columnar";
+
+    /** Day of entries whose date does not parse: counted in month totals, never in date ranges */
+    public static final int NO_DAY = Integer.MIN_VALUE;
+
+    private final WorkLogFileManager fileManager;
+
+    // year-month -> segment (replaced whole, never changed)
+    private final Map<String, Segment> segments = new ConcurrentHashMap<>();
+
+    // year-month -> number of saves seen; a segment built from older data is not installed
+    private final Map<String, Long> generations = new HashMap<>();
+
+    // Saved while not cached: rebuilt from disk on the next scan
+    private final Set<String> staleMonths = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loaded = false;
+
+    /**
+     * One month of work logs as columns
+     */
+    public static final class Segment {
+        private final int size;
+        private final int[] epochDay;
+        private final int[] companyId;
+        private final double[] hours;
+        private final double[] minutes;
+        private final double[] rate;
+        private final BitSet perMinute;
+        private final BitSet doublePay;
+
+        private Segment(int size) {
+            this.size = size;
+            this.epochDay = new int[size];
+            this.companyId = new int[size];
+            this.hours = new double[size];
+            this.minutes = new double[size];
+            this.rate = new double[size];
+            this.perMinute = new BitSet(size);
+            this.doublePay = new BitSet(size);
+        }
+
+        public int size() { return size; }
+        public int getEpochDay(int i) { return epochDay[i]; }
+        public int getCompanyId(int i) { return companyId[i]; }
+        public double getHours(int i) { return hours[i]; }
+        public double getMinutes(int i) { return minutes[i]; }
+        public double getRate(int i) { return rate[i]; }
+        public boolean isPerMinute(int i) { return perMinute.get(i); }
+        public boolean isDoublePay(int i) { return doublePay.get(i); }
+
+        /**
+         * Earnings of one entry, same formula as {@link AGICalculator#calculateAGI}
+         */
+        public double earnings(int i) {
+            return AGICalculator.entryEarnings(rate[i], perMinute.get(i), hours[i], minutes[i], doublePay.get(i));
+        }
+
+        /**
+         * Earnings of the entries in [fromDay, toDay] for a set of company ids (null for all)
+         */
+        double grossIncome(int fromDay, int toDay, BitSet companies) {
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                int day = epochDay[i];
+                if (day != NO_DAY && day >= fromDay && day <= toDay && (companies == null || companies.get(companyId[i]))) {
+                    total += earnings(i);
+                }
+            }
+            return total;
+        }
+
+        long estimatedBytes() {
+            return (long) size * (Integer.BYTES * 2 + Double.BYTES * 3) + (perMinute.size() + doublePay.size()) / 8;
+        }
+    }
+
+    public ColumnarWorkLogStore(WorkLogFileManager fileManager) {
+        this.fileManager = fileManager;
+        fileManager.addSaveListener(this::onSaved);
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Earnings of one month (every entry in its file)
+     */
+    public double grossIncome(String yearMonthKey) throws ErrorHandler.FileOperationException {
+        ensureCurrent();
+        Segment segment = segments.get(yearMonthKey);
+        if (segment == null) {
+            return 0;
+        }
+        double total = 0;
+        for (int i = 0; i < segment.size; i++) {
+            total += segment.earnings(i);
+        }
+        return total;
+    }
+
+    /**
+     * Earnings between two dates (inclusive), for one company or all (null)
+     */
+    public double grossIncome(LocalDate from, LocalDate to, String company) throws ErrorHandler.FileOperationException {
+        ensureCurrent();
+        BitSet companies = null;
+        if (company != null) {
+            // Several ids share a name after a merging rename
+            companies = new BitSet();
+            for (int id : CompanyRegistry.getInstance().idsOf(company)) {
+                companies.set(id);
+            }
+            if (companies.isEmpty()) {
+                return 0;
+            }
+        }
+
+        String firstMonth = DateUtils.getYearMonthKey(from);
+        String lastMonth = DateUtils.getYearMonthKey(to);
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        double total = 0;
+        for (Map.Entry<String, Segment> entry : segments.entrySet()) {
+            String month = entry.getKey();
+            if (month.compareTo(firstMonth) >= 0 && month.compareTo(lastMonth) <= 0) {
+                total += entry.getValue().grossIncome(fromDay, toDay, companies);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Earnings per year-month, sorted (entries without a valid date are left out)
+     */
+    public Map<String, Double> earningsByMonth() throws ErrorHandler.FileOperationException {
+        ensureCurrent();
+        Map<String, Double> totals = new TreeMap<>();
+        for (Map.Entry<String, Segment> entry : segments.entrySet()) {
+            Segment segment = entry.getValue();
+            double total = 0;
+            boolean any = false;
+            for (int i = 0; i < segment.size; i++) {
+                if (segment.epochDay[i] != NO_DAY) {
+                    total += segment.earnings(i);
+                    any = true;
+                }
+            }
+            if (any) {
+                totals.put(entry.getKey(), total);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Segment of a month, or null when it has no entries
+     */
+    public Segment getSegment(String yearMonthKey) throws ErrorHandler.FileOperationException {
+        ensureCurrent();
+        return segments.get(yearMonthKey);
+    }
+
+    public String getCompanyName(int companyId) {
+        return CompanyRegistry.getInstance().nameOf(companyId);
+    }
+
+    /**
+     * Number of entries currently held
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments.values()) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Segment segment : segments.values()) {
+            bytes += segment.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Drop everything (data changed outside the app); rebuilt on the next scan
+     */
+    public synchronized void invalidate() {
+        synchronized (generations) {
+            generations.replaceAll((month, generation) -> generation + 1);
+        }
+        segments.clear();
+        staleMonths.clear();
+        loaded = false;
+    }
+
+    private void onSaved(String yearMonthKey) {
+        long generation;
+        synchronized (generations) {
+            generation = generations.merge(yearMonthKey, 1L, Long::sum);
+        }
+        // Called under the month's write lock: only use the list the save just cached
+        List<RegistroTrabalho> logs = fileManager.peekCached(yearMonthKey);
+        if (logs != null) {
+            install(yearMonthKey, generation, logs);
+        } else {
+            segments.remove(yearMonthKey);
+            staleMonths.add(yearMonthKey);
+        }
+    }
+
+    private void ensureCurrent() throws ErrorHandler.FileOperationException {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    long started = System.nanoTime();
+                    for (String month : fileManager.getAvailableYearMonthKeys()) {
+                        reload(month);
+                    }
+                    loaded = true;
+                    System.out.printf("📊 Columnar store built: %d entries in %d months, ~%d KB (%d ms)%n",
+                            size(), segments.size(), estimatedBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+                }
+            }
+        }
+        for (String month : staleMonths) {
+            if (staleMonths.remove(month)) {
+                reload(month);
+            }
+        }
+    }
+
+    private void reload(String yearMonthKey) throws ErrorHandler.FileOperationException {
+        long generation;
+        synchronized (generations) {
+            generation = generations.getOrDefault(yearMonthKey, 0L);
+        }
+        install(yearMonthKey, generation, fileManager.getWorkLogs(yearMonthKey));
+    }
+
+    /**
+     * Build and install a month's segment unless a newer save got there first
+     */
+    private void install(String yearMonthKey, long generation, List<RegistroTrabalho> logs) {
+        Segment segment = build(logs);
+        synchronized (generations) {
+            if (generations.getOrDefault(yearMonthKey, 0L) != generation) {
+                return;
+            }
+            if (segment.size == 0) {
+                segments.remove(yearMonthKey);
+            } else {
+                segments.put(yearMonthKey, segment);
+            }
+        }
+    }
+
+    private Segment build(List<RegistroTrabalho> logs) {
+        Segment segment = new Segment(logs.size());
+        int i = 0;
+        for (RegistroTrabalho r : logs) {
+            segment.epochDay[i] = epochDay(r.getData());
+            // Loaded and saved entries are registered already
+            segment.companyId[i] = r.getCompanyId() != null
+                    ? r.getCompanyId() : CompanyRegistry.getInstance().idFor(r.getEmpresa());
+            segment.hours[i] = r.getHoras();
+            segment.minutes[i] = r.getMinutos();
+            segment.rate[i] = r.getTaxaUsada();
+            if (AGICalculator.isPerMinute(r.getTipoUsado())) {
+                segment.perMinute.set(i);
+            }
+            if (r.isPagamentoDobrado()) {
+                segment.doublePay.set(i);
+            }
+            i++;
+        }
+        return segment;
+    }
+
+    private static int epochDay(String date) {
+        if (date == null) {
+            return NO_DAY;
+        }
+        try {
+            return (int) DateUtils.parseDisplayDate(date).toEpochDay();
+        } catch (RuntimeException e) {
+            return NO_DAY;
+        }
+    }
+}
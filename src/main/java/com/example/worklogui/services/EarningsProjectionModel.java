@@ -0,0 +1,426 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.CompanyRegistry;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.utils.DateUtils;
+import com.example.worklogui.utils.ErrorHandler;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Month-end earnings projection from run rates learned on the completed months: expected daily
+ * earnings per company and weekday (days without work count as zero), added to the current
+ * month's actual totals for the days left.
+ *
+ * Every (company, weekday) pair has a streaming {@link Welford} accumulator over its worked days,
+ * updated by difference when a month is saved (the file manager's save listener); the per-weekday
+ * sums across companies are kept alongside, so a projection costs one pass over the days left in
+ * the month. The model is built on a background thread ({@link #buildInBackground}), again when
+ * the month turns, and never on the caller's thread; until then {@link #project} returns null.
+ */
+public class EarningsProjectionModel {
+
+    private final WorkLogFileManager fileManager;
+    private final IncrementalAGIEngine engine;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "earnings-model");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Runnable> readyListeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    // Completed month -> company id -> earnings per day of month (index 0 = day 1)
+    private final TreeMap<YearMonth, Map<Integer, double[]>> months = new TreeMap<>();
+    private final Map<Integer, Welford[]> accumulators = new HashMap<>();
+    // Per weekday (index DayOfWeek.ordinal()): sum of the companies' sums, of their sums of squares,
+    // and of their squared sums
+    private final double[] weekdaySum = new double[7];
+    private final double[] weekdaySumSq = new double[7];
+    private final double[] weekdayCompanySumSq = new double[7];
+    // Saves seen per month; a reload read before a newer save is dropped
+    private final Map<YearMonth, Long> generations = new HashMap<>();
+    // Month the model treats as current (not learned); null until built
+    private YearMonth currentMonth;
+    private boolean loaded = false;
+    private boolean building = false;
+
+    /**
+     * Streaming mean and variance (Welford), with removal so a changed day can be replaced
+     */
+    static final class Welford {
+        long count;
+        double mean;
+        double m2;
+
+        void add(double x) {
+            count++;
+            double delta = x - mean;
+            mean += delta / count;
+            m2 += delta * (x - mean);
+        }
+
+        void remove(double x) {
+            if (count <= 1) {
+                count = 0;
+                mean = 0;
+                m2 = 0;
+                return;
+            }
+            double oldMean = mean;
+            mean = (count * mean - x) / (count - 1);
+            count--;
+            m2 = Math.max(0, m2 - (x - oldMean) * (x - mean));
+        }
+
+        double sum() {
+            return count * mean;
+        }
+
+        double sumOfSquares() {
+            return m2 + count * mean * mean;
+        }
+    }
+
+    /**
+     * Projected end of a month
+     */
+    public static class Projection {
+        private final YearMonth yearMonth;
+        private final LocalDate asOf;
+        private final int daysLeft;
+        private final int monthsLearned;
+        private final double actualNESE;
+        private final double projectedNESE;
+        private final double lowNESE;
+        private final double highNESE;
+        private final double sgaLimit;
+
+        Projection(YearMonth yearMonth, LocalDate asOf, int daysLeft, int monthsLearned, double actualNESE,
+                   double projectedNESE, double lowNESE, double highNESE, double sgaLimit) {
+            this.yearMonth = yearMonth;
+            this.asOf = asOf;
+            this.daysLeft = daysLeft;
+            this.monthsLearned = monthsLearned;
+            this.actualNESE = actualNESE;
+            this.projectedNESE = projectedNESE;
+            this.lowNESE = lowNESE;
+            this.highNESE = highNESE;
+            this.sgaLimit = sgaLimit;
+        }
+
+        public YearMonth getYearMonth() { return yearMonth; }
+        public LocalDate getAsOf() { return asOf; }
+
+        /**
+         * Days after today until the end of the month
+         */
+        public int getDaysLeft() { return daysLeft; }
+
+        /**
+         * Completed months the run rates come from
+         */
+        public int getMonthsLearned() { return monthsLearned; }
+
+        public double getActualNESE() { return actualNESE; }
+        public double getProjectedNESE() { return projectedNESE; }
+
+        /**
+         * Projection one standard deviation below / above
+         */
+        public double getLowNESE() { return lowNESE; }
+        public double getHighNESE() { return highNESE; }
+
+        public double getSgaLimit() { return sgaLimit; }
+    }
+
+    public EarningsProjectionModel(WorkLogFileManager fileManager, IncrementalAGIEngine engine) {
+        this.fileManager = fileManager;
+        this.engine = engine;
+        fileManager.addSaveListener(this::onSaved);
+    }
+
+    /**
+     * Called (on the model's thread) each time a build completes
+     */
+    public void addReadyListener(Runnable listener) {
+        readyListeners.add(listener);
+    }
+
+    /**
+     * Learn every completed month on the model's thread (no-op while a build is queued)
+     */
+    public synchronized void buildInBackground() {
+        if (building) {
+            return;
+        }
+        building = true;
+        worker.execute(this::build);
+    }
+
+    /**
+     * Forget everything; rebuilt in the background
+     */
+    public void invalidate() {
+        synchronized (this) {
+            currentMonth = null;
+            generations.replaceAll((month, generation) -> generation + 1);
+        }
+        buildInBackground();
+    }
+
+    /**
+     * Projection of the current month, or null while the model or the AGI totals are not built, or
+     * before any completed month has been logged
+     */
+    public Projection project() {
+        LocalDate today = LocalDate.now();
+        YearMonth month = YearMonth.from(today);
+        AGICalculator.AGIResult actual = engine.getMonth(month.toString());
+
+        double expected = 0;
+        double variance = 0;
+        int daysLeft = month.lengthOfMonth() - today.getDayOfMonth();
+        int monthsLearned;
+        synchronized (this) {
+            if (currentMonth != null && !month.equals(currentMonth)) {
+                // The month turned: last month becomes history
+                buildInBackground();
+                return null;
+            }
+            if (!loaded || currentMonth == null || actual == null || months.isEmpty()) {
+                return null;
+            }
+            long[] occurrences = weekdayOccurrences(months.firstKey(), month.minusMonths(1));
+            for (LocalDate day = today.plusDays(1); !day.isAfter(month.atEndOfMonth()); day = day.plusDays(1)) {
+                int weekday = day.getDayOfWeek().ordinal();
+                long n = occurrences[weekday];
+                if (n == 0) {
+                    continue;
+                }
+                // Mean and variance over all n weekdays, summed over companies (taken as independent)
+                expected += weekdaySum[weekday] / n;
+                variance += Math.max(0, weekdaySumSq[weekday] / n - weekdayCompanySumSq[weekday] / ((double) n * n));
+            }
+            monthsLearned = months.size();
+        }
+
+        double spread = Math.sqrt(variance);
+        double projected = neseWith(actual, expected);
+        return new Projection(month, today, daysLeft, monthsLearned, actual.monthlySSACountableIncome, projected,
+                neseWith(actual, Math.max(0, expected - spread)), neseWith(actual, expected + spread),
+                AGICalculator.getSGALimit(month.getYear()));
+    }
+
+    /**
+     * Expected earnings of one company on a weekday, from the completed months (0 when unknown)
+     */
+    public double getRunRate(String company, DayOfWeek weekday) {
+        synchronized (this) {
+            if (!loaded || currentMonth == null || months.isEmpty()) {
+                return 0;
+            }
+            long n = weekdayOccurrences(months.firstKey(), currentMonth.minusMonths(1))[weekday.ordinal()];
+            double sum = 0;
+            for (int id : CompanyRegistry.getInstance().idsOf(company)) {
+                Welford[] byWeekday = accumulators.get(id);
+                if (byWeekday != null) {
+                    sum += byWeekday[weekday.ordinal()].sum();
+                }
+            }
+            return n > 0 ? sum / n : 0;
+        }
+    }
+
+    private static double neseWith(AGICalculator.AGIResult actual, double extraGross) {
+        return AGICalculator.calculateAGI(actual.grossIncome + extraGross, actual.expensesByCategory, true)
+                .monthlySSACountableIncome;
+    }
+
+    private void onSaved(String yearMonthKey) {
+        YearMonth month = parse(yearMonthKey);
+        if (month == null) {
+            return;
+        }
+        long generation;
+        synchronized (this) {
+            generation = generations.merge(month, 1L, Long::sum);
+            if (currentMonth == null || !month.isBefore(currentMonth)) {
+                return; // Not built yet, or not a completed month
+            }
+        }
+        // Called under the month's write lock: use the list the save just cached, or reload later
+        List<RegistroTrabalho> logs = fileManager.peekCached(yearMonthKey);
+        if (logs != null) {
+            apply(month, generation, logs);
+        } else {
+            worker.execute(() -> reload(month));
+        }
+    }
+
+    private void build() {
+        long started = System.nanoTime();
+        YearMonth current = YearMonth.now();
+        try {
+            synchronized (this) {
+                months.clear();
+                accumulators.clear();
+                Arrays.fill(weekdaySum, 0);
+                Arrays.fill(weekdaySumSq, 0);
+                Arrays.fill(weekdayCompanySumSq, 0);
+                // Saves of completed months are applied from here on
+                currentMonth = current;
+                loaded = false;
+                building = false;
+            }
+            for (String yearMonthKey : fileManager.getAvailableYearMonthKeys()) {
+                YearMonth month = parse(yearMonthKey);
+                if (month != null && month.isBefore(current)) {
+                    reload(month);
+                }
+            }
+            synchronized (this) {
+                loaded = true;
+            }
+            System.out.printf("📈 Earnings model built: %d months (%d ms)%n",
+                    months.size(), (System.nanoTime() - started) / 1_000_000);
+            for (Runnable listener : readyListeners) {
+                listener.run();
+            }
+        } catch (ErrorHandler.FileOperationException | RuntimeException e) {
+            System.err.println("⚠️ Earnings model build failed, no month-end projection: " + e.getMessage());
+            synchronized (this) {
+                currentMonth = null;
+                building = false;
+            }
+        }
+    }
+
+    private void reload(YearMonth month) {
+        long generation;
+        synchronized (this) {
+            generation = generations.getOrDefault(month, 0L);
+        }
+        try {
+            apply(month, generation, fileManager.getWorkLogs(month.toString()));
+        } catch (ErrorHandler.FileOperationException e) {
+            System.err.println("⚠️ Earnings model could not read " + month + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replace a completed month's days in the accumulators, unless a newer save got there first
+     */
+    private void apply(YearMonth month, long generation, List<RegistroTrabalho> logs) {
+        Map<Integer, double[]> days = dailyEarnings(month, logs);
+        synchronized (this) {
+            if (generations.getOrDefault(month, 0L) != generation
+                    || currentMonth == null || !month.isBefore(currentMonth)) {
+                return;
+            }
+            Map<Integer, double[]> old = months.remove(month);
+            if (old != null) {
+                old.forEach((company, earnings) -> update(month, company, earnings, days.get(company)));
+            }
+            days.forEach((company, earnings) -> {
+                if (old == null || !old.containsKey(company)) {
+                    update(month, company, null, earnings);
+                }
+            });
+            if (!days.isEmpty()) {
+                months.put(month, days);
+            }
+        }
+    }
+
+    // Caller holds this
+    private void update(YearMonth month, int company, double[] before, double[] after) {
+        Welford[] byWeekday = accumulators.computeIfAbsent(company, k -> newAccumulators());
+        for (int day = 0; day < month.lengthOfMonth(); day++) {
+            double oldValue = before != null ? before[day] : 0;
+            double newValue = after != null ? after[day] : 0;
+            if (oldValue == newValue) {
+                continue;
+            }
+            int weekday = month.atDay(day + 1).getDayOfWeek().ordinal();
+            Welford accumulator = byWeekday[weekday];
+            double sum = accumulator.sum();
+            double sumSq = accumulator.sumOfSquares();
+            if (oldValue != 0) {
+                accumulator.remove(oldValue);
+            }
+            if (newValue != 0) {
+                accumulator.add(newValue);
+            }
+            weekdaySum[weekday] += accumulator.sum() - sum;
+            weekdaySumSq[weekday] += accumulator.sumOfSquares() - sumSq;
+            weekdayCompanySumSq[weekday] += accumulator.sum() * accumulator.sum() - sum * sum;
+        }
+    }
+
+    private static Welford[] newAccumulators() {
+        Welford[] byWeekday = new Welford[7];
+        for (int i = 0; i < byWeekday.length; i++) {
+            byWeekday[i] = new Welford();
+        }
+        return byWeekday;
+    }
+
+    private static Map<Integer, double[]> dailyEarnings(YearMonth month, List<RegistroTrabalho> logs) {
+        Map<Integer, double[]> days = new HashMap<>();
+        for (RegistroTrabalho r : logs) {
+            LocalDate date;
+            try {
+                date = DateUtils.parseDisplayDate(r.getData());
+            } catch (RuntimeException e) {
+                continue;
+            }
+            if (!YearMonth.from(date).equals(month)) {
+                continue;
+            }
+            int company = r.getCompanyId() != null
+                    ? r.getCompanyId() : CompanyRegistry.getInstance().idFor(r.getEmpresa());
+            double earnings = AGICalculator.entryEarnings(r.getTaxaUsada(), AGICalculator.isPerMinute(r.getTipoUsado()),
+                    r.getHoras(), r.getMinutos(), r.isPagamentoDobrado());
+            days.computeIfAbsent(company, k -> new double[31])[date.getDayOfMonth() - 1] += earnings;
+        }
+        return days;
+    }
+
+    /**
+     * Number of each weekday from the first day of one month to the last day of another
+     */
+    private static long[] weekdayOccurrences(YearMonth from, YearMonth to) {
+        long[] occurrences = new long[7];
+        LocalDate first = from.atDay(1);
+        long days = ChronoUnit.DAYS.between(first, to.atEndOfMonth()) + 1;
+        if (days <= 0) {
+            return occurrences;
+        }
+        for (int i = 0; i < 7; i++) {
+            occurrences[first.plusDays(i).getDayOfWeek().ordinal()] = days / 7 + (i < days % 7 ? 1 : 0);
+        }
+        return occurrences;
+    }
+
+    private static YearMonth parse(String yearMonthKey) {
+        try {
+            return YearMonth.parse(yearMonthKey);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.util.function.Consumer;
 /**
  * Service for handling Excel export operations in the background.
  * Ensures UI thread safety and provides progress callbacks.
+ * Each export reads one {@link DataSnapshot}, so edits made while it runs don't end up in the workbook.
  */
 public class ExcelExportService {
     
@@ -35,23 +36,23 @@ public class ExcelExportService {
         return CompletableFuture.runAsync(() -> {
             try {
                 updateProgress(progressCallback, "Preparing export data...");
-                
-                List<DisplayEntry> allEntries = new ArrayList<>();
-
-                // Add all work logs
-                updateProgress(progressCallback, "Loading work logs...");
-                List<RegistroTrabalho> allLogs = companyService.getWorkLogFileManager().getAllWorkLogs();
-                for (RegistroTrabalho r : allLogs) {
-                    allEntries.add(new DisplayEntry(r));
-                }
 
                 // Clear bill cache to ensure fresh data
-                updateProgress(progressCallback, "Loading bills...");
                 companyService.clearBillCache();
 
-                // Add all bills
-                for (List<Bill> monthlyBills : companyService.getAllBills().values()) {
-                    allEntries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
+                List<DisplayEntry> allEntries = new ArrayList<>();
+                try (DataSnapshot snapshot = companyService.openSnapshot()) {
+                    // Add all work logs
+                    updateProgress(progressCallback, "Loading work logs...");
+                    for (RegistroTrabalho r : snapshot.getAllWorkLogs()) {
+                        allEntries.add(new DisplayEntry(r));
+                    }
+
+                    // Add all bills
+                    updateProgress(progressCallback, "Loading bills...");
+                    for (List<Bill> monthlyBills : snapshot.getAllBills().values()) {
+                        allEntries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
+                    }
                 }
 
                 updateProgress(progressCallback, "Sorting data...");
@@ -85,20 +86,20 @@ public class ExcelExportService {
                 updateProgress(progressCallback, "Preparing filtered export...");
                 
                 List<DisplayEntry> filteredEntries = new ArrayList<>();
+                try (DataSnapshot snapshot = companyService.openSnapshot()) {
+                    // Add filtered work logs
+                    updateProgress(progressCallback, "Loading filtered work logs...");
+                    for (RegistroTrabalho r : snapshot.getFilteredWorkLogs(year, month, company)) {
+                        filteredEntries.add(new DisplayEntry(r));
+                    }
 
-                // Add filtered work logs
-                updateProgress(progressCallback, "Loading filtered work logs...");
-                List<RegistroTrabalho> filteredLogs = companyService.applyFilters(year, month, company);
-                for (RegistroTrabalho r : filteredLogs) {
-                    filteredEntries.add(new DisplayEntry(r));
-                }
-
-                // Add filtered bills if year/month filter is applied
-                if (year != null && month != null) {
-                    updateProgress(progressCallback, "Loading bills for period...");
-                    String yearMonth = year + "-" + String.format("%02d", Integer.parseInt(month));
-                    List<Bill> monthlyBills = companyService.getBillsForMonth(yearMonth);
-                    filteredEntries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
+                    // Add filtered bills if year/month filter is applied
+                    if (year != null && month != null) {
+                        updateProgress(progressCallback, "Loading bills for period...");
+                        String yearMonth = year + "-" + String.format("%02d", Integer.parseInt(month));
+                        List<Bill> monthlyBills = snapshot.getBills(yearMonth);
+                        filteredEntries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
+                    }
                 }
 
                 updateProgress(progressCallback, "Sorting filtered data...");
@@ -131,34 +132,36 @@ public class ExcelExportService {
                 List<DisplayEntry> entries = new ArrayList<>();
                 
                 if (exportAll) {
-                    updateMessage("Loading all work logs...");
-                    updateProgress(20, 100);
-                    
-                    List<RegistroTrabalho> allLogs = companyService.getWorkLogFileManager().getAllWorkLogs();
-                    for (RegistroTrabalho r : allLogs) {
-                        entries.add(new DisplayEntry(r));
-                    }
-                    
-                    updateMessage("Loading all bills...");
-                    updateProgress(40, 100);
-                    
                     companyService.clearBillCache();
-                    for (List<Bill> monthlyBills : companyService.getAllBills().values()) {
-                        entries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
-                    }
-                } else {
-                    updateMessage("Loading filtered data...");
-                    updateProgress(20, 100);
-                    
-                    List<RegistroTrabalho> filteredLogs = companyService.applyFilters(year, month, company);
-                    for (RegistroTrabalho r : filteredLogs) {
-                        entries.add(new DisplayEntry(r));
-                    }
-                    
-                    if (year != null && month != null) {
-                        String yearMonth = year + "-" + String.format("%02d", Integer.parseInt(month));
-                        List<Bill> monthlyBills = companyService.getBillsForMonth(yearMonth);
-                        entries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
+                }
+                try (DataSnapshot snapshot = companyService.openSnapshot()) {
+                    if (exportAll) {
+                        updateMessage("Loading all work logs...");
+                        updateProgress(20, 100);
+
+                        for (RegistroTrabalho r : snapshot.getAllWorkLogs()) {
+                            entries.add(new DisplayEntry(r));
+                        }
+
+                        updateMessage("Loading all bills...");
+                        updateProgress(40, 100);
+
+                        for (List<Bill> monthlyBills : snapshot.getAllBills().values()) {
+                            entries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
+                        }
+                    } else {
+                        updateMessage("Loading filtered data...");
+                        updateProgress(20, 100);
+
+                        for (RegistroTrabalho r : snapshot.getFilteredWorkLogs(year, month, company)) {
+                            entries.add(new DisplayEntry(r));
+                        }
+
+                        if (year != null && month != null) {
+                            String yearMonth = year + "-" + String.format("%02d", Integer.parseInt(month));
+                            List<Bill> monthlyBills = snapshot.getBills(yearMonth);
+                            entries.addAll(monthlyBills.stream().map(DisplayEntry::new).toList());
+                        }
                     }
                 }
                 
@@ -0,0 +1,450 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.Bill;
+import com.example.worklogui.ExpenseCategory;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.utils.ErrorHandler;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Running AGI totals per month: gross income and deductible expenses per {@link ExpenseCategory},
+ * updated by delta whenever a month's work logs or bills are saved, so the AGI of a month or of
+ * any range of months is derived without scanning entries.
+ *
+ * A month costs one {@link MonthTotals}; range sums come from Fenwick trees over the month index
+ * (one for gross income, one per expense category), O(log months) per query and per change.
+ * The totals are built once in the background after the history load ({@link #buildInBackground});
+ * until then, and for months outside {@link #FIRST_YEAR}..{@link #LAST_YEAR}, queries return null
+ * and callers compute from the lists as before.
+ *
+ * Saves are recorded by the save listeners without locking the engine and applied at the next
+ * query. Data changed outside the app needs {@link #invalidate()} (done by reloadRegistros).
+ * Derived per-month views (see {@link WorkIncentiveTimeline}) follow the totals through a {@link MonthListener}.
+ */
+public class IncrementalAGIEngine {
+
+    public static final int FIRST_YEAR = 1990;
+    public static final int LAST_YEAR = 2109;
+
+    static final int SLOTS = (LAST_YEAR - FIRST_YEAR + 1) * 12;
+
+    // Marks a saved month whose new list was not cached: read it again at the next query
+    private static final List<RegistroTrabalho> RELOAD = new ArrayList<>(0);
+
+    /**
+     * Told about every change of a month's totals, with the engine locked: keep it short, don't query back
+     */
+    public interface MonthListener {
+        void monthChanged(String yearMonth, AGICalculator.AGIResult result, double hours);
+        void cleared();
+    }
+
+    /**
+     * Source of the bills (the service's bill cache)
+     */
+    public interface BillSource {
+        Collection<String> getBillMonths();
+        List<Bill> getBills(String yearMonth);
+    }
+
+    private final WorkLogFileManager fileManager;
+    private final BillSource billSource;
+
+    // Guarded by this
+    private final Map<String, MonthTotals> months = new HashMap<>();
+    private final Fenwick grossTree = new Fenwick(SLOTS);
+    private final EnumMap<ExpenseCategory, Fenwick> expenseTrees = new EnumMap<>(ExpenseCategory.class);
+    private final List<MonthListener> monthListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> readyListeners = new CopyOnWriteArrayList<>();
+
+    // Saved since the last query
+    private final Map<String, List<RegistroTrabalho>> pendingLogs = new ConcurrentHashMap<>();
+    private final Map<String, List<Bill>> pendingBills = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+    private volatile boolean building = false;
+    // Increased by invalidate(); a build that started before is discarded and redone
+    private long generation = 0;
+
+    /**
+     * Totals of one month
+     */
+    private static final class MonthTotals {
+        double gross;
+        double hours;
+        final EnumMap<ExpenseCategory, Double> expenses = new EnumMap<>(ExpenseCategory.class);
+    }
+
+    /**
+     * Gross income and hours worked of a month's logs
+     */
+    private static final class LogTotals {
+        double gross;
+        double hours;
+    }
+
+    /**
+     * Binary indexed tree of doubles: point add and prefix sum in O(log n)
+     */
+    private static final class Fenwick {
+        private final double[] tree;
+
+        Fenwick(int size) {
+            tree = new double[size + 1];
+        }
+
+        void add(int index, double delta) {
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        // Sum of [0, index]
+        double prefix(int index) {
+            double sum = 0;
+            for (int i = index + 1; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        double range(int from, int to) {
+            return prefix(to) - (from > 0 ? prefix(from - 1) : 0);
+        }
+
+        void clear() {
+            Arrays.fill(tree, 0);
+        }
+    }
+
+    public IncrementalAGIEngine(WorkLogFileManager fileManager, BillSource billSource) {
+        this.fileManager = fileManager;
+        this.billSource = billSource;
+        fileManager.addSaveListener(this::onLogsSaved);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Apply the saves recorded since the last query
+     *
+     * @return false when the totals are not built yet
+     */
+    public boolean refresh() {
+        return applyPending();
+    }
+
+    /**
+     * Follow every month's totals; a listener added after the build sees later changes only
+     */
+    public void addMonthListener(MonthListener listener) {
+        monthListeners.add(listener);
+    }
+
+    /**
+     * Called (on the build thread) each time the totals become available
+     */
+    public void addReadyListener(Runnable listener) {
+        readyListeners.add(listener);
+    }
+
+    /**
+     * Build the totals of every month on a background thread (no-op if built or building)
+     */
+    public synchronized void buildInBackground() {
+        if (ready || building) {
+            return;
+        }
+        building = true;
+        Thread builder = new Thread(this::build, "agi-engine-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Record saved bills (the cached, immutable list)
+     */
+    public void onBillsSaved(String yearMonth, List<Bill> bills) {
+        pendingBills.put(yearMonth, bills);
+    }
+
+    /**
+     * AGI of one month, or null when not available
+     */
+    public AGICalculator.AGIResult getMonth(String yearMonth) {
+        if (!applyPending()) {
+            return null;
+        }
+        synchronized (this) {
+            if (!ready || slot(yearMonth) < 0) {
+                return null;
+            }
+            MonthTotals totals = months.get(yearMonth);
+            if (totals == null) {
+                return AGICalculator.calculateAGI(0, new EnumMap<>(ExpenseCategory.class), true);
+            }
+            return AGICalculator.calculateAGI(totals.gross, new EnumMap<>(totals.expenses), true);
+        }
+    }
+
+    /**
+     * AGI over the months from..to (year-month keys, inclusive), or null when not available
+     */
+    public AGICalculator.AGIResult getRange(String fromYearMonth, String toYearMonth, boolean isMonthlyData) {
+        if (!applyPending()) {
+            return null;
+        }
+        int from = slot(fromYearMonth);
+        int to = slot(toYearMonth);
+        if (from < 0 || to < 0) {
+            return null;
+        }
+        if (to < from) {
+            return AGICalculator.calculateAGI(0, new EnumMap<>(ExpenseCategory.class), isMonthlyData);
+        }
+        synchronized (this) {
+            if (!ready) {
+                return null;
+            }
+            double gross = grossTree.range(from, to);
+            EnumMap<ExpenseCategory, Double> expenses = new EnumMap<>(ExpenseCategory.class);
+            expenseTrees.forEach((category, tree) -> {
+                double amount = tree.range(from, to);
+                // Deltas of many saves can leave rounding dust where a category was removed
+                if (Math.abs(amount) > 1e-9) {
+                    expenses.put(category, amount);
+                }
+            });
+            return AGICalculator.calculateAGI(gross, expenses, isMonthlyData);
+        }
+    }
+
+    /**
+     * AGI of a whole calendar year, or null when not available
+     */
+    public AGICalculator.AGIResult getYear(int year) {
+        return getRange(String.format("%d-01", year), String.format("%d-12", year), true);
+    }
+
+    /**
+     * AGI over every month in range, or null when not available
+     */
+    public AGICalculator.AGIResult getTotal() {
+        return getRange(String.format("%d-01", FIRST_YEAR), String.format("%d-12", LAST_YEAR), true);
+    }
+
+    /**
+     * Forget everything; rebuilt in the background
+     */
+    public void invalidate() {
+        synchronized (this) {
+            generation++;
+            ready = false;
+            clearTotals();
+        }
+        buildInBackground();
+    }
+
+    private void onLogsSaved(String yearMonth) {
+        // Called under the month's write lock: only record it, applied at the next query
+        List<RegistroTrabalho> logs = fileManager.peekCached(yearMonth);
+        pendingLogs.put(yearMonth, logs != null ? logs : RELOAD);
+    }
+
+    private void build() {
+        try {
+            long started = System.nanoTime();
+            while (true) {
+                long buildGeneration;
+                synchronized (this) {
+                    buildGeneration = generation;
+                }
+
+                // Read without holding the engine, so saves (and their listeners) are never blocked
+                Map<String, LogTotals> logTotals = new HashMap<>();
+                for (String yearMonth : fileManager.getAvailableYearMonthKeys()) {
+                    logTotals.put(yearMonth, logTotals(fileManager.getWorkLogs(yearMonth)));
+                }
+                Map<String, List<Bill>> bills = new HashMap<>();
+                for (String yearMonth : billSource.getBillMonths()) {
+                    bills.put(yearMonth, billSource.getBills(yearMonth));
+                }
+
+                synchronized (this) {
+                    if (buildGeneration != generation) {
+                        continue; // invalidated while reading
+                    }
+                    clearTotals();
+                    logTotals.forEach(this::setLogTotals);
+                    bills.forEach(this::setBills);
+                    ready = true;
+                    // Cleared together with ready: an invalidate() from here on starts a new build
+                    building = false;
+                }
+                System.out.printf("🧮 AGI engine built: %d log months, %d bill months (%d ms)%n",
+                        logTotals.size(), bills.size(), (System.nanoTime() - started) / 1_000_000);
+                for (Runnable listener : readyListeners) {
+                    listener.run();
+                }
+                return;
+            }
+        } catch (ErrorHandler.FileOperationException | RuntimeException e) {
+            System.err.println("⚠️ AGI engine build failed, using full calculations: " + e.getMessage());
+            synchronized (this) {
+                building = false;
+            }
+        }
+    }
+
+    // Caller holds this
+    private void clearTotals() {
+        months.clear();
+        grossTree.clear();
+        expenseTrees.clear();
+        for (MonthListener listener : monthListeners) {
+            listener.cleared();
+        }
+    }
+
+    /**
+     * Apply saves recorded since the last query
+     *
+     * @return false when the totals are not available
+     */
+    private boolean applyPending() {
+        if (!ready) {
+            return false;
+        }
+        for (String yearMonth : pendingLogs.keySet()) {
+            List<RegistroTrabalho> logs = pendingLogs.remove(yearMonth);
+            if (logs == null) {
+                continue;
+            }
+            if (logs == RELOAD) {
+                try {
+                    logs = fileManager.getWorkLogs(yearMonth);
+                } catch (ErrorHandler.FileOperationException e) {
+                    System.err.println("⚠️ AGI engine could not reload " + yearMonth + ": " + e.getMessage());
+                    invalidate();
+                    return false;
+                }
+            }
+            LogTotals totals = logTotals(logs);
+            synchronized (this) {
+                // A newer save of the month is pending: that one wins
+                if (!pendingLogs.containsKey(yearMonth)) {
+                    setLogTotals(yearMonth, totals);
+                }
+            }
+        }
+        for (String yearMonth : pendingBills.keySet()) {
+            List<Bill> bills = pendingBills.remove(yearMonth);
+            if (bills != null) {
+                synchronized (this) {
+                    if (!pendingBills.containsKey(yearMonth)) {
+                        setBills(yearMonth, bills);
+                    }
+                }
+            }
+        }
+        return ready;
+    }
+
+    // Caller holds this
+    private void setLogTotals(String yearMonth, LogTotals logTotals) {
+        MonthTotals totals = months.computeIfAbsent(yearMonth, k -> new MonthTotals());
+        double delta = logTotals.gross - totals.gross;
+        totals.gross = logTotals.gross;
+        totals.hours = logTotals.hours;
+        int slot = slot(yearMonth);
+        if (slot >= 0 && delta != 0) {
+            grossTree.add(slot, delta);
+        }
+        notifyMonthChanged(yearMonth, totals);
+    }
+
+    // Caller holds this
+    private void setBills(String yearMonth, List<Bill> bills) {
+        EnumMap<ExpenseCategory, Double> expenses = new EnumMap<>(ExpenseCategory.class);
+        for (Bill bill : bills) {
+            double amount = AGICalculator.deductibleAmount(bill);
+            if (amount != 0) {
+                expenses.merge(bill.getCategory(), amount, Double::sum);
+            }
+        }
+
+        MonthTotals totals = months.computeIfAbsent(yearMonth, k -> new MonthTotals());
+        int slot = slot(yearMonth);
+        if (slot >= 0) {
+            for (ExpenseCategory category : ExpenseCategory.values()) {
+                double delta = expenses.getOrDefault(category, 0.0) - totals.expenses.getOrDefault(category, 0.0);
+                if (delta != 0) {
+                    expenseTrees.computeIfAbsent(category, k -> new Fenwick(SLOTS)).add(slot, delta);
+                }
+            }
+        }
+        totals.expenses.clear();
+        totals.expenses.putAll(expenses);
+        notifyMonthChanged(yearMonth, totals);
+    }
+
+    // Caller holds this
+    private void notifyMonthChanged(String yearMonth, MonthTotals totals) {
+        if (monthListeners.isEmpty()) {
+            return;
+        }
+        AGICalculator.AGIResult result = AGICalculator.calculateAGI(totals.gross, new EnumMap<>(totals.expenses), true);
+        for (MonthListener listener : monthListeners) {
+            listener.monthChanged(yearMonth, result, totals.hours);
+        }
+    }
+
+    private static LogTotals logTotals(List<RegistroTrabalho> logs) {
+        LogTotals totals = new LogTotals();
+        for (RegistroTrabalho r : logs) {
+            totals.gross += AGICalculator.entryEarnings(r.getTaxaUsada(), AGICalculator.isPerMinute(r.getTipoUsado()),
+                    r.getHoras(), r.getMinutos(), r.isPagamentoDobrado());
+            totals.hours += r.getHoras() + r.getMinutos() / 60.0;
+        }
+        return totals;
+    }
+
+    /**
+     * Index of a year-month in the trees, or -1 when it is invalid or out of range
+     */
+    static int slot(String yearMonth) {
+        if (yearMonth == null) {
+            return -1;
+        }
+        try {
+            YearMonth parsed = YearMonth.parse(yearMonth);
+            if (parsed.getYear() < FIRST_YEAR || parsed.getYear() > LAST_YEAR) {
+                return -1;
+            }
+            return (parsed.getYear() - FIRST_YEAR) * 12 + parsed.getMonthValue() - 1;
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Year-month of a slot
+     */
+    static YearMonth yearMonthOf(int slot) {
+        return YearMonth.of(FIRST_YEAR + slot / 12, slot % 12 + 1);
+    }
+}
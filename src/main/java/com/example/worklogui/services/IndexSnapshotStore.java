@@ -0,0 +1,128 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.storage.StorageCodecs;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Persists the {@link MonthSummaryIndex} at shutdown so the next launch can skip the full history scan.
+ *
+ * File layout (cache/index-snapshot.json): one header line
+ * {"version":1,"createdAt":"...","count":N,"crc32":"..."} followed by the JSON array of month summaries.
+ * The CRC covers the payload bytes exactly as written; a wrong version or checksum means the
+ * snapshot is ignored and the index is rebuilt from the partitions.
+ */
+public final class IndexSnapshotStore {
+
+    public static final int SNAPSHOT_VERSION = 1;
+    public static final Path SNAPSHOT_PATH = AppConstants.CACHE_FOLDER.resolve("index-snapshot.json");
+
+    private static final ObjectMapper mapper = StorageCodecs.jsonMapper();
+
+    private IndexSnapshotStore() {}
+
+    /**
+     * Write the snapshot atomically (temp file + move)
+     */
+    public static void save(List<MonthSummary> summaries) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(summaries);
+
+        ObjectNode header = mapper.createObjectNode();
+        header.put("version", SNAPSHOT_VERSION);
+        header.put("createdAt", Instant.now().toString());
+        header.put("count", summaries.size());
+        header.put("crc32", crc32(payload));
+        byte[] headerLine = (mapper.writeValueAsString(header) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        Files.createDirectories(SNAPSHOT_PATH.getParent());
+        Path temp = SNAPSHOT_PATH.resolveSibling(SNAPSHOT_PATH.getFileName() + ".tmp");
+        byte[] content = new byte[headerLine.length + payload.length];
+        System.arraycopy(headerLine, 0, content, 0, headerLine.length);
+        System.arraycopy(payload, 0, content, headerLine.length, payload.length);
+        Files.write(temp, content);
+        try {
+            Files.move(temp, SNAPSHOT_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException atomicNotSupported) {
+            Files.move(temp, SNAPSHOT_PATH, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Read and verify the snapshot
+     *
+     * @return the summaries, or null when there is no usable snapshot
+     */
+    public static List<MonthSummary> load() {
+        if (!Files.exists(SNAPSHOT_PATH)) {
+            return null;
+        }
+
+        try {
+            byte[] content = Files.readAllBytes(SNAPSHOT_PATH);
+            int newline = indexOf(content, (byte) '\n');
+            if (newline < 0) {
+                System.err.println("⚠️ Index snapshot has no header, ignoring it");
+                return null;
+            }
+
+            JsonNode header = mapper.readTree(Arrays.copyOfRange(content, 0, newline));
+            if (header.path("version").asInt(-1) != SNAPSHOT_VERSION) {
+                System.out.println("ℹ️ Index snapshot version " + header.path("version").asText()
+                        + " is not " + SNAPSHOT_VERSION + ", rebuilding");
+                return null;
+            }
+
+            byte[] payload = Arrays.copyOfRange(content, newline + 1, content.length);
+            if (!crc32(payload).equals(header.path("crc32").asText())) {
+                System.err.println("⚠️ Index snapshot checksum mismatch, rebuilding");
+                return null;
+            }
+
+            List<MonthSummary> summaries = mapper.readValue(payload, new TypeReference<List<MonthSummary>>() {});
+            if (summaries.size() != header.path("count").asInt(-1)) {
+                System.err.println("⚠️ Index snapshot count mismatch, rebuilding");
+                return null;
+            }
+            return summaries;
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not read index snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static void delete() {
+        try {
+            Files.deleteIfExists(SNAPSHOT_PATH);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not delete index snapshot: " + e.getMessage());
+        }
+    }
+
+    private static String crc32(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static int indexOf(byte[] data, byte value) {
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.worklogui.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Derived per-month data (counts, companies, totals, SGA status) plus the size/mtime stamps
+ * of the partition files it was built from, so it can be revalidated without re-reading them.
+ */
+public class MonthSummary {
+
+    private String yearMonth;
+    private int logCount;
+    private int billCount;
+    private List<String> companies = new ArrayList<>();
+    private double grossIncome;
+    private double billTotal;
+    private double businessExpenses;
+    private double nese;
+    private double sgaLimit;
+    private boolean exceedsSga;
+
+    // Partition stamps (-1 = file did not exist)
+    private long logsFileSize = -1;
+    private long logsModified = -1;
+    private long billsFileSize = -1;
+    private long billsModified = -1;
+
+    public MonthSummary() {}
+
+    public String getYearMonth() { return yearMonth; }
+    public void setYearMonth(String yearMonth) { this.yearMonth = yearMonth; }
+
+    public int getLogCount() { return logCount; }
+    public void setLogCount(int logCount) { this.logCount = logCount; }
+
+    public int getBillCount() { return billCount; }
+    public void setBillCount(int billCount) { this.billCount = billCount; }
+
+    public List<String> getCompanies() { return companies; }
+    public void setCompanies(List<String> companies) { this.companies = companies; }
+
+    public double getGrossIncome() { return grossIncome; }
+    public void setGrossIncome(double grossIncome) { this.grossIncome = grossIncome; }
+
+    public double getBillTotal() { return billTotal; }
+    public void setBillTotal(double billTotal) { this.billTotal = billTotal; }
+
+    public double getBusinessExpenses() { return businessExpenses; }
+    public void setBusinessExpenses(double businessExpenses) { this.businessExpenses = businessExpenses; }
+
+    public double getNese() { return nese; }
+    public void setNese(double nese) { this.nese = nese; }
+
+    public double getSgaLimit() { return sgaLimit; }
+    public void setSgaLimit(double sgaLimit) { this.sgaLimit = sgaLimit; }
+
+    public boolean isExceedsSga() { return exceedsSga; }
+    public void setExceedsSga(boolean exceedsSga) { this.exceedsSga = exceedsSga; }
+
+    public long getLogsFileSize() { return logsFileSize; }
+    public void setLogsFileSize(long logsFileSize) { this.logsFileSize = logsFileSize; }
+
+    public long getLogsModified() { return logsModified; }
+    public void setLogsModified(long logsModified) { this.logsModified = logsModified; }
+
+    public long getBillsFileSize() { return billsFileSize; }
+    public void setBillsFileSize(long billsFileSize) { this.billsFileSize = billsFileSize; }
+
+    public long getBillsModified() { return billsModified; }
+    public void setBillsModified(long billsModified) { this.billsModified = billsModified; }
+}
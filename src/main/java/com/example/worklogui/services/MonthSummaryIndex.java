@@ -0,0 +1,244 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.Bill;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.utils.DateUtils;
+import com.example.worklogui.utils.FilterHelper;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derived indexes over every month partition: year to months, filter values, per-month totals
+ * and SGA status. Each entry remembers the size/mtime of the files it came from, so a persisted
+ * copy (see {@link IndexSnapshotStore}) can be checked against the disk and only the months
+ * that changed outside the app have to be re-read.
+ */
+public class MonthSummaryIndex {
+
+    private final Map<String, MonthSummary> summaries = new ConcurrentHashMap<>();
+    private final Set<String> dirtyMonths = ConcurrentHashMap.newKeySet();
+    private volatile boolean complete = false;
+
+    /**
+     * Build the summary of one month from its logs and bills, stamping the current partition files
+     */
+    public static MonthSummary build(String yearMonthKey, List<RegistroTrabalho> logs, List<Bill> bills) {
+        MonthSummary summary = new MonthSummary();
+        summary.setYearMonth(yearMonthKey);
+        summary.setLogCount(logs.size());
+        summary.setBillCount(bills.size());
+        summary.setCompanies(new ArrayList<>(FilterHelper.extractCompanies(logs)));
+        summary.setBillTotal(bills.stream().mapToDouble(Bill::getAmount).sum());
+
+        AGICalculator.AGIResult agi = AGICalculator.calculateAGI(logs, bills, true);
+        summary.setGrossIncome(agi.grossIncome);
+        summary.setBusinessExpenses(agi.businessExpenses);
+        summary.setNese(agi.nese);
+
+        String year = DateUtils.getYearFromKey(yearMonthKey);
+        double limit = AGICalculator.getSGALimit(year == null ? 0 : Integer.parseInt(year));
+        summary.setSgaLimit(limit);
+        summary.setExceedsSga(agi.nese > limit);
+
+        stamp(summary);
+        return summary;
+    }
+
+    /**
+     * Replace the whole index with a persisted snapshot (nothing is complete until revalidated)
+     */
+    public void adopt(Collection<MonthSummary> snapshot) {
+        summaries.clear();
+        dirtyMonths.clear();
+        for (MonthSummary summary : snapshot) {
+            if (summary.getYearMonth() != null) {
+                summaries.put(summary.getYearMonth(), summary);
+            }
+        }
+        complete = false;
+    }
+
+    /**
+     * Compare every indexed month against the partition files on disk. Months whose files were
+     * deleted are dropped; the returned keys (changed or never indexed) must be rebuilt.
+     */
+    public Set<String> findStaleMonths() {
+        Set<String> onDisk = new TreeSet<>();
+        onDisk.addAll(listMonthKeys(AppConstants.LOGS_FOLDER));
+        onDisk.addAll(listMonthKeys(AppConstants.BILLS_FOLDER));
+
+        summaries.keySet().removeIf(key -> !onDisk.contains(key));
+
+        Set<String> stale = new TreeSet<>();
+        for (String key : onDisk) {
+            MonthSummary indexed = summaries.get(key);
+            if (indexed == null || !matchesDisk(indexed)) {
+                stale.add(key);
+            }
+        }
+        return stale;
+    }
+
+    public void put(MonthSummary summary) {
+        summaries.put(summary.getYearMonth(), summary);
+    }
+
+    public void remove(String yearMonthKey) {
+        summaries.remove(yearMonthKey);
+    }
+
+    /**
+     * Flag a month saved by the app; it is rebuilt before the next snapshot is written
+     */
+    public void markDirty(String yearMonthKey) {
+        if (yearMonthKey != null) {
+            dirtyMonths.add(yearMonthKey);
+        }
+    }
+
+    /**
+     * Take the dirty months for rebuilding; saves that happen meanwhile mark them again
+     */
+    public Set<String> drainDirtyMonths() {
+        Set<String> drained = new TreeSet<>();
+        for (String key : new ArrayList<>(dirtyMonths)) {
+            if (dirtyMonths.remove(key)) {
+                drained.add(key);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * True once every month on disk is represented (after the history load finished)
+     */
+    public boolean isComplete() { return complete; }
+    public void markComplete() { complete = true; }
+
+    public boolean isEmpty() { return summaries.isEmpty(); }
+
+    public MonthSummary get(String yearMonthKey) {
+        return summaries.get(yearMonthKey);
+    }
+
+    /**
+     * All summaries sorted by year-month
+     */
+    public List<MonthSummary> getSummaries() {
+        List<MonthSummary> list = new ArrayList<>(summaries.values());
+        list.sort(Comparator.comparing(MonthSummary::getYearMonth));
+        return list;
+    }
+
+    public Set<String> getYears() {
+        Set<String> years = new TreeSet<>();
+        for (MonthSummary summary : summaries.values()) {
+            if (hasData(summary)) {
+                years.add(DateUtils.getYearFromKey(summary.getYearMonth()));
+            }
+        }
+        return years;
+    }
+
+    public Set<String> getMonths() {
+        Set<String> months = new TreeSet<>();
+        for (MonthSummary summary : summaries.values()) {
+            if (hasData(summary)) {
+                months.add(DateUtils.getMonthFromKey(summary.getYearMonth()));
+            }
+        }
+        return months;
+    }
+
+    public Set<String> getCompanies() {
+        Set<String> companies = new TreeSet<>();
+        summaries.values().forEach(summary -> companies.addAll(summary.getCompanies()));
+        return companies;
+    }
+
+    /**
+     * Follow a company rename (the month files are not touched, so the stamps stay valid)
+     */
+    public void renameCompany(String oldName, String newName) {
+        for (MonthSummary summary : summaries.values()) {
+            List<String> companies = summary.getCompanies();
+            if (companies != null && companies.contains(oldName)) {
+                Set<String> renamed = new TreeSet<>(companies);
+                renamed.remove(oldName);
+                renamed.add(newName);
+                summary.setCompanies(new ArrayList<>(renamed));
+            }
+        }
+    }
+
+    public Map<String, Set<String>> getYearToMonths() {
+        Map<String, Set<String>> yearToMonths = new TreeMap<>();
+        for (MonthSummary summary : summaries.values()) {
+            if (hasData(summary)) {
+                yearToMonths.computeIfAbsent(DateUtils.getYearFromKey(summary.getYearMonth()), k -> new TreeSet<>())
+                        .add(DateUtils.getMonthFromKey(summary.getYearMonth()));
+            }
+        }
+        return yearToMonths;
+    }
+
+    private static boolean hasData(MonthSummary summary) {
+        return summary.getYearMonth() != null && summary.getYearMonth().length() >= 7
+                && (summary.getLogCount() > 0 || summary.getBillCount() > 0);
+    }
+
+    private static void stamp(MonthSummary summary) {
+        long[] logs = fileStamp(AppConstants.LOGS_FOLDER.resolve(summary.getYearMonth() + ".json"));
+        long[] bills = fileStamp(AppConstants.BILLS_FOLDER.resolve(summary.getYearMonth() + ".json"));
+        summary.setLogsFileSize(logs[0]);
+        summary.setLogsModified(logs[1]);
+        summary.setBillsFileSize(bills[0]);
+        summary.setBillsModified(bills[1]);
+    }
+
+    private static boolean matchesDisk(MonthSummary summary) {
+        long[] logs = fileStamp(AppConstants.LOGS_FOLDER.resolve(summary.getYearMonth() + ".json"));
+        long[] bills = fileStamp(AppConstants.BILLS_FOLDER.resolve(summary.getYearMonth() + ".json"));
+        return logs[0] == summary.getLogsFileSize() && logs[1] == summary.getLogsModified()
+                && bills[0] == summary.getBillsFileSize() && bills[1] == summary.getBillsModified();
+    }
+
+    /**
+     * {size, mtime millis}, or {-1, -1} when the file does not exist
+     */
+    private static long[] fileStamp(Path path) {
+        try {
+            if (Files.exists(path)) {
+                return new long[] {Files.size(path), Files.getLastModifiedTime(path).toMillis()};
+            }
+        } catch (IOException ignored) {
+            // Treated as missing; the month will be rebuilt
+        }
+        return new long[] {-1, -1};
+    }
+
+    private static List<String> listMonthKeys(Path folder) {
+        List<String> keys = new ArrayList<>();
+        if (!Files.exists(folder)) {
+            return keys;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*.json")) {
+            for (Path path : stream) {
+                String key = path.getFileName().toString().replace(".json", "");
+                if (key.matches("\\d{4}-\\d{2}")) {
+                    keys.add(key);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not list " + folder + ": " + e.getMessage());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.CompanyRateService;
+import com.example.worklogui.RateInfo;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.exceptions.WorkLogServiceException;
+import com.example.worklogui.utils.DateUtils;
+import com.example.worklogui.utils.ErrorHandler;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Applies effective-dated rate changes to existing work log entries.
+ *
+ * Entries keep the rate they were logged with ({@code taxaUsada}/{@code tipoUsado}); after a rate
+ * change is recorded with {@link CompanyRateService#setRate(String, RateInfo, LocalDate)}, this
+ * recomputes the entries of a date range from the rate in force on each entry's date. Entries dated
+ * before a company's first recorded change keep their rate (the previous rate recorded with it is
+ * not applied).
+ *
+ * {@link #preview} is a dry run that returns the diff; {@link #apply} rewrites the affected months
+ * in parallel, one worker per month, as one all-or-nothing transaction.
+ */
+public class RerateService {
+
+    private final WorkLogFileManager fileManager;
+
+    /**
+     * One entry whose rate changes
+     */
+    public static class Change {
+        private final String yearMonth;
+        private final String date;
+        private final String company;
+        private final double oldRate;
+        private final String oldType;
+        private final double newRate;
+        private final String newType;
+        private final double oldEarnings;
+        private final double newEarnings;
+
+        Change(String yearMonth, RegistroTrabalho before, RegistroTrabalho after) {
+            this.yearMonth = yearMonth;
+            this.date = before.getData();
+            this.company = before.getEmpresa();
+            this.oldRate = before.getTaxaUsada();
+            this.oldType = before.getTipoUsado();
+            this.newRate = after.getTaxaUsada();
+            this.newType = after.getTipoUsado();
+            this.oldEarnings = earnings(before);
+            this.newEarnings = earnings(after);
+        }
+
+        public String getYearMonth() { return yearMonth; }
+        public String getDate() { return date; }
+        public String getCompany() { return company; }
+        public double getOldRate() { return oldRate; }
+        public String getOldType() { return oldType; }
+        public double getNewRate() { return newRate; }
+        public String getNewType() { return newType; }
+        public double getOldEarnings() { return oldEarnings; }
+        public double getNewEarnings() { return newEarnings; }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s: %.2f/%s -> %.2f/%s (%+.2f)",
+                    date, company, oldRate, oldType, newRate, newType, newEarnings - oldEarnings);
+        }
+    }
+
+    /**
+     * Result of a preview or an applied re-rating
+     */
+    public static class Plan {
+        private final LocalDate from;
+        private final LocalDate to;
+        private final String company;
+        private final long rateVersion;
+        private final boolean applied;
+        private final List<Change> changes;
+
+        Plan(LocalDate from, LocalDate to, String company, long rateVersion, boolean applied, List<Change> changes) {
+            this.from = from;
+            this.to = to;
+            this.company = company;
+            this.rateVersion = rateVersion;
+            this.applied = applied;
+            this.changes = Collections.unmodifiableList(changes);
+        }
+
+        public LocalDate getFrom() { return from; }
+        public LocalDate getTo() { return to; }
+
+        /**
+         * Company re-rated, or null for all
+         */
+        public String getCompany() { return company; }
+
+        /**
+         * Rate table version the new rates came from
+         */
+        public long getRateVersion() { return rateVersion; }
+
+        /**
+         * False for a dry run
+         */
+        public boolean isApplied() { return applied; }
+
+        /**
+         * Changed entries by month, then date
+         */
+        public List<Change> getChanges() { return changes; }
+
+        public boolean isEmpty() { return changes.isEmpty(); }
+
+        /**
+         * Number of changed entries per year-month
+         */
+        public Map<String, Integer> getChangesByMonth() {
+            Map<String, Integer> byMonth = new TreeMap<>();
+            changes.forEach(change -> byMonth.merge(change.getYearMonth(), 1, Integer::sum));
+            return byMonth;
+        }
+
+        /**
+         * Change of gross income over all changed entries
+         */
+        public double getEarningsDelta() {
+            double delta = 0;
+            for (Change change : changes) {
+                delta += change.getNewEarnings() - change.getOldEarnings();
+            }
+            return delta;
+        }
+    }
+
+    public RerateService(WorkLogFileManager fileManager) {
+        this.fileManager = fileManager;
+    }
+
+    /**
+     * Dry run: what {@link #apply} would change, nothing is written
+     */
+    public Plan preview(LocalDate from, LocalDate to, String company) throws WorkLogServiceException {
+        CompanyRateService.RateTable rates = CompanyRateService.getInstance().getRateTable();
+        List<String> months = monthsInRange(from, to);
+        ConcurrentLinkedQueue<Change> changes = new ConcurrentLinkedQueue<>();
+
+        List<CompletableFuture<Void>> scans = new ArrayList<>();
+        for (String month : months) {
+            scans.add(CompletableFuture.runAsync(() -> {
+                try {
+                    rerateMonth(month, fileManager.getWorkLogs(month), from, to, company, rates, changes);
+                } catch (ErrorHandler.FileOperationException e) {
+                    throw new CompletionException(e);
+                }
+            }));
+        }
+        try {
+            CompletableFuture.allOf(scans.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new WorkLogServiceException("Failed to preview re-rating: " + e.getCause().getMessage(), e.getCause());
+        }
+        return new Plan(from, to, company, rates.getVersion(), false, sorted(changes));
+    }
+
+    /**
+     * Re-rate the entries between two dates (inclusive) for one company, or all when null
+     */
+    public Plan apply(LocalDate from, LocalDate to, String company) throws WorkLogServiceException {
+        CompanyRateService.RateTable rates = CompanyRateService.getInstance().getRateTable();
+        List<String> months = monthsInRange(from, to);
+        ConcurrentLinkedQueue<Change> changes = new ConcurrentLinkedQueue<>();
+
+        try {
+            int saved = fileManager.rewriteMonths(months,
+                    (month, logs) -> rerateMonth(month, logs, from, to, company, rates, changes));
+            System.out.println("💱 Re-rated " + changes.size() + " entries in " + saved + " months");
+        } catch (ErrorHandler.FileOperationException e) {
+            throw new WorkLogServiceException("Failed to re-rate work logs: " + e.getMessage(), e);
+        }
+        return new Plan(from, to, company, rates.getVersion(), true, sorted(changes));
+    }
+
+    /**
+     * New list of a month with re-rated copies of the changed entries, or null when nothing changes
+     */
+    private static List<RegistroTrabalho> rerateMonth(String month, List<RegistroTrabalho> logs, LocalDate from, LocalDate to,
+                                                      String company, CompanyRateService.RateTable rates,
+                                                      ConcurrentLinkedQueue<Change> changes) {
+        List<RegistroTrabalho> updated = null;
+        for (int i = 0; i < logs.size(); i++) {
+            RegistroTrabalho log = logs.get(i);
+            if (company != null && !company.equals(log.getEmpresa())) {
+                continue;
+            }
+            LocalDate date = parseDate(log.getData());
+            if (date == null || date.isBefore(from) || date.isAfter(to)) {
+                continue;
+            }
+            Map.Entry<LocalDate, RateInfo> change = rates.getHistory(log.getEmpresa()).floorEntry(date);
+            if (change == null || change.getKey().equals(CompanyRateService.BEFORE_FIRST_CHANGE)) {
+                continue;
+            }
+            RateInfo rate = change.getValue();
+            if (sameRate(log, rate)) {
+                continue;
+            }
+
+            RegistroTrabalho rerated = rerate(log, rate);
+            if (updated == null) {
+                updated = new ArrayList<>(logs);
+            }
+            updated.set(i, rerated);
+            changes.add(new Change(month, log, rerated));
+        }
+        return updated;
+    }
+
+    /**
+     * Copy of an entry with another rate; the time moves between hours and minutes if the rate type changes
+     */
+    static RegistroTrabalho rerate(RegistroTrabalho log, RateInfo rate) {
+        RegistroTrabalho copy = new RegistroTrabalho(log.getData(), log.getEmpresa(),
+                log.getHoras(), log.getMinutos(), log.isPagamentoDobrado());
+        copy.setCompanyId(log.getCompanyId());
+        copy.setTaxaUsada(rate.getValor());
+        copy.setTipoUsado(rate.getTipo());
+
+        boolean wasPerMinute = AGICalculator.isPerMinute(log.getTipoUsado());
+        boolean perMinute = AGICalculator.isPerMinute(rate.getTipo());
+        if (wasPerMinute && !perMinute) {
+            copy.setHoras(log.getHoras() + log.getMinutos() / 60.0);
+            copy.setMinutos(0);
+        } else if (!wasPerMinute && perMinute) {
+            copy.setMinutos(log.getHoras() * 60.0 + log.getMinutos());
+            copy.setHoras(0);
+        }
+        return copy;
+    }
+
+    private static boolean sameRate(RegistroTrabalho log, RateInfo rate) {
+        return log.getTaxaUsada() == rate.getValor()
+                && AGICalculator.isPerMinute(log.getTipoUsado()) == AGICalculator.isPerMinute(rate.getTipo());
+    }
+
+    private static double earnings(RegistroTrabalho log) {
+        return AGICalculator.entryEarnings(log.getTaxaUsada(), AGICalculator.isPerMinute(log.getTipoUsado()),
+                log.getHoras(), log.getMinutos(), log.isPagamentoDobrado());
+    }
+
+    private List<String> monthsInRange(LocalDate from, LocalDate to) throws WorkLogServiceException {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new WorkLogServiceException("Invalid re-rating range: " + from + " to " + to);
+        }
+        String firstMonth = DateUtils.getYearMonthKey(from);
+        String lastMonth = DateUtils.getYearMonthKey(to);
+        try {
+            List<String> months = new ArrayList<>();
+            for (String month : fileManager.getAvailableYearMonthKeys()) {
+                if (month.compareTo(firstMonth) >= 0 && month.compareTo(lastMonth) <= 0) {
+                    months.add(month);
+                }
+            }
+            return months;
+        } catch (ErrorHandler.FileOperationException e) {
+            throw new WorkLogServiceException("Failed to list work log months: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<Change> sorted(ConcurrentLinkedQueue<Change> changes) {
+        List<Change> list = new ArrayList<>(changes);
+        list.sort(Comparator.comparing(Change::getYearMonth)
+                .thenComparing(change -> parseDate(change.getDate()), Comparator.nullsLast(Comparator.naturalOrder())));
+        return list;
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return DateUtils.parseDisplayDate(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
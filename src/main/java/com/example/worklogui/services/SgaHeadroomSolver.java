@@ -0,0 +1,188 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.Bill;
+import com.example.worklogui.CompanyManagerService;
+import com.example.worklogui.CompanyRateService;
+import com.example.worklogui.RateInfo;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.utils.DateUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How much more can be worked in a month before its NESE reaches the SGA limit: the remaining gross
+ * income, and the hours (or minutes, for per-minute rates) it buys at each company's rate in force on
+ * the date, normal and double pay. The combined case includes the entry being typed.
+ *
+ * Answers from the month's running totals ({@link IncrementalAGIEngine}); until those are built, from
+ * the month's cached lists, summed once per list instance. Meant to run on every keystroke.
+ */
+public class SgaHeadroomSolver {
+
+    private final CompanyManagerService service;
+
+    // Fallback aggregate and the list instances it was computed from
+    private String fallbackMonth;
+    private List<RegistroTrabalho> fallbackLogs;
+    private List<Bill> fallbackBills;
+    private AGICalculator.AGIResult fallbackResult;
+
+    /**
+     * Room left at one company
+     */
+    public static class CompanyHeadroom {
+        private final String company;
+        private final RateInfo rate;
+        private final double units;
+        private final double doublePayUnits;
+
+        CompanyHeadroom(String company, RateInfo rate, double remainingEarnings) {
+            this.company = company;
+            this.rate = rate;
+            this.units = rate.getValor() > 0 ? remainingEarnings / rate.getValor() : Double.POSITIVE_INFINITY;
+            this.doublePayUnits = units / 2;
+        }
+
+        public String getCompany() { return company; }
+        public RateInfo getRate() { return rate; }
+
+        public boolean isPerMinute() { return AGICalculator.isPerMinute(rate.getTipo()); }
+
+        /**
+         * Hours, or minutes for a per-minute rate (infinite when the rate is zero)
+         */
+        public double getUnits() { return units; }
+
+        public double getDoublePayUnits() { return doublePayUnits; }
+    }
+
+    /**
+     * Headroom of a month
+     */
+    public static class Headroom {
+        private final String yearMonth;
+        private final double sgaLimit;
+        private final double currentNESE;
+        private final double pendingEarnings;
+        private final double remainingEarnings;
+        private final double overLimit;
+        private final List<CompanyHeadroom> companies;
+
+        Headroom(String yearMonth, double sgaLimit, double currentNESE, double pendingEarnings,
+                 double remainingEarnings, double overLimit, List<CompanyHeadroom> companies) {
+            this.yearMonth = yearMonth;
+            this.sgaLimit = sgaLimit;
+            this.currentNESE = currentNESE;
+            this.pendingEarnings = pendingEarnings;
+            this.remainingEarnings = remainingEarnings;
+            this.overLimit = overLimit;
+            this.companies = Collections.unmodifiableList(companies);
+        }
+
+        public String getYearMonth() { return yearMonth; }
+        public double getSgaLimit() { return sgaLimit; }
+
+        /**
+         * NESE of the logged entries and bills, without the pending entry
+         */
+        public double getCurrentNESE() { return currentNESE; }
+
+        /**
+         * Earnings of the entry being typed
+         */
+        public double getPendingEarnings() { return pendingEarnings; }
+
+        /**
+         * Gross income that can still be earned after the pending entry
+         */
+        public double getRemainingEarnings() { return remainingEarnings; }
+
+        /**
+         * Gross income the pending entry goes past the limit by (0 when it fits)
+         */
+        public double getOverLimit() { return overLimit; }
+
+        public boolean isOverLimit() { return overLimit > 0; }
+
+        /**
+         * Every company with a rate, in rate table order
+         */
+        public List<CompanyHeadroom> getCompanies() { return companies; }
+
+        public CompanyHeadroom getCompany(String company) {
+            for (CompanyHeadroom headroom : companies) {
+                if (headroom.getCompany().equals(company)) {
+                    return headroom;
+                }
+            }
+            return null;
+        }
+    }
+
+    public SgaHeadroomSolver(CompanyManagerService service) {
+        this.service = service;
+    }
+
+    /**
+     * Headroom of the date's month as logged
+     */
+    public Headroom solve(LocalDate date) {
+        return solve(date, null, 0, false);
+    }
+
+    /**
+     * Headroom of the date's month after a pending entry (hours, or minutes for a per-minute company)
+     */
+    public Headroom solve(LocalDate date, String pendingCompany, double pendingQuantity, boolean pendingDoublePay) {
+        String yearMonth = DateUtils.getYearMonthKey(date);
+        double sgaLimit = AGICalculator.getSGALimit(date.getYear());
+        AGICalculator.AGIResult month = monthResult(yearMonth);
+        CompanyRateService.RateTable rates = CompanyRateService.getInstance().getRateTable();
+
+        double pendingEarnings = 0;
+        if (pendingCompany != null && pendingQuantity > 0) {
+            RateInfo rate = rates.getRateInfoOn(pendingCompany, date);
+            if (rate != null) {
+                pendingEarnings = AGICalculator.entryEarnings(rate.getValor(), AGICalculator.isPerMinute(rate.getTipo()),
+                        pendingQuantity, pendingQuantity, pendingDoublePay);
+            }
+        }
+
+        double untilLimit = AGICalculator.earningsUntilNESE(month, sgaLimit);
+        double remaining = Math.max(0, untilLimit - pendingEarnings);
+        double over = Math.max(0, pendingEarnings - untilLimit);
+
+        List<CompanyHeadroom> companies = new ArrayList<>();
+        for (String company : rates.getRateInfoMap().keySet()) {
+            RateInfo rate = rates.getRateInfoOn(company, date);
+            if (rate != null) {
+                companies.add(new CompanyHeadroom(company, rate, remaining));
+            }
+        }
+        return new Headroom(yearMonth, sgaLimit, month.monthlySSACountableIncome, pendingEarnings, remaining, over, companies);
+    }
+
+    private AGICalculator.AGIResult monthResult(String yearMonth) {
+        AGICalculator.AGIResult running = service.getAGIEngine().getMonth(yearMonth);
+        if (running != null) {
+            return running;
+        }
+
+        // The service hands out its cached lists: same instances, same totals
+        List<RegistroTrabalho> logs = service.getWorkLogsForMonth(yearMonth);
+        List<Bill> bills = service.getBillsForMonth(yearMonth);
+        synchronized (this) {
+            if (!yearMonth.equals(fallbackMonth) || logs != fallbackLogs || bills != fallbackBills) {
+                fallbackResult = AGICalculator.calculateAGI(logs, bills, true);
+                fallbackMonth = yearMonth;
+                fallbackLogs = logs;
+                fallbackBills = bills;
+            }
+            return fallbackResult;
+        }
+    }
+}
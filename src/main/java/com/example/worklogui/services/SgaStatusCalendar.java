@@ -0,0 +1,100 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SGA status of every month with logs or bills (NESE, limit, under / near / over), kept current from
+ * the {@link IncrementalAGIEngine}'s per-month totals. Warnings read one entry instead of filtering
+ * the month's entries; the calendar heatmap reads them all.
+ */
+public class SgaStatusCalendar implements IncrementalAGIEngine.MonthListener {
+
+    /** Share of the limit from which a month is "near" (the warnings start there too) */
+    public static final double NEAR_RATIO = 0.9;
+
+    public enum Status { UNDER, NEAR, OVER }
+
+    private final IncrementalAGIEngine engine;
+
+    // year-month -> status; written with the engine locked, read without locking
+    private final Map<String, MonthStatus> statuses = new ConcurrentHashMap<>();
+
+    /**
+     * SGA status of one month
+     */
+    public static class MonthStatus {
+        private final String yearMonth;
+        private final double nese;
+        private final double sgaLimit;
+        private final Status status;
+
+        MonthStatus(String yearMonth, double nese, double sgaLimit) {
+            this.yearMonth = yearMonth;
+            this.nese = nese;
+            this.sgaLimit = sgaLimit;
+            this.status = nese > sgaLimit ? Status.OVER : nese >= sgaLimit * NEAR_RATIO ? Status.NEAR : Status.UNDER;
+        }
+
+        public String getYearMonth() { return yearMonth; }
+        public double getNese() { return nese; }
+        public double getSgaLimit() { return sgaLimit; }
+        public Status getStatus() { return status; }
+
+        /**
+         * NESE as a share of the limit
+         */
+        public double getRatio() { return sgaLimit > 0 ? nese / sgaLimit : 0; }
+    }
+
+    public SgaStatusCalendar(IncrementalAGIEngine engine) {
+        this.engine = engine;
+        engine.addMonthListener(this);
+    }
+
+    /**
+     * Status of a month (UNDER with no NESE when nothing is logged), or null while the AGI totals are not built
+     */
+    public MonthStatus getStatus(String yearMonth) {
+        if (!engine.refresh()) {
+            return null;
+        }
+        MonthStatus status = statuses.get(yearMonth);
+        if (status == null) {
+            int slot = IncrementalAGIEngine.slot(yearMonth);
+            if (slot < 0) {
+                return null;
+            }
+            status = new MonthStatus(yearMonth, 0, AGICalculator.getSGALimit(IncrementalAGIEngine.yearMonthOf(slot).getYear()));
+        }
+        return status;
+    }
+
+    /**
+     * Every month with logs or bills, sorted, or an empty map while the AGI totals are not built
+     */
+    public Map<String, MonthStatus> getAll() {
+        if (!engine.refresh()) {
+            return new TreeMap<>();
+        }
+        return new TreeMap<>(statuses);
+    }
+
+    @Override
+    public void monthChanged(String yearMonth, AGICalculator.AGIResult result, double hours) {
+        int slot = IncrementalAGIEngine.slot(yearMonth);
+        if (slot < 0) {
+            return;
+        }
+        int year = IncrementalAGIEngine.yearMonthOf(slot).getYear();
+        statuses.put(yearMonth, new MonthStatus(yearMonth, result.monthlySSACountableIncome, AGICalculator.getSGALimit(year)));
+    }
+
+    @Override
+    public void cleared() {
+        statuses.clear();
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * SSDI work incentive timeline over the whole history: Trial Work Period (TWP) service months in
+ * rolling 60-month windows and the 36-month Extended Period of Eligibility (EPE) that follows.
+ *
+ * A month is a TWP service month when its NESE is above the year's TWP threshold or more than 80
+ * hours were worked (self-employment rule), and an SGA month when its NESE is above the SGA limit.
+ * The flags follow the {@link IncrementalAGIEngine}'s per-month totals. Every month keeps the number
+ * of service months in the 60-month window ending there, so a changed month moves at most 60
+ * counters; the months whose window reaches 9 and the SGA months are kept sorted, and the timeline
+ * is read from their first entries.
+ *
+ * The history is taken to be within the SSDI entitlement: the app does not know when it started,
+ * nor about TWP months used before the first logged month.
+ */
+public class WorkIncentiveTimeline implements IncrementalAGIEngine.MonthListener {
+
+    public static final int TWP_SERVICE_MONTHS = 9;
+    public static final int TWP_WINDOW_MONTHS = 60;
+    public static final int EPE_MONTHS = 36;
+    public static final int GRACE_MONTHS = 3;
+    public static final double SERVICE_HOURS = 80;
+
+    private static final int SLOTS = IncrementalAGIEngine.SLOTS;
+
+    private final IncrementalAGIEngine engine;
+
+    // Guarded by this; indexed by engine slot
+    private final double[] nese = new double[SLOTS];
+    private final double[] hours = new double[SLOTS];
+    private final boolean[] service = new boolean[SLOTS];
+    private final boolean[] known = new boolean[SLOTS];
+    // Service months in the TWP window ending at each slot
+    private final int[] windowCount = new int[SLOTS];
+    // Slots whose window holds 9 service months; the first one completes the TWP
+    private final TreeSet<Integer> windowsReached = new TreeSet<>();
+    private final TreeSet<Integer> sgaMonths = new TreeSet<>();
+
+    /**
+     * Where the history stands today
+     */
+    public static class Timeline {
+        private final YearMonth asOf;
+        private final List<YearMonth> windowServiceMonths;
+        private final YearMonth twpCompleted;
+        private final YearMonth epeStart;
+        private final YearMonth epeEnd;
+        private final YearMonth cessation;
+        private final YearMonth graceEnd;
+        private final List<YearMonth> nonPayableMonths;
+        private final YearMonth termination;
+
+        Timeline(YearMonth asOf, List<YearMonth> windowServiceMonths, YearMonth twpCompleted,
+                 YearMonth cessation, List<YearMonth> nonPayableMonths, YearMonth termination) {
+            this.asOf = asOf;
+            this.windowServiceMonths = Collections.unmodifiableList(windowServiceMonths);
+            this.twpCompleted = twpCompleted;
+            this.epeStart = twpCompleted != null ? twpCompleted.plusMonths(1) : null;
+            this.epeEnd = twpCompleted != null ? twpCompleted.plusMonths(EPE_MONTHS) : null;
+            this.cessation = cessation;
+            this.graceEnd = cessation != null ? cessation.plusMonths(GRACE_MONTHS - 1) : null;
+            this.nonPayableMonths = Collections.unmodifiableList(nonPayableMonths);
+            this.termination = termination;
+        }
+
+        public YearMonth getAsOf() { return asOf; }
+
+        /**
+         * Service months in the 60-month window ending now, or ending at the TWP completion month
+         */
+        public List<YearMonth> getWindowServiceMonths() { return windowServiceMonths; }
+
+        public int getServiceMonthsUsed() { return windowServiceMonths.size(); }
+
+        public boolean isTwpComplete() { return twpCompleted != null; }
+
+        /**
+         * Month of the 9th service month in a window, or null
+         */
+        public YearMonth getTwpCompleted() { return twpCompleted; }
+
+        public YearMonth getEpeStart() { return epeStart; }
+        public YearMonth getEpeEnd() { return epeEnd; }
+
+        /**
+         * First SGA month after the TWP (starts the grace period), or null
+         */
+        public YearMonth getCessation() { return cessation; }
+
+        /**
+         * Last of the 3 grace period months, or null
+         */
+        public YearMonth getGraceEnd() { return graceEnd; }
+
+        /**
+         * SGA months inside the EPE after the grace period: benefits not payable
+         */
+        public List<YearMonth> getNonPayableMonths() { return nonPayableMonths; }
+
+        /**
+         * First month without entitlement, or null
+         */
+        public YearMonth getTermination() { return termination; }
+
+        /**
+         * Work incentive phase of a month
+         */
+        public String phaseOf(YearMonth month, boolean sgaMonth) {
+            if (twpCompleted == null || !month.isAfter(twpCompleted)) {
+                return "TWP";
+            }
+            if (termination != null && !month.isBefore(termination)) {
+                return "Terminated";
+            }
+            if (cessation != null && !month.isBefore(cessation) && !month.isAfter(graceEnd)) {
+                return "Grace period";
+            }
+            if (!month.isAfter(epeEnd)) {
+                return sgaMonth && cessation != null && month.isAfter(graceEnd) ? "EPE (not payable)" : "EPE";
+            }
+            return "After EPE";
+        }
+    }
+
+    /**
+     * One month of the timeline, for exports
+     */
+    public static class MonthStatus {
+        private final YearMonth yearMonth;
+        private final double nese;
+        private final double hours;
+        private final boolean serviceMonth;
+        private final boolean sgaMonth;
+        private final int windowServiceMonths;
+        private final String phase;
+
+        MonthStatus(YearMonth yearMonth, double nese, double hours, boolean serviceMonth, boolean sgaMonth,
+                    int windowServiceMonths, String phase) {
+            this.yearMonth = yearMonth;
+            this.nese = nese;
+            this.hours = hours;
+            this.serviceMonth = serviceMonth;
+            this.sgaMonth = sgaMonth;
+            this.windowServiceMonths = windowServiceMonths;
+            this.phase = phase;
+        }
+
+        public YearMonth getYearMonth() { return yearMonth; }
+        public double getNese() { return nese; }
+        public double getHours() { return hours; }
+        public boolean isServiceMonth() { return serviceMonth; }
+        public boolean isSgaMonth() { return sgaMonth; }
+        public int getWindowServiceMonths() { return windowServiceMonths; }
+        public String getPhase() { return phase; }
+    }
+
+    public WorkIncentiveTimeline(IncrementalAGIEngine engine) {
+        this.engine = engine;
+        engine.addMonthListener(this);
+    }
+
+    /**
+     * Timeline as of the current month, or null while the AGI totals are not built
+     */
+    public Timeline getTimeline() {
+        if (!engine.refresh()) {
+            return null;
+        }
+        YearMonth now = YearMonth.now();
+        int nowSlot = IncrementalAGIEngine.slot(now.toString());
+        if (nowSlot < 0) {
+            return null;
+        }
+        synchronized (this) {
+            return timeline(now, nowSlot);
+        }
+    }
+
+    /**
+     * Timeline as of a given month from the totals seen so far (saves not yet applied are left out)
+     */
+    synchronized Timeline getTimeline(YearMonth asOf) {
+        int slot = IncrementalAGIEngine.slot(asOf.toString());
+        return slot < 0 ? null : timeline(asOf, slot);
+    }
+
+    /**
+     * Every month with logs or bills, oldest first, or an empty list while the totals are not built
+     */
+    public List<MonthStatus> getMonthStatuses() {
+        List<MonthStatus> statuses = new ArrayList<>();
+        YearMonth now = YearMonth.now();
+        int nowSlot = IncrementalAGIEngine.slot(now.toString());
+        if (!engine.refresh() || nowSlot < 0) {
+            return statuses;
+        }
+        synchronized (this) {
+            Timeline timeline = timeline(now, nowSlot);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                if (known[slot]) {
+                    YearMonth month = IncrementalAGIEngine.yearMonthOf(slot);
+                    boolean sga = sgaMonths.contains(slot);
+                    statuses.add(new MonthStatus(month, nese[slot], hours[slot], service[slot], sga,
+                            windowCount[slot], timeline.phaseOf(month, sga)));
+                }
+            }
+        }
+        return statuses;
+    }
+
+    @Override
+    public void monthChanged(String yearMonth, AGICalculator.AGIResult result, double monthHours) {
+        int slot = IncrementalAGIEngine.slot(yearMonth);
+        if (slot < 0) {
+            return;
+        }
+        int year = IncrementalAGIEngine.yearMonthOf(slot).getYear();
+        double monthNese = result.monthlySSACountableIncome;
+        boolean isService = monthNese > AGICalculator.getTWPThreshold(year) || monthHours > SERVICE_HOURS;
+
+        synchronized (this) {
+            nese[slot] = monthNese;
+            hours[slot] = monthHours;
+            known[slot] = true;
+            if (isService != service[slot]) {
+                service[slot] = isService;
+                int delta = isService ? 1 : -1;
+                int last = Math.min(SLOTS, slot + TWP_WINDOW_MONTHS);
+                for (int i = slot; i < last; i++) {
+                    windowCount[i] += delta;
+                    if (windowCount[i] >= TWP_SERVICE_MONTHS) {
+                        windowsReached.add(i);
+                    } else {
+                        windowsReached.remove(i);
+                    }
+                }
+            }
+            if (AGICalculator.exceedsSGALimit(monthNese, year)) {
+                sgaMonths.add(slot);
+            } else {
+                sgaMonths.remove(slot);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void cleared() {
+        Arrays.fill(nese, 0);
+        Arrays.fill(hours, 0);
+        Arrays.fill(service, false);
+        Arrays.fill(known, false);
+        Arrays.fill(windowCount, 0);
+        windowsReached.clear();
+        sgaMonths.clear();
+    }
+
+    // Caller holds this
+    private Timeline timeline(YearMonth now, int nowSlot) {
+        Integer twpEnd = windowsReached.isEmpty() ? null : windowsReached.first();
+
+        // The window that completed the TWP, otherwise the one ending now
+        int windowEnd = twpEnd != null ? twpEnd : nowSlot;
+        List<YearMonth> windowService = new ArrayList<>();
+        for (int i = Math.max(0, windowEnd - TWP_WINDOW_MONTHS + 1); i <= windowEnd; i++) {
+            if (service[i]) {
+                windowService.add(IncrementalAGIEngine.yearMonthOf(i));
+            }
+        }
+        if (twpEnd == null) {
+            return new Timeline(now, windowService, null, null, new ArrayList<>(), null);
+        }
+
+        int epeStart = twpEnd + 1;
+        int epeEnd = twpEnd + EPE_MONTHS;
+        Integer cessation = sgaMonths.ceiling(epeStart);
+        List<YearMonth> nonPayable = new ArrayList<>();
+        Integer termination = null;
+        if (cessation != null && cessation <= epeEnd) {
+            // Later SGA months in the EPE are not paid (none when the grace period reaches its end);
+            // the first one after the EPE ends entitlement, grace months are paid regardless
+            int graceEnd = cessation + GRACE_MONTHS - 1;
+            if (graceEnd < epeEnd) {
+                for (int slot : sgaMonths.subSet(graceEnd + 1, true, epeEnd, true)) {
+                    nonPayable.add(IncrementalAGIEngine.yearMonthOf(slot));
+                }
+            }
+            termination = sgaMonths.higher(Math.max(epeEnd, graceEnd));
+        } else if (cessation != null) {
+            // SGA first after the EPE: entitlement ends after the grace period
+            termination = cessation + GRACE_MONTHS;
+        }
+        return new Timeline(now, windowService, IncrementalAGIEngine.yearMonthOf(twpEnd),
+                cessation != null ? IncrementalAGIEngine.yearMonthOf(cessation) : null, nonPayable,
+                termination != null ? IncrementalAGIEngine.yearMonthOf(termination) : null);
+    }
+}
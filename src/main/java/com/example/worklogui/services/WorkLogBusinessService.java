@@ -44,9 +44,11 @@ public class WorkLogBusinessService {
             throw new WorkLogValidationException(validation.getErrorMessage());
         }
 
-        // Get rate info for company
-        RateInfo info = CompanyRateService.getInstance().getRateInfoMap()
-                .getOrDefault(company, new RateInfo(0.0, "hour"));
+        // Get rate info for company (the rate in force on the entry's date)
+        RateInfo info = CompanyRateService.getInstance().getRateInfoOn(company, date);
+        if (info == null) {
+            info = new RateInfo(0.0, "hour");
+        }
 
         // Create new work log entry
         RegistroTrabalho newEntry = new RegistroTrabalho();
@@ -106,6 +108,19 @@ public class WorkLogBusinessService {
         }
     }
     
+    /**
+     * Deletes several work log entries, each affected month saved once in one write batch
+     *
+     * @return number of entries deleted
+     */
+    public int deleteWorkLogs(List<RegistroTrabalho> registros) throws WorkLogServiceException {
+        try {
+            return fileManager.removeWorkLogs(registros);
+        } catch (Exception e) {
+            throw new WorkLogServiceException("Failed to delete work logs: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Calculates earnings for a work log entry
      */
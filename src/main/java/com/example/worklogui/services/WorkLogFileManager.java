@@ -1,60 +1,155 @@
 package com.example.worklogui.services;
 
 import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.diagnostics.DebugLog;
+import com.example.worklogui.diagnostics.MetricsRegistry;
+import com.example.worklogui.diagnostics.WorkLogEvents;
+import com.example.worklogui.storage.AtomicFileWriter;
+import com.example.worklogui.storage.BackupRetentionPolicy;
+import com.example.worklogui.storage.BackupStore;
+import com.example.worklogui.storage.PartitionLocks;
+import com.example.worklogui.storage.PartitionVersions;
+import com.example.worklogui.storage.WriteBatch;
+import com.example.worklogui.utils.ConcatenatedList;
 import com.example.worklogui.utils.DateUtils;
 import com.example.worklogui.utils.ErrorHandler;
 import com.example.worklogui.utils.FileOperationHelper;
 import com.example.worklogui.utils.FilterHelper;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
- * Manages work log files with caching and optimized operations
+ * Manages work log files with caching and optimized operations.
+ *
+ * Every read-modify-write of a month runs under that month's write lock ({@link PartitionLocks});
+ * cached lists are immutable and handed out as they are (no defensive copies); a write builds the
+ * month's next list and swaps it in, so readers never lock on a cache hit and never see a half-applied change.
+ * Each save is also a commit in {@link PartitionVersions}, so snapshot readers keep seeing the
+ * month as it was when their snapshot was opened.
  */
 public class WorkLogFileManager {
 
-    // Cache for loaded work logs by year-month key
+    // Cache for loaded work logs by year-month key (unmodifiable lists). Not capped: the history
+    // load reads every month anyway, and the AGI engine, projections and columnar store read
+    // months through peekCached, so an evicted month would only be read from disk again
     private final Map<String, List<RegistroTrabalho>> cache = new ConcurrentHashMap<>();
 
+    private final PartitionLocks locks = PartitionLocks.getInstance();
+
+    private final PartitionVersions versions = PartitionVersions.getInstance();
+
     // Track which files have been loaded to avoid unnecessary disk reads
     private final Map<String, Long> lastModified = new ConcurrentHashMap<>();
 
-    private static final int MAX_CACHE_SIZE = 50; // Prevent memory issues
+    // Notified with the year-month key after every successful save (once a batch or transaction is applied)
+    private final List<Consumer<String>> saveListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Computes the new content of one month for {@link #rewriteMonths}
+     */
+    @FunctionalInterface
+    public interface MonthRewriter {
+        /**
+         * New entries of the month, or null to leave it unchanged. Runs on a worker thread; must not
+         * modify the given (cached, immutable) list or its entries.
+         */
+        List<RegistroTrabalho> rewrite(String yearMonthKey, List<RegistroTrabalho> logs) throws Exception;
+    }
+
+    private static final MetricsRegistry.Counter cacheHits = MetricsRegistry.getInstance().counter(MetricsRegistry.CACHE_HIT);
+    private static final MetricsRegistry.Counter cacheMisses = MetricsRegistry.getInstance().counter(MetricsRegistry.CACHE_MISS);
 
     /**
      * Initialize the file manager and required directories
      */
     public void initialize() throws ErrorHandler.FileOperationException {
         FileOperationHelper.initializeDirectories();
+        FileOperationHelper.recoverInterruptedWrites();
         clearCache();
     }
 
     /**
      * Get work logs for a specific year-month
+     *
+     * @return unmodifiable list shared with the cache; copy it to make changes
      */
     public List<RegistroTrabalho> getWorkLogs(String yearMonthKey) throws ErrorHandler.FileOperationException {
         if (yearMonthKey == null) {
-            return new ArrayList<>();
+            return Collections.emptyList();
         }
 
-        // Check cache first - combined nested conditions
-        if (cache.containsKey(yearMonthKey) && !hasFileChanged(yearMonthKey)) {
-            System.out.println("🔍 Cache hit for " + yearMonthKey);
-            return new ArrayList<>(cache.get(yearMonthKey)); // Return defensive copy
+        // Check cache first (no lock: cached lists are never modified)
+        List<RegistroTrabalho> cached = getFreshCached(yearMonthKey);
+        if (cached != null) {
+            return cached;
         }
 
-        // Load from disk
-        System.out.println("💾 Loading from disk: " + yearMonthKey);
-        List<RegistroTrabalho> logs = FileOperationHelper.loadWorkLogs(yearMonthKey);
+        // Load from disk; the read lock keeps a concurrent save from being overwritten by older data
+        try (PartitionLocks.Held ignored = locks.read(yearMonthKey)) {
+            cached = getFreshCached(yearMonthKey);
+            if (cached != null) {
+                return cached;
+            }
 
-        // Update cache
-        updateCache(yearMonthKey, logs);
+            cacheMisses.increment();
+            DebugLog.debug(() -> "💾 Loading from disk: " + yearMonthKey);
+            List<RegistroTrabalho> logs = Collections.unmodifiableList(FileOperationHelper.loadWorkLogs(yearMonthKey));
+            WorkLogEvents.CacheEvent.emit(yearMonthKey, false, logs.size());
 
-        return new ArrayList<>(logs); // Return defensive copy
+            // Update cache
+            updateCache(yearMonthKey, logs);
+            return logs;
+        }
+    }
+
+    /**
+     * Work logs of a month as of a snapshot's version
+     */
+    public List<RegistroTrabalho> getWorkLogs(String yearMonthKey, PartitionVersions.ReadView view) throws ErrorHandler.FileOperationException {
+        if (yearMonthKey == null) {
+            return Collections.emptyList();
+        }
+
+        // The read lock keeps a commit from landing between the history check and the live read
+        try (PartitionLocks.Held ignored = locks.read(yearMonthKey)) {
+            List<RegistroTrabalho> committed = versions.read(yearMonthKey, view);
+            if (committed != null) {
+                return committed;
+            }
+            return getWorkLogs(yearMonthKey);
+        }
+    }
+
+    /**
+     * The cached list of a month, or null when not cached; never touches the disk or a lock
+     */
+    public List<RegistroTrabalho> peekCached(String yearMonthKey) {
+        return cache.get(yearMonthKey);
+    }
+
+    private List<RegistroTrabalho> getFreshCached(String yearMonthKey) {
+        List<RegistroTrabalho> cached = cache.get(yearMonthKey);
+        if (cached == null || hasFileChanged(yearMonthKey)) {
+            return null;
+        }
+        cacheHits.increment();
+        WorkLogEvents.CacheEvent.emit(yearMonthKey, true, cached.size());
+        DebugLog.debug(() -> "🔍 Cache hit for " + yearMonthKey);
+        return cached;
     }
 
     /**
@@ -65,13 +160,68 @@ public class WorkLogFileManager {
             throw new ErrorHandler.ValidationException("Year-month key cannot be null");
         }
 
+        try (PartitionLocks.Held ignored = locks.write(yearMonthKey)) {
+            store(yearMonthKey, new ArrayList<>(logs));
+        }
+    }
+
+    /**
+     * Save and cache a month; the caller holds its write lock and hands over a list nobody else
+     * references (it becomes the cached version as is)
+     *
+     * @return the commit, to discard if an enclosing transaction rolls back
+     */
+    private PartitionVersions.Commit store(String yearMonthKey, List<RegistroTrabalho> owned) throws ErrorHandler.FileOperationException {
+        PartitionVersions.Commit commit = stage(yearMonthKey, owned);
+        notifySaved(yearMonthKey);
+        return commit;
+    }
+
+    /**
+     * {@link #store} without notifying the save listeners: inside a batch or transaction the caller
+     * notifies them once the writes are applied, so they never see a list that is then rolled back
+     */
+    private PartitionVersions.Commit stage(String yearMonthKey, List<RegistroTrabalho> owned) throws ErrorHandler.FileOperationException {
+        List<RegistroTrabalho> logs = Collections.unmodifiableList(owned);
+        PartitionVersions.Commit commit = versions.beginCommit(yearMonthKey, () -> currentWorkLogs(yearMonthKey));
+
         // Save to disk
-        FileOperationHelper.saveWorkLogs(yearMonthKey, logs);
+        try {
+            FileOperationHelper.saveWorkLogs(yearMonthKey, logs);
+        } catch (ErrorHandler.FileOperationException | RuntimeException e) {
+            commit.discard();
+            throw e;
+        }
 
         // Update cache
         updateCache(yearMonthKey, logs);
+        commit.publish(logs);
+
+        DebugLog.debug(() -> "✅ Saved and cached " + logs.size() + " logs for " + yearMonthKey);
+        return commit;
+    }
+
+    // Caller holds the month's write lock
+    private void notifySaved(String yearMonthKey) {
+        saveListeners.forEach(listener -> listener.accept(yearMonthKey));
+    }
+
+    /**
+     * Content of a month before a commit changes it (cached when fresh, otherwise still on disk)
+     */
+    private List<RegistroTrabalho> currentWorkLogs(String yearMonthKey) throws ErrorHandler.FileOperationException {
+        List<RegistroTrabalho> cached = cache.get(yearMonthKey);
+        if (cached != null && !hasFileChanged(yearMonthKey)) {
+            return cached;
+        }
+        return FileOperationHelper.loadWorkLogs(yearMonthKey);
+    }
 
-        System.out.println("✅ Saved and cached " + logs.size() + " logs for " + yearMonthKey);
+    /**
+     * Register a callback for saved months (e.g. to invalidate derived indexes)
+     */
+    public void addSaveListener(Consumer<String> listener) {
+        saveListeners.add(listener);
     }
 
     /**
@@ -83,14 +233,16 @@ public class WorkLogFileManager {
             throw new ErrorHandler.ValidationException("Invalid date in work log: " + log.getData());
         }
 
-        // Get existing logs for this month
-        List<RegistroTrabalho> monthLogs = getWorkLogs(yearMonthKey);
+        try (PartitionLocks.Held ignored = locks.write(yearMonthKey)) {
+            // Get existing logs for this month
+            List<RegistroTrabalho> monthLogs = new ArrayList<>(getWorkLogs(yearMonthKey));
 
-        // Add new log
-        monthLogs.add(log);
+            // Add new log
+            monthLogs.add(log);
 
-        // Save updated list
-        saveWorkLogs(yearMonthKey, monthLogs);
+            // Save updated list
+            store(yearMonthKey, monthLogs);
+        }
     }
 
     /**
@@ -102,20 +254,52 @@ public class WorkLogFileManager {
             return false;
         }
 
-        // Get existing logs for this month
-        List<RegistroTrabalho> monthLogs = getWorkLogs(yearMonthKey);
+        try (PartitionLocks.Held ignored = locks.write(yearMonthKey)) {
+            // Get existing logs for this month
+            List<RegistroTrabalho> monthLogs = new ArrayList<>(getWorkLogs(yearMonthKey));
 
-        // Remove the log (comparing by content since objects might be different)
-        boolean removed = monthLogs.removeIf(log ->
-                logsAreEqual(log, logToRemove)
-        );
+            // Remove the log (comparing by content since objects might be different)
+            boolean removed = monthLogs.removeIf(log ->
+                    logsAreEqual(log, logToRemove)
+            );
 
-        if (removed) {
-            // Save updated list
-            saveWorkLogs(yearMonthKey, monthLogs);
+            if (removed) {
+                // Save updated list
+                store(yearMonthKey, monthLogs);
+            }
+
+            return removed;
         }
+    }
 
-        return removed;
+    /**
+     * Remove several work log entries, rewriting each affected month once in a single transaction
+     * (all months or none; see {@link #rewriteMonths})
+     *
+     * @return number of entries removed
+     */
+    public int removeWorkLogs(Collection<RegistroTrabalho> logsToRemove) throws ErrorHandler.FileOperationException {
+        Map<String, List<RegistroTrabalho>> byMonth = new LinkedHashMap<>();
+        for (RegistroTrabalho log : logsToRemove) {
+            String yearMonthKey = DateUtils.getYearMonthKeyFromDateString(log.getData());
+            if (yearMonthKey != null) {
+                byMonth.computeIfAbsent(yearMonthKey, k -> new ArrayList<>()).add(log);
+            }
+        }
+
+        AtomicInteger removed = new AtomicInteger();
+        rewriteMonths(byMonth.keySet(), (yearMonthKey, logs) -> {
+            List<RegistroTrabalho> monthLogs = new ArrayList<>(logs);
+            for (RegistroTrabalho logToRemove : byMonth.get(yearMonthKey)) {
+                monthLogs.removeIf(log -> logsAreEqual(log, logToRemove));
+            }
+            if (monthLogs.size() == logs.size()) {
+                return null;
+            }
+            removed.addAndGet(logs.size() - monthLogs.size());
+            return monthLogs;
+        });
+        return removed.get();
     }
 
     /**
@@ -131,23 +315,18 @@ public class WorkLogFileManager {
 
         // If the date changed, we need to move between files
         if (!oldYearMonth.equals(newYearMonth)) {
-            // Remove from old file
-            boolean removed = removeWorkLog(oldLog);
-            if (removed) {
-                // Add to new file
-                addWorkLog(newLog);
-                return true;
-            }
-            return false;
-        } else {
-            // Update within same file
-            List<RegistroTrabalho> monthLogs = getWorkLogs(oldYearMonth);
+            return moveWorkLog(oldYearMonth, oldLog, newYearMonth, newLog);
+        }
+
+        // Update within same file
+        try (PartitionLocks.Held ignored = locks.write(oldYearMonth)) {
+            List<RegistroTrabalho> monthLogs = new ArrayList<>(getWorkLogs(oldYearMonth));
 
             // Find and replace the log
             for (int i = 0; i < monthLogs.size(); i++) {
                 if (logsAreEqual(monthLogs.get(i), oldLog)) {
                     monthLogs.set(i, newLog);
-                    saveWorkLogs(oldYearMonth, monthLogs);
+                    store(oldYearMonth, monthLogs);
                     return true;
                 }
             }
@@ -156,19 +335,167 @@ public class WorkLogFileManager {
         return false;
     }
 
+    /**
+     * Move an entry to another month as one transaction: both months are rewritten in parallel,
+     * journaled, then renamed into place together, so a crash never leaves the entry in neither
+     * (or both) months
+     */
+    private boolean moveWorkLog(String oldYearMonth, RegistroTrabalho oldLog,
+                                String newYearMonth, RegistroTrabalho newLog) throws ErrorHandler.FileOperationException {
+        try (PartitionLocks.Held ignored = locks.writeAll(List.of(oldYearMonth, newYearMonth))) {
+            return moveWorkLogLocked(oldYearMonth, oldLog, newYearMonth, newLog);
+        }
+    }
+
+    private boolean moveWorkLogLocked(String oldYearMonth, RegistroTrabalho oldLog,
+                                      String newYearMonth, RegistroTrabalho newLog) throws ErrorHandler.FileOperationException {
+        List<RegistroTrabalho> oldMonthLogs = new ArrayList<>(getWorkLogs(oldYearMonth));
+        if (!oldMonthLogs.removeIf(log -> logsAreEqual(log, oldLog))) {
+            return false;
+        }
+        List<RegistroTrabalho> newMonthLogs = new ArrayList<>(getWorkLogs(newYearMonth));
+        newMonthLogs.add(newLog);
+
+        boolean committed = false;
+        PartitionVersions.Commit removed = null;
+        PartitionVersions.Commit added = null;
+        try (WriteBatch transaction = AtomicFileWriter.beginTransaction()) {
+            // The worker runs under the write locks this thread holds for both months
+            CompletableFuture<PartitionVersions.Commit> removal =
+                    transaction.supplyAsync(() -> stage(oldYearMonth, oldMonthLogs));
+            ErrorHandler.FileOperationException failure = null;
+            try {
+                added = stage(newYearMonth, newMonthLogs);
+            } catch (ErrorHandler.FileOperationException e) {
+                failure = e;
+            }
+            // Always wait, so nothing is staged after the transaction is closed
+            try {
+                removed = awaitSave(removal);
+            } catch (ErrorHandler.FileOperationException e) {
+                failure = failure == null ? e : failure;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+
+            transaction.commit();
+            committed = true;
+            notifySaved(oldYearMonth);
+            notifySaved(newYearMonth);
+        } catch (IOException e) {
+            throw ErrorHandler.createFileException("move", oldYearMonth + " -> " + newYearMonth, e);
+        } finally {
+            if (!committed) {
+                // The cache and the version history already hold the rolled-back lists
+                clearCache(oldYearMonth);
+                clearCache(newYearMonth);
+                if (removed != null) {
+                    removed.discard();
+                }
+                if (added != null) {
+                    added.discard();
+                }
+                // A failed commit may have applied part of the move: listeners reload from disk
+                notifySaved(oldYearMonth);
+                notifySaved(newYearMonth);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rewrite several months as one transaction (all or nothing), computing and saving each month
+     * on its own worker thread
+     *
+     * @return number of months that changed
+     */
+    public int rewriteMonths(Collection<String> yearMonthKeys, MonthRewriter rewriter) throws ErrorHandler.FileOperationException {
+        List<String> keys = new ArrayList<>(new TreeSet<>(yearMonthKeys));
+        try (PartitionLocks.Held ignored = locks.writeAll(keys)) {
+            // Read on this thread: the workers can't take read locks behind this thread's write locks
+            Map<String, List<RegistroTrabalho>> current = new LinkedHashMap<>();
+            for (String key : keys) {
+                current.put(key, getWorkLogs(key));
+            }
+            return rewriteMonthsLocked(current, rewriter);
+        }
+    }
+
+    private int rewriteMonthsLocked(Map<String, List<RegistroTrabalho>> current, MonthRewriter rewriter) throws ErrorHandler.FileOperationException {
+        List<PartitionVersions.Commit> commits = new CopyOnWriteArrayList<>();
+        List<String> saved = new CopyOnWriteArrayList<>();
+        boolean committed = false;
+        int changed = 0;
+        try (WriteBatch transaction = AtomicFileWriter.beginTransaction()) {
+            List<CompletableFuture<Boolean>> saves = new ArrayList<>();
+            for (Map.Entry<String, List<RegistroTrabalho>> month : current.entrySet()) {
+                saves.add(transaction.supplyAsync(() -> {
+                    List<RegistroTrabalho> updated = rewriter.rewrite(month.getKey(), month.getValue());
+                    if (updated == null) {
+                        return false;
+                    }
+                    commits.add(stage(month.getKey(), new ArrayList<>(updated)));
+                    saved.add(month.getKey());
+                    return true;
+                }));
+            }
+            // Always wait for every worker, so nothing is staged after the transaction is closed
+            ErrorHandler.FileOperationException failure = null;
+            for (CompletableFuture<Boolean> save : saves) {
+                try {
+                    if (awaitSave(save)) {
+                        changed++;
+                    }
+                } catch (ErrorHandler.FileOperationException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+
+            transaction.commit();
+            committed = true;
+            saved.forEach(this::notifySaved);
+        } catch (IOException e) {
+            throw ErrorHandler.createFileException("rewrite", current.size() + " months", e);
+        } finally {
+            if (!committed) {
+                current.keySet().forEach(this::clearCache);
+                commits.forEach(PartitionVersions.Commit::discard);
+                // A failed commit may have applied some months: listeners reload them from disk
+                saved.forEach(this::notifySaved);
+            }
+        }
+        return changed;
+    }
+
+    private static <T> T awaitSave(CompletableFuture<T> save) throws ErrorHandler.FileOperationException {
+        try {
+            return save.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ErrorHandler.FileOperationException) {
+                throw (ErrorHandler.FileOperationException) e.getCause();
+            }
+            throw ErrorHandler.createFileException("save", "work logs", e.getCause());
+        }
+    }
+
     /**
      * Get all work logs from all files
+     *
+     * @return unmodifiable view over the cached months, in month order (nothing is copied)
      */
     public List<RegistroTrabalho> getAllWorkLogs() throws ErrorHandler.FileOperationException {
         List<String> availableKeys = FileOperationHelper.getAvailableYearMonthKeys();
-        List<RegistroTrabalho> allLogs = new ArrayList<>();
+        List<List<RegistroTrabalho>> months = new ArrayList<>(availableKeys.size());
 
         for (String key : availableKeys) {
-            List<RegistroTrabalho> monthLogs = getWorkLogs(key);
-            allLogs.addAll(monthLogs);
+            months.add(getWorkLogs(key));
         }
 
-        return allLogs;
+        return ConcatenatedList.of(months);
     }
 
     /**
@@ -209,20 +536,51 @@ public class WorkLogFileManager {
     public void clearCache(String yearMonthKey) {
         cache.remove(yearMonthKey);
         lastModified.remove(yearMonthKey);
-        System.out.println("🔄 Cache cleared for " + yearMonthKey);
+        DebugLog.debug(() -> "🔄 Cache cleared for " + yearMonthKey);
     }
 
     /**
-     * Cleanup old backups
+     * Cleanup old backups (per-month hourly/daily/monthly retention from storage.properties)
      */
     public void cleanupOldBackups() {
-        FileOperationHelper.cleanupOldBackups(10); // Keep 10 most recent backups
+        FileOperationHelper.cleanupOldBackups(BackupRetentionPolicy.load());
+    }
+
+    /**
+     * Backups of a month, newest first (catalog lookup, no directory scan)
+     */
+    public List<BackupStore.Entry> listBackups(String yearMonthKey) {
+        return FileOperationHelper.listBackups(yearMonthKey);
+    }
+
+    /**
+     * Restore a month from a backup and drop its cached copy
+     */
+    public void restoreBackup(BackupStore.Entry entry) throws ErrorHandler.FileOperationException {
+        String yearMonthKey = entry.getMonth();
+        try (PartitionLocks.Held ignored = locks.write(yearMonthKey)) {
+            PartitionVersions.Commit commit = versions.beginCommit(yearMonthKey, () -> currentWorkLogs(yearMonthKey));
+            try {
+                FileOperationHelper.restoreBackup(entry);
+            } catch (ErrorHandler.FileOperationException | RuntimeException e) {
+                commit.discard();
+                throw e;
+            }
+            clearCache(yearMonthKey);
+            if (commit.isRecording()) {
+                commit.publish(FileOperationHelper.loadWorkLogs(yearMonthKey));
+            }
+        }
+        saveListeners.forEach(listener -> listener.accept(yearMonthKey));
     }
 
     /**
      * Check if file has changed since last load
      */
     private boolean hasFileChanged(String yearMonthKey) {
+        if (AtomicFileWriter.isPending(FileOperationHelper.getLogFilePath(yearMonthKey))) {
+            return false; // Saved in an open write batch: the cache is newer than the disk
+        }
         if (!FileOperationHelper.logFileExists(yearMonthKey)) {
             return true; // File was deleted
         }
@@ -240,19 +598,11 @@ public class WorkLogFileManager {
     }
 
     /**
-     * Update cache with new data
+     * Update cache with a new (unmodifiable) version of a month
      */
     private void updateCache(String yearMonthKey, List<RegistroTrabalho> logs) {
-        // Prevent cache from growing too large
-        if (cache.size() >= MAX_CACHE_SIZE) {
-            // Remove oldest entries (simple LRU)
-            String oldestKey = cache.keySet().iterator().next();
-            cache.remove(oldestKey);
-            lastModified.remove(oldestKey);
-        }
-
-        // Store defensive copy in cache
-        cache.put(yearMonthKey, new ArrayList<>(logs));
+        // Readers share the unmodifiable list without locking
+        cache.put(yearMonthKey, logs);
 
         // Update last modified time
         try {
@@ -0,0 +1,496 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.diagnostics.DebugLog;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replaces data files (temp file + atomic rename, or delete) under the configured {@link DurabilityPolicy}.
+ *
+ * Writes made inside a {@link WriteBatch} are staged as temp files and applied together when the
+ * batch closes: all temps are fsynced, all renames done, then each touched directory is fsynced once.
+ * In group-commit mode the directory fsync is additionally shared with concurrent writers that land
+ * within {@value #GROUP_COMMIT_PROPERTY} ms (default 10); every caller still returns only after its
+ * writes are durable. Transactions additionally record their intent in the {@link TransactionJournal}
+ * before renaming, so a multi-file change interrupted midway is completed at the next start. One
+ * that fails in-session is rolled forward as far as it goes and its record completed before the
+ * error is thrown, so the next start never replays temps over files saved since.
+ *
+ * The relaxed policy only relaxes single-file saves and plain batches: a journaled transaction
+ * always has its temp files, its intent record and its renames synced, since the record replays
+ * those temps over whatever is on disk at the next start.
+ */
+public final class AtomicFileWriter {
+
+    public static final String GROUP_COMMIT_PROPERTY = "worklog.storage.group.commit.ms";
+    private static final long DEFAULT_GROUP_COMMIT_MS = 10;
+
+    private static final ThreadLocal<WriteBatch> currentBatch = new ThreadLocal<>();
+    private static final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final GroupCommitter groupCommitter =
+            new GroupCommitter(Long.getLong(GROUP_COMMIT_PROPERTY, DEFAULT_GROUP_COMMIT_MS));
+
+    private static volatile DurabilityPolicy policy;
+    private static volatile boolean directorySyncSupported = true;
+
+    private AtomicFileWriter() {}
+
+    /**
+     * Durability used for writes in the current data directory
+     */
+    public static DurabilityPolicy getPolicy() {
+        DurabilityPolicy current = policy;
+        if (current == null) {
+            synchronized (AtomicFileWriter.class) {
+                if (policy == null) {
+                    policy = loadSetting();
+                }
+                current = policy;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Change the durability for this data directory and remember it in storage.properties
+     */
+    public static synchronized void setPolicy(DurabilityPolicy newPolicy) throws IOException {
+        StorageSettings.set(DurabilityPolicy.KEY, newPolicy.getName());
+        policy = newPolicy;
+    }
+
+    /**
+     * Start a batch on this thread; a batch started inside another one joins it
+     */
+    public static WriteBatch beginBatch() {
+        WriteBatch outer = currentBatch.get();
+        if (outer != null) {
+            return new WriteBatch(outer);
+        }
+        WriteBatch batch = new WriteBatch(Thread.currentThread(), false);
+        currentBatch.set(batch);
+        return batch;
+    }
+
+    /**
+     * Start an all-or-nothing change of several files: applied only by {@link WriteBatch#commit()}
+     * (journaled first), discarded if closed without committing. Inside a plain batch it joins it and
+     * the whole batch is journaled.
+     */
+    public static WriteBatch beginTransaction() {
+        WriteBatch outer = currentBatch.get();
+        if (outer != null) {
+            outer.requireJournal();
+            return new WriteBatch(outer);
+        }
+        WriteBatch transaction = new WriteBatch(Thread.currentThread(), true);
+        currentBatch.set(transaction);
+        return transaction;
+    }
+
+    /**
+     * Make the batch current on this thread (worker threads of {@link WriteBatch#supplyAsync})
+     *
+     * @return the batch that was current before
+     */
+    static WriteBatch attach(WriteBatch batch) {
+        WriteBatch previous = currentBatch.get();
+        if (batch == null) {
+            currentBatch.remove();
+        } else {
+            currentBatch.set(batch);
+        }
+        return previous;
+    }
+
+    /**
+     * True when the file has been written in an open batch but not renamed into place yet
+     * (reading it from disk would return the previous version)
+     */
+    public static boolean isPending(Path target) {
+        return !pending.isEmpty() && pending.contains(target.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Replace the target with the given bytes
+     */
+    public static void write(Path target, byte[] data) throws IOException {
+        Path tempFile = writeTemp(target, data, getPolicy() != DurabilityPolicy.RELAXED);
+        submit(new Operation(target, tempFile, data.length, PartitionManifest.crc32(data)));
+    }
+
+    /**
+     * Delete the target if it exists
+     */
+    public static void delete(Path target) throws IOException {
+        submit(new Operation(target, null, 0, 0));
+    }
+
+    /**
+     * Replace the target with file and directory synced whatever the policy, outside any batch (journal records)
+     */
+    static void writeSynced(Path target, byte[] data) throws IOException {
+        Path tempFile = writeTemp(target, data, true);
+        apply(List.of(new Operation(target, tempFile, data.length, PartitionManifest.crc32(data))), false, true);
+    }
+
+    /**
+     * Delete the target with its directory synced whatever the policy, outside any batch (journal records)
+     */
+    static void deleteSynced(Path target) throws IOException {
+        apply(List.of(new Operation(target, null, 0, 0)), false, true);
+    }
+
+    private static Path writeTemp(Path target, byte[] data, boolean force) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tempFile = target.resolveSibling(target.getFileName() + "." + sequence.incrementAndGet() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (force) {
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return tempFile;
+    }
+
+    private static void submit(Operation operation) throws IOException {
+        WriteBatch batch = currentBatch.get();
+        if (batch != null) {
+            batch.stage(operation);
+            pending.add(operation.key());
+            return;
+        }
+        apply(List.of(operation), false, false);
+    }
+
+    /**
+     * @param commit apply the staged operations, or discard them (rolled back transaction)
+     */
+    static void finish(WriteBatch batch, boolean commit) throws IOException {
+        currentBatch.remove();
+        Collection<Operation> operations = batch.drain();
+        try {
+            if (!commit) {
+                discard(operations);
+            } else if (batch.isJournaled() && operations.size() > 1) {
+                // The record replays these temps at the next start: they must be on disk before it is
+                if (getPolicy() == DurabilityPolicy.RELAXED) {
+                    forceTemps(operations);
+                }
+                Path record = TransactionJournal.record(operations);
+                try {
+                    apply(operations, true, true);
+                } catch (IOException e) {
+                    // Steps are retried and leftover temps removed by now: never replay them at the next start
+                    completeAfterFailure(record, e);
+                    throw e;
+                }
+                TransactionJournal.complete(record);
+            } else {
+                apply(operations, false, false);
+            }
+        } finally {
+            operations.forEach(op -> pending.remove(op.key()));
+        }
+        if (commit && operations.size() > 1) {
+            DebugLog.debug(() -> "Committed batch of " + operations.size() + " file operations (" + getPolicy().getName() + ")");
+        }
+    }
+
+    private static void completeAfterFailure(Path record, IOException failure) {
+        try {
+            TransactionJournal.complete(record);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static void forceTemps(Collection<Operation> operations) throws IOException {
+        for (Operation op : operations) {
+            if (op.tempFile != null) {
+                try (FileChannel channel = FileChannel.open(op.tempFile, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+            }
+        }
+    }
+
+    private static void discard(Collection<Operation> operations) {
+        for (Operation op : operations) {
+            if (op.tempFile != null) {
+                try {
+                    Files.deleteIfExists(op.tempFile);
+                } catch (IOException e) {
+                    System.err.println("Could not delete " + op.tempFile.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+        if (!operations.isEmpty()) {
+            System.out.println("↩️ Rolled back " + operations.size() + " uncommitted file operations");
+        }
+    }
+
+    /**
+     * @param journaled a journal record covers these operations: a failed step is retried once after
+     *                  the others (rolling the transaction forward), and only then is its temp removed
+     * @param durable   sync the touched directories even under the relaxed policy
+     */
+    private static void apply(Collection<Operation> operations, boolean journaled, boolean durable) throws IOException {
+        Set<Path> directories = new LinkedHashSet<>();
+        List<Operation> failed = new ArrayList<>();
+        IOException failure = null;
+        for (Operation op : operations) {
+            try {
+                applyOne(op, directories);
+            } catch (IOException e) {
+                // Keep applying the rest: each operation is atomic on its own
+                failed.add(op);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (journaled && !failed.isEmpty()) {
+            List<Operation> retry = failed;
+            failed = new ArrayList<>();
+            for (Operation op : retry) {
+                try {
+                    applyOne(op, directories);
+                } catch (IOException e) {
+                    failed.add(op);
+                    failure.addSuppressed(e);
+                }
+            }
+            if (failed.isEmpty()) {
+                System.out.println("🔁 Completed transaction after retrying " + retry.size() + " file operations");
+                failure = null;
+            } else {
+                System.err.println("⚠️ Transaction partly applied: " + failed.size() + " of "
+                        + operations.size() + " file operations failed");
+            }
+        }
+        for (Operation op : failed) {
+            if (op.tempFile != null) {
+                Files.deleteIfExists(op.tempFile);
+            }
+        }
+
+        switch (getPolicy()) {
+            case FSYNC -> {
+                for (Path directory : directories) {
+                    syncDirectory(directory);
+                }
+            }
+            case GROUP_COMMIT -> groupCommitter.sync(directories);
+            default -> {
+                if (durable) {
+                    for (Path directory : directories) {
+                        syncDirectory(directory);
+                    }
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void applyOne(Operation op, Set<Path> directories) throws IOException {
+        if (op.tempFile == null) {
+            if (Files.deleteIfExists(op.target)) {
+                System.out.println("Deleted file: " + op.target);
+                directories.add(op.target.getParent());
+            }
+            PartitionManifest.getInstance().forget(op.target);
+        } else {
+            move(op.tempFile, op.target);
+            directories.add(op.target.getParent());
+            PartitionManifest.getInstance().record(op.target, op.size, op.crc);
+        }
+    }
+
+    static void move(Path tempFile, Path target) throws IOException {
+        try {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Make renames and deletes in a directory durable (not possible on Windows, where it is skipped)
+     */
+    static void syncDirectory(Path directory) throws IOException {
+        if (!directorySyncSupported) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            if (Files.isDirectory(directory)) {
+                directorySyncSupported = false;
+                System.out.println("ℹ️ Directory fsync not available (" + e.getMessage() + "), syncing files only");
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Path relative to the data folder when inside it (journal and manifest keys survive moving the folder)
+     */
+    static String dataRelative(Path path) {
+        Path root = AppConstants.DATA_ROOT.toAbsolutePath().normalize();
+        Path absolute = path.toAbsolutePath().normalize();
+        return absolute.startsWith(root) ? root.relativize(absolute).toString() : absolute.toString();
+    }
+
+    private static DurabilityPolicy loadSetting() {
+        String name = StorageSettings.get(DurabilityPolicy.KEY);
+        if (name == null) {
+            return DurabilityPolicy.RELAXED;
+        }
+        try {
+            return DurabilityPolicy.forName(name);
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ " + e.getMessage() + ", using " + DurabilityPolicy.RELAXED.getName());
+            return DurabilityPolicy.RELAXED;
+        }
+    }
+
+    /**
+     * A staged replace (tempFile set) or delete (tempFile null)
+     */
+    static final class Operation {
+        final Path target;
+        final Path tempFile;
+        final long size;
+        final long crc;
+
+        Operation(Path target, Path tempFile, long size, long crc) {
+            this.target = target;
+            this.tempFile = tempFile;
+            this.size = size;
+            this.crc = crc;
+        }
+
+        Path key() {
+            return target.toAbsolutePath().normalize();
+        }
+    }
+
+    /**
+     * Leader/follower directory fsync: the first writer waits out the window, then syncs every
+     * directory queued meanwhile; the others block until the flush covering them is done.
+     * Each writer keeps the group it joined, so it always sees that flush's own outcome.
+     */
+    private static final class GroupCommitter {
+        private final long windowMillis;
+        private final Object lock = new Object();
+        private Group collecting = new Group();
+        private boolean leaderActive = false;
+
+        /**
+         * Directories of one flush and its outcome (guarded by the committer's lock)
+         */
+        private static final class Group {
+            final Set<Path> directories = new LinkedHashSet<>();
+            boolean done;
+            IOException failure;
+        }
+
+        GroupCommitter(long windowMillis) {
+            this.windowMillis = windowMillis;
+        }
+
+        void sync(Set<Path> directories) throws IOException {
+            if (directories.isEmpty()) {
+                return;
+            }
+
+            Group group;
+            synchronized (lock) {
+                group = collecting;
+                group.directories.addAll(directories);
+                while (!group.done && leaderActive) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted waiting for group commit");
+                    }
+                }
+                if (group.done) {
+                    if (group.failure != null) {
+                        throw new IOException("Group commit failed", group.failure);
+                    }
+                    return;
+                }
+                // No flush in progress, so this group is still the one collecting
+                leaderActive = true;
+            }
+
+            IOException failure = lead();
+            if (failure != null) {
+                throw new IOException("Group commit failed", failure);
+            }
+        }
+
+        private IOException lead() {
+            if (windowMillis > 0) {
+                try {
+                    Thread.sleep(windowMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt(); // flush now instead
+                }
+            }
+
+            Group group;
+            synchronized (lock) {
+                group = collecting;
+                collecting = new Group();
+            }
+
+            IOException error = null;
+            for (Path directory : group.directories) {
+                try {
+                    syncDirectory(directory);
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+
+            synchronized (lock) {
+                group.failure = error;
+                group.done = true;
+                leaderActive = false;
+                lock.notifyAll();
+            }
+            return error;
+        }
+    }
+}
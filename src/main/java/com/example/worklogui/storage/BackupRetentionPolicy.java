@@ -0,0 +1,88 @@
+package com.example.worklogui.storage;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Grandfather-father-son retention, applied to each month's backups separately so a busy month
+ * never evicts another month's history. For one month, a backup is kept if it is among the
+ * {@code last} newest, or the newest of one of the {@code hourly} most recent hours, {@code daily}
+ * most recent days or {@code monthly} most recent calendar months that have backups.
+ *
+ * Settings live in storage.properties (backup.keep.last / .hourly / .daily / .monthly).
+ */
+public class BackupRetentionPolicy {
+
+    private static final String PREFIX = "backup.keep.";
+
+    private int last = 5;
+    private int hourly = 24;
+    private int daily = 14;
+    private int monthly = 12;
+
+    public static BackupRetentionPolicy defaults() {
+        return new BackupRetentionPolicy();
+    }
+
+    /**
+     * Defaults overridden by the data directory's storage.properties
+     */
+    public static BackupRetentionPolicy load() {
+        BackupRetentionPolicy policy = defaults();
+        policy.last = StorageSettings.getInt(PREFIX + "last", policy.last);
+        policy.hourly = StorageSettings.getInt(PREFIX + "hourly", policy.hourly);
+        policy.daily = StorageSettings.getInt(PREFIX + "daily", policy.daily);
+        policy.monthly = StorageSettings.getInt(PREFIX + "monthly", policy.monthly);
+        return policy;
+    }
+
+    public BackupRetentionPolicy last(int last) { this.last = last; return this; }
+    public BackupRetentionPolicy hourly(int hourly) { this.hourly = hourly; return this; }
+    public BackupRetentionPolicy daily(int daily) { this.daily = daily; return this; }
+    public BackupRetentionPolicy monthly(int monthly) { this.monthly = monthly; return this; }
+
+    /**
+     * Pick the backups to keep from one month's history in a single pass
+     *
+     * @param newestFirst restore points of one kind/month, newest first
+     */
+    public List<BackupStore.Entry> select(List<BackupStore.Entry> newestFirst) {
+        ZoneId zone = ZoneId.systemDefault();
+        List<BackupStore.Entry> kept = new ArrayList<>();
+        Set<Long> hours = new HashSet<>();
+        Set<Long> days = new HashSet<>();
+        Set<Long> months = new HashSet<>();
+
+        for (int i = 0; i < newestFirst.size(); i++) {
+            BackupStore.Entry entry = newestFirst.get(i);
+            ZonedDateTime time = Instant.ofEpochMilli(entry.getTimestamp()).atZone(zone);
+
+            // Each check must run (not short-circuit) so every bucket sees its newest entry
+            boolean keep = i < last;
+            keep |= firstInBucket(hours, hourly, time.truncatedTo(ChronoUnit.HOURS).toEpochSecond());
+            keep |= firstInBucket(days, daily, time.toLocalDate().toEpochDay());
+            keep |= firstInBucket(months, monthly, time.getYear() * 12L + time.getMonthValue());
+
+            if (keep) {
+                kept.add(entry);
+            }
+        }
+        return kept;
+    }
+
+    private static boolean firstInBucket(Set<Long> seen, int limit, long bucket) {
+        if (seen.size() >= limit || seen.contains(bucket)) {
+            return false;
+        }
+        seen.add(bucket);
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("last %d, hourly %d, daily %d, monthly %d", last, hourly, daily, monthly);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.diagnostics.DebugLog;
+import com.example.worklogui.diagnostics.MetricsRegistry;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes backups off the save path.
+ *
+ * Before a month file is replaced, its current version is pinned in backups/pending/ with a hard
+ * link (a metadata-only operation; every writer replaces files with temp + rename, so the linked
+ * inode keeps the old bytes). Where links are not supported the file is copied instead. Hashing
+ * and storing into {@link BackupStore} then happen on a background thread.
+ *
+ * Saves of the same month within the coalescing window ({@value #COALESCE_PROPERTY}, default 30s,
+ * 0 = every save) share one backup: the version from before the first save of the burst.
+ * Pending files survive a crash and are ingested on the next start.
+ */
+public final class BackupSnapshotter {
+
+    public static final String COALESCE_PROPERTY = "worklog.backup.coalesce.seconds";
+    private static final long DEFAULT_COALESCE_SECONDS = 30;
+
+    private static final Path PENDING_DIR = AppConstants.BACKUPS_FOLDER.resolve("pending");
+    private static final String SEPARATOR = "__";
+
+    private static final BackupSnapshotter instance = new BackupSnapshotter();
+
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final Map<String, Long> lastCapture = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final long coalesceMillis = Long.getLong(COALESCE_PROPERTY, DEFAULT_COALESCE_SECONDS) * 1000;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "backup-snapshotter");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean linksSupported = true;
+
+    private BackupSnapshotter() {
+        // Anything staged before a crash or kill, then apply retention once per session
+        executor.execute(this::ingestLeftovers);
+        executor.execute(this::pruneCatalog);
+    }
+
+    public static BackupSnapshotter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Pin the current content of a file that is about to be replaced
+     */
+    public void capture(String kind, String month, Path file) {
+        capture(kind, month, file, false);
+    }
+
+    /**
+     * @param force capture even inside the coalescing window (e.g. before a restore)
+     */
+    public void capture(String kind, String month, Path file, boolean force) {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        String key = kind + "/" + month;
+        Long last = lastCapture.get(key);
+        if (!force && last != null && now - last < coalesceMillis) {
+            metrics.counter(MetricsRegistry.BACKUPS_COALESCED).increment();
+            return;
+        }
+
+        Path staged = PENDING_DIR.resolve(kind + SEPARATOR + month + SEPARATOR + now
+                + SEPARATOR + sequence.incrementAndGet() + ".pre");
+        try {
+            Files.createDirectories(PENDING_DIR);
+            stage(file, staged);
+            lastCapture.put(key, now);
+            executor.execute(() -> ingest(staged));
+        } catch (RejectedExecutionException e) {
+            // Saved during shutdown: the pinned file is ingested on the next start
+        } catch (IOException e) {
+            System.err.println("Warning: Could not capture backup for " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Block until everything captured so far is in the backup store
+     */
+    public void awaitIdle() {
+        try {
+            Future<?> marker = executor.submit(() -> {});
+            marker.get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("⚠️ Backup snapshotter did not drain: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finish queued backups before exit; anything unfinished stays in pending/ for the next start
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("⚠️ Backup snapshotter still busy, leaving pending backups for next start");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stage(Path file, Path staged) throws IOException {
+        if (linksSupported) {
+            try {
+                Files.createLink(staged, file);
+                return;
+            } catch (UnsupportedOperationException | IOException e) {
+                // FAT/exFAT, some network and sync folders: copy from now on
+                linksSupported = false;
+                System.out.println("ℹ️ Hard links not available for backups (" + e.getMessage() + "), copying instead");
+            }
+        }
+        Files.copy(file, staged);
+    }
+
+    private void ingest(Path staged) {
+        String name = staged.getFileName().toString();
+        String[] parts = name.substring(0, name.length() - ".pre".length()).split(SEPARATOR);
+        if (parts.length != 4) {
+            System.err.println("⚠️ Unexpected pending backup name: " + name);
+            return;
+        }
+
+        if (!Files.exists(staged)) {
+            return; // picked up by both the leftover scan and its own capture
+        }
+
+        try {
+            byte[] content = Files.readAllBytes(staged);
+            BackupStore.getInstance().backup(parts[0], parts[1], content, Long.parseLong(parts[2]));
+            Files.delete(staged);
+            DebugLog.debug(() -> "Ingested pending backup " + name);
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Warning: Could not store backup " + name + ": " + e.getMessage());
+        }
+    }
+
+    private void pruneCatalog() {
+        BackupRetentionPolicy policy = BackupRetentionPolicy.load();
+        try {
+            int removed = BackupStore.getInstance().prune(policy);
+            if (removed > 0) {
+                System.out.println("🧹 Pruned " + removed + " old backups (" + policy + ")");
+            }
+        } catch (IOException e) {
+            System.err.println("Error cleaning up backups: " + e.getMessage());
+        }
+    }
+
+    private void ingestLeftovers() {
+        if (!Files.exists(PENDING_DIR)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(PENDING_DIR, "*.pre")) {
+            for (Path staged : stream) {
+                ingest(staged);
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not scan pending backups: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.diagnostics.DebugLog;
+import com.example.worklogui.diagnostics.MetricsRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed backup store.
+ *
+ * Each backed-up file version is stored once as backups/objects/ab/abcdef... (SHA-256 of the bytes,
+ * in whatever storage format the file had). backups/index.jsonl is an append-only catalog with one
+ * line per restore point (kind, month, timestamp, hash, size), loaded into memory on first use, so
+ * listing and restoring are map lookups. Saving unchanged content adds nothing.
+ */
+public final class BackupStore {
+
+    public static final String KIND_LOGS = "logs";
+    public static final String KIND_BILLS = "bills";
+
+    private static final Path OBJECTS_DIR = AppConstants.BACKUPS_FOLDER.resolve("objects");
+    private static final Path INDEX_PATH = AppConstants.BACKUPS_FOLDER.resolve("index.jsonl");
+
+    // Pre-store backups: 2025-01_backup_20250131_235959.json
+    private static final Pattern LEGACY_BACKUP = Pattern.compile("(\\d{4}-\\d{2})_backup_(\\d{8}_\\d{6})\\.json");
+
+    private static final BackupStore instance = new BackupStore();
+
+    private final ObjectMapper mapper = StorageCodecs.jsonMapper();
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+
+    // kind/month -> restore points, oldest first
+    private final Map<String, List<Entry>> entries = new TreeMap<>();
+    private boolean loaded = false;
+
+    /**
+     * One restore point in the catalog
+     */
+    public static class Entry {
+        private String kind;
+        private String month;
+        private long timestamp;
+        private String hash;
+        private long size;
+
+        public Entry() {}
+
+        Entry(String kind, String month, long timestamp, String hash, long size) {
+            this.kind = kind;
+            this.month = month;
+            this.timestamp = timestamp;
+            this.hash = hash;
+            this.size = size;
+        }
+
+        public String getKind() { return kind; }
+        public void setKind(String kind) { this.kind = kind; }
+
+        public String getMonth() { return month; }
+        public void setMonth(String month) { this.month = month; }
+
+        /** Epoch millis of the backup */
+        public long getTimestamp() { return timestamp; }
+        public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+
+        public String getHash() { return hash; }
+        public void setHash(String hash) { this.hash = hash; }
+
+        public long getSize() { return size; }
+        public void setSize(long size) { this.size = size; }
+
+        @Override
+        public String toString() {
+            return kind + "/" + month + " @ " + new Date(timestamp) + " (" + hash.substring(0, 12) + ", " + size + " bytes)";
+        }
+    }
+
+    private BackupStore() {}
+
+    public static BackupStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Record the current content of a file as a restore point
+     *
+     * @return the new entry, or null when the file is missing or identical to the latest backup
+     */
+    public synchronized Entry backup(String kind, String month, Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return backup(kind, month, Files.readAllBytes(file), System.currentTimeMillis());
+    }
+
+    /**
+     * Record already-read bytes as a restore point taken at the given time
+     */
+    public synchronized Entry backup(String kind, String month, byte[] content, long timestamp) throws IOException {
+        ensureLoaded();
+
+        String hash = sha256(content);
+        List<Entry> history = entries.get(key(kind, month));
+        if (history != null && !history.isEmpty() && history.get(history.size() - 1).getHash().equals(hash)) {
+            metrics.counter(MetricsRegistry.BACKUPS_DEDUPLICATED).increment();
+            return null;
+        }
+
+        writeObjectIfAbsent(hash, content);
+        Entry entry = new Entry(kind, month, timestamp, hash, content.length);
+        appendToIndex(entry);
+        add(entry);
+
+        metrics.counter(MetricsRegistry.BACKUPS_CREATED).increment();
+        DebugLog.debug(() -> "Created backup: " + entry);
+        return entry;
+    }
+
+    /**
+     * Restore points for one month, newest first
+     */
+    public synchronized List<Entry> listBackups(String kind, String month) {
+        ensureLoaded();
+        List<Entry> history = new ArrayList<>(entries.getOrDefault(key(kind, month), List.of()));
+        Collections.reverse(history);
+        return history;
+    }
+
+    /**
+     * All restore points, oldest first within each kind/month
+     */
+    public synchronized List<Entry> listAll() {
+        ensureLoaded();
+        List<Entry> all = new ArrayList<>();
+        entries.values().forEach(all::addAll);
+        return all;
+    }
+
+    public synchronized byte[] read(Entry entry) throws IOException {
+        return Files.readAllBytes(objectPath(entry.getHash()));
+    }
+
+    /**
+     * Write the backed-up bytes over the target file
+     */
+    public void restore(Entry entry, Path target) throws IOException {
+        byte[] content = read(entry);
+        AtomicFileWriter.write(target, content);
+        System.out.println("♻️ Restored " + target.getFileName() + " from backup " + entry);
+    }
+
+    /**
+     * Apply a retention policy to every month in one pass over the in-memory catalog
+     * (no directory listing or file stats), then drop unreferenced objects
+     *
+     * @return number of restore points removed
+     */
+    public synchronized int prune(BackupRetentionPolicy policy) throws IOException {
+        ensureLoaded();
+        List<Entry> kept = new ArrayList<>();
+        int total = 0;
+        for (List<Entry> history : entries.values()) {
+            List<Entry> newestFirst = new ArrayList<>(history);
+            Collections.reverse(newestFirst);
+            kept.addAll(policy.select(newestFirst));
+            total += history.size();
+        }
+
+        int removed = total - kept.size();
+        if (removed > 0) {
+            retain(kept);
+        }
+        return removed;
+    }
+
+    /**
+     * Replace the catalog with the given entries: rewrite the index and delete objects nobody references
+     */
+    synchronized void retain(Collection<Entry> kept) throws IOException {
+        ensureLoaded();
+        Set<String> referenced = new HashSet<>();
+        kept.forEach(e -> referenced.add(e.getHash()));
+
+        Set<Entry> keptSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        keptSet.addAll(kept);
+        List<Entry> removed = listAll();
+        removed.removeIf(keptSet::contains);
+
+        entries.clear();
+        kept.forEach(this::add);
+        rewriteIndex();
+
+        for (Entry entry : removed) {
+            if (!referenced.contains(entry.getHash())) {
+                if (Files.deleteIfExists(objectPath(entry.getHash()))) {
+                    System.out.println("Deleted old backup: " + entry);
+                }
+                referenced.add(entry.getHash()); // don't try the same object twice
+            }
+        }
+    }
+
+    /**
+     * Cut a torn last line left by a crash during an append; runs before the catalog is loaded and
+     * reads only the end of the file
+     *
+     * @return true when the index was truncated
+     */
+    static boolean repairIndexTail() throws IOException {
+        if (!Files.exists(INDEX_PATH)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(INDEX_PATH, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            ByteBuffer block = ByteBuffer.allocate(4096);
+            long end = size;
+            long keep = 0;
+            scan:
+            while (end > 0) {
+                long start = Math.max(0, end - block.capacity());
+                block.clear().limit((int) (end - start));
+                int read;
+                do {
+                    read = channel.read(block, start + block.position());
+                } while (read > 0 && block.hasRemaining());
+                for (int i = block.position() - 1; i >= 0; i--) {
+                    if (block.get(i) == '\n') {
+                        keep = start + i + 1;
+                        break scan;
+                    }
+                }
+                end = start;
+            }
+            if (keep == size) {
+                return false;
+            }
+            channel.truncate(keep);
+            System.out.println("🩹 Removed torn tail of backup index (" + (size - keep) + " bytes)");
+            return true;
+        }
+    }
+
+    /**
+     * Drop the in-memory catalog so the next call reads index.jsonl again (the data folder was
+     * replaced underneath, as between tests)
+     */
+    synchronized void unload() {
+        entries.clear();
+        loaded = false;
+    }
+
+    private void add(Entry entry) {
+        List<Entry> history = entries.computeIfAbsent(key(entry.getKind(), entry.getMonth()), k -> new ArrayList<>());
+        history.add(entry);
+        if (history.size() > 1 && history.get(history.size() - 2).getTimestamp() > entry.getTimestamp()) {
+            history.sort(Comparator.comparingLong(Entry::getTimestamp));
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        boolean newCatalog = !Files.exists(INDEX_PATH);
+        if (!newCatalog) {
+            try {
+                for (String line : Files.readAllLines(INDEX_PATH, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        add(mapper.readValue(line, Entry.class));
+                    } catch (IOException e) {
+                        // Torn last line after a crash; the object (if any) is just unreferenced
+                        System.err.println("⚠️ Skipping unreadable backup index line: " + e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not read backup index: " + e.getMessage());
+            }
+        }
+
+        if (newCatalog) {
+            importLegacyBackups();
+        }
+    }
+
+    /**
+     * Move the old timestamped copies in backups/ into the store (once, when the catalog is created)
+     */
+    private void importLegacyBackups() {
+        if (!Files.exists(AppConstants.BACKUPS_FOLDER)) {
+            return;
+        }
+
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+        List<Path> imported = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(AppConstants.BACKUPS_FOLDER, "*_backup_*.json")) {
+            for (Path path : stream) {
+                Matcher m = LEGACY_BACKUP.matcher(path.getFileName().toString());
+                if (!m.matches()) {
+                    continue;
+                }
+                long timestamp = LocalDateTime.parse(m.group(2), format)
+                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                byte[] content = Files.readAllBytes(path);
+                String hash = sha256(content);
+                writeObjectIfAbsent(hash, content);
+                Entry entry = new Entry(KIND_LOGS, m.group(1), timestamp, hash, content.length);
+                appendToIndex(entry);
+                add(entry);
+                imported.add(path);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️ Could not import old backups: " + e.getMessage());
+        }
+
+        for (Path path : imported) {
+            try {
+                Files.delete(path);
+            } catch (IOException e) {
+                System.err.println("Could not delete imported backup " + path.getFileName() + ": " + e.getMessage());
+            }
+        }
+        if (!imported.isEmpty()) {
+            System.out.println("📦 Imported " + imported.size() + " old backups into the backup store");
+        }
+    }
+
+    private void writeObjectIfAbsent(String hash, byte[] content) throws IOException {
+        Path object = objectPath(hash);
+        if (Files.exists(object)) {
+            metrics.counter(MetricsRegistry.BACKUPS_DEDUPLICATED).increment();
+            return;
+        }
+        AtomicFileWriter.write(object, content);
+    }
+
+    private void appendToIndex(Entry entry) throws IOException {
+        Files.createDirectories(INDEX_PATH.getParent());
+        String line = mapper.writeValueAsString(entry) + "\n";
+        Files.writeString(INDEX_PATH, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void rewriteIndex() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : listAll()) {
+            sb.append(mapper.writeValueAsString(entry)).append('\n');
+        }
+        AtomicFileWriter.write(INDEX_PATH, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path objectPath(String hash) {
+        return OBJECTS_DIR.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static String key(String kind, String month) {
+        return kind + "/" + month;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.worklogui.storage;
+
+/**
+ * How hard a save tries to survive a power loss or OS crash (storage.properties "durability").
+ */
+public enum DurabilityPolicy {
+
+    /** Temp file + atomic rename, no fsync (the historical behaviour); journaled transactions are synced anyway */
+    RELAXED("relaxed"),
+
+    /** Fsync the file and its directory on every write */
+    FSYNC("fsync"),
+
+    /** Fsync each file, and share one directory fsync between writes that land within a short window */
+    GROUP_COMMIT("group-commit");
+
+    public static final String KEY = "durability";
+
+    private final String name;
+
+    DurabilityPolicy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static DurabilityPolicy forName(String name) {
+        for (DurabilityPolicy policy : values()) {
+            if (policy.name.equalsIgnoreCase(name.trim())) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown durability: " + name + " (expected relaxed, fsync or group-commit)");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.worklogui.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Jackson-backed codec. The mapper is configured once and the writer and per-type readers are
+ * built in the constructor; ObjectReader/ObjectWriter are immutable and safe to share.
+ */
+final class JacksonStorageCodec implements StorageCodec {
+
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    private final String name;
+    private final boolean binary;
+    private final ObjectWriter writer;
+    private final Map<StorageType<?>, ObjectReader> readers = new IdentityHashMap<>();
+
+    JacksonStorageCodec(String name, ObjectMapper mapper, boolean binary, boolean pretty) {
+        this.name = name;
+        this.binary = binary;
+        this.writer = pretty ? mapper.writerWithDefaultPrettyPrinter() : mapper.writer();
+        for (StorageType<?> type : StorageType.ALL) {
+            readers.put(type, mapper.readerFor(type.getTypeReference()));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isBinary() {
+        return binary;
+    }
+
+    @Override
+    public boolean recognizes(byte[] header, int length) {
+        return binary ? isSmile(header, length) : isJson(header, length);
+    }
+
+    @Override
+    public <T> T read(byte[] data, StorageType<T> type) throws IOException {
+        return readers.get(type).readValue(data);
+    }
+
+    @Override
+    public byte[] write(Object value) throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static boolean isSmile(byte[] header, int length) {
+        if (length < SMILE_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < SMILE_HEADER.length; i++) {
+            if (header[i] != SMILE_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isJson(byte[] header, int length) {
+        int i = 0;
+        // UTF-8 byte order mark
+        if (length >= 3 && (header[0] & 0xFF) == 0xEF && (header[1] & 0xFF) == 0xBB && (header[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        while (i < length && Character.isWhitespace(header[i])) {
+            i++;
+        }
+        return i < length && (header[i] == '[' || header[i] == '{');
+    }
+}
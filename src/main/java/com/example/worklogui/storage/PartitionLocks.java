@@ -0,0 +1,97 @@
+package com.example.worklogui.storage;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Striped read/write locks for month partitions ("2025-01", "bills/2025-01", ...).
+ *
+ * Writers hold the write lock for the whole read-modify-write of a month (load, change, save,
+ * update cache); readers take the read lock only to load a month from disk into a cache. Different
+ * months almost always map to different stripes, so an export, a background clear and the main
+ * window can work on different months at the same time. Several partitions are always locked in
+ * stripe order, so multi-month writers cannot deadlock.
+ */
+public final class PartitionLocks {
+
+    private static final int STRIPES = 64;
+
+    private static final PartitionLocks instance = new PartitionLocks();
+
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[STRIPES];
+
+    /**
+     * Locks held by one try-with-resources block
+     */
+    public static final class Held implements AutoCloseable {
+        private final Lock[] locks;
+
+        private Held(Lock[] locks) {
+            this.locks = locks;
+        }
+
+        @Override
+        public void close() {
+            for (int i = locks.length - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    private PartitionLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public static PartitionLocks getInstance() {
+        return instance;
+    }
+
+    public Held read(String partition) {
+        Lock lock = stripe(partition).readLock();
+        lock.lock();
+        return new Held(new Lock[] {lock});
+    }
+
+    public Held write(String partition) {
+        Lock lock = stripe(partition).writeLock();
+        lock.lock();
+        return new Held(new Lock[] {lock});
+    }
+
+    /**
+     * Write-lock several partitions (each stripe once, in a fixed order)
+     */
+    public Held writeAll(Collection<String> partitions) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        partitions.forEach(p -> indexes.add(index(p)));
+
+        Lock[] locks = new Lock[indexes.size()];
+        int n = 0;
+        try {
+            for (int index : indexes) {
+                Lock lock = stripes[index].writeLock();
+                lock.lock();
+                locks[n++] = lock;
+            }
+        } catch (RuntimeException e) {
+            for (int i = n - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+            throw e;
+        }
+        return new Held(locks);
+    }
+
+    private ReentrantReadWriteLock stripe(String partition) {
+        return stripes[index(partition)];
+    }
+
+    private static int index(String partition) {
+        int h = partition.hashCode();
+        return ((h ^ (h >>> 16)) & 0x7fffffff) % STRIPES;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Size, modification time and CRC32 of every month file (logs/ and bills/) as last written by the app,
+ * kept up to date by {@link AtomicFileWriter} and saved to cache/partition-manifest.json on exit.
+ *
+ * The startup recovery scan trusts a file whose size and mtime still match, checks the CRC when
+ * only the stamp changed, and parses a file only when the CRC differs or the file is unknown
+ * (e.g. saved after the last clean exit). Deleting the manifest is safe: every file is parsed once.
+ */
+public final class PartitionManifest {
+
+    private static final Path MANIFEST_PATH = AppConstants.CACHE_FOLDER.resolve("partition-manifest.json");
+    private static final int VERSION = 1;
+
+    private static final PartitionManifest instance = new PartitionManifest();
+
+    private final ObjectMapper mapper = StorageCodecs.jsonMapper();
+    private final Path logsDir = AppConstants.LOGS_FOLDER.toAbsolutePath().normalize();
+    private final Path billsDir = AppConstants.BILLS_FOLDER.toAbsolutePath().normalize();
+
+    // data-relative path -> stamp
+    private final Map<String, Stamp> entries = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+    private volatile boolean dirty = false;
+
+    /**
+     * What the app last wrote to one file
+     */
+    public static class Stamp {
+        private long size;
+        private long modified;
+        private long crc;
+
+        public Stamp() {}
+
+        Stamp(long size, long modified, long crc) {
+            this.size = size;
+            this.modified = modified;
+            this.crc = crc;
+        }
+
+        public long getSize() { return size; }
+        public void setSize(long size) { this.size = size; }
+
+        public long getModified() { return modified; }
+        public void setModified(long modified) { this.modified = modified; }
+
+        public long getCrc() { return crc; }
+        public void setCrc(long crc) { this.crc = crc; }
+    }
+
+    /**
+     * On-disk form
+     */
+    public static class Document {
+        private int version = VERSION;
+        private Map<String, Stamp> entries = new TreeMap<>();
+
+        public int getVersion() { return version; }
+        public void setVersion(int version) { this.version = version; }
+
+        public Map<String, Stamp> getEntries() { return entries; }
+        public void setEntries(Map<String, Stamp> entries) { this.entries = entries; }
+    }
+
+    private PartitionManifest() {}
+
+    public static PartitionManifest getInstance() {
+        return instance;
+    }
+
+    /**
+     * Month files are the only ones tracked
+     */
+    boolean tracks(Path file) {
+        Path parent = file.toAbsolutePath().normalize().getParent();
+        return file.getFileName().toString().endsWith(".json")
+                && (logsDir.equals(parent) || billsDir.equals(parent));
+    }
+
+    public Stamp get(Path file) {
+        ensureLoaded();
+        return entries.get(AtomicFileWriter.dataRelative(file));
+    }
+
+    /**
+     * Remember a file the app just wrote (or verified)
+     */
+    void record(Path file, long size, long crc) {
+        if (!tracks(file)) {
+            return;
+        }
+        ensureLoaded();
+        try {
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            entries.put(AtomicFileWriter.dataRelative(file), new Stamp(size, modified, crc));
+        } catch (IOException e) {
+            entries.remove(AtomicFileWriter.dataRelative(file));
+        }
+        dirty = true;
+    }
+
+    /**
+     * Forget a file (deleted, or changed without a known checksum)
+     */
+    void forget(Path file) {
+        if (!tracks(file)) {
+            return;
+        }
+        ensureLoaded();
+        if (entries.remove(AtomicFileWriter.dataRelative(file)) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Write the manifest if anything changed since it was loaded or last saved
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        Document document = new Document();
+        document.getEntries().putAll(entries);
+        try {
+            AtomicFileWriter.write(MANIFEST_PATH, mapper.writeValueAsBytes(document));
+        } catch (IOException e) {
+            dirty = true;
+            System.err.println("⚠️ Could not save partition manifest: " + e.getMessage());
+        }
+    }
+
+    public static long crc32(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (Files.exists(MANIFEST_PATH)) {
+                try {
+                    Document document = mapper.readValue(Files.readAllBytes(MANIFEST_PATH), Document.class);
+                    if (document.getVersion() == VERSION && document.getEntries() != null) {
+                        entries.putAll(document.getEntries());
+                    }
+                } catch (IOException e) {
+                    System.err.println("⚠️ Ignoring unreadable partition manifest: " + e.getMessage());
+                }
+            }
+            loaded = true;
+        }
+    }
+}
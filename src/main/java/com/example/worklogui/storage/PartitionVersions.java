@@ -0,0 +1,207 @@
+package com.example.worklogui.storage;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-version read snapshots of month partitions ("2025-01", "bills/2025-01", ...).
+ *
+ * Every committed change of a partition gets the next number of one global version counter.
+ * A {@link ReadView} pins the version current when it was opened and reads each partition as it
+ * was at that version, however long it stays open; writers never wait for it.
+ *
+ * Old contents are only kept while a view needs them: while views are open, each commit records
+ * the partition's previous content (once) and its new content, both immutable lists shared with
+ * the caches (nothing is copied); closing the oldest view drops versions nobody can read any more,
+ * and closing the last drops them all.
+ * A partition without recorded history has not changed since the oldest open view, so its current
+ * content is the right answer for every view.
+ *
+ * Writers call {@link #beginCommit} and {@link Commit#publish} under the partition's write lock
+ * ({@link PartitionLocks}); readers call {@link #read} under its read lock and fall back to the
+ * current content when it returns null.
+ */
+public final class PartitionVersions {
+
+    private static final long BASELINE = 0L;
+
+    private static final PartitionVersions instance = new PartitionVersions();
+
+    private final AtomicLong version = new AtomicLong();
+
+    // pinned version -> number of open views (guarded by this)
+    private final TreeMap<Long, Integer> open = new TreeMap<>();
+
+    // partition -> version -> immutable content as of that version
+    private final Map<String, ConcurrentSkipListMap<Long, List<?>>> history = new ConcurrentHashMap<>();
+
+    /**
+     * Loads a partition's current (pre-commit) content, as a list nobody modifies afterwards
+     */
+    @FunctionalInterface
+    public interface Loader<T, E extends Exception> {
+        List<T> load() throws E;
+    }
+
+    /**
+     * A point-in-time view; close it when done so old versions can be dropped
+     */
+    public final class ReadView implements AutoCloseable {
+        private final long version;
+        private boolean closed = false;
+
+        private ReadView(long version) {
+            this.version = version;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(version);
+            }
+        }
+    }
+
+    /**
+     * One change of one partition
+     */
+    public final class Commit {
+        private final String partition;
+        private final long version;
+        private final boolean recording;
+
+        private Commit(String partition, long version, boolean recording) {
+            this.partition = partition;
+            this.version = version;
+            this.recording = recording;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * True when an open view may still need the previous content, so the new one must be published
+         */
+        public boolean isRecording() {
+            return recording;
+        }
+
+        /**
+         * Record the content the partition has from this version on (an immutable list, kept as is)
+         */
+        public void publish(List<?> content) {
+            if (recording) {
+                history.computeIfAbsent(partition, k -> new ConcurrentSkipListMap<>()).put(version, content);
+            }
+        }
+
+        /**
+         * Forget this commit (failed or rolled back: the partition still has its previous content)
+         */
+        public void discard() {
+            if (recording) {
+                history.computeIfPresent(partition, (k, versions) -> {
+                    versions.remove(version);
+                    return versions.isEmpty() ? null : versions;
+                });
+            }
+        }
+    }
+
+    private PartitionVersions() {}
+
+    public static PartitionVersions getInstance() {
+        return instance;
+    }
+
+    /**
+     * Latest committed version
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Pin the current version
+     */
+    public synchronized ReadView open() {
+        long pinned = version.get();
+        open.merge(pinned, 1, Integer::sum);
+        return new ReadView(pinned);
+    }
+
+    /**
+     * Start a change of a partition, before anything is written. The current content is loaded only
+     * when a view is open and the partition has no history yet (the files still hold it at this point).
+     */
+    public <T, E extends Exception> Commit beginCommit(String partition, Loader<T, E> current) throws E {
+        long next;
+        boolean recording;
+        synchronized (this) {
+            next = version.incrementAndGet();
+            recording = !open.isEmpty();
+        }
+
+        if (!recording) {
+            // No view can see the partition's past; views opened from now on read it live
+            history.remove(partition);
+            return new Commit(partition, next, false);
+        }
+
+        ConcurrentSkipListMap<Long, List<?>> versions = history.computeIfAbsent(partition, k -> new ConcurrentSkipListMap<>());
+        if (versions.isEmpty()) {
+            versions.put(BASELINE, current.load());
+        }
+        return new Commit(partition, next, true);
+    }
+
+    /**
+     * Content of a partition as of the view's version, or null when it has not changed since
+     * (read the current content instead, under the same read lock)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> read(String partition, ReadView view) {
+        ConcurrentSkipListMap<Long, List<?>> versions = history.get(partition);
+        if (versions == null) {
+            return null;
+        }
+        Map.Entry<Long, List<?>> entry = versions.floorEntry(view.getVersion());
+        return entry == null ? null : (List<T>) entry.getValue();
+    }
+
+    /**
+     * Partitions with recorded history (they may have existed at a view's version even if their file is gone now)
+     */
+    public Set<String> getRecordedPartitions() {
+        return new HashSet<>(history.keySet());
+    }
+
+    private synchronized void release(long pinned) {
+        open.computeIfPresent(pinned, (k, count) -> count > 1 ? count - 1 : null);
+        if (open.isEmpty()) {
+            history.clear();
+            return;
+        }
+
+        // Keep, per partition, the newest version the oldest view can see and everything after it
+        long oldest = open.firstKey();
+        for (ConcurrentSkipListMap<Long, List<?>> versions : history.values()) {
+            Long floor = versions.floorKey(oldest);
+            if (floor != null) {
+                versions.headMap(floor, false).clear();
+            }
+        }
+    }
+}
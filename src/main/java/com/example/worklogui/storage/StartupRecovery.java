@@ -0,0 +1,272 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.diagnostics.StartupProfiler;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Startup pass that puts the data folder back into a consistent state after a crash or kill,
+ * before anything is loaded:
+ *
+ * 1. replays interrupted transactions ({@link TransactionJournal});
+ * 2. deletes orphaned *.tmp files (no journal references them any more);
+ * 3. cuts a torn last line off backups/index.jsonl;
+ * 4. checks every month file in parallel against the {@link PartitionManifest}. Files whose stamp
+ *    or checksum matches are not parsed; others are parsed once, and a file that does not parse is
+ *    moved to quarantine/ and replaced with its newest backup that does.
+ */
+public final class StartupRecovery {
+
+    private enum Outcome { TRUSTED, VERIFIED, REPAIRED, QUARANTINED, FAILED }
+
+    /**
+     * What the pass found and did
+     */
+    public static class Report {
+        private int transactionsReplayed;
+        private int tempFilesRemoved;
+        private boolean backupIndexRepaired;
+        private int trusted;
+        private int verified;
+        private final List<String> repaired = new ArrayList<>();
+        private final List<String> quarantined = new ArrayList<>();
+        private long elapsedMillis;
+
+        public int getTransactionsReplayed() { return transactionsReplayed; }
+        public int getTempFilesRemoved() { return tempFilesRemoved; }
+        public boolean isBackupIndexRepaired() { return backupIndexRepaired; }
+        public int getTrusted() { return trusted; }
+        public int getVerified() { return verified; }
+
+        /** Month files restored from a backup */
+        public List<String> getRepaired() { return repaired; }
+
+        /** Damaged month files with no usable backup (moved to quarantine/, month now empty) */
+        public List<String> getQuarantined() { return quarantined; }
+
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public boolean hasRepairs() {
+            return transactionsReplayed > 0 || tempFilesRemoved > 0 || backupIndexRepaired
+                    || !repaired.isEmpty() || !quarantined.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d files trusted, %d verified, %d restored from backup, %d quarantined; "
+                            + "%d transactions replayed, %d temp files removed%s (%d ms)",
+                    trusted, verified, repaired.size(), quarantined.size(), transactionsReplayed,
+                    tempFilesRemoved, backupIndexRepaired ? ", backup index repaired" : "", elapsedMillis);
+        }
+    }
+
+    private StartupRecovery() {}
+
+    /**
+     * Run the whole pass; must run before any data file is read
+     */
+    public static Report run() {
+        long started = System.nanoTime();
+        Report report = new Report();
+
+        report.transactionsReplayed = TransactionJournal.recover();
+        report.tempFilesRemoved = removeOrphanedTempFiles();
+        try {
+            report.backupIndexRepaired = BackupStore.repairIndexTail();
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not check backup index: " + e.getMessage());
+        }
+        checkPartitions(report);
+        PartitionManifest.getInstance().save();
+
+        long elapsed = System.nanoTime() - started;
+        report.elapsedMillis = elapsed / 1_000_000;
+        StartupProfiler.record("storage.recovery", elapsed);
+        return report;
+    }
+
+    private static int removeOrphanedTempFiles() {
+        List<Path> folders = new ArrayList<>(List.of(AppConstants.DATA_ROOT, AppConstants.LOGS_FOLDER,
+                AppConstants.BILLS_FOLDER, AppConstants.CACHE_FOLDER, AppConstants.JOURNAL_FOLDER,
+                AppConstants.BACKUPS_FOLDER));
+        Path objects = AppConstants.BACKUPS_FOLDER.resolve("objects");
+        if (Files.isDirectory(objects)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(objects, Files::isDirectory)) {
+                stream.forEach(folders::add);
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not scan backup objects: " + e.getMessage());
+            }
+        }
+
+        int removed = 0;
+        for (Path folder : folders) {
+            if (!Files.isDirectory(folder)) {
+                continue;
+            }
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*.tmp")) {
+                for (Path temp : stream) {
+                    Files.deleteIfExists(temp);
+                    removed++;
+                    System.out.println("🧹 Removed orphaned temp file " + AtomicFileWriter.dataRelative(temp));
+                }
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not clean temp files in " + folder + ": " + e.getMessage());
+            }
+        }
+        return removed;
+    }
+
+    private static void checkPartitions(Report report) {
+        List<Path> files = new ArrayList<>();
+        collectMonthFiles(AppConstants.LOGS_FOLDER, files);
+        collectMonthFiles(AppConstants.BILLS_FOLDER, files);
+        if (files.isEmpty()) {
+            return;
+        }
+
+        int threads = Math.min(files.size(), Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "startup-recovery");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Outcome>> outcomes = new ArrayList<>();
+            for (Path file : files) {
+                outcomes.add(executor.submit(() -> check(file)));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                Outcome outcome;
+                try {
+                    outcome = outcomes.get(i).get();
+                } catch (Exception e) {
+                    System.err.println("⚠️ Could not check " + files.get(i) + ": " + e.getMessage());
+                    outcome = Outcome.FAILED;
+                }
+                String name = AtomicFileWriter.dataRelative(files.get(i));
+                switch (outcome) {
+                    case TRUSTED -> report.trusted++;
+                    case VERIFIED -> report.verified++;
+                    case REPAIRED -> report.repaired.add(name);
+                    case QUARANTINED -> report.quarantined.add(name);
+                    default -> { }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Collections.sort(report.repaired);
+        Collections.sort(report.quarantined);
+    }
+
+    private static void collectMonthFiles(Path folder, List<Path> files) {
+        if (!Files.isDirectory(folder)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "????-??.json")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not list " + folder + ": " + e.getMessage());
+        }
+    }
+
+    private static Outcome check(Path file) throws IOException {
+        PartitionManifest manifest = PartitionManifest.getInstance();
+        PartitionManifest.Stamp stamp = manifest.get(file);
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        if (stamp != null && stamp.getSize() == attributes.size()
+                && stamp.getModified() == attributes.lastModifiedTime().toMillis()) {
+            return Outcome.TRUSTED;
+        }
+
+        byte[] data = Files.readAllBytes(file);
+        long crc = PartitionManifest.crc32(data);
+        if (stamp != null && stamp.getSize() == data.length && stamp.getCrc() == crc) {
+            manifest.record(file, data.length, crc); // only the timestamp moved (copy, sync tool)
+            return Outcome.VERIFIED;
+        }
+
+        // Written since the last clean exit, or changed outside the app: parse it once
+        if (isValid(file, data)) {
+            manifest.record(file, data.length, crc);
+            return Outcome.VERIFIED;
+        }
+        return repair(file);
+    }
+
+    private static boolean isValid(Path file, byte[] data) {
+        if (data.length == 0) {
+            return false;
+        }
+        try {
+            if (isBills(file)) {
+                StorageCodecs.decode(data, StorageType.BILLS);
+            } else {
+                try {
+                    StorageCodecs.decode(data, StorageType.WORK_LOGS);
+                } catch (IOException e) {
+                    // Pre-split format, migrated when the month is loaded
+                    StorageCodecs.decode(data, StorageType.LEGACY_WORKLOG);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Move the damaged file to quarantine/ and restore the newest backup that parses
+     */
+    private static Outcome repair(Path file) throws IOException {
+        String kind = isBills(file) ? BackupStore.KIND_BILLS : BackupStore.KIND_LOGS;
+        String name = file.getFileName().toString();
+        String month = name.substring(0, name.length() - ".json".length());
+
+        String stamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        Path quarantined = AppConstants.QUARANTINE_FOLDER.resolve(kind).resolve(month + "_" + stamp + ".json");
+        Files.createDirectories(quarantined.getParent());
+        AtomicFileWriter.move(file, quarantined);
+        PartitionManifest.getInstance().forget(file);
+        System.err.println("⚠️ Damaged " + kind + " file " + name + " moved to " + AtomicFileWriter.dataRelative(quarantined));
+
+        // Versions pinned just before the crash may not be in the store yet
+        BackupSnapshotter.getInstance().awaitIdle();
+        BackupStore store = BackupStore.getInstance();
+        for (BackupStore.Entry entry : store.listBackups(kind, month)) {
+            byte[] content;
+            try {
+                content = store.read(entry);
+            } catch (IOException e) {
+                continue;
+            }
+            if (isValid(file, content)) {
+                AtomicFileWriter.write(file, content);
+                System.out.println("♻️ Restored " + name + " from backup " + entry);
+                return Outcome.REPAIRED;
+            }
+        }
+
+        System.err.println("❌ No valid backup for " + kind + "/" + name + "; the month stays empty until restored by hand");
+        return Outcome.QUARANTINED;
+    }
+
+    private static boolean isBills(Path file) {
+        return file.toAbsolutePath().normalize().getParent()
+                .equals(AppConstants.BILLS_FOLDER.toAbsolutePath().normalize());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.worklogui.storage;
+
+import java.io.IOException;
+
+/**
+ * Encoding of a persisted document. Implementations must be thread-safe; they are shared
+ * by every loader and saver (see {@link StorageCodecs}).
+ */
+public interface StorageCodec {
+
+    /**
+     * Name used in storage.properties and on the converter command line (e.g. "json", "smile")
+     */
+    String getName();
+
+    boolean isBinary();
+
+    /**
+     * True if a file starting with these bytes is in this codec's encoding
+     */
+    boolean recognizes(byte[] header, int length);
+
+    <T> T read(byte[] data, StorageType<T> type) throws IOException;
+
+    byte[] write(Object value) throws IOException;
+}
@@ -0,0 +1,138 @@
+package com.example.worklogui.storage;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The single place Jackson is configured for persisted data.
+ *
+ * Three codecs are available: compact JSON, pretty JSON (the historical default) and binary Smile.
+ * The format used for new writes is chosen per data directory in storage.properties
+ * ("format=json|json-pretty|smile"); reads detect the encoding from the first bytes, so a folder
+ * may hold a mix of formats while it is being converted. File names keep the .json extension.
+ */
+public final class StorageCodecs {
+
+    public static final String FORMAT_KEY = "format";
+
+    private static final ObjectMapper JSON_MAPPER = configure(new ObjectMapper());
+    private static final ObjectMapper SMILE_MAPPER = configure(new ObjectMapper(new SmileFactory()));
+
+    public static final StorageCodec JSON = new JacksonStorageCodec("json", JSON_MAPPER, false, false);
+    public static final StorageCodec JSON_PRETTY = new JacksonStorageCodec("json-pretty", JSON_MAPPER, false, true);
+    public static final StorageCodec SMILE = new JacksonStorageCodec("smile", SMILE_MAPPER, true, false);
+
+    private static final List<StorageCodec> ALL = List.of(JSON_PRETTY, JSON, SMILE);
+    private static final StorageCodec DEFAULT = JSON_PRETTY;
+    private static final int DETECT_BYTES = 16;
+
+    private static volatile StorageCodec active;
+
+    private StorageCodecs() {}
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * Shared JSON mapper for documents that are not partitions (snapshots, tree reads)
+     */
+    public static ObjectMapper jsonMapper() {
+        return JSON_MAPPER;
+    }
+
+    public static List<StorageCodec> all() {
+        return ALL;
+    }
+
+    public static StorageCodec forName(String name) {
+        for (StorageCodec codec : ALL) {
+            if (codec.getName().equalsIgnoreCase(name.trim())) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown storage format: " + name + " (expected json, json-pretty or smile)");
+    }
+
+    /**
+     * Codec used for new writes in the current data directory
+     */
+    public static StorageCodec getActive() {
+        StorageCodec codec = active;
+        if (codec == null) {
+            synchronized (StorageCodecs.class) {
+                if (active == null) {
+                    active = loadSetting();
+                }
+                codec = active;
+            }
+        }
+        return codec;
+    }
+
+    /**
+     * Change the write format for this data directory and remember it in storage.properties
+     */
+    public static synchronized void setActive(StorageCodec codec) throws IOException {
+        StorageSettings.set(FORMAT_KEY, codec.getName());
+        active = codec;
+    }
+
+    /**
+     * Codec able to read data starting with these bytes (JSON when nothing else matches)
+     */
+    public static StorageCodec detect(byte[] data) {
+        int length = Math.min(data.length, DETECT_BYTES);
+        return SMILE.recognizes(data, length) ? SMILE : JSON;
+    }
+
+    public static <T> T decode(byte[] data, StorageType<T> type) throws IOException {
+        return detect(data).read(data, type);
+    }
+
+    /**
+     * Read a file in whatever format it was written
+     */
+    public static <T> T read(Path path, StorageType<T> type) throws IOException {
+        return decode(Files.readAllBytes(path), type);
+    }
+
+    /**
+     * Write with the active codec through {@link AtomicFileWriter} (durability policy, batches)
+     *
+     * @return bytes written
+     */
+    public static long write(Path path, Object value) throws IOException {
+        return write(path, value, getActive());
+    }
+
+    public static long write(Path path, Object value, StorageCodec codec) throws IOException {
+        byte[] data = codec.write(value);
+        AtomicFileWriter.write(path, data);
+        return data.length;
+    }
+
+    private static StorageCodec loadSetting() {
+        String name = StorageSettings.get(FORMAT_KEY);
+        if (name == null) {
+            return DEFAULT;
+        }
+        try {
+            return forName(name);
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️ " + e.getMessage() + ", using " + DEFAULT.getName());
+            return DEFAULT;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Rewrites every monthly log and bill file of the data directory in another format and makes
+ * it the directory's write format. Run it while the app is closed:
+ *
+ *   java -Dworklog.data.dir=... -cp ... com.example.worklogui.storage.StorageConverter smile
+ */
+public final class StorageConverter {
+
+    private StorageConverter() {}
+
+    public static class Result {
+        public int converted;
+        public int skipped;
+        public int failed;
+        public long bytesBefore;
+        public long bytesAfter;
+
+        @Override
+        public String toString() {
+            return String.format("%d converted, %d already in format, %d failed; %,d -> %,d bytes",
+                    converted, skipped, failed, bytesBefore, bytesAfter);
+        }
+    }
+
+    public static Result convertAll(StorageCodec target) throws IOException {
+        Result result = new Result();
+        convertFolder(AppConstants.LOGS_FOLDER, StorageType.WORK_LOGS, target, result);
+        convertFolder(AppConstants.BILLS_FOLDER, StorageType.BILLS, target, result);
+        StorageCodecs.setActive(target);
+        return result;
+    }
+
+    private static <T> void convertFolder(Path folder, StorageType<T> type, StorageCodec target, Result result) throws IOException {
+        if (!Files.exists(folder)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*.json")) {
+            for (Path path : stream) {
+                byte[] data = Files.readAllBytes(path);
+                result.bytesBefore += data.length;
+
+                // JSON compact and pretty can't be told apart cheaply, so only binary is skipped
+                StorageCodec source = StorageCodecs.detect(data);
+                if (target.isBinary() && source == StorageCodecs.SMILE) {
+                    result.skipped++;
+                    result.bytesAfter += data.length;
+                    continue;
+                }
+
+                try {
+                    T value = source.read(data, type);
+                    result.bytesAfter += StorageCodecs.write(path, value, target);
+                    result.converted++;
+                } catch (IOException e) {
+                    // e.g. a pre-1.1.9 month file; it is migrated the next time the app loads it
+                    System.err.println("⚠️ Could not convert " + path.getFileName() + ": " + e.getMessage());
+                    result.failed++;
+                    result.bytesAfter += data.length;
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: StorageConverter <json|json-pretty|smile>");
+            System.exit(2);
+        }
+
+        StorageCodec target = StorageCodecs.forName(args[0]);
+        System.out.println("🔄 Converting " + AppConstants.DATA_ROOT + " to " + target.getName());
+        Result result = convertAll(target);
+        System.out.println("✅ " + result);
+    }
+}
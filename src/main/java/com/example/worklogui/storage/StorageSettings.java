@@ -0,0 +1,62 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Per data directory storage settings (storage.properties): format, durability, backup retention.
+ */
+final class StorageSettings {
+
+    private StorageSettings() {}
+
+    static synchronized Properties load() {
+        Properties props = new Properties();
+        Path settings = AppConstants.STORAGE_SETTINGS_PATH;
+        if (!Files.exists(settings)) {
+            return props;
+        }
+        try (InputStream in = Files.newInputStream(settings)) {
+            props.load(in);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not read " + settings.getFileName() + ": " + e.getMessage());
+        }
+        return props;
+    }
+
+    static String get(String key) {
+        return load().getProperty(key);
+    }
+
+    /**
+     * Update one setting, keeping the others
+     */
+    static synchronized void set(String key, String value) throws IOException {
+        Properties props = load();
+        props.setProperty(key, value);
+        Path settings = AppConstants.STORAGE_SETTINGS_PATH;
+        Files.createDirectories(settings.getParent());
+        try (OutputStream out = Files.newOutputStream(settings)) {
+            props.store(out, "WorkLog storage settings");
+        }
+    }
+
+    static int getInt(String key, int fallback) {
+        String value = get(key);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Invalid " + key + "=" + value + ", using " + fallback);
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.Bill;
+import com.example.worklogui.RateInfo;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.WorkLogData;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The document types the app persists. Codecs build one reader per type up front,
+ * so no call site ever creates a TypeReference or ObjectReader on the hot path.
+ */
+public final class StorageType<T> {
+
+    public static final StorageType<List<RegistroTrabalho>> WORK_LOGS =
+            new StorageType<>("work-logs", new TypeReference<>() {});
+    public static final StorageType<List<Bill>> BILLS =
+            new StorageType<>("bills", new TypeReference<>() {});
+    public static final StorageType<Map<String, RateInfo>> RATES =
+            new StorageType<>("rates", new TypeReference<>() {});
+    public static final StorageType<Map<String, Map<String, RateInfo>>> RATE_HISTORY =
+            new StorageType<>("rate-history", new TypeReference<>() {});
+    public static final StorageType<WorkLogData> LEGACY_WORKLOG =
+            new StorageType<>("legacy-worklog", new TypeReference<>() {});
+
+    static final List<StorageType<?>> ALL = List.of(WORK_LOGS, BILLS, RATES, RATE_HISTORY, LEGACY_WORKLOG);
+
+    private final String name;
+    private final TypeReference<T> typeReference;
+
+    private StorageType(String name, TypeReference<T> typeReference) {
+        this.name = name;
+        this.typeReference = typeReference;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    TypeReference<T> getTypeReference() {
+        return typeReference;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.worklogui.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Groups the file writes of one operation (rename a company, delete many logs) so they are
+ * fsynced and renamed into place together.
+ *
+ * <pre>
+ * try (WriteBatch batch = AtomicFileWriter.beginBatch()) {
+ *     ... save several months ...
+ * }
+ * </pre>
+ *
+ * Closing a plain batch applies whatever was staged, so a failure halfway leaves the same state as
+ * unbatched saves would have. A transaction ({@link AtomicFileWriter#beginTransaction}) is all or
+ * nothing: it is applied only by {@link #commit()}, through the {@link TransactionJournal}, and
+ * closing it uncommitted discards the staged files. Until then, staged files are reported by
+ * {@link AtomicFileWriter#isPending}.
+ */
+public final class WriteBatch implements AutoCloseable {
+
+    private final Thread owner;
+    private final WriteBatch root;
+    private final Map<Path, AtomicFileWriter.Operation> operations = new LinkedHashMap<>();
+    private final boolean transaction;
+    private boolean journaled;
+    private boolean closed = false;
+
+    /**
+     * Batch started by this thread
+     */
+    WriteBatch(Thread owner, boolean transaction) {
+        this.owner = owner;
+        this.root = this;
+        this.transaction = transaction;
+        this.journaled = transaction;
+    }
+
+    /**
+     * Batch joined into an outer one: staging goes to the outer batch, closing does nothing
+     */
+    WriteBatch(WriteBatch outer) {
+        this.owner = null;
+        this.root = outer.root;
+        this.transaction = false;
+    }
+
+    /**
+     * Journal the whole batch when it is applied (a transaction was started inside it)
+     */
+    void requireJournal() {
+        root.journaled = true;
+    }
+
+    boolean isJournaled() {
+        return journaled;
+    }
+
+    synchronized void stage(AtomicFileWriter.Operation operation) throws IOException {
+        AtomicFileWriter.Operation replaced = operations.remove(operation.key());
+        if (replaced != null && replaced.tempFile != null) {
+            // The same file saved twice in one batch: only the last version is applied
+            Files.deleteIfExists(replaced.tempFile);
+        }
+        operations.put(operation.key(), operation);
+    }
+
+    synchronized Collection<AtomicFileWriter.Operation> drain() {
+        Collection<AtomicFileWriter.Operation> staged = new ArrayList<>(operations.values());
+        operations.clear();
+        return staged;
+    }
+
+    /**
+     * Run part of the batch on another thread (e.g. rewrite two months in parallel); its writes
+     * are staged here, not committed on their own
+     */
+    public <T> CompletableFuture<T> supplyAsync(Callable<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            WriteBatch previous = AtomicFileWriter.attach(root);
+            try {
+                return work.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                AtomicFileWriter.attach(previous);
+            }
+        });
+    }
+
+    /**
+     * Apply everything staged (a transaction is journaled first, so a crash midway is redone at startup)
+     */
+    public void commit() throws IOException {
+        if (closed || owner == null) {
+            return;
+        }
+        checkOwner();
+        closed = true;
+        AtomicFileWriter.finish(this, true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed || owner == null) {
+            return;
+        }
+        checkOwner();
+        closed = true;
+        // Plain batches apply on close; an uncommitted transaction is rolled back
+        AtomicFileWriter.finish(this, !transaction);
+    }
+
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Write batch closed from another thread");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.worklogui.utils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of several immutable lists one after another (e.g. every month's cached work logs),
+ * built without copying any element. The parts must not change while the view is in use.
+ */
+public final class ConcatenatedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<? extends T>[] parts;
+    // starts[i] = index of the first element of parts[i]; starts[parts.length] = size
+    private final int[] starts;
+
+    @SuppressWarnings("unchecked")
+    private ConcatenatedList(List<List<? extends T>> nonEmptyParts) {
+        this.parts = nonEmptyParts.toArray(new List[0]);
+        this.starts = new int[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            starts[i + 1] = starts[i] + parts[i].size();
+        }
+    }
+
+    /**
+     * Concatenate the parts; a single non-empty part is returned as is
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> of(List<? extends List<? extends T>> parts) {
+        List<List<? extends T>> nonEmpty = new ArrayList<>(parts.size());
+        for (List<? extends T> part : parts) {
+            if (!part.isEmpty()) {
+                nonEmpty.add(part);
+            }
+        }
+        if (nonEmpty.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (nonEmpty.size() == 1) {
+            return Collections.unmodifiableList((List<T>) nonEmpty.get(0));
+        }
+        return new ConcatenatedList<>(nonEmpty);
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        int part = Arrays.binarySearch(starts, 0, parts.length, index);
+        if (part < 0) {
+            part = -part - 2; // insertion point - 1: the part that starts before index
+        }
+        return parts[part].get(index - starts[part]);
+    }
+
+    /**
+     * Walks the parts in order instead of searching for every index
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int part = 0;
+            private int offset = 0;
+
+            @Override
+            public boolean hasNext() {
+                return part < parts.length;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T value = parts[part].get(offset++);
+                if (offset == parts[part].size()) {
+                    part++;
+                    offset = 0;
+                }
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return starts[parts.length];
+    }
+}
@@ -2,12 +2,12 @@ package com.example.worklogui.utils;
 
 import com.example.worklogui.RegistroTrabalho;
 import com.example.worklogui.WorkLogData;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.worklogui.diagnostics.DebugLog;
+import com.example.worklogui.storage.StorageCodecs;
+import com.example.worklogui.storage.StorageType;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
@@ -21,11 +21,6 @@ import java.util.HashMap;
  */
 public class FileMigrationUtility {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-            .enable(SerializationFeature.INDENT_OUTPUT);
-
     /**
      * Check if a file is in the old WorkLogData format or new array format
      */
@@ -35,32 +30,41 @@ public class FileMigrationUtility {
         }
 
         try {
-            String content = Files.readString(filePath);
-            // Old format starts with { and has "registros" property
-            // New format starts with [ (array)
-            return content.trim().startsWith("{") && content.contains("\"registros\"");
+            return isOldFormat(Files.readAllBytes(filePath));
         } catch (IOException e) {
             System.err.println("Error checking file format: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Old format is a JSON object with a "registros" property; the new format is an array (JSON or Smile)
+     */
+    private static boolean isOldFormat(byte[] data) {
+        if (StorageCodecs.detect(data) != StorageCodecs.JSON) {
+            return false;
+        }
+        String content = new String(data, StandardCharsets.UTF_8);
+        return content.trim().startsWith("{") && content.contains("\"registros\"");
+    }
+
     /**
      * Migrate a single file from old format to new format
      */
     public static List<RegistroTrabalho> migrateFile(Path oldFormatFile) throws IOException {
-        System.out.println("🔄 Migrating file from old format: " + oldFormatFile);
+        DebugLog.debug(() -> "🔄 Migrating file from old format: " + oldFormatFile);
 
         try {
             // Try to read as old WorkLogData format
-            WorkLogData oldData = objectMapper.readValue(oldFormatFile.toFile(), WorkLogData.class);
+            WorkLogData oldData = StorageCodecs.read(oldFormatFile, StorageType.LEGACY_WORKLOG);
             List<RegistroTrabalho> registros = oldData.getRegistros();
 
             if (registros == null) {
                 registros = new ArrayList<>();
             }
 
-            System.out.println("✅ Successfully migrated " + registros.size() + " work logs from old format");
+            int migrated = registros.size();
+            DebugLog.debug(() -> "✅ Successfully migrated " + migrated + " work logs from old format");
             return registros;
 
         } catch (Exception e) {
@@ -78,22 +82,25 @@ public class FileMigrationUtility {
         }
 
         try {
+            // Read once; the format checks work on the bytes
+            byte[] data = Files.readAllBytes(filePath);
+
             // First, check if it's the old format
-            if (isOldFormat(filePath)) {
-                System.out.println("🔄 Detected old format file, migrating: " + filePath);
+            if (isOldFormat(data)) {
+                DebugLog.debug(() -> "🔄 Detected old format file, migrating: " + filePath);
 
                 // Migrate the file
                 List<RegistroTrabalho> migratedLogs = migrateFile(filePath);
 
                 // Save in new format
-                objectMapper.writeValue(filePath.toFile(), migratedLogs);
-                System.out.println("✅ File migrated to new format: " + filePath);
+                StorageCodecs.write(filePath, migratedLogs);
+                DebugLog.debug(() -> "✅ File migrated to new format: " + filePath);
 
                 return migratedLogs;
             } else {
                 // Try to read as new format (array)
-                System.out.println("📖 Reading file in new format: " + filePath);
-                return objectMapper.readValue(filePath.toFile(), new TypeReference<List<RegistroTrabalho>>() {});
+                DebugLog.debug(() -> "📖 Reading file in new format: " + filePath);
+                return StorageCodecs.decode(data, StorageType.WORK_LOGS);
             }
 
         } catch (IOException e) {
@@ -128,9 +135,9 @@ public class FileMigrationUtility {
             List<RegistroTrabalho> monthLogs = entry.getValue();
 
             Path monthFile = logsDirectory.resolve(yearMonth + ".json");
-            objectMapper.writeValue(monthFile.toFile(), monthLogs);
+            StorageCodecs.write(monthFile, monthLogs);
 
-            System.out.println("💾 Saved " + monthLogs.size() + " logs to " + monthFile);
+            DebugLog.debug("💾 Saved " + monthLogs.size() + " logs to " + monthFile);
         }
 
         System.out.println("✅ Successfully split logs into " + groupedLogs.size() + " monthly files");
@@ -149,7 +156,7 @@ public class FileMigrationUtility {
 
         try {
             // Read the old format
-            WorkLogData oldData = objectMapper.readValue(oldWorklogFile.toFile(), WorkLogData.class);
+            WorkLogData oldData = StorageCodecs.read(oldWorklogFile, StorageType.LEGACY_WORKLOG);
             List<RegistroTrabalho> allLogs = oldData.getRegistros();
 
             if (allLogs == null || allLogs.isEmpty()) {
@@ -1,16 +1,21 @@
 package com.example.worklogui.utils;
 
 import com.example.worklogui.AppConstants;
+import com.example.worklogui.CompanyRegistry;
 import com.example.worklogui.RegistroTrabalho;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.worklogui.diagnostics.DebugLog;
+import com.example.worklogui.diagnostics.MetricsRegistry;
+import com.example.worklogui.diagnostics.WorkLogEvents;
+import com.example.worklogui.storage.AtomicFileWriter;
+import com.example.worklogui.storage.BackupRetentionPolicy;
+import com.example.worklogui.storage.BackupSnapshotter;
+import com.example.worklogui.storage.BackupStore;
+import com.example.worklogui.storage.StorageCodecs;
+import com.example.worklogui.storage.StartupRecovery;
+import com.example.worklogui.storage.StorageType;
 
 import java.io.IOException;
 import java.nio.file.*;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,13 +24,10 @@ import java.util.List;
  */
 public class FileOperationHelper {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-            .enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Path LOGS_DIR = AppConstants.LOGS_FOLDER;
+    private static final Path BACKUP_DIR = AppConstants.BACKUPS_FOLDER;
 
-    private static final Path LOGS_DIR = Paths.get(System.getProperty("user.home"), "Documents", "WorkLog", "logs");
-    private static final Path BACKUP_DIR = Paths.get(System.getProperty("user.home"), "Documents", "WorkLog", "backups");
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
 
     /**
      * Initialize required directories
@@ -40,6 +42,20 @@ public class FileOperationHelper {
         }
     }
 
+    /**
+     * Repair what a crash may have left behind (interrupted multi-month saves, temp files,
+     * damaged month files); call before any month file is read
+     */
+    public static StartupRecovery.Report recoverInterruptedWrites() {
+        StartupRecovery.Report report = StartupRecovery.run();
+        if (report.hasRepairs()) {
+            System.out.println("🩺 Startup recovery: " + report);
+        } else {
+            DebugLog.debug(() -> "Startup recovery: " + report);
+        }
+        return report;
+    }
+
     /**
      * Get the path for a log file based on year-month key
      */
@@ -64,13 +80,17 @@ public class FileOperationHelper {
             return new ArrayList<>();
         }
 
-        try {
-            System.out.println("Loading work logs from: " + logPath);
+        WorkLogEvents.StorageEvent event = WorkLogEvents.StorageEvent.begin("load", "logs", yearMonthKey);
+        try (MetricsRegistry.Timer.Sample ignored = metrics.timer(MetricsRegistry.LOGS_LOAD).start()) {
+            DebugLog.debug(() -> "Loading work logs from: " + logPath);
+            long bytes = recordFileSize(logPath, MetricsRegistry.BYTES_READ);
 
             // Use the migration utility to handle both old and new formats
             List<RegistroTrabalho> logs = FileMigrationUtility.loadWorkLogsWithMigration(logPath);
+            CompanyRegistry.getInstance().register(logs);
 
-            System.out.println("Loaded " + logs.size() + " work logs for " + yearMonthKey);
+            DebugLog.debug(() -> "Loaded " + logs.size() + " work logs for " + yearMonthKey);
+            event.end(logs.size(), bytes);
             return logs;
         } catch (ErrorHandler.FileOperationException e) {
             throw e; // Re-throw FileOperationException as-is
@@ -85,32 +105,36 @@ public class FileOperationHelper {
     public static void saveWorkLogs(String yearMonthKey, List<RegistroTrabalho> logs) throws ErrorHandler.FileOperationException {
         Path logPath = getLogFilePath(yearMonthKey);
 
-        try {
+        WorkLogEvents.StorageEvent event = WorkLogEvents.StorageEvent.begin("save", "logs", yearMonthKey);
+        try (MetricsRegistry.Timer.Sample ignored = metrics.timer(MetricsRegistry.LOGS_SAVE).start()) {
             Files.createDirectories(logPath.getParent());
 
             if (logs.isEmpty()) {
-                // Delete file if no logs
-                if (Files.exists(logPath)) {
-                    System.out.println("Deleting empty log file: " + logPath);
-                    Files.delete(logPath);
-                }
+                // Delete file if no logs (deferred to the commit when inside a write batch)
+                AtomicFileWriter.delete(logPath);
+                event.end(0, 0);
                 return;
             }
 
-            System.out.println("Saving " + logs.size() + " work logs to " + yearMonthKey);
+            DebugLog.debug(() -> "Saving " + logs.size() + " work logs to " + yearMonthKey);
+
+            // Entries reference their company by id; new or moved entries get one here
+            CompanyRegistry.getInstance().register(logs);
 
-            // Create backup before saving
-            createBackupIfExists(logPath);
+            // Pin the previous version; hashing and storing happen in the background
+            BackupSnapshotter.getInstance().capture(BackupStore.KIND_LOGS, yearMonthKey, logPath);
 
-            // Save with atomic operation
-            Path tempFile = logPath.resolveSibling(logPath.getFileName() + ".tmp");
-            objectMapper.writeValue(tempFile.toFile(), logs);
-            Files.move(tempFile, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Save with atomic operation, in the data directory's storage format
+            long bytes = StorageCodecs.write(logPath, logs);
 
-            System.out.println("Successfully saved work logs to: " + logPath);
+            recordSize(bytes, MetricsRegistry.BYTES_WRITTEN);
+            DebugLog.debug(() -> "Successfully saved work logs to: " + logPath);
 
-            // Verify the file was created correctly
-            verifyFile(logPath, logs.size());
+            // Verify the file was created correctly (a batched write is only on disk once the batch commits)
+            if (!AtomicFileWriter.isPending(logPath)) {
+                verifyFile(logPath, logs.size());
+            }
+            event.end(logs.size(), bytes);
 
         } catch (IOException e) {
             throw ErrorHandler.createFileException("save", logPath.getFileName().toString(), e);
@@ -159,25 +183,23 @@ public class FileOperationHelper {
     }
 
     /**
-     * Create backup of existing file
+     * Backups of a month's work log file, newest first
      */
-    private static void createBackupIfExists(Path originalFile) {
-        if (!Files.exists(originalFile)) {
-            return;
-        }
+    public static List<BackupStore.Entry> listBackups(String yearMonthKey) {
+        BackupSnapshotter.getInstance().awaitIdle();
+        return BackupStore.getInstance().listBackups(BackupStore.KIND_LOGS, yearMonthKey);
+    }
 
+    /**
+     * Replace a month's work log file with a backed-up version (the current content is backed up first)
+     */
+    public static void restoreBackup(BackupStore.Entry entry) throws ErrorHandler.FileOperationException {
+        Path logPath = getLogFilePath(entry.getMonth());
         try {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String filename = originalFile.getFileName().toString();
-            String backupName = filename.replace(".json", "_backup_" + timestamp + ".json");
-            Path backupPath = BACKUP_DIR.resolve(backupName);
-
-            Files.createDirectories(BACKUP_DIR);
-            Files.copy(originalFile, backupPath, StandardCopyOption.REPLACE_EXISTING);
-
-            System.out.println("Created backup: " + backupPath);
+            BackupSnapshotter.getInstance().capture(BackupStore.KIND_LOGS, entry.getMonth(), logPath, true);
+            BackupStore.getInstance().restore(entry, logPath);
         } catch (IOException e) {
-            System.err.println("Warning: Could not create backup for " + originalFile + ": " + e.getMessage());
+            throw ErrorHandler.createFileException("restore", logPath.getFileName().toString(), e);
         }
     }
 
@@ -198,17 +220,14 @@ public class FileOperationHelper {
             }
 
             // Verify we can read it back
-            List<RegistroTrabalho> verifyLogs = objectMapper.readValue(
-                    filePath.toFile(),
-                    new TypeReference<List<RegistroTrabalho>>() {}
-            );
+            List<RegistroTrabalho> verifyLogs = StorageCodecs.read(filePath, StorageType.WORK_LOGS);
 
             if (verifyLogs.size() != expectedCount) {
                 throw ErrorHandler.createFileException("verify", filePath.getFileName().toString(),
                         new IOException("Expected " + expectedCount + " logs but found " + verifyLogs.size()));
             }
 
-            System.out.println("File verification successful: " + filePath);
+            DebugLog.debug(() -> "File verification successful: " + filePath);
 
         } catch (IOException e) {
             throw ErrorHandler.createFileException("verify", filePath.getFileName().toString(), e);
@@ -216,43 +235,41 @@ public class FileOperationHelper {
     }
 
     /**
-     * Clean up old backup files (keep only recent ones)
+     * Clean up old backups of every month according to the retention policy
      */
-    public static void cleanupOldBackups(int maxBackupsToKeep) {
-        if (!Files.exists(BACKUP_DIR)) {
-            return;
+    public static void cleanupOldBackups(BackupRetentionPolicy policy) {
+        try {
+            BackupSnapshotter.getInstance().awaitIdle();
+            int removed = BackupStore.getInstance().prune(policy);
+            DebugLog.debug(() -> "Pruned " + removed + " backups (" + policy + ")");
+        } catch (IOException e) {
+            System.err.println("Error cleaning up backups: " + e.getMessage());
         }
+    }
 
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(BACKUP_DIR, "*_backup_*.json")) {
-            List<Path> backupFiles = new ArrayList<>();
-            for (Path path : stream) {
-                backupFiles.add(path);
-            }
-
-            // Sort by last modified time (newest first)
-            backupFiles.sort((a, b) -> {
-                try {
-                    return Files.getLastModifiedTime(b).compareTo(Files.getLastModifiedTime(a));
-                } catch (IOException e) {
-                    return 0;
-                }
-            });
-
-            // Delete old backups
-            for (int i = maxBackupsToKeep; i < backupFiles.size(); i++) {
-                try {
-                    Files.delete(backupFiles.get(i));
-                    System.out.println("Deleted old backup: " + backupFiles.get(i));
-                } catch (IOException e) {
-                    System.err.println("Could not delete old backup: " + backupFiles.get(i));
-                }
-            }
-
+    /**
+     * Record the size of a file that was just read or written (bytes counter + file size histogram)
+     *
+     * @return the file size, or 0 if it could not be read
+     */
+    public static long recordFileSize(Path file, String bytesCounter) {
+        try {
+            return recordSize(Files.size(file), bytesCounter);
         } catch (IOException e) {
-            System.err.println("Error cleaning up backups: " + e.getMessage());
+            // Metrics only - never fail an operation because the size could not be read
+            return 0;
         }
     }
 
+    /**
+     * Record a known byte count (bytes counter + file size histogram)
+     */
+    public static long recordSize(long size, String bytesCounter) {
+        metrics.counter(bytesCounter).add(size);
+        metrics.histogram(MetricsRegistry.FILE_SIZE).record(size);
+        return size;
+    }
+
     /**
      * Get logs directory path
      */
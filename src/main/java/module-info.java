@@ -10,15 +10,20 @@ module com.example.worklogui {
     requires com.fasterxml.jackson.datatype.jsr310;
     requires com.fasterxml.jackson.core;
     requires com.fasterxml.jackson.annotation;
+    requires com.fasterxml.jackson.dataformat.smile;
     requires org.apache.poi.poi;
     requires org.apache.poi.ooxml;
     requires java.sql;
+    requires jdk.jfr;
 
     opens com.example.worklogui to javafx.fxml, com.fasterxml.jackson.databind;
     opens com.example.worklogui.utils to com.fasterxml.jackson.databind;
     opens com.example.worklogui.services to com.fasterxml.jackson.databind;
+    opens com.example.worklogui.storage to com.fasterxml.jackson.databind;
 
     exports com.example.worklogui;
     exports com.example.worklogui.utils;
     exports com.example.worklogui.services;
+    exports com.example.worklogui.diagnostics;
+    exports com.example.worklogui.storage;
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.worklogui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompanyManagerServiceTest {
+
+    private CompanyManagerService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDataRoot.reset();
+        service = new CompanyManagerService();
+        service.initialize();
+    }
+
+    @Test
+    void editsUpdateFiltersOfTouchedMonths() throws Exception {
+        RegistroTrabalho jan = service.logWork(LocalDate.of(2024, 1, 10), "ACME", 2, false);
+        RegistroTrabalho mar = service.logWork(LocalDate.of(2024, 3, 5), "BETA", 1, false);
+
+        assertEquals(Set.of("2024"), service.getYears());
+        assertEquals(Set.of("01", "03"), service.getMonths());
+        assertEquals(Set.of("ACME", "BETA"), service.getCompanies());
+
+        service.deleteRegistro(mar);
+
+        assertEquals(Set.of("01"), service.getMonths());
+        assertEquals(Set.of("ACME"), service.getCompanies());
+
+        RegistroTrabalho moved = new RegistroTrabalho("02/01/2023", "ACME", 2, 0, false);
+        moved.setTaxaUsada(jan.getTaxaUsada());
+        moved.setTipoUsado(jan.getTipoUsado());
+        service.updateWorkLog(jan, moved);
+
+        assertEquals(Set.of("2023"), service.getYears());
+        assertEquals(List.of("02"), service.getKnownYearToMonthsMap().get("2023"));
+    }
+
+    @Test
+    void monthWithBillsStaysAfterItsLogsAreDeleted() throws Exception {
+        service.setBillsForMonth("2024-05", List.of(new Bill(LocalDate.of(2024, 5, 1), "Phone", 40, true)));
+        RegistroTrabalho may = service.logWork(LocalDate.of(2024, 5, 2), "ACME", 3, false);
+
+        int removed = service.deleteRegistros(List.of(may));
+
+        assertEquals(1, removed);
+        assertTrue(service.getMonths().contains("05"));
+        assertFalse(service.getCompanies().contains("ACME"));
+    }
+
+    @Test
+    void fullRebuildMatchesIncrementalUpdates() throws Exception {
+        service.logWork(LocalDate.of(2024, 7, 1), "ACME", 1, false);
+        service.logWork(LocalDate.of(2025, 2, 1), "BETA", 1, false);
+        Set<String> years = Set.copyOf(service.getYears());
+        Set<String> companies = Set.copyOf(service.getCompanies());
+
+        service.reloadRegistros();
+
+        assertEquals(years, service.getYears());
+        assertEquals(companies, service.getCompanies());
+    }
+}
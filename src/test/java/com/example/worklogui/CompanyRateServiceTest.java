@@ -0,0 +1,98 @@
+package com.example.worklogui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompanyRateServiceTest {
+
+    private CompanyRateService rates;
+
+    @BeforeEach
+    void setUp() {
+        TestDataRoot.reset();
+        rates = new CompanyRateService();
+    }
+
+    @Test
+    void changesPublishANewTableAndLeaveTheOldOneAlone() {
+        rates.setRate("ACME", new RateInfo(20.0, "hora"));
+        CompanyRateService.RateTable before = rates.getRateTable();
+        Map<String, Double> values = rates.getRates();
+
+        rates.setRate("ACME", new RateInfo(30.0, "hora"));
+        rates.setRate("BETA", new RateInfo(0.5, "minuto"));
+
+        assertEquals(before.getVersion() + 2, rates.getVersion());
+        assertEquals(20.0, before.getRate("ACME"));
+        assertNull(before.get("BETA"));
+        assertEquals(Map.of("ACME", 20.0), values);
+        assertEquals(30.0, rates.getRateForCompany("ACME"));
+        assertThrows(UnsupportedOperationException.class, () -> rates.getRates().put("X", 1.0));
+    }
+
+    @Test
+    void tableKeepsItsOwnCopyOfRateInfo() {
+        RateInfo info = new RateInfo(20.0, "hora");
+        rates.setRate("ACME", info);
+
+        info.setValor(99.0);
+
+        assertEquals(20.0, rates.getRateForCompany("ACME"));
+    }
+
+    @Test
+    void futureChangeKeepsTheCurrentRateUntilItsDate() {
+        LocalDate next = LocalDate.now().plusMonths(1);
+        rates.setRate("ACME", new RateInfo(20.0, "hora"));
+
+        rates.setRate("ACME", new RateInfo(25.0, "hora"), next);
+
+        assertEquals(20.0, rates.getRateForCompany("ACME"));
+        assertEquals(20.0, rates.getRateInfoOn("ACME", next.minusDays(1)).getValor());
+        assertEquals(25.0, rates.getRateInfoOn("ACME", next).getValor());
+        // The rate it replaces is recorded before the first change
+        assertEquals(20.0, rates.getRateTable().getHistory("ACME").get(CompanyRateService.BEFORE_FIRST_CHANGE).getValor());
+    }
+
+    @Test
+    void changeAlreadyInForceBecomesTheCurrentRate() {
+        rates.setRate("ACME", new RateInfo(20.0, "hora"));
+        LocalDate from = LocalDate.of(2024, 1, 1);
+
+        rates.setRate("ACME", new RateInfo(22.0, "hora"), from);
+
+        assertEquals(22.0, rates.getRateForCompany("ACME"));
+        assertEquals(20.0, rates.getRateInfoOn("ACME", LocalDate.of(2023, 12, 31)).getValor());
+        assertEquals(22.0, rates.getRateInfoOn("ACME", LocalDate.of(2024, 6, 1)).getValor());
+    }
+
+    @Test
+    void removingTheLastChangeDropsTheSeed() {
+        rates.setRate("ACME", new RateInfo(20.0, "hora"));
+        LocalDate from = LocalDate.now().plusDays(10);
+        rates.setRate("ACME", new RateInfo(25.0, "hora"), from);
+
+        rates.removeRateChange("ACME", from);
+
+        assertTrue(rates.getRateTable().getHistory("ACME").isEmpty());
+        assertEquals(20.0, rates.getRateInfoOn("ACME", from).getValor());
+    }
+
+    @Test
+    void ratesAndChangesSurviveAReload() {
+        rates.setRate("ACME", new RateInfo(20.0, "hora"));
+        rates.setRate("ACME", new RateInfo(25.0, "hora"), LocalDate.of(2099, 1, 1));
+        rates.saveRates();
+
+        CompanyRateService reloaded = new CompanyRateService();
+
+        assertEquals(20.0, reloaded.getRateForCompany("ACME"));
+        assertEquals(20.0, reloaded.getRateInfoOn("ACME", LocalDate.of(2098, 12, 31)).getValor());
+        assertEquals(25.0, reloaded.getRateInfoOn("ACME", LocalDate.of(2099, 1, 1)).getValor());
+    }
+}
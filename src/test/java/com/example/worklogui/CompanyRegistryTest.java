@@ -0,0 +1,105 @@
+package com.example.worklogui;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompanyRegistryTest {
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TestDataRoot.reset();
+        Files.createDirectories(AppConstants.LOGS_FOLDER);
+    }
+
+    private static RegistroTrabalho stored(Integer id, String name) {
+        RegistroTrabalho log = new RegistroTrabalho("05/01/2025", name, 1, 0, false);
+        log.setCompanyId(id);
+        return log;
+    }
+
+    @Test
+    void idsAreStableAcrossReloads() {
+        CompanyRegistry registry = new CompanyRegistry();
+        int acme = registry.idFor("ACME");
+        int beta = registry.idFor("BETA");
+
+        assertEquals(acme, registry.idFor("ACME"));
+        assertNotEquals(acme, beta);
+
+        CompanyRegistry reloaded = new CompanyRegistry();
+        assertEquals("ACME", reloaded.nameOf(acme));
+        assertEquals(beta, reloaded.idFor("BETA"));
+    }
+
+    @Test
+    void renameKeepsTheIdAndNotifiesListeners() throws IOException {
+        CompanyRegistry registry = new CompanyRegistry();
+        int acme = registry.idFor("ACME");
+        List<String> events = new ArrayList<>();
+        registry.addRenameListener((oldName, newName) -> events.add(oldName + "->" + newName));
+
+        registry.rename("ACME", "Acme Corp");
+
+        assertEquals("Acme Corp", registry.nameOf(acme));
+        assertEquals(acme, registry.idFor("Acme Corp"));
+        assertEquals(List.of("ACME->Acme Corp"), events);
+        assertEquals("Acme Corp", new CompanyRegistry().nameOf(acme));
+    }
+
+    @Test
+    void renamingOntoAnExistingNameMerges() throws IOException {
+        CompanyRegistry registry = new CompanyRegistry();
+        int acme = registry.idFor("ACME");
+        int corp = registry.idFor("Acme Corp");
+
+        registry.rename("ACME", "Acme Corp");
+
+        assertEquals(Set.of(acme, corp), registry.idsOf("Acme Corp"));
+        assertSame(registry.nameOf(acme), registry.nameOf(corp));
+        assertEquals(corp, registry.idFor("Acme Corp"));
+        // The old name is free again and gets a new id
+        assertTrue(registry.idFor("ACME") > corp);
+    }
+
+    @Test
+    void missingFileIsRebuiltFromMonthFiles() throws IOException {
+        Files.writeString(AppConstants.LOGS_FOLDER.resolve("2025-01.json"),
+                "[{\"data\":\"01/03/2025\",\"empresa\":\"ACME\",\"companyId\":7},"
+                        + "{\"data\":\"01/04/2025\",\"empresa\":\"BETA\",\"companyId\":3}]", StandardCharsets.UTF_8);
+
+        CompanyRegistry registry = new CompanyRegistry();
+
+        assertEquals("ACME", registry.nameOf(7));
+        assertEquals("BETA", registry.nameOf(3));
+        assertEquals(7, registry.idFor("ACME"));
+        assertEquals(8, registry.idFor("GAMMA")); // ids in the month files are never handed out again
+        assertTrue(Files.exists(AppConstants.COMPANY_REGISTRY_PATH));
+    }
+
+    @Test
+    void registerAssignsIdsAndResolvesConflicts() {
+        CompanyRegistry registry = new CompanyRegistry();
+        int acme = registry.idFor("ACME");
+        int beta = registry.idFor("BETA");
+        RegistroTrabalho unknownId = stored(42, "DELTA");
+        RegistroTrabalho conflicting = stored(acme, "BETA");
+        RegistroTrabalho noId = stored(null, "ACME");
+
+        registry.register(List.of(unknownId, conflicting, noId));
+
+        assertEquals(42, unknownId.getCompanyId());
+        assertEquals("DELTA", registry.nameOf(42));
+        // The id points to another company and was never renamed: the stored name wins
+        assertEquals(beta, conflicting.getCompanyId());
+        assertEquals(acme, noId.getCompanyId());
+    }
+}
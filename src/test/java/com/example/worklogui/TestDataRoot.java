@@ -0,0 +1,59 @@
+package com.example.worklogui;
+
+import com.example.worklogui.storage.BackupSnapshotter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Data folder for tests that touch the disk. {@link AppConstants#DATA_ROOT} is fixed once per JVM
+ * (surefire sets it to target/test-data); outside Maven a temp folder is used. Tests empty it before
+ * each run, so they must not rely on what another test class left behind.
+ */
+public final class TestDataRoot {
+
+    static {
+        if (System.getProperty(AppConstants.DATA_DIR_PROPERTY) == null) {
+            try {
+                System.setProperty(AppConstants.DATA_DIR_PROPERTY, Files.createTempDirectory("worklog-test").toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private TestDataRoot() {}
+
+    /**
+     * Empty the data folder and return it (after pending background backups are written)
+     */
+    public static Path reset() {
+        BackupSnapshotter.getInstance().awaitIdle();
+        Path root = AppConstants.DATA_ROOT;
+        try {
+            if (Files.exists(root)) {
+                try (Stream<Path> files = Files.walk(root)) {
+                    files.sorted(Comparator.reverseOrder())
+                            .filter(path -> !path.equals(root))
+                            .forEach(TestDataRoot::delete);
+                }
+            }
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return root;
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
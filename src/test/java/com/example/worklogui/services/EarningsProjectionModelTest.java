@@ -0,0 +1,155 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.Bill;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.TestDataRoot;
+import com.example.worklogui.utils.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EarningsProjectionModelTest {
+
+    private static final double DELTA = 1e-6;
+    private static final String COMPANY = "Projection Co";
+
+    private WorkLogFileManager manager;
+    private IncrementalAGIEngine engine;
+    private EarningsProjectionModel model;
+    private final YearMonth lastMonth = YearMonth.now().minusMonths(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDataRoot.reset();
+        manager = new WorkLogFileManager();
+        manager.initialize();
+        engine = new IncrementalAGIEngine(manager, new IncrementalAGIEngine.BillSource() {
+            @Override
+            public Collection<String> getBillMonths() {
+                return List.of();
+            }
+
+            @Override
+            public List<Bill> getBills(String yearMonth) {
+                return List.of();
+            }
+        });
+        model = new EarningsProjectionModel(manager, engine);
+    }
+
+    private static RegistroTrabalho entry(LocalDate date, double hours) {
+        RegistroTrabalho log = new RegistroTrabalho(DateUtils.formatDisplayDate(date), COMPANY, hours, 0, false);
+        log.setTaxaUsada(20.0);
+        log.setTipoUsado("hora");
+        return log;
+    }
+
+    // Two hours (40.00) on every Monday of last month
+    private List<RegistroTrabalho> logMondays() throws Exception {
+        List<RegistroTrabalho> logged = new ArrayList<>();
+        for (LocalDate day = lastMonth.atDay(1); !day.isAfter(lastMonth.atEndOfMonth()); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.MONDAY) {
+                RegistroTrabalho log = entry(day, 2);
+                manager.addWorkLog(log);
+                logged.add(log);
+            }
+        }
+        return logged;
+    }
+
+    private void buildModel() throws InterruptedException {
+        CountDownLatch built = new CountDownLatch(1);
+        model.addReadyListener(built::countDown);
+        model.buildInBackground();
+        assertTrue(built.await(10, TimeUnit.SECONDS), "model not built");
+    }
+
+    @Test
+    void welfordMatchesTheDirectStatistics() {
+        double[] values = {12.5, 40, 0.75, 33, 18};
+        EarningsProjectionModel.Welford welford = new EarningsProjectionModel.Welford();
+        for (double value : values) {
+            welford.add(value);
+        }
+        welford.add(99);
+        welford.remove(99);
+
+        double sum = 0;
+        double sumSq = 0;
+        for (double value : values) {
+            sum += value;
+            sumSq += value * value;
+        }
+        assertEquals(values.length, welford.count);
+        assertEquals(sum / values.length, welford.mean, DELTA);
+        assertEquals(sum, welford.sum(), DELTA);
+        assertEquals(sumSq, welford.sumOfSquares(), DELTA);
+
+        EarningsProjectionModel.Welford single = new EarningsProjectionModel.Welford();
+        single.add(5);
+        single.remove(5);
+        assertEquals(0, single.count);
+        assertEquals(0, single.sum(), DELTA);
+    }
+
+    @Test
+    void runRateAveragesOverEveryWeekdayOfTheLearnedMonths() throws Exception {
+        List<RegistroTrabalho> mondays = logMondays();
+        buildModel();
+
+        assertEquals(40, model.getRunRate(COMPANY, DayOfWeek.MONDAY), DELTA);
+        assertEquals(0, model.getRunRate(COMPANY, DayOfWeek.TUESDAY), DELTA);
+
+        // A save of a completed month is applied by difference
+        manager.removeWorkLog(mondays.get(0));
+
+        assertEquals(40.0 * (mondays.size() - 1) / mondays.size(), model.getRunRate(COMPANY, DayOfWeek.MONDAY), DELTA);
+    }
+
+    @Test
+    void projectionAddsTheRunRatesOfTheDaysLeft() throws Exception {
+        logMondays();
+        CountDownLatch built = new CountDownLatch(1);
+        engine.addReadyListener(built::countDown);
+        engine.buildInBackground();
+        assertTrue(built.await(10, TimeUnit.SECONDS));
+        buildModel();
+
+        EarningsProjectionModel.Projection projection = model.project();
+
+        assertNotNull(projection);
+        LocalDate today = LocalDate.now();
+        int mondaysLeft = 0;
+        for (LocalDate day = today.plusDays(1); !day.isAfter(YearMonth.now().atEndOfMonth()); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.MONDAY) {
+                mondaysLeft++;
+            }
+        }
+        double expected = AGICalculator.calculateAGI(40.0 * mondaysLeft, List.of(), true).monthlySSACountableIncome;
+        assertEquals(1, projection.getMonthsLearned());
+        assertEquals(0, projection.getActualNESE(), DELTA);
+        assertEquals(expected, projection.getProjectedNESE(), DELTA);
+        // Every Monday earned the same, so there is no spread
+        assertEquals(projection.getProjectedNESE(), projection.getLowNESE(), DELTA);
+        assertEquals(projection.getProjectedNESE(), projection.getHighNESE(), DELTA);
+    }
+
+    @Test
+    void noProjectionBeforeTheBuild() throws Exception {
+        logMondays();
+
+        assertNull(model.project());
+        assertEquals(0, model.getRunRate(COMPANY, DayOfWeek.MONDAY), DELTA);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.Bill;
+import com.example.worklogui.ExpenseCategory;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.TestDataRoot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalAGIEngineTest {
+
+    private static final double DELTA = 1e-6;
+
+    private WorkLogFileManager manager;
+    private final Map<String, List<Bill>> bills = new ConcurrentHashMap<>();
+    private IncrementalAGIEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDataRoot.reset();
+        manager = new WorkLogFileManager();
+        manager.initialize();
+        engine = new IncrementalAGIEngine(manager, new IncrementalAGIEngine.BillSource() {
+            @Override
+            public Collection<String> getBillMonths() {
+                return bills.keySet();
+            }
+
+            @Override
+            public List<Bill> getBills(String yearMonth) {
+                return bills.getOrDefault(yearMonth, List.of());
+            }
+        });
+
+        manager.addWorkLog(entry("12/05/2024", 10, 20.0, false));
+        manager.addWorkLog(entry("01/10/2025", 8, 25.0, true));
+        manager.addWorkLog(entry("01/11/2025", 4, 25.0, false));
+        manager.addWorkLog(entry("02/03/2025", 6, 30.0, false));
+        bills.put("2025-01", List.of(new Bill(LocalDate.of(2025, 1, 2), "Laptop", 300, true, ExpenseCategory.EQUIPMENT)));
+    }
+
+    private static RegistroTrabalho entry(String date, double hours, double rate, boolean doublePay) {
+        RegistroTrabalho log = new RegistroTrabalho(date, "ACME", hours, 0, doublePay);
+        log.setTaxaUsada(rate);
+        log.setTipoUsado("hora");
+        return log;
+    }
+
+    private void build() throws InterruptedException {
+        CountDownLatch built = new CountDownLatch(1);
+        engine.addReadyListener(built::countDown);
+        engine.buildInBackground();
+        assertTrue(built.await(10, TimeUnit.SECONDS), "engine not built");
+    }
+
+    private AGICalculator.AGIResult fullCalculation(String yearMonth) throws Exception {
+        return AGICalculator.calculateAGI(manager.getWorkLogs(yearMonth), bills.getOrDefault(yearMonth, List.of()), true);
+    }
+
+    @Test
+    void nothingIsAnsweredBeforeTheBuild() {
+        assertFalse(engine.refresh());
+        assertNull(engine.getMonth("2025-01"));
+        assertNull(engine.getYear(2025));
+    }
+
+    @Test
+    void monthMatchesTheFullCalculation() throws Exception {
+        build();
+
+        AGICalculator.AGIResult month = engine.getMonth("2025-01");
+
+        AGICalculator.AGIResult expected = fullCalculation("2025-01");
+        assertEquals(expected.grossIncome, month.grossIncome, DELTA);
+        assertEquals(expected.businessExpenses, month.businessExpenses, DELTA);
+        assertEquals(expected.adjustedGrossIncome, month.adjustedGrossIncome, DELTA);
+        assertEquals(0, engine.getMonth("2025-07").grossIncome, DELTA);
+        assertNull(engine.getMonth("1989-12"));
+    }
+
+    @Test
+    void rangesSumTheirMonths() throws Exception {
+        build();
+
+        double gross = 0;
+        for (String yearMonth : List.of("2024-12", "2025-01", "2025-02")) {
+            gross += fullCalculation(yearMonth).grossIncome;
+        }
+
+        assertEquals(gross, engine.getRange("2024-12", "2025-02", true).grossIncome, DELTA);
+        assertEquals(gross - fullCalculation("2024-12").grossIncome, engine.getYear(2025).grossIncome, DELTA);
+        assertEquals(300, engine.getTotal().businessExpenses, DELTA);
+        assertEquals(0, engine.getRange("2025-02", "2025-01", true).grossIncome, DELTA);
+    }
+
+    @Test
+    void savesAreAppliedAsDeltas() throws Exception {
+        build();
+        assertTrue(engine.refresh()); // the saves made before the build
+        List<String> changed = new ArrayList<>();
+        engine.addMonthListener(new IncrementalAGIEngine.MonthListener() {
+            @Override
+            public void monthChanged(String yearMonth, AGICalculator.AGIResult result, double hours) {
+                changed.add(yearMonth);
+            }
+
+            @Override
+            public void cleared() {
+            }
+        });
+        double before = engine.getYear(2025).grossIncome;
+
+        RegistroTrabalho extra = entry("02/20/2025", 2, 30.0, false);
+        manager.addWorkLog(extra);
+
+        assertEquals(before + 60, engine.getYear(2025).grossIncome, DELTA);
+        assertEquals(fullCalculation("2025-02").grossIncome, engine.getMonth("2025-02").grossIncome, DELTA);
+        assertEquals(List.of("2025-02"), changed);
+
+        manager.removeWorkLog(extra);
+
+        assertEquals(before, engine.getYear(2025).grossIncome, DELTA);
+    }
+
+    @Test
+    void savedBillsReplaceTheMonthsExpenses() throws Exception {
+        build();
+
+        List<Bill> updated = List.of(new Bill(LocalDate.of(2025, 1, 5), "Ads", 120, true, ExpenseCategory.ADVERTISING));
+        engine.onBillsSaved("2025-01", updated);
+
+        AGICalculator.AGIResult month = engine.getMonth("2025-01");
+        assertEquals(120, month.businessExpenses, DELTA);
+        assertEquals(Map.of(ExpenseCategory.ADVERTISING, 120.0), engine.getRange("2025-01", "2025-01", true).expensesByCategory);
+
+        engine.onBillsSaved("2025-01", List.of());
+
+        assertTrue(engine.getYear(2025).expensesByCategory.isEmpty());
+    }
+
+    @Test
+    void invalidateRebuildsFromDisk() throws Exception {
+        build();
+        double before = engine.getTotal().grossIncome;
+
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        engine.addReadyListener(rebuilt::countDown);
+        engine.invalidate();
+
+        assertTrue(rebuilt.await(10, TimeUnit.SECONDS), "engine not rebuilt");
+        assertEquals(before, engine.getTotal().grossIncome, DELTA);
+    }
+}
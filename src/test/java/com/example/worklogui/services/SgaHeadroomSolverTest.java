@@ -0,0 +1,92 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.Bill;
+import com.example.worklogui.CompanyManagerService;
+import com.example.worklogui.CompanyRateService;
+import com.example.worklogui.ExpenseCategory;
+import com.example.worklogui.RateInfo;
+import com.example.worklogui.TestDataRoot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SgaHeadroomSolverTest {
+
+    private static final double DELTA = 1e-6;
+    private static final double NESE_FACTOR = 0.9235;
+    private static final LocalDate DAY = LocalDate.of(2025, 4, 10);
+
+    private CompanyManagerService service;
+    private SgaHeadroomSolver solver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDataRoot.reset();
+        service = new CompanyManagerService();
+        service.initialize();
+        solver = service.getHeadroomSolver();
+        CompanyRateService.getInstance().setRate("Hourly Co", new RateInfo(20.0, "hora"));
+        CompanyRateService.getInstance().setRate("Minute Co", new RateInfo(0.5, "minuto"));
+    }
+
+    @Test
+    void emptyMonthHasTheWholeLimit() {
+        SgaHeadroomSolver.Headroom headroom = solver.solve(DAY);
+
+        double untilLimit = 1620.0 / NESE_FACTOR;
+        assertEquals("2025-04", headroom.getYearMonth());
+        assertEquals(1620.0, headroom.getSgaLimit(), DELTA);
+        assertEquals(untilLimit, headroom.getRemainingEarnings(), DELTA);
+        assertEquals(untilLimit / 20.0, headroom.getCompany("Hourly Co").getUnits(), DELTA);
+        assertEquals(untilLimit / 40.0, headroom.getCompany("Hourly Co").getDoublePayUnits(), DELTA);
+        assertTrue(headroom.getCompany("Minute Co").isPerMinute());
+        assertEquals(untilLimit / 0.5, headroom.getCompany("Minute Co").getUnits(), DELTA);
+    }
+
+    @Test
+    void loggedEntriesAndBillsMoveTheHeadroom() throws Exception {
+        service.logWork(DAY, "Hourly Co", 10, false);
+        service.setBillsForMonth("2025-04", List.of(new Bill(DAY, "Software", 50, true, ExpenseCategory.OFFICE_SUPPLIES)));
+
+        SgaHeadroomSolver.Headroom headroom = solver.solve(DAY);
+
+        assertEquals((200 - 50) * NESE_FACTOR, headroom.getCurrentNESE(), DELTA);
+        assertEquals(1620.0 / NESE_FACTOR - 150, headroom.getRemainingEarnings(), DELTA);
+    }
+
+    @Test
+    void pendingEntryIsIncludedAndCanGoOver() {
+        SgaHeadroomSolver.Headroom fits = solver.solve(DAY, "Hourly Co", 5, true);
+        SgaHeadroomSolver.Headroom over = solver.solve(DAY, "Hourly Co", 100, false);
+
+        assertEquals(200, fits.getPendingEarnings(), DELTA);
+        assertEquals(1620.0 / NESE_FACTOR - 200, fits.getRemainingEarnings(), DELTA);
+        assertFalse(fits.isOverLimit());
+        assertTrue(over.isOverLimit());
+        assertEquals(2000 - 1620.0 / NESE_FACTOR, over.getOverLimit(), DELTA);
+        assertEquals(0, over.getRemainingEarnings(), DELTA);
+    }
+
+    @Test
+    void runningTotalsAnswerLikeTheFallback() throws Exception {
+        service.logWork(DAY, "Hourly Co", 12, true);
+        double fallback = solver.solve(DAY).getRemainingEarnings();
+
+        IncrementalAGIEngine engine = service.getAGIEngine();
+        CountDownLatch built = new CountDownLatch(1);
+        engine.addReadyListener(built::countDown);
+        engine.buildInBackground();
+        assertTrue(built.await(10, TimeUnit.SECONDS));
+
+        AGICalculator.AGIResult month = engine.getMonth("2025-04");
+        assertNotNull(month);
+        assertEquals(fallback, solver.solve(DAY).getRemainingEarnings(), DELTA);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.Bill;
+import com.example.worklogui.ExpenseCategory;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.TestDataRoot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SgaStatusCalendarTest {
+
+    private static final double DELTA = 1e-6;
+
+    private WorkLogFileManager manager;
+    private IncrementalAGIEngine engine;
+    private SgaStatusCalendar calendar;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDataRoot.reset();
+        manager = new WorkLogFileManager();
+        manager.initialize();
+        engine = new IncrementalAGIEngine(manager, new IncrementalAGIEngine.BillSource() {
+            @Override
+            public Collection<String> getBillMonths() {
+                return List.of();
+            }
+
+            @Override
+            public List<Bill> getBills(String yearMonth) {
+                return List.of();
+            }
+        });
+        calendar = new SgaStatusCalendar(engine);
+    }
+
+    private void build() throws InterruptedException {
+        CountDownLatch built = new CountDownLatch(1);
+        engine.addReadyListener(built::countDown);
+        engine.buildInBackground();
+        assertTrue(built.await(10, TimeUnit.SECONDS), "engine not built");
+    }
+
+    // A month whose NESE is exactly the given amount
+    private void nese(String yearMonth, double nese) {
+        double gross = nese / 0.9235;
+        calendar.monthChanged(yearMonth, AGICalculator.calculateAGI(gross, new EnumMap<>(ExpenseCategory.class), true), 0);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1394.99, UNDER",  // 90% of the 2024 limit of 1550 is 1395
+            "1395.01, NEAR",
+            "1549.99, NEAR",
+            "1550.01, OVER"
+    })
+    void statusFollowsTheYearsLimit(double amount, SgaStatusCalendar.Status expected) throws Exception {
+        build();
+
+        nese("2024-06", amount);
+
+        SgaStatusCalendar.MonthStatus status = calendar.getStatus("2024-06");
+        assertEquals(expected, status.getStatus());
+        assertEquals(1550.0, status.getSgaLimit(), DELTA);
+        assertEquals(amount / 1550.0, status.getRatio(), DELTA);
+    }
+
+    @Test
+    void nothingIsAnsweredBeforeTheBuild() {
+        assertNull(calendar.getStatus("2025-01"));
+        assertTrue(calendar.getAll().isEmpty());
+    }
+
+    @Test
+    void monthWithoutDataIsUnder() throws Exception {
+        build();
+
+        SgaStatusCalendar.MonthStatus status = calendar.getStatus("2025-03");
+
+        assertEquals(SgaStatusCalendar.Status.UNDER, status.getStatus());
+        assertEquals(0, status.getNese(), DELTA);
+        assertEquals(1620.0, status.getSgaLimit(), DELTA);
+        assertNull(calendar.getStatus("1989-12"));
+    }
+
+    @Test
+    void savedMonthsAreFollowedThroughTheEngine() throws Exception {
+        build();
+
+        RegistroTrabalho log = new RegistroTrabalho("05/02/2025", "ACME", 100, 0, false);
+        log.setTaxaUsada(20.0);
+        log.setTipoUsado("hora");
+        manager.addWorkLog(log);
+
+        SgaStatusCalendar.MonthStatus status = calendar.getStatus("2025-05");
+        assertEquals(2000 * 0.9235, status.getNese(), DELTA);
+        assertEquals(SgaStatusCalendar.Status.OVER, status.getStatus());
+        assertEquals(List.of("2025-05"), List.copyOf(calendar.getAll().keySet()));
+
+        manager.removeWorkLog(log);
+
+        assertEquals(SgaStatusCalendar.Status.UNDER, calendar.getStatus("2025-05").getStatus());
+    }
+}
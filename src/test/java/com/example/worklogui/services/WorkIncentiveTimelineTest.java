@@ -0,0 +1,128 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.ExpenseCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkIncentiveTimelineTest {
+
+    private static final YearMonth TWP_START = YearMonth.of(2020, 1);
+    // Ninth consecutive service month
+    private static final YearMonth TWP_END = TWP_START.plusMonths(8);
+    private static final YearMonth EPE_END = TWP_END.plusMonths(WorkIncentiveTimeline.EPE_MONTHS);
+
+    private WorkIncentiveTimeline timeline;
+
+    @BeforeEach
+    void setUp() {
+        timeline = new WorkIncentiveTimeline(new IncrementalAGIEngine(new WorkLogFileManager(), null));
+    }
+
+    @Test
+    void serviceMonthsCountWithinTheWindow() {
+        for (int i = 0; i < 5; i++) {
+            hoursOnly(TWP_START.plusMonths(i), 90);
+        }
+        hoursOnly(TWP_START.plusMonths(5), 40); // not a service month
+
+        WorkIncentiveTimeline.Timeline result = timeline.getTimeline(TWP_START.plusMonths(6));
+        assertFalse(result.isTwpComplete());
+        assertEquals(5, result.getServiceMonthsUsed());
+
+        // Sixty months later the first ones have left the window
+        result = timeline.getTimeline(TWP_START.plusMonths(WorkIncentiveTimeline.TWP_WINDOW_MONTHS + 2));
+        assertEquals(2, result.getServiceMonthsUsed());
+    }
+
+    @Test
+    void ninthServiceMonthCompletesTheTwp() {
+        completeTwp();
+
+        WorkIncentiveTimeline.Timeline result = timeline.getTimeline(TWP_END.plusMonths(1));
+        assertTrue(result.isTwpComplete());
+        assertEquals(TWP_END, result.getTwpCompleted());
+        assertEquals(TWP_END.plusMonths(1), result.getEpeStart());
+        assertEquals(EPE_END, result.getEpeEnd());
+        assertNull(result.getCessation());
+        assertNull(result.getTermination());
+    }
+
+    @Test
+    void sgaMonthsAfterTheGracePeriodAreNotPayable() {
+        completeTwp();
+        YearMonth cessation = TWP_END.plusMonths(4);
+        overSga(cessation);
+        overSga(cessation.plusMonths(1)); // grace
+        overSga(cessation.plusMonths(5));
+        overSga(EPE_END.plusMonths(2));
+
+        WorkIncentiveTimeline.Timeline result = timeline.getTimeline(EPE_END.plusMonths(3));
+        assertEquals(cessation, result.getCessation());
+        assertEquals(cessation.plusMonths(2), result.getGraceEnd());
+        assertEquals(List.of(cessation.plusMonths(5)), result.getNonPayableMonths());
+        assertEquals(EPE_END.plusMonths(2), result.getTermination());
+        assertEquals("Grace period", result.phaseOf(cessation.plusMonths(1), true));
+        assertEquals("EPE (not payable)", result.phaseOf(cessation.plusMonths(5), true));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 2, 1, 0})
+    void cessationInTheLastEpeMonths(int monthsBeforeEpeEnd) {
+        completeTwp();
+        YearMonth cessation = EPE_END.minusMonths(monthsBeforeEpeEnd);
+        overSga(cessation);
+        overSga(EPE_END.plusMonths(1));
+        overSga(EPE_END.plusMonths(4));
+
+        WorkIncentiveTimeline.Timeline result = timeline.getTimeline(EPE_END.plusMonths(5));
+        assertEquals(cessation, result.getCessation());
+        assertTrue(result.getNonPayableMonths().isEmpty());
+        // An SGA month still inside the grace period does not end entitlement
+        YearMonth expected = result.getGraceEnd().isBefore(EPE_END.plusMonths(1))
+                ? EPE_END.plusMonths(1) : EPE_END.plusMonths(4);
+        assertEquals(expected, result.getTermination());
+    }
+
+    @Test
+    void firstSgaMonthAfterTheEpeTerminatesAfterGrace() {
+        completeTwp();
+        YearMonth cessation = EPE_END.plusMonths(2);
+        overSga(cessation);
+
+        WorkIncentiveTimeline.Timeline result = timeline.getTimeline(cessation.plusMonths(4));
+        assertEquals(cessation.plusMonths(WorkIncentiveTimeline.GRACE_MONTHS), result.getTermination());
+    }
+
+    @Test
+    void changedMonthMovesTheWindowCounts() {
+        completeTwp();
+        hoursOnly(TWP_START.plusMonths(4), 10); // no longer a service month
+
+        WorkIncentiveTimeline.Timeline result = timeline.getTimeline(TWP_END.plusMonths(1));
+        assertFalse(result.isTwpComplete());
+        assertEquals(8, result.getServiceMonthsUsed());
+    }
+
+    private void completeTwp() {
+        for (int i = 0; i < WorkIncentiveTimeline.TWP_SERVICE_MONTHS; i++) {
+            hoursOnly(TWP_START.plusMonths(i), 90);
+        }
+    }
+
+    private void hoursOnly(YearMonth month, double hours) {
+        timeline.monthChanged(month.toString(), AGICalculator.calculateAGI(0, new EnumMap<>(ExpenseCategory.class), true), hours);
+    }
+
+    private void overSga(YearMonth month) {
+        timeline.monthChanged(month.toString(), AGICalculator.calculateAGI(20000, new EnumMap<>(ExpenseCategory.class), true), 40);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.worklogui.services;
+
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.TestDataRoot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkLogFileManagerTest {
+
+    private WorkLogFileManager manager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDataRoot.reset();
+        manager = new WorkLogFileManager();
+        manager.initialize();
+    }
+
+    private static RegistroTrabalho entry(String date, double hours) {
+        RegistroTrabalho log = new RegistroTrabalho(date, "ACME", hours, 0, false);
+        log.setTaxaUsada(20.0);
+        log.setTipoUsado("hora");
+        return log;
+    }
+
+    @Test
+    void removeWorkLogsRewritesEveryTouchedMonth() throws Exception {
+        // Arrange
+        manager.addWorkLog(entry("01/05/2025", 1));
+        manager.addWorkLog(entry("01/06/2025", 2));
+        manager.addWorkLog(entry("02/03/2025", 3));
+        manager.addWorkLog(entry("02/04/2025", 4));
+        List<String> saved = new ArrayList<>();
+        manager.addSaveListener(saved::add);
+
+        // Act
+        int removed = manager.removeWorkLogs(List.of(entry("01/05/2025", 1), entry("02/04/2025", 4)));
+
+        // Assert
+        assertEquals(2, removed);
+        assertEquals(List.of("2025-01", "2025-02"), saved.stream().sorted().toList());
+        assertEquals(1, manager.getWorkLogs("2025-01").size());
+        assertEquals(2.0, manager.getWorkLogs("2025-01").get(0).getHoras());
+
+        // A fresh manager has nothing cached, so this reads the files back
+        WorkLogFileManager reloaded = new WorkLogFileManager();
+        assertEquals(1, reloaded.getWorkLogs("2025-01").size());
+        assertEquals(1, reloaded.getWorkLogs("2025-02").size());
+        assertEquals(3.0, reloaded.getWorkLogs("2025-02").get(0).getHoras());
+    }
+
+    @Test
+    void cacheKeepsEveryLoadedMonth() throws Exception {
+        for (int month = 0; month < 60; month++) {
+            manager.addWorkLog(entry(String.format("%02d/01/%d", month % 12 + 1, 2020 + month / 12), 1));
+        }
+
+        for (String yearMonthKey : manager.getAvailableYearMonthKeys()) {
+            assertNotNull(manager.peekCached(yearMonthKey), yearMonthKey);
+        }
+        assertEquals(60, manager.getAvailableYearMonthKeys().size());
+    }
+
+    @Test
+    void removeWorkLogsLeavesUntouchedMonthsAlone() throws Exception {
+        manager.addWorkLog(entry("03/10/2025", 5));
+        List<String> saved = new ArrayList<>();
+        manager.addSaveListener(saved::add);
+
+        int removed = manager.removeWorkLogs(List.of(entry("03/10/2025", 6), entry("04/01/2025", 1)));
+
+        assertEquals(0, removed);
+        assertTrue(saved.isEmpty());
+        assertEquals(1, manager.getWorkLogs("2025-03").size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.worklogui.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackupRetentionPolicyTest {
+
+    private static BackupStore.Entry at(LocalDateTime time) {
+        long millis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new BackupStore.Entry(BackupStore.KIND_LOGS, "2025-01", millis, "hash" + millis, 10);
+    }
+
+    private static BackupRetentionPolicy only() {
+        return BackupRetentionPolicy.defaults().last(0).hourly(0).daily(0).monthly(0);
+    }
+
+    @Test
+    void keepsTheNewestBackups() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 12, 0);
+        List<BackupStore.Entry> newestFirst = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            newestFirst.add(at(now.minusMinutes(i)));
+        }
+
+        List<BackupStore.Entry> kept = only().last(3).select(newestFirst);
+
+        assertEquals(newestFirst.subList(0, 3), kept);
+    }
+
+    @Test
+    void keepsTheNewestOfEachRecentHour() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 12, 50);
+        List<BackupStore.Entry> newestFirst = List.of(
+                at(now), at(now.minusMinutes(20)),                               // 12:xx
+                at(now.minusHours(1)), at(now.minusHours(1).minusMinutes(30)),   // 11:xx
+                at(now.minusHours(2)));                                          // 10:xx
+
+        List<BackupStore.Entry> kept = only().hourly(2).select(newestFirst);
+
+        assertEquals(List.of(newestFirst.get(0), newestFirst.get(2)), kept);
+    }
+
+    @Test
+    void daysAndMonthsCountOnlyThoseWithBackups() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 9, 0);
+        List<BackupStore.Entry> newestFirst = List.of(
+                at(now),
+                at(now.minusDays(5)),                 // gap days do not use up the daily slots
+                at(now.minusDays(5).minusHours(2)),
+                at(now.minusMonths(4)),
+                at(now.minusMonths(9)),
+                at(now.minusMonths(9).minusDays(1)));
+
+        assertEquals(List.of(newestFirst.get(0), newestFirst.get(1)), only().daily(2).select(newestFirst));
+        assertEquals(List.of(newestFirst.get(0), newestFirst.get(3), newestFirst.get(4)),
+                only().monthly(3).select(newestFirst));
+    }
+
+    @Test
+    void rulesAreCombined() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 10, 9, 0);
+        List<BackupStore.Entry> newestFirst = List.of(
+                at(now), at(now.minusMinutes(1)), at(now.minusMinutes(2)), at(now.minusDays(1)), at(now.minusMonths(1)));
+
+        List<BackupStore.Entry> kept = only().last(1).daily(2).monthly(2).select(newestFirst);
+
+        assertEquals(List.of(newestFirst.get(0), newestFirst.get(3), newestFirst.get(4)), kept);
+    }
+}
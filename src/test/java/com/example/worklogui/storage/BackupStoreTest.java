@@ -0,0 +1,104 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.TestDataRoot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackupStoreTest {
+
+    private final BackupStore store = BackupStore.getInstance();
+
+    @BeforeEach
+    void setUp() {
+        TestDataRoot.reset();
+        store.unload();
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long objectCount() throws IOException {
+        Path objects = AppConstants.BACKUPS_FOLDER.resolve("objects");
+        if (!Files.exists(objects)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(objects)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void unchangedContentIsStoredOnce() throws IOException {
+        assertNotNull(store.backup(BackupStore.KIND_LOGS, "2025-01", bytes("v1"), 1000));
+        assertNull(store.backup(BackupStore.KIND_LOGS, "2025-01", bytes("v1"), 2000));
+        // Same bytes in another month: a new restore point, but no second object
+        assertNotNull(store.backup(BackupStore.KIND_LOGS, "2025-02", bytes("v1"), 3000));
+
+        assertEquals(1, store.listBackups(BackupStore.KIND_LOGS, "2025-01").size());
+        assertEquals(1, objectCount());
+    }
+
+    @Test
+    void listsNewestFirstAndReadsBack() throws IOException {
+        store.backup(BackupStore.KIND_BILLS, "2025-03", bytes("old"), 1000);
+        store.backup(BackupStore.KIND_BILLS, "2025-03", bytes("new"), 2000);
+
+        List<BackupStore.Entry> history = store.listBackups(BackupStore.KIND_BILLS, "2025-03");
+
+        assertEquals(2, history.size());
+        assertEquals("new", new String(store.read(history.get(0)), StandardCharsets.UTF_8));
+        assertEquals("old", new String(store.read(history.get(1)), StandardCharsets.UTF_8));
+        assertTrue(store.listBackups(BackupStore.KIND_LOGS, "2025-03").isEmpty());
+    }
+
+    @Test
+    void catalogSurvivesAReload() throws IOException {
+        store.backup(BackupStore.KIND_LOGS, "2025-04", bytes("a"), 1000);
+        store.backup(BackupStore.KIND_LOGS, "2025-04", bytes("b"), 2000);
+
+        store.unload();
+
+        assertEquals(2, store.listBackups(BackupStore.KIND_LOGS, "2025-04").size());
+    }
+
+    @Test
+    void pruneKeepsObjectsStillReferenced() throws IOException {
+        store.backup(BackupStore.KIND_LOGS, "2025-05", bytes("shared"), 1000);
+        store.backup(BackupStore.KIND_LOGS, "2025-05", bytes("only here"), 2000);
+        store.backup(BackupStore.KIND_LOGS, "2025-05", bytes("latest"), 3000);
+        store.backup(BackupStore.KIND_LOGS, "2025-06", bytes("shared"), 1000);
+
+        int removed = store.prune(BackupRetentionPolicy.defaults().last(1).hourly(0).daily(0).monthly(0));
+
+        assertEquals(2, removed);
+        assertEquals(2, objectCount()); // "latest" and "shared" (kept by 2025-06)
+        store.unload();
+        assertEquals(1, store.listBackups(BackupStore.KIND_LOGS, "2025-05").size());
+        assertEquals(1, store.listBackups(BackupStore.KIND_LOGS, "2025-06").size());
+    }
+
+    @Test
+    void tornIndexTailIsCut() throws IOException {
+        store.backup(BackupStore.KIND_LOGS, "2025-07", bytes("a"), 1000);
+        Path index = AppConstants.BACKUPS_FOLDER.resolve("index.jsonl");
+        Files.writeString(index, "{\"kind\":\"logs\",\"mo", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertTrue(BackupStore.repairIndexTail());
+        assertFalse(BackupStore.repairIndexTail());
+
+        store.unload();
+        assertEquals(1, store.listBackups(BackupStore.KIND_LOGS, "2025-07").size());
+    }
+}
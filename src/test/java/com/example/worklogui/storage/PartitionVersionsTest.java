@@ -0,0 +1,83 @@
+package com.example.worklogui.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionVersionsTest {
+
+    private final PartitionVersions versions = PartitionVersions.getInstance();
+
+    @Test
+    void withoutOpenViewsNothingIsRecorded() {
+        AtomicInteger loads = new AtomicInteger();
+        PartitionVersions.Commit commit = versions.beginCommit("pv-none", () -> {
+            loads.incrementAndGet();
+            return List.of("old");
+        });
+        commit.publish(List.of("new"));
+
+        assertFalse(commit.isRecording());
+        assertEquals(0, loads.get());
+        assertFalse(versions.getRecordedPartitions().contains("pv-none"));
+    }
+
+    @Test
+    void viewKeepsReadingTheContentItWasOpenedAt() {
+        try (PartitionVersions.ReadView view = versions.open()) {
+            PartitionVersions.Commit first = versions.beginCommit("pv-pinned", () -> List.of("a"));
+            first.publish(List.of("a", "b"));
+            PartitionVersions.Commit second = versions.beginCommit("pv-pinned", () -> List.of("unused"));
+            second.publish(List.of("a", "b", "c"));
+
+            assertTrue(first.isRecording());
+            assertTrue(second.getVersion() > first.getVersion());
+            assertEquals(List.of("a"), versions.read("pv-pinned", view));
+
+            try (PartitionVersions.ReadView later = versions.open()) {
+                assertEquals(List.of("a", "b", "c"), versions.read("pv-pinned", later));
+                assertEquals(List.of("a"), versions.read("pv-pinned", view));
+            }
+        }
+        assertFalse(versions.getRecordedPartitions().contains("pv-pinned"));
+    }
+
+    @Test
+    void unchangedPartitionReadsLive() {
+        try (PartitionVersions.ReadView view = versions.open()) {
+            assertNull(versions.read("pv-untouched", view));
+        }
+    }
+
+    @Test
+    void discardedCommitIsInvisible() {
+        try (PartitionVersions.ReadView view = versions.open()) {
+            PartitionVersions.Commit commit = versions.beginCommit("pv-discard", () -> List.of("kept"));
+            commit.publish(List.of("rolled back"));
+            commit.discard();
+
+            try (PartitionVersions.ReadView later = versions.open()) {
+                assertEquals(List.of("kept"), versions.read("pv-discard", later));
+            }
+            assertEquals(List.of("kept"), versions.read("pv-discard", view));
+        }
+    }
+
+    @Test
+    void closingTheOldestViewDropsVersionsNobodyCanRead() {
+        PartitionVersions.ReadView oldest = versions.open();
+        versions.beginCommit("pv-prune", () -> List.of("v0")).publish(List.of("v1"));
+        PartitionVersions.ReadView newer = versions.open();
+        versions.beginCommit("pv-prune", () -> List.of("unused")).publish(List.of("v2"));
+
+        oldest.close();
+        oldest.close();
+        assertEquals(List.of("v1"), versions.read("pv-prune", newer));
+
+        newer.close();
+        assertFalse(versions.getRecordedPartitions().contains("pv-prune"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.TestDataRoot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupRecoveryTest {
+
+    private static final String VALID = "[ {\"data\":\"01/02/2023\",\"empresa\":\"ACME\",\"horas\":1.0} ]";
+    private static final String TORN = "[ {\"data\":\"01/02/20";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TestDataRoot.reset();
+        BackupStore.getInstance().unload();
+        Files.createDirectories(AppConstants.LOGS_FOLDER);
+        Files.createDirectories(AppConstants.BILLS_FOLDER);
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+    }
+
+    private static List<Path> quarantined(String kind) throws IOException {
+        Path folder = AppConstants.QUARANTINE_FOLDER.resolve(kind);
+        if (!Files.exists(folder)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    void damagedMonthIsRestoredFromItsNewestValidBackup() throws IOException {
+        BackupStore store = BackupStore.getInstance();
+        store.backup(BackupStore.KIND_LOGS, "2023-01", VALID.getBytes(StandardCharsets.UTF_8), 1000);
+        store.backup(BackupStore.KIND_LOGS, "2023-01", TORN.getBytes(StandardCharsets.UTF_8), 2000);
+        Path month = AppConstants.LOGS_FOLDER.resolve("2023-01.json");
+        write(month, TORN);
+
+        StartupRecovery.Report report = StartupRecovery.run();
+
+        assertEquals(List.of("logs/2023-01.json"), report.getRepaired());
+        assertTrue(report.getQuarantined().isEmpty());
+        assertEquals(VALID, Files.readString(month, StandardCharsets.UTF_8));
+        assertEquals(1, quarantined(BackupStore.KIND_LOGS).size());
+    }
+
+    @Test
+    void damagedMonthWithoutBackupIsQuarantined() throws IOException {
+        Path month = AppConstants.BILLS_FOLDER.resolve("2023-02.json");
+        write(month, "");
+
+        StartupRecovery.Report report = StartupRecovery.run();
+
+        assertEquals(List.of("bills/2023-02.json"), report.getQuarantined());
+        assertFalse(Files.exists(month));
+        assertEquals(1, quarantined(BackupStore.KIND_BILLS).size());
+    }
+
+    @Test
+    void validFilesAreVerifiedOnceThenTrusted() throws IOException {
+        write(AppConstants.LOGS_FOLDER.resolve("2023-03.json"), VALID);
+        write(AppConstants.LOGS_FOLDER.resolve("2023-03.json.5.tmp"), "leftover");
+
+        StartupRecovery.Report first = StartupRecovery.run();
+        StartupRecovery.Report second = StartupRecovery.run();
+
+        assertEquals(1, first.getVerified());
+        assertEquals(1, first.getTempFilesRemoved());
+        assertTrue(first.hasRepairs());
+        assertEquals(1, second.getTrusted());
+        assertFalse(second.hasRepairs());
+        assertFalse(Files.exists(AppConstants.LOGS_FOLDER.resolve("2023-03.json.5.tmp")));
+    }
+
+    @Test
+    void interruptedTransactionIsReplayedBeforeTheCheck() throws IOException {
+        write(AppConstants.LOGS_FOLDER.resolve("2023-04.json.9.tmp"), VALID);
+        TransactionJournal.Record record = new TransactionJournal.Record();
+        record.setSteps(List.of(new TransactionJournal.Step("logs/2023-04.json", "logs/2023-04.json.9.tmp")));
+        Files.createDirectories(AppConstants.JOURNAL_FOLDER);
+        Files.write(AppConstants.JOURNAL_FOLDER.resolve("tx-1-1.json"), StorageCodecs.jsonMapper().writeValueAsBytes(record));
+
+        StartupRecovery.Report report = StartupRecovery.run();
+
+        assertEquals(1, report.getTransactionsReplayed());
+        assertEquals(0, report.getTempFilesRemoved());
+        assertEquals(1, report.getVerified());
+        assertEquals(VALID, Files.readString(AppConstants.LOGS_FOLDER.resolve("2023-04.json"), StandardCharsets.UTF_8));
+    }
+}
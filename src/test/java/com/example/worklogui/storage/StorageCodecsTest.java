@@ -0,0 +1,64 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.RegistroTrabalho;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageCodecsTest {
+
+    private static List<RegistroTrabalho> sample() {
+        RegistroTrabalho log = new RegistroTrabalho("03/14/2025", "ACME", 2.5, 0, true);
+        log.setTaxaUsada(25.0);
+        log.setTipoUsado("hora");
+        return List.of(log);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "json-pretty", "smile"})
+    void everyCodecIsDetectedAndRoundTrips(String name) throws IOException {
+        StorageCodec codec = StorageCodecs.forName(name);
+        byte[] data = codec.write(sample());
+
+        assertEquals(codec.isBinary(), StorageCodecs.detect(data).isBinary());
+        List<RegistroTrabalho> read = StorageCodecs.decode(data, StorageType.WORK_LOGS);
+
+        assertEquals(1, read.size());
+        assertEquals("03/14/2025", read.get(0).getData());
+        assertEquals(2.5, read.get(0).getHoras());
+        assertTrue(read.get(0).isPagamentoDobrado());
+    }
+
+    @Test
+    void smileIsRecognizedByItsHeader() {
+        assertSame(StorageCodecs.SMILE, StorageCodecs.detect(new byte[]{':', ')', '\n', 0x03}));
+        assertSame(StorageCodecs.JSON, StorageCodecs.detect(new byte[]{':', ')'}));
+    }
+
+    @Test
+    void jsonIsRecognizedAfterBomAndWhitespace() {
+        byte[] withBom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, ' ', '\n', '['};
+
+        assertTrue(StorageCodecs.JSON.recognizes(withBom, withBom.length));
+        assertFalse(StorageCodecs.SMILE.recognizes(withBom, withBom.length));
+        assertFalse(StorageCodecs.JSON.recognizes("  x".getBytes(StandardCharsets.UTF_8), 3));
+    }
+
+    @Test
+    void unknownDataFallsBackToJson() {
+        assertSame(StorageCodecs.JSON, StorageCodecs.detect(new byte[0]));
+        assertThrows(IOException.class, () -> StorageCodecs.decode("garbage".getBytes(StandardCharsets.UTF_8), StorageType.BILLS));
+    }
+
+    @Test
+    void formatNamesAreCaseInsensitive() {
+        assertSame(StorageCodecs.SMILE, StorageCodecs.forName(" Smile "));
+        assertThrows(IllegalArgumentException.class, () -> StorageCodecs.forName("xml"));
+    }
+}
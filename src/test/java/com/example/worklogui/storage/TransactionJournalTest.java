@@ -0,0 +1,125 @@
+package com.example.worklogui.storage;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.TestDataRoot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionJournalTest {
+
+    private Path folder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        folder = TestDataRoot.reset().resolve("logs");
+        Files.createDirectories(folder);
+        Files.createDirectories(AppConstants.JOURNAL_FOLDER);
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+    }
+
+    private static String read(Path path) throws IOException {
+        return Files.readString(path, StandardCharsets.UTF_8);
+    }
+
+    private static void writeRecord(String name, TransactionJournal.Step... steps) throws IOException {
+        TransactionJournal.Record record = new TransactionJournal.Record();
+        record.setCreatedAt(System.currentTimeMillis());
+        record.setSteps(List.of(steps));
+        Files.write(AppConstants.JOURNAL_FOLDER.resolve(name), StorageCodecs.jsonMapper().writeValueAsBytes(record));
+    }
+
+    private static long count(Path directory, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+
+    @Test
+    void recoverRedoesInterruptedRenames() throws IOException {
+        write(folder.resolve("2024-01.json"), "old january");
+        write(folder.resolve("2024-02.json"), "february");
+        write(folder.resolve("2024-03.json"), "march already moved");
+        write(folder.resolve("2024-01.json.7.tmp"), "new january");
+        writeRecord("tx-1-1.json",
+                new TransactionJournal.Step("logs/2024-01.json", "logs/2024-01.json.7.tmp"),
+                new TransactionJournal.Step("logs/2024-02.json", null),
+                new TransactionJournal.Step("logs/2024-03.json", "logs/2024-03.json.8.tmp"));
+
+        assertEquals(1, TransactionJournal.recover());
+
+        assertEquals("new january", read(folder.resolve("2024-01.json")));
+        assertFalse(Files.exists(folder.resolve("2024-02.json")));
+        // Its temp was already renamed before the crash, so the step is skipped
+        assertEquals("march already moved", read(folder.resolve("2024-03.json")));
+        assertEquals(0, count(folder, ".tmp"));
+        assertEquals(0, count(AppConstants.JOURNAL_FOLDER, ".json"));
+    }
+
+    @Test
+    void recoverDropsUnreadableRecords() throws IOException {
+        write(AppConstants.JOURNAL_FOLDER.resolve("tx-2-1.json"), "{ not json");
+
+        assertEquals(0, TransactionJournal.recover());
+        assertEquals(0, count(AppConstants.JOURNAL_FOLDER, ".json"));
+    }
+
+    @Test
+    void committedTransactionAppliesEveryFile() throws IOException {
+        write(folder.resolve("2024-04.json"), "april");
+
+        try (WriteBatch tx = AtomicFileWriter.beginTransaction()) {
+            AtomicFileWriter.write(folder.resolve("2024-05.json"), "may".getBytes(StandardCharsets.UTF_8));
+            AtomicFileWriter.delete(folder.resolve("2024-04.json"));
+            assertTrue(AtomicFileWriter.isPending(folder.resolve("2024-05.json")));
+            tx.commit();
+        }
+
+        assertEquals("may", read(folder.resolve("2024-05.json")));
+        assertFalse(Files.exists(folder.resolve("2024-04.json")));
+        assertEquals(0, count(AppConstants.JOURNAL_FOLDER, ".json"));
+    }
+
+    @Test
+    void uncommittedTransactionIsDiscarded() throws IOException {
+        write(folder.resolve("2024-06.json"), "june");
+
+        try (WriteBatch ignored = AtomicFileWriter.beginTransaction()) {
+            AtomicFileWriter.write(folder.resolve("2024-06.json"), "changed".getBytes(StandardCharsets.UTF_8));
+            AtomicFileWriter.write(folder.resolve("2024-07.json"), "july".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("june", read(folder.resolve("2024-06.json")));
+        assertFalse(Files.exists(folder.resolve("2024-07.json")));
+        assertEquals(0, count(folder, ".tmp"));
+    }
+
+    @Test
+    void failedStepIsRolledForwardWithoutLeavingARecord() throws IOException {
+        // A non-empty directory in the way makes that rename fail on every attempt
+        Path blocked = folder.resolve("2024-08.json");
+        Files.createDirectories(blocked);
+        write(blocked.resolve("keep"), "x");
+
+        WriteBatch tx = AtomicFileWriter.beginTransaction();
+        AtomicFileWriter.write(folder.resolve("2024-09.json"), "september".getBytes(StandardCharsets.UTF_8));
+        AtomicFileWriter.write(blocked, "august".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, tx::commit);
+
+        assertEquals("september", read(folder.resolve("2024-09.json")));
+        assertEquals(0, count(folder, ".tmp"));
+        assertEquals(0, count(AppConstants.JOURNAL_FOLDER, ".json"));
+        assertEquals(0, TransactionJournal.recover());
+    }
+}
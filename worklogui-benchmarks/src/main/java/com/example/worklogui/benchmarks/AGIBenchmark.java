@@ -0,0 +1,64 @@
+package com.example.worklogui.benchmarks;
+
+import com.example.worklogui.AGICalculator;
+import com.example.worklogui.Bill;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.services.ColumnarWorkLogStore;
+import com.example.worklogui.utils.FilterHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AGI / SGA calculation over a single month and over the whole seeded history,
+ * from the entry lists and from the columnar store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AGIBenchmark {
+
+    @State(Scope.Thread)
+    public static class AGIState {
+        List<RegistroTrabalho> monthLogs;
+        List<Bill> monthBills;
+        List<Bill> allBills;
+        ColumnarWorkLogStore columnar;
+
+        @Setup(Level.Trial)
+        public void setUp(WorkLogDataState data) throws Exception {
+            monthLogs = FilterHelper.getLogsForYearMonth(data.allLogs, data.sampleKey);
+            monthBills = data.allBills.getOrDefault(data.sampleKey, new ArrayList<>());
+            allBills = new ArrayList<>();
+            data.allBills.values().forEach(allBills::addAll);
+            columnar = new ColumnarWorkLogStore(data.warmManager);
+            columnar.grossIncome(data.sampleKey); // build outside the measurement
+        }
+    }
+
+    @Benchmark
+    public AGICalculator.AGIResult monthlyAGI(AGIState state) {
+        return AGICalculator.calculateAGI(state.monthLogs, state.monthBills, true);
+    }
+
+    @Benchmark
+    public AGICalculator.AGIResult fullHistoryAGI(WorkLogDataState data, AGIState state) {
+        return AGICalculator.calculateAGI(data.allLogs, state.allBills);
+    }
+
+    @Benchmark
+    public AGICalculator.AGIResult monthlyAGIColumnar(WorkLogDataState data, AGIState state) throws Exception {
+        return AGICalculator.calculateAGI(state.columnar.grossIncome(data.sampleKey), state.monthBills, true);
+    }
+
+    @Benchmark
+    public AGICalculator.AGIResult fullHistoryAGIColumnar(AGIState state) throws Exception {
+        double gross = state.columnar.grossIncome(LocalDate.of(1900, 1, 1), LocalDate.of(2999, 12, 31), null);
+        return AGICalculator.calculateAGI(gross, state.allBills, true);
+    }
+}
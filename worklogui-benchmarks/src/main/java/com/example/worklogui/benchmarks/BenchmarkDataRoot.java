@@ -0,0 +1,90 @@
+package com.example.worklogui.benchmarks;
+
+import com.example.worklogui.AppConstants;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Points the application at a throwaway data directory for the duration of a benchmark fork.
+ * Must be called before any application class that reads {@link AppConstants} is initialized,
+ * otherwise the paths would already be bound to the real ~/Documents/WorkLog folder.
+ */
+public final class BenchmarkDataRoot {
+
+    /** Optional fixed location, e.g. -Dworklog.bench.root=/mnt/ssd/bench to measure a specific disk */
+    public static final String BENCH_ROOT_PROPERTY = "worklog.bench.root";
+
+    private static Path root;
+
+    private BenchmarkDataRoot() {}
+
+    /**
+     * Create (once per JVM) the benchmark data root and install it as the application data directory.
+     */
+    public static synchronized Path install() throws IOException {
+        if (root != null) {
+            return root;
+        }
+
+        String fixed = System.getProperty(BENCH_ROOT_PROPERTY);
+        Path candidate = (fixed != null && !fixed.isBlank())
+                ? Files.createDirectories(Paths.get(fixed))
+                : Files.createTempDirectory("worklog-bench-");
+
+        System.setProperty(AppConstants.DATA_DIR_PROPERTY, candidate.toString());
+        System.setProperty("java.awt.headless", "true");
+
+        // Touching AppConstants here binds its static paths; refuse to continue if they were bound earlier
+        if (!AppConstants.DATA_ROOT.equals(candidate)) {
+            throw new IllegalStateException("AppConstants was initialized before the benchmark data root was installed: "
+                    + AppConstants.DATA_ROOT);
+        }
+
+        root = candidate;
+        return root;
+    }
+
+    /**
+     * Remove everything below the data root (only when it was created as a temp directory).
+     */
+    public static synchronized void cleanup() {
+        if (root == null || System.getProperty(BENCH_ROOT_PROPERTY) != null) {
+            return;
+        }
+        deleteRecursively(root);
+        root = null;
+    }
+
+    /**
+     * Remove the contents of one sub folder (e.g. exports or backups) between iterations.
+     */
+    public static void clearFolder(Path folder) {
+        if (!Files.exists(folder)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+            for (Path p : stream) {
+                deleteRecursively(p);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to clear " + folder + ": " + e.getMessage());
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    System.err.println("Failed to delete " + p + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Failed to walk " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.worklogui.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for benchmarks.jar. Accepts the regular JMH command line (e.g. "StorageBenchmark -p months=60")
+ * and always attaches the GC profiler so allocation rate (gc.alloc.rate.norm) is reported next to timings.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+
+        Options options = new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Djava.awt.headless=true", "-Dfile.encoding=UTF-8")
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.worklogui.benchmarks;
+
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.storage.StorageCodec;
+import com.example.worklogui.storage.StorageCodecs;
+import com.example.worklogui.storage.StorageType;
+import com.example.worklogui.utils.FileOperationHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode of one month of work logs per storage format, without file system noise.
+ * StorageBenchmark with "-p format=..." measures the same formats end to end.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @State(Scope.Thread)
+    public static class CodecState {
+        @Param({"json-pretty", "json", "smile"})
+        public String codecName;
+
+        StorageCodec codec;
+        List<RegistroTrabalho> monthLogs;
+        byte[] encoded;
+
+        @Setup(Level.Trial)
+        public void setUp(WorkLogDataState data) throws Exception {
+            codec = StorageCodecs.forName(codecName);
+            monthLogs = FileOperationHelper.loadWorkLogs(data.sampleKey);
+            encoded = codec.write(monthLogs);
+            System.out.println(codecName + ": " + monthLogs.size() + " logs -> " + encoded.length + " bytes");
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeMonth(CodecState state) throws Exception {
+        return state.codec.write(state.monthLogs);
+    }
+
+    @Benchmark
+    public List<RegistroTrabalho> decodeMonth(CodecState state) throws Exception {
+        return StorageCodecs.decode(state.encoded, StorageType.WORK_LOGS);
+    }
+}
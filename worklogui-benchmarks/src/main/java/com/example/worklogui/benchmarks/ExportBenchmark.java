@@ -0,0 +1,45 @@
+package com.example.worklogui.benchmarks;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.CompanyManagerService;
+import com.example.worklogui.DisplayEntry;
+import com.example.worklogui.ExcelExporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full XLSX export of the seeded history (the same call the "Export All" button makes).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExportBenchmark {
+
+    @State(Scope.Thread)
+    public static class ExportState {
+        CompanyManagerService service;
+        List<DisplayEntry> entries;
+
+        @Setup(Level.Trial)
+        public void setUp(WorkLogDataState data) throws Exception {
+            service = new CompanyManagerService();
+            service.initialize();
+            entries = data.buildDisplayEntries();
+        }
+
+        @TearDown(Level.Iteration)
+        public void dropExports() {
+            BenchmarkDataRoot.clearFolder(AppConstants.EXPORT_FOLDER);
+        }
+    }
+
+    @Benchmark
+    public void exportAllToExcel(ExportState state) throws Exception {
+        ExcelExporter.exportToExcel(new ArrayList<>(state.entries), state.service, true);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.worklogui.benchmarks;
+
+import com.example.worklogui.DisplayEntry;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.utils.FilterHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory filtering and the DisplayEntry sort done on every table refresh and export.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    @State(Scope.Thread)
+    public static class EntriesState {
+        String year;
+        String month;
+        List<DisplayEntry> entries;
+
+        @Setup(Level.Trial)
+        public void setUp(WorkLogDataState data) {
+            year = data.sampleKey.substring(0, 4);
+            month = data.sampleKey.substring(5, 7);
+            entries = data.buildDisplayEntries();
+        }
+    }
+
+    @Benchmark
+    public List<RegistroTrabalho> filterByMonth(WorkLogDataState data, EntriesState state) {
+        return FilterHelper.applyFilters(data.allLogs, state.year, state.month, "All");
+    }
+
+    @Benchmark
+    public List<RegistroTrabalho> filterByCompany(WorkLogDataState data) {
+        return FilterHelper.applyFilters(data.allLogs, "All", "All", data.sampleCompany);
+    }
+
+    @Benchmark
+    public List<DisplayEntry> sortDisplayEntries(EntriesState state) {
+        // Same comparator as LogTableController and ExcelExporter; the copy keeps every invocation unsorted
+        List<DisplayEntry> copy = new ArrayList<>(state.entries);
+        copy.sort(Comparator.comparing(DisplayEntry::getDate));
+        return copy;
+    }
+}
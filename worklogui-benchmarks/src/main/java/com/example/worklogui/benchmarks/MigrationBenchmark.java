@@ -0,0 +1,69 @@
+package com.example.worklogui.benchmarks;
+
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.utils.FileMigrationUtility;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading a month that is still in the legacy WorkLogData format versus the current array format.
+ * Uses its own generated tree (outside the shared data root) so the shared fixture stays migration-free.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MigrationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int entriesPerMonth;
+
+    private Path root;
+    private Path legacyMonth;
+    private Path currentMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkDataRoot.install();
+        root = Files.createTempDirectory("worklog-migration-bench-");
+
+        Path legacyRoot = root.resolve("legacy");
+        new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Config.defaults()
+                .years(1).totalEntries(entriesPerMonth * 12).billsPerMonth(0).legacyLogMonthRatio(1.0))
+                .generate(legacyRoot);
+        Path currentRoot = root.resolve("current");
+        new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Config.defaults()
+                .years(1).totalEntries(entriesPerMonth * 12).billsPerMonth(0))
+                .generate(currentRoot);
+
+        legacyMonth = legacyRoot.resolve("logs").resolve("2025-06.json");
+        currentMonth = currentRoot.resolve("logs").resolve("2025-06.json");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDataRoot.clearFolder(root);
+    }
+
+    @Benchmark
+    public boolean detectLegacyFormat() {
+        return FileMigrationUtility.isOldFormat(legacyMonth);
+    }
+
+    @Benchmark
+    public List<RegistroTrabalho> loadLegacyMonth() throws IOException {
+        return FileMigrationUtility.migrateFile(legacyMonth);
+    }
+
+    @Benchmark
+    public List<RegistroTrabalho> loadCurrentMonth() throws Exception {
+        return FileMigrationUtility.loadWorkLogsWithMigration(currentMonth);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.worklogui.benchmarks;
+
+import com.example.worklogui.AppConstants;
+import com.example.worklogui.Bill;
+import com.example.worklogui.CompanyManagerService;
+import com.example.worklogui.FileLoader;
+import com.example.worklogui.RegistroTrabalho;
+import com.example.worklogui.services.WorkLogFileManager;
+import com.example.worklogui.utils.FileOperationHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage hot paths: single month load/save, whole-history load (cold and warm cache) and bill scans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+    @State(Scope.Thread)
+    public static class MonthState {
+        List<RegistroTrabalho> monthLogs;
+
+        @Setup(Level.Trial)
+        public void setUp(WorkLogDataState data) throws Exception {
+            // Re-saving identical content is deduplicated by the backup store, so backups don't pile up
+            monthLogs = FileOperationHelper.loadWorkLogs(data.sampleKey);
+        }
+    }
+
+    @Benchmark
+    public List<RegistroTrabalho> loadMonth(WorkLogDataState data) throws Exception {
+        return FileOperationHelper.loadWorkLogs(data.sampleKey);
+    }
+
+    @Benchmark
+    public void saveMonth(WorkLogDataState data, MonthState month) throws Exception {
+        FileOperationHelper.saveWorkLogs(data.sampleKey, month.monthLogs);
+    }
+
+    @Benchmark
+    public List<RegistroTrabalho> getAllWorkLogsCold() throws Exception {
+        return new WorkLogFileManager().getAllWorkLogs();
+    }
+
+    @Benchmark
+    public List<RegistroTrabalho> getAllWorkLogsWarm(WorkLogDataState data) throws Exception {
+        return data.warmManager.getAllWorkLogs();
+    }
+
+    @Benchmark
+    public List<Bill> loadBillsMonth(WorkLogDataState data) {
+        return FileLoader.carregarBills(AppConstants.BILLS_FOLDER.resolve(data.sampleKey + ".json"));
+    }
+
+    @Benchmark
+    public Map<String, List<Bill>> getAllBills() {
+        return new CompanyManagerService().getAllBills();
+    }
+}
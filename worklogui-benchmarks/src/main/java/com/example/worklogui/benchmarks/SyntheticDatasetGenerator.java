@@ -0,0 +1,274 @@
+package com.example.worklogui.benchmarks;
+
+import com.example.worklogui.ExpenseCategory;
+import com.example.worklogui.RateInfo;
+import com.example.worklogui.RegistroTrabalho;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Deterministic generator for large WorkLog data trees (logs/YYYY-MM.json, bills/YYYY-MM.json and
+ * company-rates.json). The same {@link Config} and seed always produce byte-identical files, so
+ * benchmark runs at 1k, 100k or 1M entries can be compared across machines and commits.
+ *
+ * Optionally mixes in legacy data so the migration paths get exercised:
+ * - monthly log files written in the old WorkLogData object format (FileMigrationUtility)
+ * - bills carrying only the old "deductible" flag and "label" field (DataMigrationUtility)
+ * - a root worklog.json in the pre-monthly-file layout
+ *
+ * Usage: SyntheticDatasetGenerator <targetDir> [entries] [years] [seed]
+ */
+public class SyntheticDatasetGenerator {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final String[] COMPANY_PREFIXES = {"Acme", "Globex", "Initech", "Umbrella", "Hooli", "Stark",
+            "Wayne", "Wonka", "Tyrell", "Cyberdyne", "Soylent", "Vandelay", "Gringotts", "Oscorp", "Pied Piper"};
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final Config config;
+
+    public SyntheticDatasetGenerator(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * Generation settings. Defaults describe a mid-sized account: 10k entries over 10 years.
+     */
+    public static class Config {
+        private long seed = 42L;
+        private int totalEntries = 10_000;
+        private int years = 10;
+        private int endYear = 2025;
+        private int companies = 12;
+        private double perMinuteCompanyRatio = 0.25;
+        private double doublePayRatio = 0.05;
+        private int billsPerMonth = 15;
+        private double legacyLogMonthRatio = 0.0;
+        private double legacyBillRatio = 0.0;
+        private boolean writeLegacyWorklogFile = false;
+        private boolean prettyPrint = true;
+
+        public static Config defaults() {
+            return new Config();
+        }
+
+        public Config seed(long seed) { this.seed = seed; return this; }
+        public Config totalEntries(int totalEntries) { this.totalEntries = totalEntries; return this; }
+        public Config years(int years) { this.years = years; return this; }
+        public Config endYear(int endYear) { this.endYear = endYear; return this; }
+        public Config companies(int companies) { this.companies = companies; return this; }
+        public Config perMinuteCompanyRatio(double ratio) { this.perMinuteCompanyRatio = ratio; return this; }
+        public Config doublePayRatio(double ratio) { this.doublePayRatio = ratio; return this; }
+        public Config billsPerMonth(int billsPerMonth) { this.billsPerMonth = billsPerMonth; return this; }
+        public Config legacyLogMonthRatio(double ratio) { this.legacyLogMonthRatio = ratio; return this; }
+        public Config legacyBillRatio(double ratio) { this.legacyBillRatio = ratio; return this; }
+        public Config writeLegacyWorklogFile(boolean write) { this.writeLegacyWorklogFile = write; return this; }
+        public Config prettyPrint(boolean prettyPrint) { this.prettyPrint = prettyPrint; return this; }
+
+        private void validate() {
+            if (totalEntries < 0 || years <= 0 || companies <= 0 || billsPerMonth < 0) {
+                throw new IllegalArgumentException("totalEntries and billsPerMonth must be >= 0; years and companies must be > 0");
+            }
+        }
+    }
+
+    /**
+     * What was written, for logging and for sanity checks in benchmark setup.
+     */
+    public static class Summary {
+        public int monthFiles;
+        public int workLogs;
+        public int bills;
+        public int legacyLogMonths;
+        public int legacyBills;
+        public List<String> yearMonthKeys = new ArrayList<>();
+        public Map<String, RateInfo> rates = new LinkedHashMap<>();
+
+        @Override
+        public String toString() {
+            return String.format("%d work logs in %d month files (%d legacy), %d bills (%d legacy), %d companies",
+                    workLogs, monthFiles, legacyLogMonths, bills, legacyBills, rates.size());
+        }
+    }
+
+    /**
+     * Write a complete data tree below {@code root}. Existing month files with the same keys are overwritten.
+     */
+    public Summary generate(Path root) throws IOException {
+        config.validate();
+        Path logsDir = Files.createDirectories(root.resolve("logs"));
+        Path billsDir = Files.createDirectories(root.resolve("bills"));
+
+        Random random = new Random(config.seed);
+        Summary summary = new Summary();
+        summary.rates = generateRates(random);
+        List<String> companyNames = new ArrayList<>(summary.rates.keySet());
+        write(root.resolve("company-rates.json"), summary.rates);
+
+        int monthCount = config.years * 12;
+        YearMonth start = YearMonth.of(config.endYear, 12).minusMonths(monthCount - 1L);
+        List<RegistroTrabalho> legacyWorklog = new ArrayList<>();
+
+        for (int m = 0; m < monthCount; m++) {
+            YearMonth ym = start.plusMonths(m);
+            String key = ym.toString();
+
+            // Spread entries evenly; the first (total % months) months get one extra entry
+            int entries = config.totalEntries / monthCount + (m < config.totalEntries % monthCount ? 1 : 0);
+            List<RegistroTrabalho> logs = new ArrayList<>(entries);
+            for (int i = 0; i < entries; i++) {
+                logs.add(generateLog(random, ym, companyNames, summary.rates));
+            }
+            logs.sort(Comparator.comparing(r -> LocalDate.parse(r.getData(), DATE_FORMAT)));
+
+            if (!logs.isEmpty()) {
+                if (random.nextDouble() < config.legacyLogMonthRatio) {
+                    Map<String, Object> oldFormat = new LinkedHashMap<>();
+                    oldFormat.put("registros", logs);
+                    oldFormat.put("bills", new LinkedHashMap<>());
+                    write(logsDir.resolve(key + ".json"), oldFormat);
+                    summary.legacyLogMonths++;
+                } else {
+                    write(logsDir.resolve(key + ".json"), logs);
+                }
+                summary.monthFiles++;
+                summary.workLogs += logs.size();
+                summary.yearMonthKeys.add(key);
+            }
+
+            if (config.writeLegacyWorklogFile && m == monthCount - 1) {
+                legacyWorklog.addAll(logs);
+            }
+
+            List<Map<String, Object>> bills = generateBills(random, ym, summary);
+            if (!bills.isEmpty()) {
+                write(billsDir.resolve(key + ".json"), bills);
+            }
+        }
+
+        if (config.writeLegacyWorklogFile) {
+            Map<String, Object> oldFile = new LinkedHashMap<>();
+            oldFile.put("registros", legacyWorklog);
+            oldFile.put("bills", new LinkedHashMap<>());
+            write(root.resolve("worklog.json"), oldFile);
+        }
+
+        return summary;
+    }
+
+    private Map<String, RateInfo> generateRates(Random random) {
+        Map<String, RateInfo> rates = new LinkedHashMap<>();
+        for (int i = 0; i < config.companies; i++) {
+            String name = COMPANY_PREFIXES[i % COMPANY_PREFIXES.length]
+                    + (i >= COMPANY_PREFIXES.length ? " " + (i / COMPANY_PREFIXES.length + 1) : "");
+            boolean perMinute = random.nextDouble() < config.perMinuteCompanyRatio;
+            double value = perMinute
+                    ? round2(0.25 + random.nextDouble())
+                    : round2(15 + random.nextDouble() * 45);
+            rates.put(name, new RateInfo(value, perMinute ? "minuto" : "hora"));
+        }
+        return rates;
+    }
+
+    private RegistroTrabalho generateLog(Random random, YearMonth ym, List<String> companyNames, Map<String, RateInfo> rates) {
+        // Skew towards a few main clients, like a real freelancer's history
+        int index = (int) Math.min(companyNames.size() - 1, Math.abs(random.nextGaussian()) * companyNames.size() / 3);
+        String company = companyNames.get(index);
+        RateInfo rate = rates.get(company);
+
+        LocalDate date = ym.atDay(1 + random.nextInt(ym.lengthOfMonth()));
+        // Move some Sundays to the Friday before, never out of the month's partition
+        if (date.getDayOfWeek() == DayOfWeek.SUNDAY && date.getDayOfMonth() > 2 && random.nextBoolean()) {
+            date = date.minusDays(2);
+        }
+
+        RegistroTrabalho r = new RegistroTrabalho();
+        r.setData(date.format(DATE_FORMAT));
+        r.setEmpresa(company);
+        if ("minuto".equalsIgnoreCase(rate.getTipo())) {
+            r.setMinutos(5 + random.nextInt(236));
+        } else {
+            r.setHoras(0.25 * (1 + random.nextInt(40)));
+        }
+        r.setPagamentoDobrado(random.nextDouble() < config.doublePayRatio);
+        r.setTaxaUsada(rate.getValor());
+        r.setTipoUsado(rate.getTipo());
+        return r;
+    }
+
+    private List<Map<String, Object>> generateBills(Random random, YearMonth ym, Summary summary) {
+        ExpenseCategory[] categories = ExpenseCategory.values();
+        List<Map<String, Object>> bills = new ArrayList<>(config.billsPerMonth);
+
+        for (int i = 0; i < config.billsPerMonth; i++) {
+            // Cycle through every category so each one appears in every large dataset
+            ExpenseCategory category = categories[(summary.bills + i) % categories.length];
+            LocalDate date = ym.atDay(1 + random.nextInt(ym.lengthOfMonth()));
+            double amount = round2(5 + random.nextDouble() * 795);
+            boolean paid = random.nextDouble() < 0.8;
+
+            Map<String, Object> bill = new LinkedHashMap<>();
+            bill.put("date", date);
+            if (random.nextDouble() < config.legacyBillRatio) {
+                // Pre-category format: "label" + boolean "deductible", no "category"
+                bill.put("label", category.getDisplayName());
+                bill.put("amount", amount);
+                bill.put("paid", paid);
+                bill.put("deductible", category.isDeductible());
+                summary.legacyBills++;
+            } else {
+                bill.put("description", category.getDisplayName());
+                bill.put("amount", amount);
+                bill.put("paid", paid);
+                bill.put("category", category.name());
+            }
+            bills.add(bill);
+        }
+
+        bills.sort(Comparator.comparing(b -> (LocalDate) b.get("date")));
+        summary.bills += bills.size();
+        return bills;
+    }
+
+    private void write(Path file, Object value) throws IOException {
+        if (config.prettyPrint) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), value);
+        } else {
+            mapper.writeValue(file.toFile(), value);
+        }
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SyntheticDatasetGenerator <targetDir> [entries] [years] [seed]");
+            System.exit(1);
+        }
+
+        Config config = Config.defaults();
+        if (args.length > 1) config.totalEntries(Integer.parseInt(args[1]));
+        if (args.length > 2) config.years(Integer.parseInt(args[2]));
+        if (args.length > 3) config.seed(Long.parseLong(args[3]));
+
+        Path target = Paths.get(args[0]);
+        Summary summary = new SyntheticDatasetGenerator(config).generate(target);
+        System.out.println("✅ Generated " + summary + " in " + target.toAbsolutePath());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.worklogui.benchmarks;
+
+import com.example.worklogui.*;
+import com.example.worklogui.services.WorkLogFileManager;
+import com.example.worklogui.storage.StorageCodec;
+import com.example.worklogui.storage.StorageCodecs;
+import com.example.worklogui.storage.StorageConverter;
+import com.example.worklogui.utils.FileOperationHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Shared benchmark fixture: seeds a temporary data root through {@link SyntheticDatasetGenerator},
+ * then exposes the loaded data to the individual benchmarks.
+ * Scale with e.g. "-p entries=1000000 -p years=15"; compare storage formats with
+ * "-p format=json-pretty,json,smile".
+ */
+@State(Scope.Benchmark)
+public class WorkLogDataState {
+
+    @Param({"1000", "10000", "100000"})
+    public int entries;
+
+    @Param({"10"})
+    public int years;
+
+    @Param({"15"})
+    public int billsPerMonth;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"json-pretty"})
+    public String format;
+
+    public Path dataRoot;
+    public SyntheticDatasetGenerator.Summary summary;
+    public String sampleKey;
+    public String sampleCompany;
+    public List<RegistroTrabalho> allLogs;
+    public Map<String, List<Bill>> allBills;
+    public WorkLogFileManager warmManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataRoot = BenchmarkDataRoot.install();
+        FileOperationHelper.initializeDirectories();
+
+        summary = new SyntheticDatasetGenerator(SyntheticDatasetGenerator.Config.defaults()
+                .seed(seed)
+                .totalEntries(entries)
+                .years(years)
+                .billsPerMonth(billsPerMonth))
+                .generate(dataRoot);
+
+        // The generator writes pretty JSON; convert the tree when benchmarking another format
+        StorageCodec codec = StorageCodecs.forName(format);
+        if (codec != StorageCodecs.JSON_PRETTY) {
+            System.out.println("Converted dataset to " + format + ": " + StorageConverter.convertAll(codec));
+        } else {
+            StorageCodecs.setActive(codec);
+        }
+        sampleKey = summary.yearMonthKeys.get(summary.yearMonthKeys.size() / 2);
+        sampleCompany = summary.rates.keySet().iterator().next();
+
+        warmManager = new WorkLogFileManager();
+        warmManager.initialize();
+        allLogs = warmManager.getAllWorkLogs();
+        allBills = new CompanyManagerService().getAllBills();
+
+        System.out.println("Seeded " + summary + " under " + dataRoot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDataRoot.cleanup();
+    }
+
+    /**
+     * Flatten logs and bills into the same DisplayEntry list the log table builds.
+     */
+    public List<DisplayEntry> buildDisplayEntries() {
+        List<DisplayEntry> entries = new ArrayList<>(allLogs.size() + summary.bills);
+        for (RegistroTrabalho r : allLogs) {
+            entries.add(new DisplayEntry(r));
+        }
+        for (List<Bill> monthBills : allBills.values()) {
+            for (Bill b : monthBills) {
+                entries.add(new DisplayEntry(b));
+            }
+        }
+        return entries;
+    }
+}